@@ -15,64 +15,125 @@
  */
 package software.amazon.s3.analyticsaccelerator.common;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 
 /**
  * A thread-safe metrics collection class that maintains counters for different types of metrics.
- * Each metric is identified by a {@link MetricKey} and stored as an {@link AtomicLong} value.
+ * Each metric is identified by a {@link MetricKey} and stored as a {@link LongAdder}, so that
+ * metrics updated from many threads at once, such as the memory usage of the blob store, do not
+ * contend on a single value. Metrics can additionally be broken down by the {@link ReadMode} they
+ * are attributed to.
+ *
+ * <p>All values are allocated up front and indexed by the ordinal of their key, so updates neither
+ * allocate nor look anything up. Host applications can poll {@link #snapshot()} to read all
+ * metrics at once and to derive rates from the difference between two snapshots.
  */
 public class Metrics {
+  private static final MetricKey[] KEYS = MetricKey.values();
+  private static final int READ_MODE_COUNT = ReadMode.values().length;
+
+  /** Values of the metrics, indexed by the ordinal of their {@link MetricKey}. */
+  private final LongAdder[] totals = new LongAdder[KEYS.length];
 
   /**
-   * Thread-safe map storing metric values. Keys are {@link MetricKey} enums and values are {@link
-   * AtomicLong} counters for each metric.
+   * Breakdown of the values of the metrics by {@link ReadMode}, indexed by the ordinal of the
+   * metric key times the number of read modes plus the ordinal of the read mode.
    */
-  private final Map<MetricKey, AtomicLong> metrics = new ConcurrentHashMap<>();
+  private final LongAdder[] readModeValues = new LongAdder[KEYS.length * READ_MODE_COUNT];
+
+  /** Creates a new instance of {@link Metrics} with all metrics at 0. */
+  public Metrics() {
+    for (int i = 0; i < totals.length; i++) {
+      totals[i] = new LongAdder();
+    }
+    for (int i = 0; i < readModeValues.length; i++) {
+      readModeValues[i] = new LongAdder();
+    }
+  }
 
   /**
-   * Adds the specified delta to the metric identified by the given key. If the metric doesn't
-   * exist, it will be created with an initial value of 0 before adding the delta.
+   * Adds the specified delta to the metric identified by the given key.
    *
    * @param key the metric key to identify which metric to update
    * @param delta the value to add to the metric (can be negative for decrements)
    */
   public void add(MetricKey key, long delta) {
-    getOrCreate(key).addAndGet(delta);
+    totals[key.ordinal()].add(delta);
   }
 
   /**
-   * Reduces the specified delta from the metric identified by the given key. If the metric doesn't
-   * exist, it will be created with an initial value of 0 before adding the delta.
+   * Adds the specified delta to the metric identified by the given key, attributing it to the given
+   * {@link ReadMode}. The delta is added to the total of the metric as well.
    *
    * @param key the metric key to identify which metric to update
+   * @param readMode the read mode the delta is attributed to
    * @param delta the value to add to the metric (can be negative for decrements)
    */
+  public void add(MetricKey key, ReadMode readMode, long delta) {
+    add(key, delta);
+    readModeValues[readModeIndex(key, readMode)].add(delta);
+  }
+
+  /**
+   * Reduces the specified delta from the metric identified by the given key.
+   *
+   * @param key the metric key to identify which metric to update
+   * @param delta the value to subtract from the metric
+   */
   public void reduce(MetricKey key, long delta) {
-    getOrCreate(key).addAndGet(-delta);
+    add(key, -delta);
   }
 
   /**
-   * Retrieves the current value of the specified metric. If the metric doesn't exist, it will be
-   * created with an initial value of 0.
+   * Retrieves the current value of the specified metric.
    *
    * @param key the metric key whose value should be retrieved
    * @return the current value of the metric
    */
   public long get(MetricKey key) {
-    return getOrCreate(key).get();
+    return totals[key.ordinal()].sum();
+  }
+
+  /**
+   * Retrieves the current value of the specified metric attributed to the given {@link ReadMode}.
+   *
+   * @param key the metric key whose value should be retrieved
+   * @param readMode the read mode whose share of the metric should be retrieved
+   * @return the current value of the metric for the read mode
+   */
+  public long get(MetricKey key, ReadMode readMode) {
+    return readModeValues[readModeIndex(key, readMode)].sum();
+  }
+
+  /**
+   * Takes a snapshot of all metrics. The snapshot does not change once taken, so all values read
+   * from it belong together. Updates that race with the snapshot may be included in some of its
+   * values but not in others, as each value is read without stopping the writers.
+   *
+   * @return the snapshot of the metrics
+   */
+  public MetricsSnapshot snapshot() {
+    long[] totalsSnapshot = new long[totals.length];
+    long[] readModeSnapshot = new long[readModeValues.length];
+    for (int i = 0; i < readModeValues.length; i++) {
+      readModeSnapshot[i] = readModeValues[i].sum();
+    }
+    for (int i = 0; i < totals.length; i++) {
+      totalsSnapshot[i] = totals[i].sum();
+    }
+    return new MetricsSnapshot(System.nanoTime(), totalsSnapshot, readModeSnapshot);
   }
 
   /**
-   * Helper method to get or create an {@link AtomicLong} for a given metric key. If the metric
-   * doesn't exist, it creates a new {@link AtomicLong} initialized to 0.
+   * Returns the index of the breakdown of a metric for a {@link ReadMode}.
    *
-   * @param key the metric key to look up or create
-   * @return the existing or newly created {@link AtomicLong} for the metric
+   * @param key the metric key
+   * @param readMode the read mode
+   * @return the index into the read mode breakdown
    */
-  private AtomicLong getOrCreate(MetricKey key) {
-    return metrics.computeIfAbsent(key, k -> new AtomicLong(0));
+  static int readModeIndex(MetricKey key, ReadMode readMode) {
+    return key.ordinal() * READ_MODE_COUNT + readMode.ordinal();
   }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+import software.amazon.s3.analyticsaccelerator.util.MetricType;
+
+/**
+ * An immutable copy of the values of all {@link Metrics} at a point in time, taken by {@link
+ * Metrics#snapshot()}. Rates of counters are derived by comparing a snapshot with an earlier one,
+ * so that polling applications pay for them only when they ask for them.
+ *
+ * <p>A snapshot is not consistent across keys. The metrics are read one after the other without
+ * pausing the threads updating them, so values of different keys, or of a key and its breakdown by
+ * read mode, may reflect updates made while the snapshot was being taken.
+ */
+public final class MetricsSnapshot {
+  private final long timestampNanos;
+  private final long[] totals;
+  private final long[] readModeValues;
+
+  /**
+   * Creates a new snapshot. The arrays are owned by the snapshot from then on.
+   *
+   * @param timestampNanos the value of {@link System#nanoTime()} the snapshot was taken at
+   * @param totals the values of the metrics, indexed by the ordinal of their key
+   * @param readModeValues the breakdown of the metrics by read mode
+   */
+  MetricsSnapshot(long timestampNanos, long[] totals, long[] readModeValues) {
+    this.timestampNanos = timestampNanos;
+    this.totals = totals;
+    this.readModeValues = readModeValues;
+  }
+
+  /**
+   * Returns the value of {@link System#nanoTime()} the snapshot was taken at.
+   *
+   * @return the timestamp of the snapshot in nanoseconds
+   */
+  public long getTimestampNanos() {
+    return timestampNanos;
+  }
+
+  /**
+   * Returns the value of a metric.
+   *
+   * @param key the metric key
+   * @return the value of the metric when the snapshot was taken
+   */
+  public long get(MetricKey key) {
+    return totals[key.ordinal()];
+  }
+
+  /**
+   * Returns the value of a metric attributed to the given {@link ReadMode}.
+   *
+   * @param key the metric key
+   * @param readMode the read mode
+   * @return the value of the metric for the read mode when the snapshot was taken
+   */
+  public long get(MetricKey key, ReadMode readMode) {
+    return readModeValues[Metrics.readModeIndex(key, readMode)];
+  }
+
+  /**
+   * Returns the rate per second at which a counter grew between an earlier snapshot and this one.
+   *
+   * @param key the metric key, which must be a {@link MetricType#COUNTER}
+   * @param earlier a snapshot taken before this one
+   * @return the growth of the counter per second, 0 if no time passed between the snapshots
+   */
+  public double getRate(MetricKey key, MetricsSnapshot earlier) {
+    Preconditions.checkArgument(
+        key.getType() == MetricType.COUNTER, "`key` must be a counter; was: %s", key);
+    Preconditions.checkNotNull(earlier, "`earlier` must not be null");
+
+    long elapsedNanos = timestampNanos - earlier.timestampNanos;
+    if (elapsedNanos <= 0) {
+      return 0;
+    }
+    return (double) (get(key) - earlier.get(key)) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * Returns the values of all metrics, keyed by their name.
+   *
+   * @return an unmodifiable map from metric name to value, in the order of {@link MetricKey}
+   */
+  public Map<String, Long> asMap() {
+    Map<String, Long> values = new LinkedHashMap<>();
+    for (MetricKey key : MetricKey.values()) {
+      values.put(key.getName(), get(key));
+    }
+    return Collections.unmodifiableMap(values);
+  }
+}
@@ -129,7 +129,9 @@ public class ConfigurableTelemetry extends DefaultTelemetry {
     if (configuration.isAggregationsEnabled()) {
       TelemetryDatapointAggregator telemetryDatapointAggregator =
           new TelemetryDatapointAggregator(
-              telemetryReporter, configuration.getAggregationsFlushInterval());
+              telemetryReporter,
+              configuration.getAggregationsFlushInterval(),
+              configuration.getAggregationsAttributeNames());
       return Optional.of(telemetryDatapointAggregator);
     } else {
       return Optional.empty();
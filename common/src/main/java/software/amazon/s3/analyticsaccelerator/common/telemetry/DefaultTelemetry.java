@@ -28,7 +28,6 @@ import org.slf4j.LoggerFactory;
 
 /** This is a set of operations that support adding telemetry for operation execution. */
 @Getter
-@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class DefaultTelemetry implements Telemetry {
   /** Epoch clock. Used to measure the wall time for {@link Operation} start. */
   @NonNull @Getter(AccessLevel.PACKAGE)
@@ -44,12 +43,59 @@ public class DefaultTelemetry implements Telemetry {
   private final Optional<TelemetryDatapointAggregator> aggregator;
   /** Telemetry level */
   @NonNull @Getter private final TelemetryLevel level;
+  /** Buffers the executions of {@link OperationDescriptor}s until they are reported */
+  @NonNull @Getter(AccessLevel.PACKAGE)
+  private final OperationRecorder operationRecorder;
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultTelemetry.class);
 
-  /** Flushes the underlying reporter */
+  /**
+   * Creates a new instance of {@link DefaultTelemetry}.
+   *
+   * @param epochClock epoch clock.
+   * @param elapsedClock elapsed clock.
+   * @param reporter telemetry reporter.
+   * @param aggregator telemetry aggregator.
+   * @param level telemetry level.
+   */
+  DefaultTelemetry(
+      @NonNull Clock epochClock,
+      @NonNull Clock elapsedClock,
+      @NonNull TelemetryReporter reporter,
+      @NonNull Optional<TelemetryDatapointAggregator> aggregator,
+      @NonNull TelemetryLevel level) {
+    this(epochClock, elapsedClock, reporter, aggregator, level, new OperationRecorder());
+  }
+
+  /**
+   * Creates a new instance of {@link DefaultTelemetry}.
+   *
+   * @param epochClock epoch clock.
+   * @param elapsedClock elapsed clock.
+   * @param reporter telemetry reporter.
+   * @param aggregator telemetry aggregator.
+   * @param level telemetry level.
+   * @param operationRecorder recorder buffering the executions of {@link OperationDescriptor}s.
+   */
+  DefaultTelemetry(
+      @NonNull Clock epochClock,
+      @NonNull Clock elapsedClock,
+      @NonNull TelemetryReporter reporter,
+      @NonNull Optional<TelemetryDatapointAggregator> aggregator,
+      @NonNull TelemetryLevel level,
+      @NonNull OperationRecorder operationRecorder) {
+    this.epochClock = epochClock;
+    this.elapsedClock = elapsedClock;
+    this.reporter = reporter;
+    this.aggregator = aggregator;
+    this.level = level;
+    this.operationRecorder = operationRecorder;
+  }
+
+  /** Reports the buffered executions of {@link OperationDescriptor}s and flushes the reporter */
   @Override
   public void flush() {
+    this.drainRecordings(true);
     this.reporter.flush();
   }
 
@@ -248,6 +294,126 @@ public class DefaultTelemetry implements Telemetry {
     return operationCode;
   }
 
+  /**
+   * Determines whether operations of the given level are recorded.
+   *
+   * @param level telemetry level.
+   * @return whether operations of the given level are recorded.
+   */
+  @Override
+  public boolean isEnabled(@NonNull TelemetryLevel level) {
+    return produceTelemetryFor(level);
+  }
+
+  /**
+   * Starts recording an execution of a pre-registered operation.
+   *
+   * @param descriptor descriptor of the operation.
+   * @return the token to complete the recording with, or {@link Telemetry#NOT_RECORDING} if the
+   *     level of the operation is not recorded.
+   */
+  @Override
+  public long startRecording(@NonNull OperationDescriptor descriptor) {
+    if (produceTelemetryFor(descriptor.getLevel())) {
+      return elapsedClock.getCurrentTimeNanos();
+    } else {
+      return NOT_RECORDING;
+    }
+  }
+
+  /**
+   * Completes recording an execution of a pre-registered operation. The execution is buffered, and
+   * only reported once the buffer of the current thread fills up or on {@link #flush()}.
+   *
+   * @param descriptor descriptor of the operation.
+   * @param startToken the token returned by {@link #startRecording(OperationDescriptor)}.
+   * @param subject the object the execution is about.
+   * @param value0 first primitive value.
+   * @param value1 second primitive value.
+   * @param value2 third primitive value.
+   * @param error error thrown by the execution, if any.
+   */
+  @Override
+  public void completeRecording(
+      @NonNull OperationDescriptor descriptor,
+      long startToken,
+      @NonNull Object subject,
+      long value0,
+      long value1,
+      long value2,
+      @NonNull Optional<Throwable> error) {
+    if (startToken == NOT_RECORDING) {
+      return;
+    }
+
+    // Intentionally avoid functional style to reduce lambda invocation on the common path
+    boolean shouldDrain =
+        operationRecorder.record(
+            descriptor,
+            startToken,
+            elapsedClock.getCurrentTimeNanos(),
+            subject,
+            error.isPresent() ? error.get() : null,
+            value0,
+            value1,
+            value2);
+    if (shouldDrain) {
+      this.drainRecordings(false);
+    }
+  }
+
+  /**
+   * Reports the buffered executions of {@link OperationDescriptor}s.
+   *
+   * @param wait whether to wait for a drain that is already in progress on another thread.
+   */
+  private void drainRecordings(boolean wait) {
+    // Executions are only timed with the elapsed clock, so derive their wall clock time from it
+    long epochOffsetNanos = epochClock.getCurrentTimeNanos() - elapsedClock.getCurrentTimeNanos();
+    operationRecorder.drain(record -> reportRecording(record, epochOffsetNanos), wait);
+  }
+
+  /**
+   * Builds the {@link Operation} and {@link OperationMeasurement} of a buffered execution and
+   * reports them.
+   *
+   * @param record the buffered execution.
+   * @param epochOffsetNanos difference between the epoch and the elapsed clock.
+   */
+  private void reportRecording(OperationRecorder.Record record, long epochOffsetNanos) {
+    OperationDescriptor descriptor = record.getDescriptor();
+    Operation.OperationBuilder operationBuilder =
+        Operation.builder()
+            .name(descriptor.getName())
+            .attribute(CommonAttributes.THREAD_ID.getName(), record.getThreadId());
+    descriptor
+        .getAttributeWriter()
+        .write(
+            operationBuilder,
+            record.getSubject(),
+            record.getValue(0),
+            record.getValue(1),
+            record.getValue(2));
+    Operation operation = operationBuilder.build();
+
+    long epochTimestampNanos = record.getElapsedStartTimeNanos() + epochOffsetNanos;
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        OperationMeasurement.builder()
+            .operation(operation)
+            .level(descriptor.getLevel())
+            .epochTimestampNanos(epochTimestampNanos)
+            .elapsedStartTimeNanos(record.getElapsedStartTimeNanos())
+            .elapsedCompleteTimeNanos(record.getElapsedCompleteTimeNanos());
+    if (record.getError() != null) {
+      builder.error(record.getError());
+    }
+
+    this.recordOperationStart(epochTimestampNanos, operation);
+    OperationMeasurement operationMeasurement = builder.build();
+    this.recordDatapoint(operationMeasurement);
+    this.recordForAggregation(() -> operationMeasurement);
+  }
+
   /**
    * Records a measurement represented by a metric
    *
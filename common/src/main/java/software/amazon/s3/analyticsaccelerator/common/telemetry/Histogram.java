@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A lock-free histogram with logarithmically sized buckets, in the spirit of HdrHistogram. Every
+ * power of two is split into {@link #SUB_BUCKET_COUNT} equally sized buckets, which bounds the
+ * relative error of a reported percentile to {@code 1 / SUB_BUCKET_COUNT}, regardless of the
+ * magnitude of the values. Values are recorded with a resolution of 1, so the histogram suits
+ * durations in nanoseconds and sizes in bytes rather than fractional values.
+ *
+ * <p>This class is thread safe.
+ */
+class Histogram {
+  private static final int SUB_BUCKET_BITS = 5;
+  /** Number of buckets each power of two is split into. */
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  // Values below SUB_BUCKET_COUNT have a bucket each, and every power of two above has
+  // SUB_BUCKET_COUNT buckets. The largest long is below 2^63.
+  private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+  /**
+   * Records a value. Negative values are recorded as zero, and fractional values are rounded.
+   *
+   * @param value value to record
+   */
+  void record(double value) {
+    // Math.round maps NaN to zero and saturates at Long.MAX_VALUE
+    buckets.incrementAndGet(bucketIndex(Math.max(0L, Math.round(value))));
+  }
+
+  /**
+   * Returns the value at the given quantile of the recorded values. The value returned is the
+   * largest value that falls into the same bucket as the value at the quantile.
+   *
+   * @param quantile quantile to return the value at, between 0 and 1
+   * @return the value at the quantile, or 0 if nothing was recorded
+   */
+  long getValueAtQuantile(double quantile) {
+    return getValuesAtQuantiles(new double[] {quantile})[0];
+  }
+
+  /**
+   * Returns the values at the given quantiles of the recorded values, all taken from the same
+   * snapshot of the histogram.
+   *
+   * @param quantiles quantiles to return the values at, each between 0 and 1
+   * @return the values at the quantiles, in the same order, or zeros if nothing was recorded
+   */
+  long[] getValuesAtQuantiles(double[] quantiles) {
+    for (double quantile : quantiles) {
+      Preconditions.checkArgument(
+          0 <= quantile && quantile <= 1,
+          "`quantile` must be between 0 and 1, but was: %s",
+          quantile);
+    }
+
+    // Take a snapshot of the counts, so the total and the walks below agree with each other
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+
+    long[] values = new long[quantiles.length];
+    if (total == 0) {
+      return values;
+    }
+    for (int q = 0; q < quantiles.length; q++) {
+      long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+      long seen = 0;
+      int index = 0;
+      while (seen + counts[index] < rank) {
+        seen += counts[index];
+        index++;
+      }
+      values[q] = bucketUpperBound(index);
+    }
+    return values;
+  }
+
+  /**
+   * Returns the index of the bucket a value falls into.
+   *
+   * @param value non-negative value
+   * @return the bucket index
+   */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    // The highest set bit selects the power of two, and the bits below it the sub-bucket
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * Returns the largest value that falls into a bucket.
+   *
+   * @param index bucket index
+   * @return the largest value of the bucket
+   */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -95,8 +95,9 @@ public class Operation extends TelemetryDatapoint {
    * @return an updated collection of attributes.
    */
   private static Map<String, Attribute> addStandardAttributes(Map<String, Attribute> attributes) {
+    // Operations reported after the fact, such as buffered recordings, carry their own thread
     Attribute threadIdAttribute = CommonAttributes.threadId(Thread.currentThread());
-    attributes.put(threadIdAttribute.getName(), threadIdAttribute);
+    attributes.putIfAbsent(threadIdAttribute.getName(), threadIdAttribute);
 
     return attributes;
   }
@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A pre-registered template for an {@link Operation} recorded on a hot path. Unlike {@link
+ * OperationSupplier}, which builds an {@link Operation} with its attributes on every execution, a
+ * descriptor is created once and executions are recorded against it with {@link
+ * Telemetry#startRecording(OperationDescriptor)} and {@link Telemetry#completeRecording}. The
+ * recording only stores the object the operation is about and up to {@link #MAX_VALUES} primitive
+ * values, and the {@link Operation} and its attributes are only built by the {@link
+ * AttributeWriter} of the descriptor when the recording is reported.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OperationDescriptor {
+  /** Maximum number of primitive values recorded with each execution. */
+  public static final int MAX_VALUES = 3;
+
+  /** Operation name. */
+  @NonNull String name;
+
+  /** Level the operation is recorded at. */
+  @NonNull TelemetryLevel level;
+
+  /** Builds the attributes of each execution from its subject and primitive values. */
+  @NonNull AttributeWriter attributeWriter;
+
+  /**
+   * Creates a new instance of {@link OperationDescriptor} that reports the subject and primitive
+   * values of each execution as attributes of their own.
+   *
+   * @param name operation name.
+   * @param level level the operation is recorded at.
+   * @param subjectName name of the attribute the subject of each execution is reported as.
+   * @param valueNames names of the attributes the primitive values of each execution are reported
+   *     as. There may be at most {@link #MAX_VALUES}, and values recorded past them are ignored.
+   * @return a new instance of {@link OperationDescriptor}.
+   */
+  public static OperationDescriptor of(
+      @NonNull String name,
+      @NonNull TelemetryLevel level,
+      @NonNull String subjectName,
+      @NonNull String... valueNames) {
+    Preconditions.checkArgument(
+        valueNames.length <= MAX_VALUES,
+        "`valueNames` must not have more than %s entries",
+        MAX_VALUES);
+    return new OperationDescriptor(
+        name,
+        level,
+        new NamedAttributeWriter(
+            subjectName, Collections.unmodifiableList(Arrays.asList(valueNames.clone()))));
+  }
+
+  /**
+   * Creates a new instance of {@link OperationDescriptor} whose attributes are built by the given
+   * writer, so that executions can be reported with the same attributes as an {@link Operation}
+   * built on every call.
+   *
+   * @param name operation name.
+   * @param level level the operation is recorded at.
+   * @param attributeWriter builds the attributes of each execution when it is reported.
+   * @return a new instance of {@link OperationDescriptor}.
+   */
+  public static OperationDescriptor of(
+      @NonNull String name,
+      @NonNull TelemetryLevel level,
+      @NonNull AttributeWriter attributeWriter) {
+    return new OperationDescriptor(name, level, attributeWriter);
+  }
+
+  /** Builds the attributes of a recorded execution when it is reported. */
+  @FunctionalInterface
+  public interface AttributeWriter {
+    /**
+     * Adds the attributes of a recorded execution to the {@link Operation} it is reported as.
+     *
+     * @param operationBuilder builder of the reported {@link Operation}.
+     * @param subject the object the execution is about.
+     * @param value0 first primitive value.
+     * @param value1 second primitive value.
+     * @param value2 third primitive value.
+     */
+    void write(
+        Operation.OperationBuilder operationBuilder,
+        Object subject,
+        long value0,
+        long value1,
+        long value2);
+  }
+
+  /** Reports the subject and each named primitive value as an attribute of its own. */
+  @Value
+  private static class NamedAttributeWriter implements AttributeWriter {
+    @NonNull String subjectName;
+    @NonNull List<String> valueNames;
+
+    @Override
+    public void write(
+        Operation.OperationBuilder operationBuilder,
+        Object subject,
+        long value0,
+        long value1,
+        long value2) {
+      operationBuilder.attribute(subjectName, subject);
+      for (int i = 0; i < valueNames.size(); i++) {
+        operationBuilder.attribute(valueNames.get(i), i == 0 ? value0 : i == 1 ? value1 : value2);
+      }
+    }
+  }
+}
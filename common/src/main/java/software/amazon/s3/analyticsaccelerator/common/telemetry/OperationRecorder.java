@@ -0,0 +1,274 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Records executions of {@link OperationDescriptor}s into per-thread ring buffers of primitive
+ * slots, so that recording an execution neither allocates nor formats anything. Recorded executions
+ * are handed to a consumer when the buffers are drained, which happens on {@link
+ * DefaultTelemetry#flush()} and whenever a thread fills half of its buffer.
+ *
+ * <p>Every buffer has a single writer, its owning thread. Slots are claimed with a compare-and-set
+ * on their state both by the writer and by the drain, so a slot is never read while it is being
+ * written. If the writer laps the drain, the oldest executions are overwritten and counted as
+ * dropped.
+ *
+ * <p>This class is thread safe.
+ */
+class OperationRecorder {
+  /** Default number of executions buffered for each thread. */
+  static final int DEFAULT_CAPACITY = 256;
+
+  private static final long BUSY = -1;
+
+  private final int capacity;
+  private final int mask;
+  private final Queue<RecordBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<RecordBuffer> threadBuffer;
+  // Not reentrant, so that a consumer reporting into this recorder cannot drain it recursively
+  private final Semaphore drainPermit = new Semaphore(1);
+  private final Record record = new Record();
+
+  /** Number of recorded executions that were lost before they could be drained. */
+  @Getter(AccessLevel.PACKAGE)
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  /** Creates a new instance of {@link OperationRecorder} with the default capacity. */
+  OperationRecorder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new instance of {@link OperationRecorder}.
+   *
+   * @param capacity number of executions buffered for each thread. Must be a power of two.
+   */
+  OperationRecorder(int capacity) {
+    Preconditions.checkArgument(
+        capacity > 1 && Integer.bitCount(capacity) == 1,
+        "`capacity` must be a power of two greater than one, but was: %s",
+        capacity);
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.threadBuffer = ThreadLocal.withInitial(this::registerBuffer);
+  }
+
+  /**
+   * Records an execution into the buffer of the current thread.
+   *
+   * @param descriptor descriptor of the operation.
+   * @param elapsedStartTimeNanos elapsed clock time at the start of the execution.
+   * @param elapsedCompleteTimeNanos elapsed clock time at the end of the execution.
+   * @param subject the object the execution is about.
+   * @param error error thrown by the execution, or null if it succeeded.
+   * @param value0 first primitive value.
+   * @param value1 second primitive value.
+   * @param value2 third primitive value.
+   * @return true if the buffer of the current thread should be drained.
+   */
+  boolean record(
+      OperationDescriptor descriptor,
+      long elapsedStartTimeNanos,
+      long elapsedCompleteTimeNanos,
+      Object subject,
+      Throwable error,
+      long value0,
+      long value1,
+      long value2) {
+    RecordBuffer buffer = threadBuffer.get();
+    long sequence = buffer.next;
+    int index = (int) (sequence & mask);
+
+    // The slot is only busy if it is being drained, in which case this execution is dropped
+    long state = buffer.states.get(index);
+    if (state == BUSY || !buffer.states.compareAndSet(index, state, BUSY)) {
+      droppedCount.incrementAndGet();
+      return true;
+    }
+
+    buffer.descriptors[index] = descriptor;
+    buffer.subjects[index] = subject;
+    buffer.errors[index] = error;
+    buffer.startTimes[index] = elapsedStartTimeNanos;
+    buffer.completeTimes[index] = elapsedCompleteTimeNanos;
+    int valueIndex = index * OperationDescriptor.MAX_VALUES;
+    buffer.values[valueIndex] = value0;
+    buffer.values[valueIndex + 1] = value1;
+    buffer.values[valueIndex + 2] = value2;
+    buffer.states.set(index, sequence);
+
+    buffer.next = sequence + 1;
+    buffer.published.lazySet(sequence + 1);
+    return sequence + 1 - buffer.drained >= capacity / 2;
+  }
+
+  /**
+   * Hands every execution recorded so far to the consumer, oldest first for each thread. The
+   * {@link Record} passed to the consumer is reused and must not be retained.
+   *
+   * @param consumer consumer of the recorded executions.
+   * @param wait whether to wait for a drain that is already in progress on another thread, rather
+   *     than leaving the executions to it.
+   */
+  void drain(@NonNull Consumer<Record> consumer, boolean wait) {
+    if (wait) {
+      drainPermit.acquireUninterruptibly();
+    } else if (!drainPermit.tryAcquire()) {
+      return;
+    }
+
+    try {
+      Iterator<RecordBuffer> iterator = buffers.iterator();
+      while (iterator.hasNext()) {
+        RecordBuffer buffer = iterator.next();
+        drainBuffer(buffer, consumer);
+        // Buffers of threads that are gone will not be written to again
+        if (!buffer.owner.isAlive()) {
+          iterator.remove();
+        }
+      }
+    } finally {
+      drainPermit.release();
+    }
+  }
+
+  /**
+   * Drains a single buffer. Must be called while holding the drain permit.
+   *
+   * @param buffer buffer to drain.
+   * @param consumer consumer of the recorded executions.
+   */
+  private void drainBuffer(RecordBuffer buffer, Consumer<Record> consumer) {
+    long published = buffer.published.get();
+    long sequence = Math.max(buffer.drained, published - capacity);
+    long dropped = sequence - buffer.drained;
+
+    for (; sequence < published; sequence++) {
+      int index = (int) (sequence & mask);
+      // The slot fails to be claimed if the writer has lapped the drain since reading `published`
+      if (!buffer.states.compareAndSet(index, sequence, BUSY)) {
+        dropped++;
+        continue;
+      }
+
+      record.descriptor = buffer.descriptors[index];
+      record.subject = buffer.subjects[index];
+      record.error = buffer.errors[index];
+      record.threadId = buffer.threadId;
+      record.elapsedStartTimeNanos = buffer.startTimes[index];
+      record.elapsedCompleteTimeNanos = buffer.completeTimes[index];
+      System.arraycopy(
+          buffer.values,
+          index * OperationDescriptor.MAX_VALUES,
+          record.values,
+          0,
+          OperationDescriptor.MAX_VALUES);
+      buffer.subjects[index] = null;
+      buffer.errors[index] = null;
+      buffer.states.set(index, sequence);
+
+      consumer.accept(record);
+    }
+
+    buffer.drained = published;
+    if (dropped > 0) {
+      droppedCount.addAndGet(dropped);
+    }
+  }
+
+  /**
+   * Creates the buffer of the current thread and registers it to be drained.
+   *
+   * @return the buffer of the current thread.
+   */
+  private RecordBuffer registerBuffer() {
+    RecordBuffer buffer = new RecordBuffer(Thread.currentThread(), capacity);
+    buffers.add(buffer);
+    return buffer;
+  }
+
+  /** A single recorded execution, as handed to the consumer by {@link #drain}. */
+  @Getter(AccessLevel.PACKAGE)
+  static final class Record {
+    private OperationDescriptor descriptor;
+    private Object subject;
+    private Throwable error;
+    private long threadId;
+    private long elapsedStartTimeNanos;
+    private long elapsedCompleteTimeNanos;
+    @Getter(AccessLevel.NONE)
+    private final long[] values = new long[OperationDescriptor.MAX_VALUES];
+
+    /**
+     * Returns one of the primitive values of the execution.
+     *
+     * @param index index of the value.
+     * @return the value.
+     */
+    long getValue(int index) {
+      return values[index];
+    }
+  }
+
+  /** Ring buffer of the executions recorded by a single thread. */
+  private static final class RecordBuffer {
+    private final Thread owner;
+    private final long threadId;
+    private final AtomicLongArray states;
+    private final OperationDescriptor[] descriptors;
+    private final Object[] subjects;
+    private final Throwable[] errors;
+    private final long[] startTimes;
+    private final long[] completeTimes;
+    private final long[] values;
+    /** Sequence of the next execution, only accessed by the owner. */
+    private long next;
+    /** Sequence of the next execution, as published to the drain. */
+    private final AtomicLong published = new AtomicLong();
+    /** Sequence of the next execution to drain. */
+    private volatile long drained;
+
+    /**
+     * Creates a new instance of {@link RecordBuffer}.
+     *
+     * @param owner the thread recording into the buffer.
+     * @param capacity number of executions buffered.
+     */
+    private RecordBuffer(Thread owner, int capacity) {
+      this.owner = owner;
+      this.threadId = owner.getId();
+      this.states = new AtomicLongArray(capacity);
+      this.descriptors = new OperationDescriptor[capacity];
+      this.subjects = new Object[capacity];
+      this.errors = new Throwable[capacity];
+      this.startTimes = new long[capacity];
+      this.completeTimes = new long[capacity];
+      this.values = new long[capacity * OperationDescriptor.MAX_VALUES];
+    }
+  }
+}
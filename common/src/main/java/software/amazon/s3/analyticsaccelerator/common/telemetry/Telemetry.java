@@ -295,6 +295,52 @@ public interface Telemetry extends Closeable {
       TelemetrySupplier<T> operationCode,
       Predicate<T> condition);
 
+  /**
+   * Determines whether operations of the given level are recorded. Hot paths can use this to skip
+   * building the {@link OperationSupplier} altogether.
+   *
+   * @param level telemetry level.
+   * @return whether operations of the given level are recorded.
+   */
+  boolean isEnabled(@NonNull TelemetryLevel level);
+
+  /**
+   * Starts recording an execution of a pre-registered operation. Together with {@link
+   * #completeRecording}, this is the allocation free alternative to {@link #measure} for hot
+   * paths: nothing is built until the execution is reported, and executions are reported in
+   * batches. Unlike {@link #measure}, the execution is not pushed onto the {@link
+   * OperationContext}, so it neither has a parent nor becomes one.
+   *
+   * @param descriptor descriptor of the operation.
+   * @return the token to complete the recording with, or {@link #NOT_RECORDING} if the level of
+   *     the operation is not recorded.
+   */
+  long startRecording(@NonNull OperationDescriptor descriptor);
+
+  /**
+   * Completes recording an execution of a pre-registered operation.
+   *
+   * @param descriptor descriptor of the operation.
+   * @param startToken the token returned by {@link #startRecording(OperationDescriptor)}.
+   * @param subject the object the execution is about, passed to the attribute writer of the
+   *     descriptor.
+   * @param value0 first primitive value, passed to the attribute writer of the descriptor.
+   * @param value1 second primitive value, passed to the attribute writer of the descriptor.
+   * @param value2 third primitive value, passed to the attribute writer of the descriptor.
+   * @param error error thrown by the execution, if any.
+   */
+  void completeRecording(
+      @NonNull OperationDescriptor descriptor,
+      long startToken,
+      @NonNull Object subject,
+      long value0,
+      long value1,
+      long value2,
+      @NonNull Optional<Throwable> error);
+
+  /** Token returned by {@link #startRecording(OperationDescriptor)} when nothing is recorded. */
+  long NOT_RECORDING = Long.MIN_VALUE;
+
   /**
    * Records a measurement represented by a metric
    *
@@ -17,7 +17,9 @@ package software.amazon.s3.analyticsaccelerator.common.telemetry;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
@@ -52,6 +54,10 @@ public class TelemetryConfiguration {
   public static final String AGGREGATIONS_FLUSH_INTERVAL_SECONDS_KEY =
       "aggregations.flush.interval.seconds";
 
+  // Aggregations are only keyed by datapoint name by default
+  public static final String AGGREGATIONS_ATTRIBUTES_KEY = "aggregations.attributes";
+  public static final String DEFAULT_AGGREGATIONS_ATTRIBUTES = "";
+
   public static final String LOGGING_LEVEL_KEY = "logging.level";
   public static final String DEFAULT_LOGGING_LEVEL = Level.DEBUG.toString();
 
@@ -71,6 +77,8 @@ public class TelemetryConfiguration {
   @Builder.Default boolean aggregationsEnabled = DEFAULT_AGGREGATIONS_ENABLED;
   /** Aggregations flush interval. */
   @Builder.Default @NonNull Optional<Duration> aggregationsFlushInterval = Optional.empty();
+  /** Comma separated names of the attributes aggregations are keyed by, besides the name. */
+  @Builder.Default @NonNull String aggregationsAttributes = DEFAULT_AGGREGATIONS_ATTRIBUTES;
   /** Logging level. */
   @Builder.Default @NonNull String loggingLevel = DEFAULT_LOGGING_LEVEL;
   /** Logger name. */
@@ -81,6 +89,21 @@ public class TelemetryConfiguration {
   /** Default configuration for {@link ConfigurableTelemetry}. */
   public static final TelemetryConfiguration DEFAULT = TelemetryConfiguration.builder().build();
 
+  /**
+   * Returns the names of the attributes aggregations are keyed by, besides the name.
+   *
+   * @return the names of the attributes aggregations are keyed by
+   */
+  public Set<String> getAggregationsAttributeNames() {
+    Set<String> attributeNames = new LinkedHashSet<>();
+    for (String attributeName : aggregationsAttributes.split(",")) {
+      if (!attributeName.trim().isEmpty()) {
+        attributeNames.add(attributeName.trim());
+      }
+    }
+    return attributeNames;
+  }
+
   /**
    * Constructs {@link TelemetryConfiguration} from {@link ConnectorConfiguration} object.
    *
@@ -105,6 +128,8 @@ public class TelemetryConfiguration {
         .aggregationsEnabled(
             configuration.getBoolean(AGGREGATIONS_ENABLED_KEY, DEFAULT_AGGREGATIONS_ENABLED))
         .aggregationsFlushInterval(aggregationsFlushInterval)
+        .aggregationsAttributes(
+            configuration.getString(AGGREGATIONS_ATTRIBUTES_KEY, DEFAULT_AGGREGATIONS_ATTRIBUTES))
         .loggingName(configuration.getString(LOGGING_NAME_KEY, DEFAULT_LOGGING_NAME))
         .loggingLevel(configuration.getString(LOGGING_LEVEL_KEY, DEFAULT_LOGGING_LEVEL))
         .telemetryFormat(configuration.getString(TELEMETRY_FORMAT_KEY, DEFAULT_TELEMETRY_FORMAT))
@@ -120,6 +145,7 @@ public class TelemetryConfiguration {
     builder.append("\tstdOutEnabled: ").append(stdOutEnabled).append("\n");
     builder.append("\tloggingEnabled: ").append(loggingEnabled).append("\n");
     builder.append("\taggregationsEnabled: ").append(aggregationsEnabled).append("\n");
+    builder.append("\taggregationsAttributes: ").append(aggregationsAttributes).append("\n");
     builder.append("\tloggingLevel: ").append(loggingLevel).append("\n");
     builder.append("\ttelemetryFormat: ").append(telemetryFormat).append("\n");
 
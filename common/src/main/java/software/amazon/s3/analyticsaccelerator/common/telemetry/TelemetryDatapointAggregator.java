@@ -17,12 +17,19 @@ package software.amazon.s3.analyticsaccelerator.common.telemetry;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,9 +37,10 @@ import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 
 /**
  * This class provides a simple metric/operation aggregation functionality. For every metric
- * reported, we extract an aggregation key (currently just the metric name, later attributes as
- * well) and build simple statistics (Min/Max/Avg/Sum/Count). The resulting measurements is then
- * converted into metrics that get sent to the reporter.
+ * reported, we extract an aggregation key (the metric name, plus any of the configured aggregation
+ * attributes the datapoint carries) and build simple statistics (Min/Max/Avg/Sum/Count) and
+ * percentiles (p50/p90/p99/p999). The resulting measurements is then converted into metrics that
+ * get sent to the reporter, carrying the attributes of the aggregation key.
  *
  * <p>This class is thread safe.
  */
@@ -44,6 +52,8 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
   /** This is the mapping between the data points and their stats * */
   @NonNull @Getter(AccessLevel.PACKAGE)
   private final ConcurrentHashMap<Metric, Aggregation> aggregations = new ConcurrentHashMap<>();
+  /** Names of the attributes that datapoints are aggregated by, in addition to their name */
+  @NonNull @Getter private final Set<String> aggregationAttributes;
   /** This is the task that flushes data on a regular basis, if set up */
   private final AtomicReference<ScheduledExecutorService> flushTask;
 
@@ -58,7 +68,23 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
    */
   public TelemetryDatapointAggregator(
       TelemetryReporter telemetryReporter, Optional<Duration> flushInterval) {
-    this(telemetryReporter, flushInterval, DefaultEpochClock.DEFAULT);
+    this(telemetryReporter, flushInterval, Collections.emptySet());
+  }
+
+  /**
+   * Creates a new instance of {@link TelemetryDatapointAggregator}
+   *
+   * @param telemetryReporter an instance of {@link TelemetryReporter} to report data to
+   * @param flushInterval interval to flush aggregates at. If set to None, only explicit flushes wil
+   *     flush aggregates
+   * @param aggregationAttributes names of the attributes to aggregate datapoints by, in addition to
+   *     their name, such as the read mode of a request
+   */
+  public TelemetryDatapointAggregator(
+      TelemetryReporter telemetryReporter,
+      Optional<Duration> flushInterval,
+      Set<String> aggregationAttributes) {
+    this(telemetryReporter, flushInterval, aggregationAttributes, DefaultEpochClock.DEFAULT);
   }
 
   /**
@@ -69,6 +95,21 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
    * @param flushInterval interval to flush aggregates at. If set to None, only explicit flushes wil
    *     flush aggregates
    */
+  TelemetryDatapointAggregator(
+      TelemetryReporter telemetryReporter, Optional<Duration> flushInterval, Clock epochClock) {
+    this(telemetryReporter, flushInterval, Collections.emptySet(), epochClock);
+  }
+
+  /**
+   * Creates a new instance of {@link TelemetryDatapointAggregator}
+   *
+   * @param telemetryReporter an instance of {@link TelemetryReporter} to report data to
+   * @param flushInterval interval to flush aggregates at. If set to None, only explicit flushes wil
+   *     flush aggregates
+   * @param aggregationAttributes names of the attributes to aggregate datapoints by, in addition to
+   *     their name
+   * @param epochClock wall clock
+   */
   @SuppressFBWarnings(
       value = "MC_OVERRIDABLE_METHOD_CALL_IN_CONSTRUCTOR",
       justification =
@@ -76,9 +117,11 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
   TelemetryDatapointAggregator(
       @NonNull TelemetryReporter telemetryReporter,
       @NonNull Optional<Duration> flushInterval,
+      @NonNull Set<String> aggregationAttributes,
       @NonNull Clock epochClock) {
     this.telemetryReporter = telemetryReporter;
     this.epochClock = epochClock;
+    this.aggregationAttributes = Collections.unmodifiableSet(new HashSet<>(aggregationAttributes));
     if (flushInterval.isPresent()) {
       ScheduledExecutorService scheduledExecutorService =
           Executors.newSingleThreadScheduledExecutor();
@@ -128,12 +171,19 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
    */
   @Override
   public void reportComplete(TelemetryDatapointMeasurement datapointMeasurement) {
-    // Right now we do not use attribute-level aggregation and just aggregate by data point names
+    // We aggregate by data point names and the configured aggregation attributes only.
     // To this end, we create a metric with the same name as the datapoint, but strip the
-    // attributes,
-    // making this as the key
-    Metric aggregationKey =
-        Metric.builder().name(datapointMeasurement.getDatapoint().getName()).build();
+    // other attributes, making this as the key
+    TelemetryDatapoint datapoint = datapointMeasurement.getDatapoint();
+    Metric.MetricBuilder aggregationKeyBuilder = Metric.builder().name(datapoint.getName());
+    // Intentionally avoid functional style to reduce lambda invocation on the common path
+    for (String attributeName : aggregationAttributes) {
+      Attribute attribute = datapoint.getAttributes().get(attributeName);
+      if (attribute != null) {
+        aggregationKeyBuilder.attribute(attribute);
+      }
+    }
+    Metric aggregationKey = aggregationKeyBuilder.build();
 
     Aggregation aggregation =
         aggregations.computeIfAbsent(aggregationKey, (key) -> new Aggregation(aggregationKey));
@@ -151,48 +201,93 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
   @Getter
   @AllArgsConstructor
   enum AggregationKind {
-    SUM("sum"),
-    COUNT("count"),
-    AVG("avg"),
-    MIN("min"),
-    MAX("max");
+    SUM("sum", Double.NaN),
+    COUNT("count", Double.NaN),
+    AVG("avg", Double.NaN),
+    MIN("min", Double.NaN),
+    MAX("max", Double.NaN),
+    P50("p50", 0.5),
+    P90("p90", 0.9),
+    P99("p99", 0.99),
+    P999("p999", 0.999);
     private final String value;
+    /** Quantile reported by this kind, or NaN if it is not a percentile */
+    private final double quantile;
   }
 
-  /** A set of aggregations - very primitive so far, just keeping sum and count */
+  /** Percentiles reported for every aggregation, in the order of their quantiles */
+  private static final AggregationKind[] PERCENTILES = {
+    AggregationKind.P50, AggregationKind.P90, AggregationKind.P99, AggregationKind.P999
+  };
+
+  private static final double[] PERCENTILE_QUANTILES =
+      Arrays.stream(PERCENTILES).mapToDouble(AggregationKind::getQuantile).toArray();
+
+  /**
+   * A set of aggregations of the values reported for a single key: sum, count, min, max and a
+   * {@link Histogram} the percentiles are reported from. Values are accumulated without locking,
+   * so reporting from many threads does not contend on the aggregation.
+   */
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
   class Aggregation {
-    @Getter(onMethod_ = {@Synchronized})
-    @NonNull private final TelemetryDatapoint datapoint;
+    @Getter @NonNull private final TelemetryDatapoint datapoint;
 
-    @Getter(onMethod_ = {@Synchronized})
-    private long count = 0;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator min =
+        new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max =
+        new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+    private final Histogram histogram = new Histogram();
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double sum = 0;
+    /**
+     * Records a new value.
+     *
+     * @param value to record
+     */
+    public void accumulate(double value) {
+      sum.add(value);
+      min.accumulate(value);
+      max.accumulate(value);
+      histogram.record(value);
+      // Count last, so that a flush never sees a count without the value behind it
+      count.increment();
+    }
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double min = Double.MAX_VALUE;
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values recorded
+     */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     *
+     * @return the sum of the values recorded
+     */
+    public double getSum() {
+      return sum.sum();
+    }
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double max = Double.MIN_VALUE;
+    /**
+     * Returns the smallest value recorded.
+     *
+     * @return the smallest value recorded
+     */
+    public double getMin() {
+      return min.get();
+    }
 
     /**
-     * Records a new value. Note the `synchronized` - necessary to keep the data thread safe This is
-     * **very primitive** at the moment and keeps very basic stats
+     * Returns the largest value recorded.
      *
-     * @param value to record
+     * @return the largest value recorded
      */
-    @Synchronized
-    public void accumulate(double value) {
-      count++;
-      sum += value;
-      if (value < min) {
-        min = value;
-      }
-      if (value > max) {
-        max = value;
-      }
+    public double getMax() {
+      return max.get();
     }
 
     /**
@@ -200,12 +295,15 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
      *
      * @param reporter an instance of {@link TelemetryReporter} to report to
      */
-    @Synchronized
     public void flush(TelemetryReporter reporter) {
       long epochTimestampNanos = TelemetryDatapointAggregator.this.epochClock.getCurrentTimeNanos();
+      long count = getCount();
       // We should always have some data points here, because the aggregate wouldn't have been
       // created
-      Preconditions.checkState(this.count > 0);
+      Preconditions.checkState(count > 0);
+      double sum = getSum();
+      double min = getMin();
+      double max = getMax();
       // Always report sum and count
       reporter.reportComplete(
           createMetricMeasurement(epochTimestampNanos, AggregationKind.SUM, sum));
@@ -217,6 +315,14 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
           createMetricMeasurement(epochTimestampNanos, AggregationKind.MAX, max));
       reporter.reportComplete(
           createMetricMeasurement(epochTimestampNanos, AggregationKind.MIN, min));
+
+      // Buckets report their upper bound, which must not exceed the largest value recorded
+      long[] percentiles = histogram.getValuesAtQuantiles(PERCENTILE_QUANTILES);
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        reporter.reportComplete(
+            createMetricMeasurement(
+                epochTimestampNanos, PERCENTILES[i], Math.min(percentiles[i], max)));
+      }
     }
 
     /**
@@ -229,8 +335,10 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
      */
     private MetricMeasurement createMetricMeasurement(
         long epochTimestampNanos, AggregationKind aggregationKind, double value) {
-      Metric metric =
-          Metric.builder().name(datapoint.getName() + "." + aggregationKind.value).build();
+      Metric.MetricBuilder metricBuilder =
+          Metric.builder().name(datapoint.getName() + "." + aggregationKind.value);
+      datapoint.getAttributes().values().forEach(metricBuilder::attribute);
+      Metric metric = metricBuilder.build();
       return MetricMeasurement.builder()
           .metric(metric)
           .kind(MetricMeasurementKind.AGGREGATE)
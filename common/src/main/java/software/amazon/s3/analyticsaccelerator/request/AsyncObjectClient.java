@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.request;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+
+/**
+ * Represents asynchronous APIs of an Amazon S3 compatible object store. Requests are issued without
+ * blocking the calling thread, which lets callers compose on the returned futures instead of
+ * holding a thread for every outstanding request.
+ *
+ * <p>Returned futures complete exceptionally with an {@link java.io.IOException} when the request
+ * fails, mirroring the exceptions thrown by the blocking {@link ObjectClient} methods.
+ */
+public interface AsyncObjectClient extends ObjectClient {
+
+  /**
+   * Make an asynchronous headObject request to the object store.
+   *
+   * @param headRequest The HEAD request to be sent
+   * @param openStreamInformation contains stream information
+   * @return a future completed with an instance of {@link ObjectMetadata}
+   */
+  CompletableFuture<ObjectMetadata> headObjectAsync(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation);
+
+  /**
+   * Make an asynchronous getObject request to the object store. The future completes once the
+   * response starts to arrive; the body is then read from the returned {@link ObjectContent}.
+   *
+   * @param getRequest The GET request to be sent
+   * @param openStreamInformation contains stream information
+   * @return a future completed with an instance of {@link ObjectContent}
+   */
+  CompletableFuture<ObjectContent> getObjectAsync(
+      GetRequest getRequest, OpenStreamInformation openStreamInformation);
+}
@@ -26,12 +26,13 @@ public enum ReadMode {
   SYNC(true),
   ASYNC(true),
   SMALL_OBJECT_PREFETCH(true),
-  SEQUENTIAL_FILE_PREFETCH(true),
+  SEQUENTIAL_FILE_PREFETCH(false),
   DICTIONARY_PREFETCH(false),
   COLUMN_PREFETCH(false),
   REMAINING_COLUMN_PREFETCH(false),
   PREFETCH_TAIL(false),
-  READ_VECTORED(false);
+  READ_VECTORED(false),
+  PATTERN_PREFETCH(false);
 
   private final boolean allowRequestExtension;
 
@@ -39,7 +40,8 @@ public enum ReadMode {
    * Should requests be extended for this read mode?
    *
    * <p>When the read is from the parquet prefetcher or readVectored(), we know the exact ranges we
-   * want to read, so in this case don't extend the ranges.
+   * want to read, so in this case don't extend the ranges. The sequential prefetcher sizes its own
+   * window, so its ranges are not extended either.
    *
    * @return true if requests should be extended
    */
@@ -24,16 +24,17 @@ public enum MetricKey {
    * Tracks the memory usage in bytes. Used to monitor the amount of memory being consumed by the
    * blobstore.
    */
-  MEMORY_USAGE("MemoryUsage"),
+  MEMORY_USAGE("MemoryUsage", MetricType.GAUGE),
 
   /**
-   * Tracks the number of successful cache hits. Incremented when requested block is found in the
-   * cache.
+   * Tracks the number of successful cache hits. Incremented when all blocks of a requested range
+   * are found in the block store.
    */
   CACHE_HIT("CacheHit"),
 
   /**
-   * Tracks the number of cache misses. Incremented when requested block is not found in the cache
+   * Tracks the number of cache misses. Incremented when some block of a requested range is not
+   * found in the block store.
    */
   CACHE_MISS("CacheMiss"),
 
@@ -41,18 +42,92 @@ public enum MetricKey {
   GET_REQUEST_COUNT("GetRequestCount"),
 
   /** Counts number of HEAD requests made. */
-  HEAD_REQUEST_COUNT("HeadRequestCount");
+  HEAD_REQUEST_COUNT("HeadRequestCount"),
+
+  /**
+   * Tracks the bytes of predicted Parquet columns that were not prefetched because their row group
+   * belongs to a different split than the one the stream was opened for.
+   */
+  SPLIT_PREFETCH_BYTES_AVOIDED("SplitPrefetchBytesAvoided"),
+
+  /** Counts the ranges prefetched because they continue a strided, reverse or interleaved read. */
+  PATTERN_PREFETCH_COUNT("PatternPrefetchCount"),
+
+  /** Counts the reads that were served by a range prefetched for a detected read pattern. */
+  PATTERN_PREFETCH_HIT_COUNT("PatternPrefetchHitCount"),
+
+  /** Tracks the bytes read straight into the caller buffer without going through the cache. */
+  CACHE_BYPASS_BYTES("CacheBypassBytes"),
+
+  /** Counts the reads that had to wait for the data of a block to arrive. */
+  STALL_COUNT("StallCount"),
+
+  /** Tracks the time (in nanoseconds) reads spent waiting for the data of blocks to arrive. */
+  STALL_TIME_NANOS("StallTimeNanos"),
+
+  /** Counts the blocks that were read for the first time. */
+  BLOCK_FIRST_READ_COUNT("BlockFirstReadCount"),
+
+  /**
+   * Tracks the time (in nanoseconds) between the data of blocks arriving and their first read. A
+   * block whose first read had to wait for its data adds no lead time.
+   */
+  PREFETCH_LEAD_TIME_NANOS("PrefetchLeadTimeNanos"),
+
+  /** Tracks the bytes requested from S3 by GET requests. */
+  FETCHED_BYTES("FetchedBytes"),
+
+  /**
+   * Tracks the fetched bytes that were later read by the application. Bytes read from a block are
+   * tracked at a granularity of 1/64th of the block, and only the first read of them is counted.
+   */
+  USED_BYTES("UsedBytes"),
+
+  /** Tracks the bytes of blocks that had not been read by the time the block was evicted. */
+  EVICTED_UNREAD_BYTES("EvictedUnreadBytes"),
+
+  /** Counts the lookups of object metadata that were served from the metadata store. */
+  METADATA_CACHE_HIT("MetadataCacheHit"),
+
+  /** Counts the lookups of object metadata that required a HEAD request. */
+  METADATA_CACHE_MISS("MetadataCacheMiss"),
+
+  /** Counts the reads served by the block cursor of a stream, without going through the store. */
+  BLOCK_CURSOR_HIT("BlockCursorHit"),
+
+  /** Counts the loaded blocks that were removed from the block store. */
+  BLOCK_EVICTION_COUNT("BlockEvictionCount"),
+
+  /** Tracks the number of GET requests that have been issued and not yet answered. */
+  IN_FLIGHT_GET_REQUESTS("InFlightGetRequests", MetricType.GAUGE),
+
+  /** Tracks the number of read tasks waiting for a thread of the shared thread pool. */
+  READ_QUEUE_DEPTH("ReadQueueDepth", MetricType.GAUGE);
 
   /** The string name representation of the metric. */
   private final String name;
 
+  /** The kind of value the metric tracks. */
+  private final MetricType type;
+
   /**
-   * Constructs a new MetricKey with the specified name.
+   * Constructs a new counter MetricKey with the specified name.
    *
    * @param name The string identifier for the metric
    */
   MetricKey(String name) {
+    this(name, MetricType.COUNTER);
+  }
+
+  /**
+   * Constructs a new MetricKey with the specified name and type.
+   *
+   * @param name The string identifier for the metric
+   * @param type The kind of value the metric tracks
+   */
+  MetricKey(String name, MetricType type) {
     this.name = name;
+    this.type = type;
   }
 
   /**
@@ -63,4 +138,13 @@ public enum MetricKey {
   public String getName() {
     return name;
   }
+
+  /**
+   * Returns the kind of value the metric tracks.
+   *
+   * @return The type of the metric
+   */
+  public MetricType getType() {
+    return type;
+  }
 }
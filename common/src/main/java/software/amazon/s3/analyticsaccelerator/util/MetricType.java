@@ -0,0 +1,28 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+/** The kind of value a {@link MetricKey} tracks, which determines how it should be interpreted. */
+public enum MetricType {
+  /**
+   * A running total that only grows, such as a number of requests or bytes. Rates are derived from
+   * the difference between two snapshots.
+   */
+  COUNTER,
+
+  /** The current level of something that goes up and down, such as memory usage or queue depth. */
+  GAUGE
+}
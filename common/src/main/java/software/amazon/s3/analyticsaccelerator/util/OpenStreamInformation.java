@@ -20,6 +20,7 @@ import lombok.Builder;
 import lombok.Getter;
 import software.amazon.s3.analyticsaccelerator.request.EncryptionSecrets;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
 import software.amazon.s3.analyticsaccelerator.util.retry.DefaultRetryStrategyImpl;
 import software.amazon.s3.analyticsaccelerator.util.retry.RetryStrategy;
@@ -48,6 +49,21 @@ public class OpenStreamInformation {
   private final EncryptionSecrets encryptionSecrets;
   @Builder.Default private final RetryStrategy retryStrategy = new DefaultRetryStrategyImpl();
 
+  /**
+   * Byte range of the split this stream was opened to read, for engines such as Spark and Trino
+   * that split large files by byte range. A Parquet row group belongs to the split containing its
+   * midpoint, and only row groups of this split are predictively prefetched. Null if the stream
+   * reads the whole object.
+   */
+  private final Range splitRange;
+
+  /**
+   * Retrieves the keys of Parquet files written with Parquet modular encryption, so that column
+   * chunk offsets can be read from encrypted footers and column metadata. Null if the keys are not
+   * available, in which case prefetching is disabled for files with encrypted footers.
+   */
+  private final ParquetDecryptionKeyRetriever parquetDecryptionKeyRetriever;
+
   /** Default set of settings for {@link OpenStreamInformation} */
   public static final OpenStreamInformation DEFAULT = OpenStreamInformation.builder().build();
 
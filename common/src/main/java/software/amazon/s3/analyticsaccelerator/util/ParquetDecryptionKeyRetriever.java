@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+/**
+ * Retrieves the keys of Parquet files written with Parquet modular encryption. The footer of such
+ * files is either encrypted, in which case the footer key is needed to find column chunk offsets,
+ * or in plaintext, in which case only columns whose metadata is encrypted with their own key need a
+ * key. Keys are only used to decrypt metadata, never to decrypt data.
+ */
+public interface ParquetDecryptionKeyRetriever {
+  /**
+   * Retrieves the key the footer of a file was encrypted or signed with.
+   *
+   * @param keyMetadata key metadata stored in the file, or null if the file stores none
+   * @return the 128, 192 or 256 bit AES key, or null if the key is not available
+   */
+  byte[] getFooterKey(byte[] keyMetadata);
+
+  /**
+   * Retrieves the key the metadata of a column was encrypted with.
+   *
+   * @param columnPath dot separated path of the column in the schema
+   * @param keyMetadata key metadata stored in the file, or null if the file stores none
+   * @return the 128, 192 or 256 bit AES key, or null if the key is not available
+   */
+  default byte[] getColumnKey(String columnPath, byte[] keyMetadata) {
+    return null;
+  }
+
+  /**
+   * Retrieves the AAD prefix of files written without storing it in the file.
+   *
+   * @return the AAD prefix, or null if it is not available
+   */
+  default byte[] getAadPrefix() {
+    return null;
+  }
+}
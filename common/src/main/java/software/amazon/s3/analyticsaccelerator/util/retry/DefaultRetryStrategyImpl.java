@@ -25,6 +25,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.SneakyThrows;
@@ -107,6 +109,34 @@ public class DefaultRetryStrategyImpl implements RetryStrategy {
     }
   }
 
+  /**
+   * Executes an asynchronous supplier with retry logic. Attempts and their timeouts are scheduled
+   * by Failsafe, without blocking the calling thread.
+   *
+   * @param <T> return type of the future
+   * @param supplier the operation to execute, returning the future of a single attempt
+   * @return a future completed with the result of the first successful attempt
+   */
+  @Override
+  public <T> CompletableFuture<T> getAsync(IOSupplier<CompletableFuture<T>> supplier) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    executor()
+        .getStageAsync(supplier::apply)
+        .whenComplete(
+            (value, error) -> {
+              if (error == null) {
+                result.complete(value);
+              } else {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                result.completeExceptionally(
+                    cause instanceof Exception
+                        ? handleExceptionAfterRetry((Exception) cause)
+                        : cause);
+              }
+            });
+    return result;
+  }
+
   @Override
   public RetryStrategy amend(RetryPolicy policy) {
     Preconditions.checkNotNull(policy);
@@ -16,6 +16,8 @@
 package software.amazon.s3.analyticsaccelerator.util.retry;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /** Interface for executing operations with retry logic. */
 public interface RetryStrategy {
@@ -35,6 +37,37 @@ public interface RetryStrategy {
    */
   <T> T get(IOSupplier<T> supplier);
 
+  /**
+   * Executes an asynchronous supplier with retry logic. Each attempt calls the supplier again and
+   * retries are scheduled once the future of the previous attempt fails, so no thread waits for
+   * outstanding attempts.
+   *
+   * <p>The default implementation blocks the calling thread on each attempt through {@link
+   * #get(IOSupplier)}. Implementations that can compose on futures should override it.
+   *
+   * @param <T> return type of the future
+   * @param supplier the operation to execute, returning the future of a single attempt
+   * @return a future completed with the result of the first successful attempt, or exceptionally
+   *     with the failure of the last one
+   */
+  default <T> CompletableFuture<T> getAsync(IOSupplier<CompletableFuture<T>> supplier) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    try {
+      result.complete(
+          get(
+              () -> {
+                try {
+                  return supplier.apply().get();
+                } catch (ExecutionException e) {
+                  throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+              }));
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+    }
+    return result;
+  }
+
   /**
    * Adds a retry policy to the strategy. This will be policy first to execute as it is appended to
    * the policy list.
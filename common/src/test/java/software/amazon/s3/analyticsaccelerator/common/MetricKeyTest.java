@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+import software.amazon.s3.analyticsaccelerator.util.MetricType;
 
 public class MetricKeyTest {
 
@@ -29,16 +30,59 @@ public class MetricKeyTest {
     assertEquals("CacheMiss", MetricKey.CACHE_MISS.getName());
     assertEquals("GetRequestCount", MetricKey.GET_REQUEST_COUNT.getName());
     assertEquals("HeadRequestCount", MetricKey.HEAD_REQUEST_COUNT.getName());
+    assertEquals("SplitPrefetchBytesAvoided", MetricKey.SPLIT_PREFETCH_BYTES_AVOIDED.getName());
+    assertEquals("PatternPrefetchCount", MetricKey.PATTERN_PREFETCH_COUNT.getName());
+    assertEquals("PatternPrefetchHitCount", MetricKey.PATTERN_PREFETCH_HIT_COUNT.getName());
+    assertEquals("CacheBypassBytes", MetricKey.CACHE_BYPASS_BYTES.getName());
+    assertEquals("StallCount", MetricKey.STALL_COUNT.getName());
+    assertEquals("StallTimeNanos", MetricKey.STALL_TIME_NANOS.getName());
+    assertEquals("BlockFirstReadCount", MetricKey.BLOCK_FIRST_READ_COUNT.getName());
+    assertEquals("PrefetchLeadTimeNanos", MetricKey.PREFETCH_LEAD_TIME_NANOS.getName());
+    assertEquals("FetchedBytes", MetricKey.FETCHED_BYTES.getName());
+    assertEquals("UsedBytes", MetricKey.USED_BYTES.getName());
+    assertEquals("EvictedUnreadBytes", MetricKey.EVICTED_UNREAD_BYTES.getName());
+    assertEquals("MetadataCacheHit", MetricKey.METADATA_CACHE_HIT.getName());
+    assertEquals("MetadataCacheMiss", MetricKey.METADATA_CACHE_MISS.getName());
+    assertEquals("BlockCursorHit", MetricKey.BLOCK_CURSOR_HIT.getName());
+    assertEquals("BlockEvictionCount", MetricKey.BLOCK_EVICTION_COUNT.getName());
+    assertEquals("InFlightGetRequests", MetricKey.IN_FLIGHT_GET_REQUESTS.getName());
+    assertEquals("ReadQueueDepth", MetricKey.READ_QUEUE_DEPTH.getName());
   }
 
   @Test
   public void testEnumValues() {
     MetricKey[] values = MetricKey.values();
-    assertEquals(5, values.length);
+    assertEquals(22, values.length);
     assertEquals(MetricKey.MEMORY_USAGE, values[0]);
     assertEquals(MetricKey.CACHE_HIT, values[1]);
     assertEquals(MetricKey.CACHE_MISS, values[2]);
     assertEquals(MetricKey.GET_REQUEST_COUNT, values[3]);
     assertEquals(MetricKey.HEAD_REQUEST_COUNT, values[4]);
+    assertEquals(MetricKey.SPLIT_PREFETCH_BYTES_AVOIDED, values[5]);
+    assertEquals(MetricKey.PATTERN_PREFETCH_COUNT, values[6]);
+    assertEquals(MetricKey.PATTERN_PREFETCH_HIT_COUNT, values[7]);
+    assertEquals(MetricKey.CACHE_BYPASS_BYTES, values[8]);
+    assertEquals(MetricKey.STALL_COUNT, values[9]);
+    assertEquals(MetricKey.STALL_TIME_NANOS, values[10]);
+    assertEquals(MetricKey.BLOCK_FIRST_READ_COUNT, values[11]);
+    assertEquals(MetricKey.PREFETCH_LEAD_TIME_NANOS, values[12]);
+    assertEquals(MetricKey.FETCHED_BYTES, values[13]);
+    assertEquals(MetricKey.USED_BYTES, values[14]);
+    assertEquals(MetricKey.EVICTED_UNREAD_BYTES, values[15]);
+    assertEquals(MetricKey.METADATA_CACHE_HIT, values[16]);
+    assertEquals(MetricKey.METADATA_CACHE_MISS, values[17]);
+    assertEquals(MetricKey.BLOCK_CURSOR_HIT, values[18]);
+    assertEquals(MetricKey.BLOCK_EVICTION_COUNT, values[19]);
+    assertEquals(MetricKey.IN_FLIGHT_GET_REQUESTS, values[20]);
+    assertEquals(MetricKey.READ_QUEUE_DEPTH, values[21]);
+  }
+
+  @Test
+  public void testMetricKeyTypes() {
+    assertEquals(MetricType.GAUGE, MetricKey.MEMORY_USAGE.getType());
+    assertEquals(MetricType.GAUGE, MetricKey.IN_FLIGHT_GET_REQUESTS.getType());
+    assertEquals(MetricType.GAUGE, MetricKey.READ_QUEUE_DEPTH.getType());
+    assertEquals(MetricType.COUNTER, MetricKey.GET_REQUEST_COUNT.getType());
+    assertEquals(MetricType.COUNTER, MetricKey.CACHE_HIT.getType());
   }
 }
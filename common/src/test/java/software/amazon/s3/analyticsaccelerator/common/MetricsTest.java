@@ -0,0 +1,135 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+
+public class MetricsTest {
+
+  @Test
+  public void testAddAndReduce() {
+    Metrics metrics = new Metrics();
+    assertEquals(0, metrics.get(MetricKey.MEMORY_USAGE));
+
+    metrics.add(MetricKey.MEMORY_USAGE, 10);
+    metrics.reduce(MetricKey.MEMORY_USAGE, 4);
+    assertEquals(6, metrics.get(MetricKey.MEMORY_USAGE));
+  }
+
+  @Test
+  public void testAddByReadMode() {
+    Metrics metrics = new Metrics();
+    metrics.add(MetricKey.STALL_TIME_NANOS, ReadMode.SYNC, 10);
+    metrics.add(MetricKey.STALL_TIME_NANOS, ReadMode.COLUMN_PREFETCH, 5);
+    metrics.add(MetricKey.STALL_TIME_NANOS, ReadMode.SYNC, 1);
+
+    assertEquals(11, metrics.get(MetricKey.STALL_TIME_NANOS, ReadMode.SYNC));
+    assertEquals(5, metrics.get(MetricKey.STALL_TIME_NANOS, ReadMode.COLUMN_PREFETCH));
+    assertEquals(0, metrics.get(MetricKey.STALL_TIME_NANOS, ReadMode.ASYNC));
+    assertEquals(16, metrics.get(MetricKey.STALL_TIME_NANOS));
+    assertEquals(0, metrics.get(MetricKey.STALL_COUNT, ReadMode.SYNC));
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    Metrics metrics = new Metrics();
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executorService.submit(
+                () -> {
+                  for (int j = 0; j < 10_000; j++) {
+                    metrics.add(MetricKey.MEMORY_USAGE, 3);
+                    metrics.reduce(MetricKey.MEMORY_USAGE, 1);
+                    metrics.add(MetricKey.GET_REQUEST_COUNT, ReadMode.ASYNC, 1);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+
+    assertEquals(160_000, metrics.get(MetricKey.MEMORY_USAGE));
+    assertEquals(80_000, metrics.get(MetricKey.GET_REQUEST_COUNT));
+    assertEquals(80_000, metrics.get(MetricKey.GET_REQUEST_COUNT, ReadMode.ASYNC));
+  }
+
+  @Test
+  public void testSnapshotDoesNotChange() {
+    Metrics metrics = new Metrics();
+    metrics.add(MetricKey.CACHE_HIT, 5);
+    metrics.add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 100);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    metrics.add(MetricKey.CACHE_HIT, 5);
+    metrics.add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 100);
+
+    assertEquals(5, snapshot.get(MetricKey.CACHE_HIT));
+    assertEquals(100, snapshot.get(MetricKey.FETCHED_BYTES));
+    assertEquals(100, snapshot.get(MetricKey.FETCHED_BYTES, ReadMode.SYNC));
+    assertEquals(0, snapshot.get(MetricKey.FETCHED_BYTES, ReadMode.ASYNC));
+    assertEquals(10, metrics.snapshot().get(MetricKey.CACHE_HIT));
+  }
+
+  @Test
+  public void testSnapshotAsMap() {
+    Metrics metrics = new Metrics();
+    metrics.add(MetricKey.HEAD_REQUEST_COUNT, 2);
+
+    Map<String, Long> values = metrics.snapshot().asMap();
+    assertEquals(MetricKey.values().length, values.size());
+    assertEquals(2L, values.get(MetricKey.HEAD_REQUEST_COUNT.getName()));
+    assertEquals(0L, values.get(MetricKey.MEMORY_USAGE.getName()));
+    assertThrows(UnsupportedOperationException.class, () -> values.put("foo", 1L));
+  }
+
+  @Test
+  public void testRate() {
+    MetricsSnapshot earlier =
+        new MetricsSnapshot(0, counters(MetricKey.GET_REQUEST_COUNT, 10), new long[0]);
+    MetricsSnapshot later =
+        new MetricsSnapshot(2_000_000_000L, counters(MetricKey.GET_REQUEST_COUNT, 30), new long[0]);
+
+    assertEquals(10.0, later.getRate(MetricKey.GET_REQUEST_COUNT, earlier));
+    assertEquals(0.0, earlier.getRate(MetricKey.GET_REQUEST_COUNT, earlier));
+    assertThrows(
+        IllegalArgumentException.class, () -> later.getRate(MetricKey.MEMORY_USAGE, earlier));
+    assertThrows(
+        NullPointerException.class, () -> later.getRate(MetricKey.GET_REQUEST_COUNT, null));
+  }
+
+  private static long[] counters(MetricKey key, long value) {
+    long[] totals = new long[MetricKey.values().length];
+    totals[key.ordinal()] = value;
+    return totals;
+  }
+}
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.slf4j.event.Level;
@@ -65,6 +66,7 @@ public class ConfigurableTelemetryTest {
             .stdOutEnabled(true)
             .aggregationsEnabled(true)
             .aggregationsFlushInterval(Optional.of(Duration.of(40, ChronoUnit.SECONDS)))
+            .aggregationsAttributes("read.mode")
             .build();
     try (ConfigurableTelemetry telemetry = new ConfigurableTelemetry(configuration)) {
       // verify correct clocks
@@ -99,6 +101,9 @@ public class ConfigurableTelemetryTest {
       TelemetryDatapointAggregator telemetryDatapointAggregator = telemetry.getAggregator().get();
       assertEquals(DefaultEpochClock.DEFAULT, telemetryDatapointAggregator.getEpochClock());
       assertEquals(telemetry.getReporter(), telemetryDatapointAggregator.getTelemetryReporter());
+      assertEquals(
+          Collections.singleton("read.mode"),
+          telemetryDatapointAggregator.getAggregationAttributes());
     }
   }
 
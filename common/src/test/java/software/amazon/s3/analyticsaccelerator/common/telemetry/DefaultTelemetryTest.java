@@ -1069,4 +1069,160 @@ public class DefaultTelemetryTest {
       }
     }
   }
+
+  private static final OperationDescriptor DESCRIPTOR =
+      OperationDescriptor.of("read", TelemetryLevel.STANDARD, "uri", "start", "end");
+
+  @Test
+  void testIsEnabled() {
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            new TickingClock(0L),
+            new TickingClock(0L),
+            new CollectingTelemetryReporter(),
+            Optional.empty(),
+            TelemetryLevel.STANDARD)) {
+      assertFalse(defaultTelemetry.isEnabled(TelemetryLevel.VERBOSE));
+      assertTrue(defaultTelemetry.isEnabled(TelemetryLevel.STANDARD));
+      assertTrue(defaultTelemetry.isEnabled(TelemetryLevel.CRITICAL));
+    }
+  }
+
+  @Test
+  void testRecording() {
+    TickingClock wallClock = new TickingClock(0L);
+    TickingClock elapsedClock = new TickingClock(0L);
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            wallClock, elapsedClock, reporter, Optional.empty(), TelemetryLevel.STANDARD)) {
+
+      // Tick elapsed clock to 10 and wall clock to 5.
+      elapsedClock.tick(10);
+      wallClock.tick(5);
+      long recording = defaultTelemetry.startRecording(DESCRIPTOR);
+      assertEquals(10, recording);
+
+      // This amounts to 5 ns wait.
+      elapsedClock.tick(5);
+      wallClock.tick(5);
+      defaultTelemetry.completeRecording(
+          DESCRIPTOR, recording, "s3://bucket/key", 100, 199, 7, Optional.empty());
+
+      // Nothing is reported until the recordings are drained
+      assertTrue(reporter.getOperationCompletions().isEmpty());
+      defaultTelemetry.flush();
+
+      assertEquals(1, reporter.getOperationStarts().size());
+      assertEquals(1, reporter.getOperationCompletions().size());
+      OperationMeasurement operationMeasurement =
+          reporter.getOperationCompletions().stream().findFirst().get();
+      Operation operation = operationMeasurement.getOperation();
+      assertEquals("read", operation.getName());
+      assertEquals("s3://bucket/key", operation.getAttributes().get("uri").getValue());
+      assertEquals(100L, operation.getAttributes().get("start").getValue());
+      assertEquals(199L, operation.getAttributes().get("end").getValue());
+      assertEquals(
+          Thread.currentThread().getId(),
+          operation.getAttributes().get(CommonAttributes.THREAD_ID.getName()).getValue());
+      assertEquals(4, operation.getAttributes().size());
+      assertEquals(TelemetryLevel.STANDARD, operationMeasurement.getLevel());
+      assertEquals(10, operationMeasurement.getElapsedStartTimeNanos());
+      assertEquals(15, operationMeasurement.getElapsedCompleteTimeNanos());
+      assertEquals(5, operationMeasurement.getEpochTimestampNanos());
+      assertEquals(Optional.empty(), operationMeasurement.getError());
+    }
+  }
+
+  @Test
+  void testRecordingWithError() {
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            new TickingClock(0L),
+            new TickingClock(0L),
+            reporter,
+            Optional.empty(),
+            TelemetryLevel.STANDARD)) {
+      IllegalStateException error = new IllegalStateException("Error");
+      long recording = defaultTelemetry.startRecording(DESCRIPTOR);
+      defaultTelemetry.completeRecording(
+          DESCRIPTOR, recording, "s3://bucket/key", 0, 0, 0, Optional.of(error));
+      defaultTelemetry.flush();
+
+      assertEquals(1, reporter.getOperationCompletions().size());
+      OperationMeasurement operationMeasurement =
+          reporter.getOperationCompletions().stream().findFirst().get();
+      assertEquals(Optional.of(error), operationMeasurement.getError());
+    }
+  }
+
+  @Test
+  void testRecordingBelowLevel() {
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            new TickingClock(0L),
+            new TickingClock(0L),
+            reporter,
+            Optional.empty(),
+            TelemetryLevel.CRITICAL)) {
+      long recording = defaultTelemetry.startRecording(DESCRIPTOR);
+      assertEquals(Telemetry.NOT_RECORDING, recording);
+      defaultTelemetry.completeRecording(
+          DESCRIPTOR, recording, "s3://bucket/key", 0, 0, 0, Optional.empty());
+      defaultTelemetry.flush();
+
+      assertTrue(reporter.getOperationStarts().isEmpty());
+      assertTrue(reporter.getOperationCompletions().isEmpty());
+    }
+  }
+
+  @Test
+  void testRecordingDrainsWhenBufferFillsUp() {
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            new TickingClock(0L),
+            new TickingClock(0L),
+            reporter,
+            Optional.empty(),
+            TelemetryLevel.STANDARD,
+            new OperationRecorder(4))) {
+      for (int i = 0; i < 3; i++) {
+        long recording = defaultTelemetry.startRecording(DESCRIPTOR);
+        defaultTelemetry.completeRecording(
+            DESCRIPTOR, recording, "s3://bucket/key", i, i, 0, Optional.empty());
+      }
+
+      // Half of the buffer was filled by the second recording, so the first two were drained
+      assertEquals(2, reporter.getOperationCompletions().size());
+      defaultTelemetry.flush();
+      assertEquals(3, reporter.getOperationCompletions().size());
+      assertEquals(0, defaultTelemetry.getOperationRecorder().getDroppedCount().get());
+    }
+  }
+
+  @Test
+  void testRecordingWithNulls() {
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            new TickingClock(0L),
+            new TickingClock(0L),
+            new CollectingTelemetryReporter(),
+            Optional.empty(),
+            TelemetryLevel.STANDARD)) {
+      assertThrows(NullPointerException.class, () -> defaultTelemetry.startRecording(null));
+      assertThrows(NullPointerException.class, () -> defaultTelemetry.isEnabled(null));
+      assertThrows(
+          NullPointerException.class,
+          () -> defaultTelemetry.completeRecording(null, 0, "uri", 0, 0, 0, Optional.empty()));
+      assertThrows(
+          NullPointerException.class,
+          () -> defaultTelemetry.completeRecording(DESCRIPTOR, 0, null, 0, 0, 0, Optional.empty()));
+      assertThrows(
+          NullPointerException.class,
+          () -> defaultTelemetry.completeRecording(DESCRIPTOR, 0, "uri", 0, 0, 0, null));
+    }
+  }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+  @Test
+  void testEmptyHistogram() {
+    Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getValueAtQuantile(0.5));
+    assertArrayEquals(new long[] {0, 0}, histogram.getValuesAtQuantiles(new double[] {0, 1}));
+  }
+
+  @Test
+  void testSmallValuesAreExact() {
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 20; i++) {
+      histogram.record(i);
+    }
+    assertEquals(1, histogram.getValueAtQuantile(0));
+    assertEquals(10, histogram.getValueAtQuantile(0.5));
+    assertEquals(18, histogram.getValueAtQuantile(0.9));
+    assertEquals(20, histogram.getValueAtQuantile(1));
+  }
+
+  @Test
+  void testLargeValuesAreWithinRelativeError() {
+    long[] values = {32, 33, 1000, 123_456, 987_654_321L, 1L << 40, (1L << 50) + 12345};
+    for (long value : values) {
+      Histogram histogram = new Histogram();
+      histogram.record(value);
+      long reported = histogram.getValueAtQuantile(0.5);
+      assertTrue(reported >= value);
+      assertTrue(reported - value <= value / Histogram.SUB_BUCKET_COUNT);
+    }
+  }
+
+  @Test
+  void testBucketBoundaries() {
+    for (int index = 0; index < 1000; index++) {
+      long upperBound = Histogram.bucketUpperBound(index);
+      assertEquals(index, Histogram.bucketIndex(upperBound));
+      assertEquals(index + 1, Histogram.bucketIndex(upperBound + 1));
+    }
+    assertEquals(Long.MAX_VALUE, Histogram.bucketUpperBound(Histogram.bucketIndex(Long.MAX_VALUE)));
+  }
+
+  @Test
+  void testNegativeAndNaNValuesAreRecordedAsZero() {
+    Histogram histogram = new Histogram();
+    histogram.record(-10);
+    histogram.record(Double.NaN);
+    assertEquals(0, histogram.getValueAtQuantile(1));
+  }
+
+  @Test
+  void testFractionalValuesAreRounded() {
+    Histogram histogram = new Histogram();
+    histogram.record(2.6);
+    assertEquals(3, histogram.getValueAtQuantile(1));
+  }
+
+  @Test
+  void testInvalidQuantile() {
+    Histogram histogram = new Histogram();
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtQuantile(-0.1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtQuantile(1.1));
+  }
+
+  @SuppressFBWarnings(
+      value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+      justification =
+          "This is complaining about `executor.submit`. In this case we do not have any use for this Future")
+  @Test
+  void testConcurrentRecording() throws InterruptedException {
+    Histogram histogram = new Histogram();
+    ExecutorService executorService = Executors.newFixedThreadPool(10);
+    for (int i = 0; i < 10; i++) {
+      executorService.submit(
+          () -> {
+            for (int value = 1; value <= 10; value++) {
+              histogram.record(value);
+            }
+          });
+    }
+    executorService.shutdown();
+    assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(5, histogram.getValueAtQuantile(0.5));
+    assertEquals(10, histogram.getValueAtQuantile(1));
+  }
+}
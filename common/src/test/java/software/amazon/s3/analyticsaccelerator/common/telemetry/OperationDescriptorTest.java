@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OperationDescriptorTest {
+  @Test
+  void testCreateDescriptor() {
+    OperationDescriptor descriptor =
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "start", "end");
+    assertEquals("read", descriptor.getName());
+    assertEquals(TelemetryLevel.VERBOSE, descriptor.getLevel());
+
+    Map<String, Attribute> attributes = writeAttributes(descriptor, "s3://bucket/key", 1, 2, 3);
+    assertEquals("s3://bucket/key", attributes.get("uri").getValue());
+    assertEquals(1L, attributes.get("start").getValue());
+    assertEquals(2L, attributes.get("end").getValue());
+  }
+
+  @Test
+  void testCreateDescriptorWithoutValues() {
+    OperationDescriptor descriptor = OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri");
+    Map<String, Attribute> attributes = writeAttributes(descriptor, "s3://bucket/key", 1, 2, 3);
+    assertEquals("s3://bucket/key", attributes.get("uri").getValue());
+    assertFalse(attributes.containsKey("start"));
+  }
+
+  @Test
+  void testCreateDescriptorWithAttributeWriter() {
+    OperationDescriptor descriptor =
+        OperationDescriptor.of(
+            "read",
+            TelemetryLevel.VERBOSE,
+            (operationBuilder, subject, value0, value1, value2) ->
+                operationBuilder
+                    .attribute("uri", subject)
+                    .attribute("range", value0 + "-" + value1));
+    assertEquals("read", descriptor.getName());
+    assertEquals(TelemetryLevel.VERBOSE, descriptor.getLevel());
+
+    Map<String, Attribute> attributes = writeAttributes(descriptor, "s3://bucket/key", 1, 2, 3);
+    assertEquals("s3://bucket/key", attributes.get("uri").getValue());
+    assertEquals("1-2", attributes.get("range").getValue());
+  }
+
+  @Test
+  void testCreateDescriptorWithTooManyValuesThrows() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "a", "b", "c", "d"));
+  }
+
+  @Test
+  void testCreateDescriptorWithNullsThrows() {
+    assertThrows(
+        NullPointerException.class,
+        () -> OperationDescriptor.of(null, TelemetryLevel.VERBOSE, "uri"));
+    assertThrows(NullPointerException.class, () -> OperationDescriptor.of("read", null, "uri"));
+    assertThrows(
+        NullPointerException.class,
+        () -> OperationDescriptor.of("read", TelemetryLevel.VERBOSE, (String) null));
+    assertThrows(
+        NullPointerException.class,
+        () -> OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", (String[]) null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            OperationDescriptor.of(
+                "read", TelemetryLevel.VERBOSE, (OperationDescriptor.AttributeWriter) null));
+  }
+
+  @Test
+  void testValueNamesAreCopied() {
+    String[] valueNames = {"start"};
+    OperationDescriptor descriptor =
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", valueNames);
+    valueNames[0] = "end";
+
+    Map<String, Attribute> attributes = writeAttributes(descriptor, "s3://bucket/key", 1, 2, 3);
+    assertEquals(1L, attributes.get("start").getValue());
+    assertFalse(attributes.containsKey("end"));
+  }
+
+  @Test
+  void testEquality() {
+    assertEquals(
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "start"),
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "start"));
+    assertNotEquals(
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "start"),
+        OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "end"));
+  }
+
+  private static Map<String, Attribute> writeAttributes(
+      OperationDescriptor descriptor, Object subject, long value0, long value1, long value2) {
+    Operation.OperationBuilder operationBuilder = Operation.builder().name(descriptor.getName());
+    descriptor.getAttributeWriter().write(operationBuilder, subject, value0, value1, value2);
+    return operationBuilder.build().getAttributes();
+  }
+}
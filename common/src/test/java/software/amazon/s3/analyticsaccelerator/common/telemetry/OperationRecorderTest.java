@@ -0,0 +1,162 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OperationRecorderTest {
+  private static final OperationDescriptor DESCRIPTOR =
+      OperationDescriptor.of("read", TelemetryLevel.VERBOSE, "uri", "start", "end", "ts");
+
+  @Test
+  void testCreateWithInvalidCapacityThrows() {
+    assertThrows(IllegalArgumentException.class, () -> new OperationRecorder(0));
+    assertThrows(IllegalArgumentException.class, () -> new OperationRecorder(1));
+    assertThrows(IllegalArgumentException.class, () -> new OperationRecorder(6));
+  }
+
+  @Test
+  void testDrainWithNullsThrows() {
+    assertThrows(NullPointerException.class, () -> new OperationRecorder().drain(null, true));
+  }
+
+  @Test
+  void testRecordAndDrain() {
+    OperationRecorder recorder = new OperationRecorder(8);
+    Exception error = new IllegalStateException("Error");
+    assertFalse(recorder.record(DESCRIPTOR, 10, 15, "uri", null, 1, 2, 3));
+    assertFalse(recorder.record(DESCRIPTOR, 20, 25, "uri", error, 4, 5, 6));
+
+    List<String> drained = drainToStrings(recorder);
+    assertEquals(2, drained.size());
+    assertEquals(recordString(10, 15, "uri", null, 1, 2, 3), drained.get(0));
+    assertEquals(recordString(20, 25, "uri", error, 4, 5, 6), drained.get(1));
+
+    // Executions are only drained once
+    assertTrue(drainToStrings(recorder).isEmpty());
+    assertEquals(0, recorder.getDroppedCount().get());
+  }
+
+  @Test
+  void testRecordReportsWhenHalfOfTheBufferIsFilled() {
+    OperationRecorder recorder = new OperationRecorder(8);
+    for (int i = 0; i < 3; i++) {
+      assertFalse(recorder.record(DESCRIPTOR, i, i, "uri", null, i, i, i));
+    }
+    assertTrue(recorder.record(DESCRIPTOR, 3, 3, "uri", null, 3, 3, 3));
+
+    assertEquals(4, drainToStrings(recorder).size());
+    assertFalse(recorder.record(DESCRIPTOR, 4, 4, "uri", null, 4, 4, 4));
+  }
+
+  @Test
+  void testOverwrittenExecutionsAreDropped() {
+    OperationRecorder recorder = new OperationRecorder(4);
+    for (int i = 0; i < 10; i++) {
+      recorder.record(DESCRIPTOR, i, i, "uri", null, i, i, i);
+    }
+
+    // Only the last four executions are still in the buffer
+    List<String> drained = drainToStrings(recorder);
+    assertEquals(4, drained.size());
+    assertEquals(recordString(6, 6, "uri", null, 6, 6, 6), drained.get(0));
+    assertEquals(recordString(9, 9, "uri", null, 9, 9, 9), drained.get(3));
+    assertEquals(6, recorder.getDroppedCount().get());
+  }
+
+  @Test
+  void testDrainCollectsAllThreads() throws Exception {
+    OperationRecorder recorder = new OperationRecorder(64);
+    int threadCount = 4;
+    int recordsPerThread = 10;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        futures.add(
+            executorService.submit(
+                () -> {
+                  start.await();
+                  for (int j = 0; j < recordsPerThread; j++) {
+                    recorder.record(DESCRIPTOR, j, j, "uri", null, j, j, j);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+
+      assertEquals(threadCount * recordsPerThread, drainToStrings(recorder).size());
+      assertEquals(0, recorder.getDroppedCount().get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void testDrainWithoutWaitingSkipsWhenDrainInProgress() {
+    OperationRecorder recorder = new OperationRecorder(8);
+    recorder.record(DESCRIPTOR, 0, 0, "uri", null, 0, 0, 0);
+
+    List<String> drained = new ArrayList<>();
+    recorder.drain(
+        record -> {
+          // A nested drain finds the drain permit taken and returns straight away
+          recorder.drain(nested -> drained.add("nested"), false);
+          drained.add(record.getDescriptor().getName());
+        },
+        true);
+    assertEquals(1, drained.size());
+    assertEquals("read", drained.get(0));
+  }
+
+  private static List<String> drainToStrings(OperationRecorder recorder) {
+    List<String> drained = new ArrayList<>();
+    recorder.drain(
+        record ->
+            drained.add(
+                recordString(
+                    record.getElapsedStartTimeNanos(),
+                    record.getElapsedCompleteTimeNanos(),
+                    record.getSubject(),
+                    record.getError(),
+                    record.getValue(0),
+                    record.getValue(1),
+                    record.getValue(2))),
+        true);
+    return drained;
+  }
+
+  private static String recordString(
+      long start, long end, Object subject, Throwable error, long v0, long v1, long v2) {
+    return String.format("%d-%d %s %s [%d,%d,%d]", start, end, subject, error, v0, v1, v2);
+  }
+}
@@ -20,7 +20,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -47,6 +49,7 @@ public class TelemetryConfigurationTest {
     assertEquals(Level.DEBUG.toString(), configuration.getLoggingLevel());
     assertEquals(TelemetryConfiguration.DEFAULT_LOGGING_NAME, configuration.getLoggingName());
     assertEquals(Optional.empty(), configuration.getAggregationsFlushInterval());
+    assertTrue(configuration.getAggregationsAttributeNames().isEmpty());
   }
 
   @Test
@@ -73,6 +76,25 @@ public class TelemetryConfigurationTest {
     assertEquals(
         Optional.of(Duration.of(30, ChronoUnit.SECONDS)),
         configuration.getAggregationsFlushInterval());
+    assertEquals(
+        new LinkedHashSet<>(Arrays.asList("read.mode", "bucket")),
+        configuration.getAggregationsAttributeNames());
+  }
+
+  @Test
+  void testAggregationsAttributeNames() {
+    assertEquals(
+        new LinkedHashSet<>(Arrays.asList("read.mode", "bucket")),
+        TelemetryConfiguration.builder()
+            .aggregationsAttributes(" read.mode, ,bucket,read.mode ")
+            .build()
+            .getAggregationsAttributeNames());
+    assertTrue(
+        TelemetryConfiguration.builder()
+            .aggregationsAttributes(" ")
+            .build()
+            .getAggregationsAttributeNames()
+            .isEmpty());
   }
 
   @Test
@@ -86,6 +108,9 @@ public class TelemetryConfigurationTest {
     assertThrows(
         NullPointerException.class,
         () -> TelemetryConfiguration.builder().aggregationsFlushInterval(null).build());
+    assertThrows(
+        NullPointerException.class,
+        () -> TelemetryConfiguration.builder().aggregationsAttributes(null).build());
     assertThrows(NullPointerException.class, () -> TelemetryConfiguration.fromConfiguration(null));
   }
 
@@ -101,6 +126,7 @@ public class TelemetryConfigurationTest {
             + "\tstdOutEnabled: false\n"
             + "\tloggingEnabled: false\n"
             + "\taggregationsEnabled: true\n"
+            + "\taggregationsAttributes: read.mode,bucket\n"
             + "\tloggingLevel: debug\n"
             + "\ttelemetryFormat: default\n");
   }
@@ -119,6 +145,8 @@ public class TelemetryConfigurationTest {
     properties.put(TEST_PREFIX + "." + TelemetryConfiguration.AGGREGATIONS_ENABLED_KEY, "true");
     properties.put(
         TEST_PREFIX + "." + TelemetryConfiguration.AGGREGATIONS_FLUSH_INTERVAL_SECONDS_KEY, "30");
+    properties.put(
+        TEST_PREFIX + "." + TelemetryConfiguration.AGGREGATIONS_ATTRIBUTES_KEY, "read.mode,bucket");
 
     return new ConnectorConfiguration(properties, TEST_PREFIX);
   }
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.mock;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -99,7 +100,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -109,6 +110,10 @@ public class TelemetryDatapointAggregatorTest {
         assertMeasurement(measurements, 20L, "Foo.count", 3);
         assertMeasurement(measurements, 20L, "Foo.min", 1);
         assertMeasurement(measurements, 20L, "Foo.max", 9);
+        assertMeasurement(measurements, 20L, "Foo.p50", 2);
+        assertMeasurement(measurements, 20L, "Foo.p90", 9);
+        assertMeasurement(measurements, 20L, "Foo.p99", 9);
+        assertMeasurement(measurements, 20L, "Foo.p999", 9);
       }
     }
   }
@@ -162,7 +167,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -172,6 +177,10 @@ public class TelemetryDatapointAggregatorTest {
         assertMeasurement(measurements, 20L, "Foo.count", 3);
         assertMeasurement(measurements, 20L, "Foo.min", 1);
         assertMeasurement(measurements, 20L, "Foo.max", 9);
+        assertMeasurement(measurements, 20L, "Foo.p50", 2);
+        assertMeasurement(measurements, 20L, "Foo.p90", 9);
+        assertMeasurement(measurements, 20L, "Foo.p99", 9);
+        assertMeasurement(measurements, 20L, "Foo.p999", 9);
       }
     }
   }
@@ -204,7 +213,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -214,6 +223,10 @@ public class TelemetryDatapointAggregatorTest {
         assertMeasurement(measurements, 20L, "Foo.count", 3);
         assertMeasurement(measurements, 20L, "Foo.min", 1);
         assertMeasurement(measurements, 20L, "Foo.max", 9);
+        assertMeasurement(measurements, 20L, "Foo.p50", 2);
+        assertMeasurement(measurements, 20L, "Foo.p90", 9);
+        assertMeasurement(measurements, 20L, "Foo.p99", 9);
+        assertMeasurement(measurements, 20L, "Foo.p999", 9);
       }
     }
   }
@@ -253,7 +266,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(10, telemetryReporter.getMetrics().size());
+        assertEquals(18, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -263,12 +276,20 @@ public class TelemetryDatapointAggregatorTest {
         assertMeasurement(measurements, 20L, "Foo.count", 3);
         assertMeasurement(measurements, 20L, "Foo.min", 1);
         assertMeasurement(measurements, 20L, "Foo.max", 9);
+        assertMeasurement(measurements, 20L, "Foo.p50", 2);
+        assertMeasurement(measurements, 20L, "Foo.p90", 9);
+        assertMeasurement(measurements, 20L, "Foo.p99", 9);
+        assertMeasurement(measurements, 20L, "Foo.p999", 9);
 
         assertMeasurement(measurements, 20L, "Bar.sum", 24);
         assertMeasurement(measurements, 20L, "Bar.avg", 8);
         assertMeasurement(measurements, 20L, "Bar.count", 3);
         assertMeasurement(measurements, 20L, "Bar.min", 2);
         assertMeasurement(measurements, 20L, "Bar.max", 18);
+        assertMeasurement(measurements, 20L, "Bar.p50", 4);
+        assertMeasurement(measurements, 20L, "Bar.p90", 18);
+        assertMeasurement(measurements, 20L, "Bar.p99", 18);
+        assertMeasurement(measurements, 20L, "Bar.p999", 18);
       }
     }
   }
@@ -419,6 +440,126 @@ public class TelemetryDatapointAggregatorTest {
     }
   }
 
+  @Test
+  void testReportMetricShouldProduceAggregationByAttributes() {
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter telemetryReporter = new CollectingTelemetryReporter()) {
+      try (TelemetryDatapointAggregator aggregator =
+          new TelemetryDatapointAggregator(
+              telemetryReporter,
+              Optional.empty(),
+              Collections.singleton("read.mode"),
+              elapsedClock)) {
+        Metric sync = Metric.builder().name("Foo").attribute("read.mode", "SYNC").build();
+        Metric async =
+            Metric.builder()
+                .name("Foo")
+                .attribute("read.mode", "ASYNC")
+                .attribute("uri", "s3://bucket/key")
+                .build();
+        Metric none = Metric.builder().name("Foo").attribute("uri", "s3://bucket/key").build();
+
+        elapsedClock.tick(10L);
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(sync).value(1).epochTimestampNanos(1).build());
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(sync).value(3).epochTimestampNanos(1).build());
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(async).value(10).epochTimestampNanos(1).build());
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(none).value(100).epochTimestampNanos(1).build());
+        aggregator.flush();
+
+        // One aggregation per read mode, and one for datapoints without it
+        assertEquals(3, aggregator.getAggregations().size());
+        assertEquals(
+            3 * TelemetryDatapointAggregator.AggregationKind.values().length,
+            telemetryReporter.getMetrics().size());
+
+        Map<String, MetricMeasurement> syncMeasurements =
+            measurementsWithAttribute("SYNC", telemetryReporter);
+        assertEquals(4, syncMeasurements.get("Foo.sum").getValue());
+        assertEquals(2, syncMeasurements.get("Foo.count").getValue());
+        assertEquals(3, syncMeasurements.get("Foo.max").getValue());
+        assertEquals(1, syncMeasurements.get("Foo.p50").getValue());
+
+        Map<String, MetricMeasurement> asyncMeasurements =
+            measurementsWithAttribute("ASYNC", telemetryReporter);
+        assertEquals(10, asyncMeasurements.get("Foo.sum").getValue());
+        // Attributes that are not aggregated by are stripped
+        assertEquals(1, asyncMeasurements.get("Foo.sum").getMetric().getAttributes().size());
+      }
+    }
+  }
+
+  @Test
+  void testNegativeValuesAreAggregated() {
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter telemetryReporter = new CollectingTelemetryReporter()) {
+      try (TelemetryDatapointAggregator aggregator =
+          new TelemetryDatapointAggregator(telemetryReporter, Optional.empty(), elapsedClock)) {
+        Metric metric = Metric.builder().name("Foo").build();
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(metric).value(-5).epochTimestampNanos(1).build());
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(metric).value(-2).epochTimestampNanos(1).build());
+        aggregator.flush();
+
+        Map<String, MetricMeasurement> measurements =
+            telemetryReporter.getMetrics().stream()
+                .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
+        assertMeasurement(measurements, 0L, "Foo.min", -5);
+        assertMeasurement(measurements, 0L, "Foo.max", -2);
+        // Percentiles never exceed the largest value recorded
+        assertMeasurement(measurements, 0L, "Foo.p50", -2);
+      }
+    }
+  }
+
+  @Test
+  void testPercentilesOfLatencies() {
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter telemetryReporter = new CollectingTelemetryReporter()) {
+      try (TelemetryDatapointAggregator aggregator =
+          new TelemetryDatapointAggregator(telemetryReporter, Optional.empty(), elapsedClock)) {
+        Metric metric = Metric.builder().name("Foo").build();
+        // 1000 latencies of 1ms to 1000ms, in nanoseconds
+        for (int i = 1; i <= 1000; i++) {
+          aggregator.reportComplete(
+              MetricMeasurement.builder()
+                  .metric(metric)
+                  .value(i * 1_000_000L)
+                  .epochTimestampNanos(1)
+                  .build());
+        }
+        aggregator.flush();
+
+        Map<String, MetricMeasurement> measurements =
+            telemetryReporter.getMetrics().stream()
+                .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
+        assertWithinBucket(500_000_000L, measurements.get("Foo.p50").getValue());
+        assertWithinBucket(900_000_000L, measurements.get("Foo.p90").getValue());
+        assertWithinBucket(990_000_000L, measurements.get("Foo.p99").getValue());
+        assertWithinBucket(999_000_000L, measurements.get("Foo.p999").getValue());
+      }
+    }
+  }
+
+  private static void assertWithinBucket(long expected, double actual) {
+    assertTrue(actual >= expected, "Percentile must not be below the actual value");
+    assertTrue(
+        actual <= expected * (1 + 1.0 / Histogram.SUB_BUCKET_COUNT),
+        "Percentile must be within a bucket of the actual value");
+  }
+
+  private static Map<String, MetricMeasurement> measurementsWithAttribute(
+      String readMode, CollectingTelemetryReporter telemetryReporter) {
+    return telemetryReporter.getMetrics().stream()
+        .filter(m -> m.getMetric().getAttributes().containsKey("read.mode"))
+        .filter(m -> m.getMetric().getAttributes().get("read.mode").getValue().equals(readMode))
+        .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
+  }
+
   private static void assertMeasurement(
       Map<String, MetricMeasurement> measurements,
       long expectedEpochTimestampNanos,
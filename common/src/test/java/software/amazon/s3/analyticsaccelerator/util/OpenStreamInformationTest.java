@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import software.amazon.s3.analyticsaccelerator.request.EncryptionSecrets;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
 
 public class OpenStreamInformationTest {
@@ -45,6 +46,31 @@ public class OpenStreamInformationTest {
     assertNull(info.getObjectMetadata(), "Default objectMetadata should be null");
     assertNull(info.getInputPolicy(), "Default inputPolicy should be null");
     assertNull(info.getEncryptionSecrets(), "Default encryptionSecrets should be null");
+    assertNull(info.getSplitRange(), "Default splitRange should be null");
+    assertNull(
+        info.getParquetDecryptionKeyRetriever(),
+        "Default parquetDecryptionKeyRetriever should be null");
+  }
+
+  @Test
+  public void testBuilderWithSplitRange() {
+    OpenStreamInformation info =
+        OpenStreamInformation.builder().splitRange(new Range(100, 199)).build();
+
+    assertEquals(new Range(100, 199), info.getSplitRange(), "SplitRange should match");
+  }
+
+  @Test
+  public void testBuilderWithParquetDecryptionKeyRetriever() {
+    byte[] footerKey = new byte[16];
+    ParquetDecryptionKeyRetriever keyRetriever = keyMetadata -> footerKey;
+    OpenStreamInformation info =
+        OpenStreamInformation.builder().parquetDecryptionKeyRetriever(keyRetriever).build();
+
+    assertSame(keyRetriever, info.getParquetDecryptionKeyRetriever());
+    assertSame(footerKey, info.getParquetDecryptionKeyRetriever().getFooterKey(null));
+    assertNull(info.getParquetDecryptionKeyRetriever().getColumnKey("a.b", null));
+    assertNull(info.getParquetDecryptionKeyRetriever().getAadPrefix());
   }
 
   @Test
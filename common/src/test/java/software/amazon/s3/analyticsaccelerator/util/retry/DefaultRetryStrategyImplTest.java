@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
@@ -251,6 +253,45 @@ class DefaultRetryStrategyImplTest {
     assertEquals("Original IO exception", exception.getMessage());
   }
 
+  @Test
+  void testGetAsyncRetriesFailedFutures() throws Exception {
+    RetryPolicy policy = RetryPolicy.builder().handle(IOException.class).withMaxRetries(3).build();
+    DefaultRetryStrategyImpl executor = new DefaultRetryStrategyImpl(policy);
+    AtomicInteger attempt = new AtomicInteger(0);
+
+    CompletableFuture<String> result =
+        executor.getAsync(
+            () -> {
+              CompletableFuture<String> future = new CompletableFuture<>();
+              if (attempt.incrementAndGet() <= 2) {
+                future.completeExceptionally(new IOException("Attempt failed"));
+              } else {
+                future.complete("success");
+              }
+              return future;
+            });
+
+    assertEquals("success", result.get());
+    assertEquals(3, attempt.get());
+  }
+
+  @Test
+  void testGetAsyncFailsWithOriginalException() {
+    DefaultRetryStrategyImpl executor = new DefaultRetryStrategyImpl();
+    IOException original = new IOException("Original IO exception");
+
+    CompletableFuture<String> result =
+        executor.getAsync(
+            () -> {
+              CompletableFuture<String> future = new CompletableFuture<>();
+              future.completeExceptionally(original);
+              return future;
+            });
+
+    ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+    assertSame(original, exception.getCause());
+  }
+
   @Test
   void testNoRetryOnDifferentHandle() {
     String expected = "test result";
@@ -245,7 +245,7 @@ val jmhJsonOutputResultsPath = "reports/jmh/results.json"
 
 // JMH micro-benchmarks
 jmh {
-    includes = listOf("ConcurrentStreamPerformanceBenchmark")
+    includes = listOf("ConcurrentStreamPerformanceBenchmark", "ParquetColumnPrefetchStoreBenchmark")
     jmhVersion = "1.37"
     failOnError = true
     forceGC = true
@@ -264,6 +264,33 @@ tasks.jmh {
     finalizedBy(tasks.jmhReport)
 }
 
+// Offline JMH micro-benchmarks of the physical and logical IO hot paths. They run in-process against
+// an in-memory object client, with the GC profiler to track allocation rate alongside latency.
+val jmhOfflineJsonOutputResultsPath = "reports/jmh/offline-results.json"
+val jmhOfflineBenchmarks = listOf(
+    "BlockStoreBenchmark",
+    "BlockReadBenchmark",
+    "RangeOptimiserBenchmark",
+    "SeekableInputStreamBenchmark",
+    "ParquetParserBenchmark",
+    "ParquetPredictivePrefetchingTaskBenchmark",
+    "ParquetColumnPrefetchStoreBenchmark",
+    "TelemetryOverheadBenchmark"
+)
+
+tasks.register<JavaExec>("jmhOffline") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks that do not require S3, with the GC profiler."
+    val jmhJar = tasks.named<Jar>("jmhJar")
+    dependsOn(jmhJar)
+    classpath = files(jmhJar.flatMap { it.archiveFile })
+    mainClass.set("org.openjdk.jmh.Main")
+    val resultsFile = project.layout.buildDirectory.file(jmhOfflineJsonOutputResultsPath)
+    doFirst { resultsFile.get().asFile.parentFile.mkdirs() }
+    args(jmhOfflineBenchmarks.map { ".*\\.$it\\..*" })
+    args("-prof", "gc", "-rf", "json", "-rff", resultsFile.get().asFile.path)
+}
+
 tasks.named("jmhRunBytecodeGenerator") {
     dependsOn(tasks.named("copyAndRename"))
 }
@@ -340,15 +340,16 @@ public class ReadVectoredTest extends IntegrationTestBase {
         objectRange.getByteBuffer().join();
       }
 
-      // Range [50MB - 51MB, 2MB - 2.8MB] will make 2 GET requests
-      // Range [200MB - 208MB] will make a single GET as it is an 8MB block.
-      // Range [260MB - 284MB] will make 3 GET requests
+      // Range [50MB - 51MB, 2MB - 2.8MB] will make 2 GET requests, as they are too far apart to be
+      // coalesced.
+      // Range [200MB - 208MB] will make a single GET.
+      // Range [260MB - 284MB] will make a single GET, as it is read straight into its buffer
       assertEquals(
           s3AALClientStreamReader
               .getS3SeekableInputStreamFactory()
               .getMetrics()
               .get(MetricKey.GET_REQUEST_COUNT),
-          6);
+          4);
 
       verifyStreamContents(objectRanges, s3AALClientStreamReader, s3Object);
     }
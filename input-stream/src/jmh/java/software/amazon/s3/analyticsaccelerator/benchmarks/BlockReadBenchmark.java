@@ -0,0 +1,120 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStoreIndexCache;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.Block;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.BlockKey;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for reading from a loaded {@link Block}, which every byte returned by the stream
+ * is copied out of. It measures single byte reads, which dominate when readers parse headers one
+ * byte at a time, and bulk reads of different lengths. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BlockReadBenchmark {
+
+  /** A loaded block of the default block size, and a buffer to read it into. */
+  @State(Scope.Thread)
+  public static class BlockState {
+    @Param({"64", "8192", "131072"})
+    int readLength;
+
+    Block block;
+    byte[] buffer;
+    long blockSize;
+    long position;
+
+    /** Creates and loads the block. */
+    @Setup(Level.Trial)
+    public void setup() {
+      PhysicalIOConfiguration configuration = PhysicalIOConfiguration.DEFAULT;
+      ObjectKey objectKey =
+          ObjectKey.builder().s3URI(S3URI.of("bucket", "key")).etag("etag").build();
+      this.blockSize = configuration.getReadBufferSize();
+      this.block =
+          new Block(
+              new BlockKey(objectKey, new Range(0, blockSize - 1)),
+              0,
+              new BlobStoreIndexCache(configuration),
+              new Metrics());
+      block.setData(new byte[(int) blockSize]);
+      this.buffer = new byte[readLength];
+    }
+
+    /**
+     * Advances the position read from, wrapping around at the end of the block.
+     *
+     * @param length the length of the read
+     * @return the next position
+     */
+    long nextPosition(int length) {
+      position += length;
+      if (position + length > blockSize) {
+        position = 0;
+      }
+      return position;
+    }
+  }
+
+  /**
+   * Reads a single byte from the block.
+   *
+   * @param state block state
+   * @return the byte read
+   * @throws IOException if the read fails
+   */
+  @Benchmark
+  public int readByte(BlockState state) throws IOException {
+    return state.block.read(state.nextPosition(1));
+  }
+
+  /**
+   * Reads {@link BlockState#readLength} bytes from the block into a buffer.
+   *
+   * @param state block state
+   * @return the number of bytes read
+   * @throws IOException if the read fails
+   */
+  @Benchmark
+  public int readBuffer(BlockState state) throws IOException {
+    return state.block.read(
+        state.buffer, 0, state.readLength, state.nextPosition(state.readLength));
+  }
+}
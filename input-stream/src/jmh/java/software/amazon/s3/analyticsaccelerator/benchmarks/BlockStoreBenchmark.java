@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStoreIndexCache;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.Block;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlockStore;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.BlockKey;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for {@link BlockStore}, which is consulted for every read that reaches the
+ * physical IO layer. It measures looking up the block holding a position, and computing the blocks
+ * missing from a range, which is done before every prefetch. Half of the blocks of the object are
+ * loaded, in alternating order, so that lookups hit and miss equally often. This benchmark does not
+ * require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BlockStoreBenchmark {
+  private static final int BLOCK_COUNT = 1024;
+
+  /** A block store holding every other block of a 128MB object. */
+  @State(Scope.Thread)
+  public static class BlockStoreState {
+    BlockStore blockStore;
+    long blockSize;
+    long objectSize;
+    long position;
+
+    /** Fills the block store with every other block of the object. */
+    @Setup(Level.Trial)
+    public void setup() {
+      PhysicalIOConfiguration configuration = PhysicalIOConfiguration.DEFAULT;
+      BlobStoreIndexCache indexCache = new BlobStoreIndexCache(configuration);
+      Metrics metrics = new Metrics();
+      ObjectKey objectKey =
+          ObjectKey.builder().s3URI(S3URI.of("bucket", "key")).etag("etag").build();
+
+      this.blockStore = new BlockStore(indexCache, metrics, configuration);
+      this.blockSize = configuration.getReadBufferSize();
+      this.objectSize = BLOCK_COUNT * blockSize;
+      for (int i = 0; i < BLOCK_COUNT; i += 2) {
+        Range range = new Range(i * blockSize, (i + 1) * blockSize - 1);
+        Block block = new Block(new BlockKey(objectKey, range), 0, indexCache, metrics);
+        block.setData(new byte[(int) blockSize]);
+        blockStore.add(block);
+      }
+    }
+
+    /**
+     * Advances the position looked up by a little over a block, so that successive lookups
+     * alternate between loaded and missing blocks.
+     *
+     * @return the next position
+     */
+    long nextPosition() {
+      position = (position + blockSize + 17) % objectSize;
+      return position;
+    }
+
+    /** Closes the block store. */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      blockStore.close();
+    }
+  }
+
+  /**
+   * Looks up the block holding a single position.
+   *
+   * @param state block store state
+   * @param blackhole JMH blackhole
+   */
+  @Benchmark
+  public void getBlock(BlockStoreState state, Blackhole blackhole) {
+    blackhole.consume(state.blockStore.getBlock(state.nextPosition()));
+  }
+
+  /**
+   * Computes the blocks missing from an 8MB range, the size of a default prefetch request.
+   *
+   * @param state block store state
+   * @param blackhole JMH blackhole
+   */
+  @Benchmark
+  public void getMissingBlockIndexesInRange(BlockStoreState state, Blackhole blackhole) {
+    long start = state.nextPosition();
+    long end = Math.min(start + 64 * state.blockSize, state.objectSize) - 1;
+    blackhole.consume(state.blockStore.getMissingBlockIndexesInRange(new Range(start, end)));
+  }
+}
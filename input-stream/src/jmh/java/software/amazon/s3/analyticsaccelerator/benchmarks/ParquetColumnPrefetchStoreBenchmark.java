@@ -0,0 +1,154 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for {@link ParquetColumnPrefetchStore}, which is consulted on every read of every
+ * Parquet stream. Each invocation mimics the bookkeeping done for a single column read: looking up
+ * the column mappers of the file, recording the column access, and checking whether the row group
+ * has been prefetched. Running it with a single thread and with many threads shows how much the
+ * store contends under concurrent streams. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParquetColumnPrefetchStoreBenchmark {
+  private static final int FILE_COUNT = 32;
+  private static final int ROW_GROUP_COUNT = 8;
+  private static final int COLUMN_COUNT = 64;
+
+  /** The store shared by all benchmark threads, pre-populated with the metadata of a few files. */
+  @State(Scope.Benchmark)
+  public static class StoreState {
+    ParquetColumnPrefetchStore store;
+    List<S3URI> files;
+    List<ColumnMetadata> columns;
+
+    /** Populates the store with the column mappers of {@link #FILE_COUNT} files. */
+    @Setup
+    public void setup() {
+      this.store = new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+      this.files = new ArrayList<>();
+      this.columns = new ArrayList<>();
+
+      int schemaHash = "store_sales".hashCode();
+      Map<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+      Map<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+      long offset = 4;
+      for (int rowGroup = 0; rowGroup < ROW_GROUP_COUNT; rowGroup++) {
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+          String columnName = "ss_" + column;
+          ColumnMetadata columnMetadata =
+              new ColumnMetadata(rowGroup, columnName, offset, 0, offset, 1000, schemaHash);
+          offsetIndexToColumnMap.put(offset, columnMetadata);
+          columnNameToColumnMap
+              .computeIfAbsent(columnName, k -> new ArrayList<>())
+              .add(columnMetadata);
+          columns.add(columnMetadata);
+          offset += 1000;
+        }
+      }
+
+      ColumnMappers columnMappers =
+          new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+      for (int file = 0; file < FILE_COUNT; file++) {
+        S3URI s3URI = S3URI.of("bucket", "store_sales/part-" + file + ".parquet");
+        files.add(s3URI);
+        store.putColumnMappers(s3URI, columnMappers);
+      }
+    }
+  }
+
+  /** Per thread cursor, so that threads walk through files and columns independently. */
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+
+  /**
+   * Performs the store operations done for a single column read.
+   *
+   * @param storeState shared store
+   * @param threadState per thread cursor
+   * @param blackhole JMH blackhole
+   */
+  private static void readColumn(
+      StoreState storeState, ThreadState threadState, Blackhole blackhole) {
+    int next = threadState.next++;
+    S3URI s3URI = storeState.files.get(next % FILE_COUNT);
+    ColumnMetadata columnMetadata = storeState.columns.get(next % storeState.columns.size());
+
+    blackhole.consume(storeState.store.getColumnMappers(s3URI));
+    storeState.store.addRecentColumn(columnMetadata, null);
+    storeState.store.recordColumnRead(s3URI, columnMetadata);
+    if (!storeState.store.isColumnRowGroupPrefetched(s3URI, columnMetadata.getRowGroupIndex())) {
+      storeState.store.storeColumnPrefetchedRowGroupIndex(s3URI, columnMetadata.getRowGroupIndex());
+    }
+  }
+
+  /**
+   * Column read bookkeeping on a single thread.
+   *
+   * @param storeState shared store
+   * @param threadState per thread cursor
+   * @param blackhole JMH blackhole
+   */
+  @Benchmark
+  @Threads(1)
+  public void readColumnSingleThread(
+      StoreState storeState, ThreadState threadState, Blackhole blackhole) {
+    readColumn(storeState, threadState, blackhole);
+  }
+
+  /**
+   * Column read bookkeeping on 64 threads, each representing a concurrent stream.
+   *
+   * @param storeState shared store
+   * @param threadState per thread cursor
+   * @param blackhole JMH blackhole
+   */
+  @Benchmark
+  @Threads(64)
+  public void readColumn64Threads(
+      StoreState storeState, ThreadState threadState, Blackhole blackhole) {
+    readColumn(storeState, threadState, blackhole);
+  }
+}
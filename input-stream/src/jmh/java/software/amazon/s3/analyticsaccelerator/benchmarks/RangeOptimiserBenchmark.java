@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.RangeOptimiser;
+
+/**
+ * Micro benchmark for {@link RangeOptimiser#optimizeReads(List)}, which turns the missing blocks of
+ * every prefetch into S3 requests. It is run for a fully sequential range, as done by sequential
+ * prefetching, and for a fragmented one where a third of the blocks are already loaded, as happens
+ * when prefetched columns overlap. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RangeOptimiserBenchmark {
+
+  /** The optimiser and the block indexes it is given. */
+  @State(Scope.Thread)
+  public static class RangeOptimiserState {
+    @Param({"64", "1024"})
+    int blockCount;
+
+    @Param({"true", "false"})
+    boolean fragmented;
+
+    RangeOptimiser rangeOptimiser;
+    List<Integer> blockIndexes;
+
+    /** Creates the block indexes to optimise. */
+    @Setup(Level.Trial)
+    public void setup() {
+      this.rangeOptimiser = new RangeOptimiser(PhysicalIOConfiguration.DEFAULT);
+      this.blockIndexes = new ArrayList<>(blockCount);
+      for (int i = 0; i < blockCount; i++) {
+        if (!fragmented || i % 3 != 2) {
+          blockIndexes.add(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Groups the block indexes into requests.
+   *
+   * @param state optimiser state
+   * @return the grouped block indexes
+   */
+  @Benchmark
+  public List<List<Integer>> optimizeReads(RangeOptimiserState state) {
+    return state.rangeOptimiser.optimizeReads(state.blockIndexes);
+  }
+}
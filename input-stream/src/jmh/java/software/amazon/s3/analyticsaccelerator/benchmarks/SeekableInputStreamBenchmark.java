@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStream;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamConfiguration;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamFactory;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
+import software.amazon.s3.analyticsaccelerator.simulation.SimulatedObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for reading through {@link S3SeekableInputStream}, end to end through the
+ * logical and physical IO layers, from an in-memory {@link SimulatedObjectClient} that responds
+ * immediately. Once the object is loaded, it measures the overhead the library adds on top of
+ * copying bytes: for single byte reads, which some readers issue for every field they parse, and
+ * for vectored reads of small ranges spread over the object. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeekableInputStreamBenchmark {
+  private static final int OBJECT_SIZE = 8 * 1024 * 1024;
+  private static final S3URI S3_URI = S3URI.of("bucket", "benchmark/data.bin");
+
+  /** An open stream over an object held by the simulated client. */
+  @State(Scope.Thread)
+  public static class StreamState {
+    @Param({"1", "16"})
+    int vectoredRangeCount;
+
+    SimulatedObjectClient objectClient;
+    S3SeekableInputStreamFactory factory;
+    S3SeekableInputStream stream;
+    long vectoredRangeStride;
+
+    /**
+     * Creates the object and opens a stream over it.
+     *
+     * @throws IOException if the stream cannot be opened
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      this.objectClient = new SimulatedObjectClient();
+      objectClient.putObject(S3_URI, OBJECT_SIZE);
+      this.factory =
+          new S3SeekableInputStreamFactory(
+              objectClient, S3SeekableInputStreamConfiguration.DEFAULT);
+      this.stream = factory.createStream(S3_URI);
+      this.vectoredRangeStride = OBJECT_SIZE / vectoredRangeCount;
+    }
+
+    /** Drops the requests recorded by the client, so that they do not pile up across iterations. */
+    @TearDown(Level.Iteration)
+    public void clearRequests() {
+      objectClient.clearRequests();
+    }
+
+    /**
+     * Closes the stream, the factory and the client.
+     *
+     * @throws IOException if closing fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      stream.close();
+      factory.close();
+      objectClient.close();
+    }
+  }
+
+  /**
+   * Reads the next byte of the stream, seeking back to the start at the end of the object.
+   *
+   * @param state stream state
+   * @return the byte read
+   * @throws IOException if the read fails
+   */
+  @Benchmark
+  public int readByte(StreamState state) throws IOException {
+    int b = state.stream.read();
+    if (b < 0) {
+      state.stream.seek(0);
+      b = state.stream.read();
+    }
+    return b;
+  }
+
+  /**
+   * Reads {@link StreamState#vectoredRangeCount} ranges of 4KB, evenly spread over the object, with
+   * a single vectored read and waits for all of them.
+   *
+   * @param state stream state
+   * @param blackhole JMH blackhole
+   * @throws IOException if the read fails
+   */
+  @Benchmark
+  public void readVectored(StreamState state, Blackhole blackhole) throws IOException {
+    List<ObjectRange> ranges = new ArrayList<>(state.vectoredRangeCount);
+    for (int i = 0; i < state.vectoredRangeCount; i++) {
+      ranges.add(new ObjectRange(new CompletableFuture<>(), i * state.vectoredRangeStride, 4096));
+    }
+
+    state.stream.readVectored(ranges, ByteBuffer::allocate, buffer -> {});
+    for (ObjectRange range : ranges) {
+      blackhole.consume(range.getByteBuffer().join());
+    }
+  }
+}
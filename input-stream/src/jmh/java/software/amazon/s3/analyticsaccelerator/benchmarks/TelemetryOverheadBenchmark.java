@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationDescriptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryConfiguration;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Micro benchmark for the cost telemetry adds to a VERBOSE operation on the read path, for every
+ * configured telemetry level. It compares building an {@link Operation} through an operation
+ * supplier on every read with recording the read against a pre-registered {@link
+ * OperationDescriptor}, next to a read without telemetry. Reporters are disabled, so only the cost
+ * of producing the telemetry is measured. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TelemetryOverheadBenchmark {
+  private static final String OPERATION_READ = "benchmark.read";
+  private static final OperationDescriptor READ_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ,
+          TelemetryLevel.VERBOSE,
+          (operationBuilder, subject, start, end, unused) ->
+              operationBuilder
+                  .attribute(StreamAttributes.uri((S3URI) subject))
+                  .attribute(StreamAttributes.range(start, end)));
+
+  /** Telemetry configured at the given level, and the data a read is served from. */
+  @State(Scope.Thread)
+  public static class TelemetryState {
+    @Param({"CRITICAL", "STANDARD", "VERBOSE"})
+    String level;
+
+    Telemetry telemetry;
+    S3URI s3URI;
+    byte[] data;
+    long position;
+
+    /** Creates the telemetry. */
+    @Setup(Level.Trial)
+    public void setup() {
+      this.telemetry =
+          Telemetry.createTelemetry(
+              TelemetryConfiguration.builder()
+                  .level(level)
+                  .loggingEnabled(false)
+                  .stdOutEnabled(false)
+                  .build());
+      this.s3URI = S3URI.of("bucket", "key");
+      this.data = new byte[4096];
+    }
+
+    /** Closes the telemetry. */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      telemetry.close();
+    }
+
+    /**
+     * Serves a single byte read, standing in for the work the telemetry is wrapped around.
+     *
+     * @return the byte read
+     */
+    int read() {
+      position = (position + 1) % data.length;
+      return data[(int) position];
+    }
+  }
+
+  /**
+   * Reads a byte without telemetry.
+   *
+   * @param state telemetry state
+   * @return the byte read
+   */
+  @Benchmark
+  public int readWithoutTelemetry(TelemetryState state) {
+    return state.read();
+  }
+
+  /**
+   * Reads a byte, measured with an operation supplier that builds the {@link Operation}.
+   *
+   * @param state telemetry state
+   * @return the byte read
+   */
+  @Benchmark
+  public int readWithOperationSupplier(TelemetryState state) {
+    long position = state.position;
+    return state.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.uri(state.s3URI))
+                .attribute(StreamAttributes.range(position, position))
+                .build(),
+        state::read);
+  }
+
+  /**
+   * Reads a byte, recorded against a pre-registered {@link OperationDescriptor}.
+   *
+   * @param state telemetry state
+   * @return the byte read
+   */
+  @Benchmark
+  public int readWithOperationDescriptor(TelemetryState state) {
+    long position = state.position;
+    long recording = state.telemetry.startRecording(READ_OPERATION);
+    int byteRead = state.read();
+    state.telemetry.completeRecording(
+        READ_OPERATION, recording, state.s3URI, position, position, 0, Optional.empty());
+    return byteRead;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.apache.parquet.format.FileMetaData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for {@link ParquetParser#parseParquetFooter(ByteBuffer, int, S3URI)}, which is
+ * run once for every Parquet file opened. Footers grow with the number of row groups and columns,
+ * so it is run for a narrow and for a wide table. It lives in the package of the parser, which is
+ * not public. This benchmark does not require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParquetParserBenchmark {
+  private static final S3URI S3_URI = S3URI.of("bucket", "store_sales/part-0.parquet");
+
+  /** The parser and the tail of a generated file. */
+  @State(Scope.Thread)
+  public static class ParserState {
+    @Param({"16", "256"})
+    int columnCount;
+
+    @Param({"8", "64"})
+    int rowGroupCount;
+
+    ParquetParser parquetParser;
+    ByteBuffer fileTail;
+    int fileTailLength;
+
+    /** Generates the footer to parse. */
+    @Setup(Level.Trial)
+    public void setup() {
+      byte[] tail = new SyntheticParquetFile(rowGroupCount, columnCount, 1).getTail();
+      this.parquetParser = new ParquetParser();
+      this.fileTail = ByteBuffer.wrap(tail);
+      this.fileTailLength = tail.length;
+    }
+  }
+
+  /**
+   * Parses the footer.
+   *
+   * @param state parser state
+   * @return the parsed metadata
+   * @throws IOException if the footer cannot be parsed
+   */
+  @Benchmark
+  public FileMetaData parseParquetFooter(ParserState state) throws IOException {
+    return state.parquetParser.parseParquetFooter(state.fileTail, state.fileTailLength, S3_URI);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.simulation.SimulatedObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro benchmark for {@link ParquetPredictivePrefetchingTask#addToRecentColumnList(long, int)},
+ * which is called before every read of a Parquet stream. The file is served by an in-memory {@link
+ * SimulatedObjectClient}. Once warmed up, every row group has been prefetched, so the benchmark
+ * measures the bookkeeping done for a read rather than the prefetches it triggers. It is run for
+ * reads starting at a column chunk, and for reads starting within one. This benchmark does not
+ * require S3.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParquetPredictivePrefetchingTaskBenchmark {
+  private static final int ROW_GROUP_COUNT = 4;
+  private static final int COLUMN_COUNT = 32;
+  private static final int COLUMN_CHUNK_LENGTH = 64 * 1024;
+  private static final int WITHIN_COLUMN_READ_LENGTH = 1024 * 1024;
+  private static final S3URI S3_URI = S3URI.of("bucket", "store_sales/part-0.parquet");
+
+  /** A prefetching task over a generated file, with its column mappers already stored. */
+  @State(Scope.Thread)
+  public static class TaskState {
+    SimulatedObjectClient objectClient;
+    ExecutorService threadPool;
+    MetadataStore metadataStore;
+    BlobStore blobStore;
+    PhysicalIOImpl physicalIO;
+    ParquetPredictivePrefetchingTask task;
+    List<Long> columnChunkOffsets;
+    int next;
+
+    /**
+     * Generates the file and parses its footer.
+     *
+     * @throws IOException if the physical IO cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      SyntheticParquetFile file =
+          new SyntheticParquetFile(ROW_GROUP_COUNT, COLUMN_COUNT, COLUMN_CHUNK_LENGTH);
+      this.columnChunkOffsets = file.getColumnChunkOffsets();
+      this.objectClient = new SimulatedObjectClient();
+      objectClient.putObject(S3_URI, file.getContent());
+
+      PhysicalIOConfiguration configuration = PhysicalIOConfiguration.DEFAULT;
+      Metrics metrics = new Metrics();
+      this.threadPool = Executors.newFixedThreadPool(configuration.getThreadPoolSize());
+      this.metadataStore =
+          new MetadataStore(objectClient, Telemetry.NOOP, configuration, metrics);
+      this.blobStore =
+          new BlobStore(objectClient, Telemetry.NOOP, configuration, metrics, threadPool);
+      this.physicalIO =
+          new PhysicalIOImpl(
+              S3_URI,
+              metadataStore,
+              blobStore,
+              Telemetry.NOOP,
+              OpenStreamInformation.DEFAULT,
+              threadPool,
+              configuration,
+              metrics);
+
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+          new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT, metrics);
+      byte[] tail = file.getTail();
+      new ParquetMetadataParsingTask(S3_URI, parquetColumnPrefetchStore)
+          .storeColumnMappers(new FileTail(ByteBuffer.wrap(tail), tail.length));
+      this.task =
+          new ParquetPredictivePrefetchingTask(
+              S3_URI,
+              Telemetry.NOOP,
+              LogicalIOConfiguration.DEFAULT,
+              physicalIO,
+              parquetColumnPrefetchStore);
+    }
+
+    /**
+     * Returns the offset of the next column chunk read, cycling through all of them.
+     *
+     * @return the offset
+     */
+    long nextColumnChunkOffset() {
+      next = (next + 1) % columnChunkOffsets.size();
+      return columnChunkOffsets.get(next);
+    }
+
+    /**
+     * Closes the physical IO and the stores it uses.
+     *
+     * @throws IOException if closing fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      physicalIO.close();
+      metadataStore.close();
+      blobStore.close();
+      threadPool.shutdown();
+      objectClient.close();
+    }
+  }
+
+  /**
+   * Records a read of a whole column chunk.
+   *
+   * @param state task state
+   * @return the columns recorded
+   */
+  @Benchmark
+  public List<ColumnMetadata> columnChunkRead(TaskState state) {
+    return state.task.addToRecentColumnList(state.nextColumnChunkOffset(), COLUMN_CHUNK_LENGTH);
+  }
+
+  /**
+   * Records a large read starting within a column chunk, which requires finding the chunk holding
+   * its position.
+   *
+   * @param state task state
+   * @return the columns recorded
+   */
+  @Benchmark
+  public List<ColumnMetadata> withinColumnChunkRead(TaskState state) {
+    return state.task.addToRecentColumnList(
+        state.nextColumnChunkOffset() + 1, WITHIN_COLUMN_READ_LENGTH);
+  }
+}
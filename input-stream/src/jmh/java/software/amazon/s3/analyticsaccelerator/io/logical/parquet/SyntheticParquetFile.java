@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import lombok.Getter;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Type;
+import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
+import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
+
+/**
+ * A Parquet file of flat INT64 columns, generated in memory so that the Parquet benchmarks do not
+ * depend on files from S3. Column chunks hold random bytes and are laid out back to back, row group
+ * after row group, followed by a valid footer.
+ */
+@Getter
+class SyntheticParquetFile {
+  private static final int ROWS_PER_ROW_GROUP = 100_000;
+
+  private final byte[] content;
+  private final byte[] tail;
+  private final List<Long> columnChunkOffsets;
+  private final int columnChunkLength;
+
+  /**
+   * Generates a file.
+   *
+   * @param rowGroupCount number of row groups
+   * @param columnCount number of columns
+   * @param columnChunkLength length of every column chunk, in bytes
+   */
+  SyntheticParquetFile(int rowGroupCount, int columnCount, int columnChunkLength) {
+    this.columnChunkLength = columnChunkLength;
+    this.columnChunkOffsets = new ArrayList<>();
+
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(columnCount));
+    for (int column = 0; column < columnCount; column++) {
+      schema.add(new SchemaElement(columnName(column)).setType(Type.INT64));
+    }
+
+    List<RowGroup> rowGroups = new ArrayList<>();
+    long offset = 4;
+    for (short rowGroup = 0; rowGroup < rowGroupCount; rowGroup++) {
+      List<ColumnChunk> columnChunks = new ArrayList<>();
+      for (int column = 0; column < columnCount; column++) {
+        ColumnMetaData columnMetaData =
+            new ColumnMetaData(
+                Type.INT64,
+                Collections.singletonList(Encoding.PLAIN),
+                Collections.singletonList(columnName(column)),
+                CompressionCodec.UNCOMPRESSED,
+                ROWS_PER_ROW_GROUP,
+                columnChunkLength,
+                columnChunkLength,
+                offset);
+        columnChunks.add(new ColumnChunk(offset).setMeta_data(columnMetaData));
+        columnChunkOffsets.add(offset);
+        offset += columnChunkLength;
+      }
+      rowGroups.add(
+          new RowGroup(columnChunks, (long) columnCount * columnChunkLength, ROWS_PER_ROW_GROUP)
+              .setOrdinal(rowGroup));
+    }
+
+    FileMetaData fileMetaData =
+        new FileMetaData(1, schema, (long) ROWS_PER_ROW_GROUP * rowGroupCount, rowGroups);
+    this.tail = tail(serialize(fileMetaData));
+
+    this.content = new byte[(int) offset + tail.length];
+    Random random = new Random(rowGroupCount * 31L + columnCount);
+    random.nextBytes(content);
+    System.arraycopy("PAR1".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 4);
+    System.arraycopy(tail, 0, content, (int) offset, tail.length);
+  }
+
+  private static String columnName(int column) {
+    return "ss_" + column;
+  }
+
+  private static byte[] tail(byte[] footer) {
+    return ByteBuffer.allocate(footer.length + 8)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .put(footer)
+        .putInt(footer.length)
+        .put("PAR1".getBytes(StandardCharsets.US_ASCII))
+        .array();
+  }
+
+  private static byte[] serialize(FileMetaData fileMetaData) {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      fileMetaData.write(new TCompactProtocol(new TIOStreamTransport(out)));
+      return out.toByteArray();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
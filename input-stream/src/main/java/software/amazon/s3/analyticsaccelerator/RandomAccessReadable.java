@@ -55,6 +55,17 @@ public interface RandomAccessReadable extends Closeable {
    */
   int read(byte[] buf, int off, int len, long pos) throws IOException;
 
+  /**
+   * Reads request data into the provided buffer. Up to {@code buf.remaining()} bytes are written
+   * starting at the current position of the buffer, which is advanced by the number of bytes read.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an error occurs while reading the file
+   */
+  int read(ByteBuffer buf, long pos) throws IOException;
+
   /**
    * Reads the last n bytes from the stream into a byte buffer. Blocks until end of stream is
    * reached. Leaves the position of the stream unaltered.
@@ -19,14 +19,19 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationDescriptor;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -42,15 +47,44 @@ public class S3SeekableInputStream extends SeekableInputStream {
   private final LogicalIO logicalIO;
   private final Telemetry telemetry;
   private final S3URI s3URI;
+  private ObjectKey objectKey;
   private long position;
   private boolean closed;
   private static final int EOF = -1;
 
   private static final String OPERATION_READ = "stream.read";
   private static final String FLAVOR_TAIL = "tail";
+  private static final String FLAVOR_BYTE_BUFFER = "bytebuffer";
   private static final String FLAVOR_BYTE = "byte";
 
+  // Byte, array and buffer reads are recorded against pre-registered operations to keep them
+  // cheap. Their attributes are only built when reported, and match those of the other reads.
+  private static final OperationDescriptor READ_BYTE_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ,
+          TelemetryLevel.VERBOSE,
+          (operationBuilder, subject, start, end, unused) ->
+              operationBuilder
+                  .attribute(StreamAttributes.variant(FLAVOR_BYTE))
+                  .attribute(StreamAttributes.uri((S3URI) subject))
+                  .attribute(StreamAttributes.range(start, end)));
+  private static final OperationDescriptor READ_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ, TelemetryLevel.VERBOSE, S3SeekableInputStream::writeReadAttributes);
+  private static final OperationDescriptor READ_BYTE_BUFFER_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ,
+          TelemetryLevel.VERBOSE,
+          (operationBuilder, subject, start, end, unused) ->
+              writeReadAttributes(
+                  operationBuilder.attribute(StreamAttributes.variant(FLAVOR_BYTE_BUFFER)),
+                  subject,
+                  start,
+                  end,
+                  unused));
+
   private static final String OPERATION_STREAM_CLOSE = "seekablestream.close";
+  private static final String OPERATION_STREAM_SUMMARY = "stream.summary";
   private final long streamBirth = System.nanoTime();
 
   /**
@@ -90,19 +124,19 @@ public class S3SeekableInputStream extends SeekableInputStream {
     }
 
     // Delegate to the LogicalIO and advance the position by 1
-    return this.telemetry.measureVerbose(
-        () ->
-            Operation.builder()
-                .name(OPERATION_READ)
-                .attribute(StreamAttributes.variant(FLAVOR_BYTE))
-                .attribute(StreamAttributes.uri(this.s3URI))
-                .attribute(StreamAttributes.range(this.getPos(), this.getPos()))
-                .build(),
-        () -> {
-          int byteRead = this.logicalIO.read(this.position);
-          advancePosition(1);
-          return byteRead;
-        });
+    long position = this.position;
+    long recording = this.telemetry.startRecording(READ_BYTE_OPERATION);
+    try {
+      int byteRead = this.logicalIO.read(position);
+      this.telemetry.completeRecording(
+          READ_BYTE_OPERATION, recording, this.s3URI, position, position, 0, Optional.empty());
+      advancePosition(1);
+      return byteRead;
+    } catch (IOException | RuntimeException e) {
+      this.telemetry.completeRecording(
+          READ_BYTE_OPERATION, recording, this.s3URI, position, position, 0, Optional.of(e));
+      throw e;
+    }
   }
 
   /**
@@ -148,19 +182,60 @@ public class S3SeekableInputStream extends SeekableInputStream {
       return EOF;
     }
 
-    return this.telemetry.measureVerbose(
-        () ->
-            Operation.builder()
-                .name(OPERATION_READ)
-                .attribute(StreamAttributes.uri(this.s3URI))
-                .attribute(StreamAttributes.etag(this.logicalIO.metadata().getEtag()))
-                .attribute(StreamAttributes.range(position, position + length - 1))
-                .build(),
-        () -> {
-          // Delegate to the LogicalIO and advance the position accordingly
-          int bytesRead = this.logicalIO.read(buffer, offset, length, position);
-          return advancePosition(bytesRead);
-        });
+    // Delegate to the LogicalIO and advance the position accordingly
+    long position = this.position;
+    long end = position + length - 1;
+    ObjectKey objectKey = getObjectKey();
+    long recording = this.telemetry.startRecording(READ_OPERATION);
+    try {
+      int bytesRead = this.logicalIO.read(buffer, offset, length, position);
+      this.telemetry.completeRecording(
+          READ_OPERATION, recording, objectKey, position, end, 0, Optional.empty());
+      return advancePosition(bytesRead);
+    } catch (IOException | RuntimeException e) {
+      this.telemetry.completeRecording(
+          READ_OPERATION, recording, objectKey, position, end, 0, Optional.of(e));
+      throw e;
+    }
+  }
+
+  /**
+   * Reads up to {@code buf.remaining()} bytes from the current position of the stream into the
+   * provided buffer. Heap and direct buffers are both filled straight from the cached blocks,
+   * without copying through an intermediate array.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @return the total number of bytes read into the buffer, or <code>-1</code> if there is no more
+   *     data because the end of the stream has been reached.
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    throwIfClosed("cannot read from closed stream");
+    validateByteBufferReadArgs(position, buf);
+
+    int length = buf.remaining();
+    if (length == 0) {
+      return 0;
+    } else if (this.position >= getContentLength()) {
+      return EOF;
+    }
+
+    // Delegate to the LogicalIO and advance the position accordingly
+    long position = this.position;
+    long end = position + length - 1;
+    ObjectKey objectKey = getObjectKey();
+    long recording = this.telemetry.startRecording(READ_BYTE_BUFFER_OPERATION);
+    try {
+      int bytesRead = this.logicalIO.read(buf, position);
+      this.telemetry.completeRecording(
+          READ_BYTE_BUFFER_OPERATION, recording, objectKey, position, end, 0, Optional.empty());
+      return advancePosition(bytesRead);
+    } catch (IOException | RuntimeException e) {
+      this.telemetry.completeRecording(
+          READ_BYTE_BUFFER_OPERATION, recording, objectKey, position, end, 0, Optional.of(e));
+      throw e;
+    }
   }
 
   /**
@@ -254,21 +329,53 @@ public class S3SeekableInputStream extends SeekableInputStream {
       return;
     }
 
-    this.telemetry.measureVerbose(
-        () ->
-            Operation.builder()
-                .name(OPERATION_READ)
-                .attribute(StreamAttributes.uri(this.s3URI))
-                .attribute(StreamAttributes.etag(this.logicalIO.metadata().getEtag()))
-                .attribute(StreamAttributes.range(position, position + length - 1))
-                .build(),
-        () -> {
-          int bytesRead = this.logicalIO.read(buffer, offset, length, position);
-          if (bytesRead < length) {
-            throw new EOFException(
-                "Reached the end of stream with " + (length - bytesRead) + " bytes left to read");
-          }
-        });
+    long end = position + length - 1;
+    ObjectKey objectKey = getObjectKey();
+    long recording = this.telemetry.startRecording(READ_OPERATION);
+    try {
+      int bytesRead = this.logicalIO.read(buffer, offset, length, position);
+      throwIfIncomplete(bytesRead, length);
+      this.telemetry.completeRecording(
+          READ_OPERATION, recording, objectKey, position, end, 0, Optional.empty());
+    } catch (IOException | RuntimeException e) {
+      this.telemetry.completeRecording(
+          READ_OPERATION, recording, objectKey, position, end, 0, Optional.of(e));
+      throw e;
+    }
+  }
+
+  /**
+   * Fills the remaining space of the provided buffer with the contents of the input source starting
+   * at {@code position}, without altering the position of the stream. Heap and direct buffers are
+   * both filled straight from the cached blocks, without copying through an intermediate array.
+   *
+   * @param position start position of the read
+   * @param buf heap or direct buffer to read data into
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public void readFully(long position, ByteBuffer buf) throws IOException {
+    throwIfClosed("cannot read from closed stream");
+    validateByteBufferReadArgs(position, buf);
+
+    int length = buf.remaining();
+    if (length == 0) {
+      return;
+    }
+
+    long end = position + length - 1;
+    ObjectKey objectKey = getObjectKey();
+    long recording = this.telemetry.startRecording(READ_BYTE_BUFFER_OPERATION);
+    try {
+      int bytesRead = this.logicalIO.read(buf, position);
+      throwIfIncomplete(bytesRead, length);
+      this.telemetry.completeRecording(
+          READ_BYTE_BUFFER_OPERATION, recording, objectKey, position, end, 0, Optional.empty());
+    } catch (IOException | RuntimeException e) {
+      this.telemetry.completeRecording(
+          READ_BYTE_BUFFER_OPERATION, recording, objectKey, position, end, 0, Optional.of(e));
+      throw e;
+    }
   }
 
   /**
@@ -287,11 +394,35 @@ public class S3SeekableInputStream extends SeekableInputStream {
                 .build(),
         this.logicalIO::close);
 
+    if (!this.closed) {
+      reportSummary();
+    }
+
     // Flush telemetry after a stream closes to have full coverage of all operations of this stream
     this.telemetry.flush();
     this.closed = true;
   }
 
+  /** Reports a single datapoint summarizing how well the data read by the stream was prefetched. */
+  private void reportSummary() {
+    StreamStatistics streamStatistics = this.logicalIO.getStreamStatistics();
+    if (streamStatistics == null) {
+      return;
+    }
+    this.telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_STREAM_SUMMARY)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.hitRatio(streamStatistics.getHitRatio()))
+                .attribute(StreamAttributes.fetchedBytes(streamStatistics.getFetchedBytes()))
+                .attribute(StreamAttributes.wastedBytes(streamStatistics.getWastedBytes()))
+                .attribute(StreamAttributes.getRequestCount(streamStatistics.getRequestCount()))
+                .attribute(StreamAttributes.stallTime(streamStatistics.getStallTimeNanos()))
+                .build(),
+        () -> {});
+  }
+
   /**
    * Returns the length of the byte content of the stream.
    *
@@ -302,6 +433,59 @@ public class S3SeekableInputStream extends SeekableInputStream {
     return this.logicalIO.metadata().getContentLength();
   }
 
+  /**
+   * Gets the {@link ObjectKey} reads are recorded against. It is built on the first read, so that
+   * reads do not allocate one each.
+   *
+   * @return the {@link ObjectKey} of the object this stream is reading
+   * @throws IOException if the metadata of the object cannot be retrieved
+   */
+  private ObjectKey getObjectKey() throws IOException {
+    if (this.objectKey == null) {
+      this.objectKey =
+          ObjectKey.builder().s3URI(this.s3URI).etag(this.logicalIO.metadata().getEtag()).build();
+    }
+    return this.objectKey;
+  }
+
+  /**
+   * Throws if a positioned read that must fill its destination reached the end of the stream
+   * first.
+   *
+   * @param bytesRead the number of bytes read
+   * @param length the number of bytes that had to be read
+   * @throws EOFException if fewer bytes than required were read
+   */
+  private static void throwIfIncomplete(int bytesRead, int length) throws EOFException {
+    if (bytesRead < length) {
+      throw new EOFException(
+          "Reached the end of stream with " + (length - bytesRead) + " bytes left to read");
+    }
+  }
+
+  /**
+   * Builds the attributes of a recorded read, the same as those of the reads measured with an
+   * {@link Operation} built on every call.
+   *
+   * @param operationBuilder builder of the reported operation
+   * @param subject the {@link ObjectKey} of the object read
+   * @param start position of the first byte read
+   * @param end position of the last byte read
+   * @param unused the third value, which reads do not record
+   */
+  private static void writeReadAttributes(
+      Operation.OperationBuilder operationBuilder,
+      Object subject,
+      long start,
+      long end,
+      long unused) {
+    ObjectKey objectKey = (ObjectKey) subject;
+    operationBuilder
+        .attribute(StreamAttributes.uri(objectKey.getS3URI()))
+        .attribute(StreamAttributes.etag(objectKey.getEtag()))
+        .attribute(StreamAttributes.range(start, end));
+  }
+
   /**
    * Advance the position based on the bytes read. If `bytesRead` is negative, we do not advance
    *
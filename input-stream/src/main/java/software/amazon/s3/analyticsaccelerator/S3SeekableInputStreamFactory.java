@@ -26,7 +26,12 @@ import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ArrowColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ArrowLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ColumnPrefetchAccuracy;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.SequentialLogicalIOImpl;
@@ -36,6 +41,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.NamedThreadFactory;
 import software.amazon.s3.analyticsaccelerator.util.ObjectFormatSelector;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
@@ -55,6 +61,8 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
 public class S3SeekableInputStreamFactory implements AutoCloseable {
   private final S3SeekableInputStreamConfiguration configuration;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+  private final ArrowColumnPrefetchStore arrowColumnPrefetchStore;
   private final MetadataStore objectMetadataStore;
   private final BlobStore objectBlobStore;
   private final Telemetry telemetry;
@@ -81,7 +89,11 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
     this.metrics = new Metrics();
     this.telemetry = Telemetry.createTelemetry(configuration.getTelemetryConfiguration());
     this.parquetColumnPrefetchStore =
-        new ParquetColumnPrefetchStore(configuration.getLogicalIOConfiguration());
+        new ParquetColumnPrefetchStore(configuration.getLogicalIOConfiguration(), metrics);
+    this.orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(configuration.getLogicalIOConfiguration());
+    this.arrowColumnPrefetchStore =
+        new ArrowColumnPrefetchStore(configuration.getLogicalIOConfiguration());
     this.objectMetadataStore =
         new MetadataStore(
             objectClient, telemetry, configuration.getPhysicalIOConfiguration(), metrics);
@@ -153,14 +165,35 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
             createPhysicalIO(s3URI, openStreamInformation),
             telemetry,
             configuration.getLogicalIOConfiguration(),
-            parquetColumnPrefetchStore);
+            parquetColumnPrefetchStore,
+            openStreamInformation,
+            this::getAvailableMemory);
+
+      case ORC:
+        return new OrcLogicalIOImpl(
+            s3URI,
+            createPhysicalIO(s3URI, openStreamInformation),
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            orcColumnPrefetchStore,
+            openStreamInformation);
+
+      case ARROW:
+        return new ArrowLogicalIOImpl(
+            s3URI,
+            createPhysicalIO(s3URI, openStreamInformation),
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            arrowColumnPrefetchStore,
+            openStreamInformation);
 
       case SEQUENTIAL:
         return new SequentialLogicalIOImpl(
             s3URI,
             createPhysicalIO(s3URI, openStreamInformation),
             telemetry,
-            configuration.getLogicalIOConfiguration());
+            configuration.getLogicalIOConfiguration(),
+            this::getAvailableMemory);
 
       default:
         return new DefaultLogicalIOImpl(
@@ -171,7 +204,35 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
   PhysicalIO createPhysicalIO(S3URI s3URI, OpenStreamInformation openStreamInformation)
       throws IOException {
     return new PhysicalIOImpl(
-        s3URI, objectMetadataStore, objectBlobStore, telemetry, openStreamInformation, threadPool);
+        s3URI,
+        objectMetadataStore,
+        objectBlobStore,
+        telemetry,
+        openStreamInformation,
+        threadPool,
+        configuration.getPhysicalIOConfiguration(),
+        metrics);
+  }
+
+  /**
+   * Number of bytes the shared blob store can still hold before reaching its memory limit.
+   *
+   * @return the remaining memory budget in bytes
+   */
+  private long getAvailableMemory() {
+    return configuration.getPhysicalIOConfiguration().getMemoryCapacityBytes()
+        - metrics.get(MetricKey.MEMORY_USAGE);
+  }
+
+  /**
+   * Gets the precision and recall of the Parquet column predictions made by the streams of this
+   * factory so far. The returned object is live, and reflects predictions and reads made after this
+   * call.
+   *
+   * @return the {@link ColumnPrefetchAccuracy} of this factory
+   */
+  public ColumnPrefetchAccuracy getColumnPrefetchAccuracy() {
+    return parquetColumnPrefetchStore.getColumnPrefetchAccuracy();
   }
 
   void storeObjectMetadata(S3URI s3URI, ObjectMetadata metadata) {
@@ -187,6 +248,9 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
    */
   @Override
   public void close() throws IOException {
+    LOG.debug(
+        "Parquet column prefetch accuracy: {}",
+        this.parquetColumnPrefetchStore.getColumnPrefetchAccuracy());
     this.objectMetadataStore.close();
     this.objectBlobStore.close();
     this.telemetry.close();
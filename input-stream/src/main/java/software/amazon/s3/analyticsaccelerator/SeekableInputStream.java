@@ -93,6 +93,81 @@ public abstract class SeekableInputStream extends InputStream {
   public abstract void readFully(long position, byte[] buffer, int offset, int length)
       throws IOException;
 
+  /**
+   * Reads up to {@code buf.remaining()} bytes from the current position of the stream into the
+   * provided buffer, starting at the position of the buffer. The positions of the stream and of the
+   * buffer are both advanced by the number of bytes read.
+   *
+   * <p>The default implementation copies through a heap array for direct buffers. Implementations
+   * able to fill buffers straight from their storage should override it.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @return the total number of bytes read into the buffer, or <code>-1</code> if there is no more
+   *     data because the end of the stream has been reached.
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(ByteBuffer buf) throws IOException {
+    validateByteBufferReadArgs(0, buf);
+
+    if (buf.hasArray()) {
+      int bytesRead = read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+      if (bytesRead > 0) {
+        buf.position(buf.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+
+    byte[] bytes = new byte[buf.remaining()];
+    int bytesRead = read(bytes, 0, bytes.length);
+    if (bytesRead > 0) {
+      buf.put(bytes, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Fills the remaining space of the provided buffer with the contents of the input source starting
+   * at {@code position}. The position of the buffer is advanced by the number of bytes read, the
+   * position of the stream is left unaltered.
+   *
+   * <p>The default implementation copies through a heap array for direct buffers. Implementations
+   * able to fill buffers straight from their storage should override it.
+   *
+   * @param position start position of the read
+   * @param buf heap or direct buffer to read data into
+   * @throws IOException if an I/O error occurs, or the end of the stream is reached before the
+   *     buffer is filled
+   */
+  public void readFully(long position, ByteBuffer buf) throws IOException {
+    validateByteBufferReadArgs(position, buf);
+
+    int length = buf.remaining();
+    if (buf.hasArray()) {
+      readFully(position, buf.array(), buf.arrayOffset() + buf.position(), length);
+      buf.position(buf.position() + length);
+      return;
+    }
+
+    byte[] bytes = new byte[length];
+    readFully(position, bytes, 0, length);
+    buf.put(bytes);
+  }
+
+  /**
+   * Validates the arguments for a read operation into a {@link ByteBuffer}. This method is
+   * available to use in all subclasses to ensure consistency.
+   *
+   * @param position the position to read from
+   * @param buf the buffer to read into
+   * @throws IllegalArgumentException if the position is negative or the buffer is read-only
+   * @throws NullPointerException if the buffer is null
+   */
+  protected void validateByteBufferReadArgs(long position, ByteBuffer buf) {
+    Preconditions.checkNotNull(buf, "Null destination buffer");
+    Preconditions.checkArgument(!buf.isReadOnly(), "Destination buffer is read-only");
+    Preconditions.checkArgument(position >= 0, "Position is negative");
+  }
+
   /**
    * Validates the arguments for a read operation. This method is available to use in all subclasses
    * to ensure consistency.
@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.logical;
 
 import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
 
 /**
  * Interface responsible for implementing "logical" reads. Logical reads are not concerned with the
@@ -29,4 +30,13 @@ import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
  *
  * <p>For now, this interface is a marker interface but should become more soon.
  */
-public interface LogicalIO extends RandomAccessReadable {}
+public interface LogicalIO extends RandomAccessReadable {
+
+  /**
+   * Returns the statistics of the reads of the stream, such as the time it spent waiting for data
+   * and the bytes fetched on its behalf.
+   *
+   * @return the statistics of the stream
+   */
+  StreamStatistics getStreamStatistics();
+}
@@ -23,6 +23,7 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import software.amazon.s3.analyticsaccelerator.common.ConnectorConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ColumnAccessScope;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 
 /** Configuration for {@link LogicalIO} */
@@ -40,13 +41,28 @@ public class LogicalIOConfiguration {
   private static final long DEFAULT_LARGE_FILE_SIZE = ONE_GB;
   private static final int DEFAULT_PARQUET_METADATA_STORE_SIZE = 45;
   private static final int DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE = 15;
+  private static final double DEFAULT_COLUMN_ACCESS_DECAY_FACTOR = 0.95;
+  private static final double DEFAULT_COLUMN_PREFETCH_CONFIDENCE_THRESHOLD = 0.5;
+  private static final ColumnAccessScope DEFAULT_COLUMN_ACCESS_SCOPE = ColumnAccessScope.SCHEMA;
+  private static final int DEFAULT_ROW_GROUP_LOOKAHEAD_DEPTH = 1;
+  private static final double DEFAULT_ROW_GROUP_LOOKAHEAD_THRESHOLD = 0.5;
+  private static final long DEFAULT_ROW_GROUP_LOOKAHEAD_MAX_BYTES = 64 * ONE_MB;
   private static final String DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX = "^.*.(parquet|par)$";
   private static final String DEFAULT_CSV_FORMAT_SELECTOR_REGEX = "^.*\\.(csv|CSV)$";
   private static final String DEFAULT_JSON_FORMAT_SELECTOR_REGEX = "^.*\\.(json|JSON)$";
   private static final String DEFAULT_TXT_FORMAT_SELECTOR_REGEX = "^.*\\.(txt|TXT)$";
+  private static final String DEFAULT_ORC_FORMAT_SELECTOR_REGEX = "^.*\\.(orc|ORC)$";
+  private static final int DEFAULT_ORC_STRIPE_LOOKAHEAD = 1;
+  private static final String DEFAULT_ARROW_FORMAT_SELECTOR_REGEX =
+      "^.*\\.(arrow|feather|ARROW|FEATHER)$";
+  private static final int DEFAULT_ARROW_RECORD_BATCH_LOOKAHEAD = 1;
   private static final PrefetchMode DEFAULT_PREFETCHING_MODE = PrefetchMode.ROW_GROUP;
 
   private static final long DEFAULT_PARTITION_SIZE = 128 * ONE_MB;
+  private static final long DEFAULT_SEQUENTIAL_PREFETCH_MIN_WINDOW_SIZE = 8 * ONE_MB;
+  private static final long DEFAULT_SEQUENTIAL_PREFETCH_MAX_WINDOW_SIZE = 512 * ONE_MB;
+  private static final long DEFAULT_SEQUENTIAL_PREFETCH_REQUEST_SIZE = 8 * ONE_MB;
+  private static final long DEFAULT_SEQUENTIAL_PREFETCH_LEAD_TIME_MILLISECONDS = 1000;
 
   @Builder.Default private boolean prefetchFooterEnabled = DEFAULT_PREFETCH_FOOTER_ENABLED;
 
@@ -99,6 +115,34 @@ public class LogicalIOConfiguration {
 
   private static final String MAX_COLUMN_ACCESS_STORE_SIZE_KEY = "max.column.access.store.size";
 
+  @Builder.Default private double columnAccessDecayFactor = DEFAULT_COLUMN_ACCESS_DECAY_FACTOR;
+
+  private static final String COLUMN_ACCESS_DECAY_FACTOR_KEY = "column.access.decay.factor";
+
+  @Builder.Default
+  private double columnPrefetchConfidenceThreshold = DEFAULT_COLUMN_PREFETCH_CONFIDENCE_THRESHOLD;
+
+  private static final String COLUMN_PREFETCH_CONFIDENCE_THRESHOLD_KEY =
+      "column.prefetch.confidence.threshold";
+
+  @Builder.Default private ColumnAccessScope columnAccessScope = DEFAULT_COLUMN_ACCESS_SCOPE;
+
+  private static final String COLUMN_ACCESS_SCOPE_KEY = "column.access.scope";
+
+  @Builder.Default private int rowGroupLookaheadDepth = DEFAULT_ROW_GROUP_LOOKAHEAD_DEPTH;
+
+  private static final String ROW_GROUP_LOOKAHEAD_DEPTH_KEY = "row.group.lookahead.depth";
+
+  @Builder.Default
+  private double rowGroupLookaheadThreshold = DEFAULT_ROW_GROUP_LOOKAHEAD_THRESHOLD;
+
+  private static final String ROW_GROUP_LOOKAHEAD_THRESHOLD_KEY = "row.group.lookahead.threshold";
+
+  @Builder.Default
+  private long rowGroupLookaheadMaxBytes = DEFAULT_ROW_GROUP_LOOKAHEAD_MAX_BYTES;
+
+  private static final String ROW_GROUP_LOOKAHEAD_MAX_BYTES_KEY = "row.group.lookahead.max.bytes";
+
   @Builder.Default
   private String parquetFormatSelectorRegex = DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX;
 
@@ -110,12 +154,48 @@ public class LogicalIOConfiguration {
 
   private static final String PARTITION_SIZE_KEY = "partition.size";
 
+  @Builder.Default
+  private long sequentialPrefetchMinWindowSize = DEFAULT_SEQUENTIAL_PREFETCH_MIN_WINDOW_SIZE;
+
+  private static final String SEQUENTIAL_PREFETCH_MIN_WINDOW_SIZE_KEY =
+      "sequential.prefetch.min.window.size";
+
+  @Builder.Default
+  private long sequentialPrefetchMaxWindowSize = DEFAULT_SEQUENTIAL_PREFETCH_MAX_WINDOW_SIZE;
+
+  private static final String SEQUENTIAL_PREFETCH_MAX_WINDOW_SIZE_KEY =
+      "sequential.prefetch.max.window.size";
+
+  @Builder.Default
+  private long sequentialPrefetchRequestSize = DEFAULT_SEQUENTIAL_PREFETCH_REQUEST_SIZE;
+
+  private static final String SEQUENTIAL_PREFETCH_REQUEST_SIZE_KEY =
+      "sequential.prefetch.request.size";
+
+  @Builder.Default
+  private long sequentialPrefetchLeadTimeMilliseconds =
+      DEFAULT_SEQUENTIAL_PREFETCH_LEAD_TIME_MILLISECONDS;
+
+  private static final String SEQUENTIAL_PREFETCH_LEAD_TIME_MILLISECONDS_KEY =
+      "sequential.prefetch.lead.time.ms";
+
   @Builder.Default private String csvFormatSelectorRegex = DEFAULT_CSV_FORMAT_SELECTOR_REGEX;
   private static final String CSV_FORMAT_SELECTOR_REGEX = "csv.format.selector.regex";
   @Builder.Default private String jsonFormatSelectorRegex = DEFAULT_JSON_FORMAT_SELECTOR_REGEX;
   private static final String JSON_FORMAT_SELECTOR_REGEX = "json.format.selector.regex";
   @Builder.Default private String txtFormatSelectorRegex = DEFAULT_TXT_FORMAT_SELECTOR_REGEX;
   private static final String TXT_FORMAT_SELECTOR_REGEX = "txt.format.selector.regex";
+  @Builder.Default private String orcFormatSelectorRegex = DEFAULT_ORC_FORMAT_SELECTOR_REGEX;
+  private static final String ORC_FORMAT_SELECTOR_REGEX = "orc.format.selector.regex";
+  @Builder.Default private int orcStripeLookahead = DEFAULT_ORC_STRIPE_LOOKAHEAD;
+  private static final String ORC_STRIPE_LOOKAHEAD_KEY = "orc.stripe.lookahead";
+  @Builder.Default private String arrowFormatSelectorRegex = DEFAULT_ARROW_FORMAT_SELECTOR_REGEX;
+  private static final String ARROW_FORMAT_SELECTOR_REGEX = "arrow.format.selector.regex";
+
+  @Builder.Default
+  private int arrowRecordBatchLookahead = DEFAULT_ARROW_RECORD_BATCH_LOOKAHEAD;
+
+  private static final String ARROW_RECORD_BATCH_LOOKAHEAD_KEY = "arrow.record.batch.lookahead";
 
   /**
    * Constructs {@link LogicalIOConfiguration} from {@link ConnectorConfiguration} object.
@@ -152,6 +232,25 @@ public class LogicalIOConfiguration {
         .maxColumnAccessCountStoreSize(
             configuration.getInt(
                 MAX_COLUMN_ACCESS_STORE_SIZE_KEY, DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE))
+        .columnAccessDecayFactor(
+            configuration.getDouble(
+                COLUMN_ACCESS_DECAY_FACTOR_KEY, DEFAULT_COLUMN_ACCESS_DECAY_FACTOR))
+        .columnPrefetchConfidenceThreshold(
+            configuration.getDouble(
+                COLUMN_PREFETCH_CONFIDENCE_THRESHOLD_KEY,
+                DEFAULT_COLUMN_PREFETCH_CONFIDENCE_THRESHOLD))
+        .columnAccessScope(
+            ColumnAccessScope.fromString(
+                configuration.getString(
+                    COLUMN_ACCESS_SCOPE_KEY, DEFAULT_COLUMN_ACCESS_SCOPE.toString())))
+        .rowGroupLookaheadDepth(
+            configuration.getInt(ROW_GROUP_LOOKAHEAD_DEPTH_KEY, DEFAULT_ROW_GROUP_LOOKAHEAD_DEPTH))
+        .rowGroupLookaheadThreshold(
+            configuration.getDouble(
+                ROW_GROUP_LOOKAHEAD_THRESHOLD_KEY, DEFAULT_ROW_GROUP_LOOKAHEAD_THRESHOLD))
+        .rowGroupLookaheadMaxBytes(
+            configuration.getLong(
+                ROW_GROUP_LOOKAHEAD_MAX_BYTES_KEY, DEFAULT_ROW_GROUP_LOOKAHEAD_MAX_BYTES))
         .parquetFormatSelectorRegex(
             configuration.getString(
                 PARQUET_FORMAT_SELECTOR_REGEX, DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX))
@@ -159,12 +258,37 @@ public class LogicalIOConfiguration {
             PrefetchMode.fromString(
                 configuration.getString(PREFETCHING_MODE_KEY, DEFAULT_PREFETCHING_MODE.toString())))
         .partitionSize(configuration.getPositiveLong(PARTITION_SIZE_KEY, DEFAULT_PARTITION_SIZE))
+        .sequentialPrefetchMinWindowSize(
+            configuration.getPositiveLong(
+                SEQUENTIAL_PREFETCH_MIN_WINDOW_SIZE_KEY,
+                DEFAULT_SEQUENTIAL_PREFETCH_MIN_WINDOW_SIZE))
+        .sequentialPrefetchMaxWindowSize(
+            configuration.getPositiveLong(
+                SEQUENTIAL_PREFETCH_MAX_WINDOW_SIZE_KEY,
+                DEFAULT_SEQUENTIAL_PREFETCH_MAX_WINDOW_SIZE))
+        .sequentialPrefetchRequestSize(
+            configuration.getPositiveLong(
+                SEQUENTIAL_PREFETCH_REQUEST_SIZE_KEY, DEFAULT_SEQUENTIAL_PREFETCH_REQUEST_SIZE))
+        .sequentialPrefetchLeadTimeMilliseconds(
+            configuration.getPositiveLong(
+                SEQUENTIAL_PREFETCH_LEAD_TIME_MILLISECONDS_KEY,
+                DEFAULT_SEQUENTIAL_PREFETCH_LEAD_TIME_MILLISECONDS))
         .csvFormatSelectorRegex(
             configuration.getString(CSV_FORMAT_SELECTOR_REGEX, DEFAULT_CSV_FORMAT_SELECTOR_REGEX))
         .jsonFormatSelectorRegex(
             configuration.getString(JSON_FORMAT_SELECTOR_REGEX, DEFAULT_JSON_FORMAT_SELECTOR_REGEX))
         .txtFormatSelectorRegex(
             configuration.getString(TXT_FORMAT_SELECTOR_REGEX, DEFAULT_TXT_FORMAT_SELECTOR_REGEX))
+        .orcFormatSelectorRegex(
+            configuration.getString(ORC_FORMAT_SELECTOR_REGEX, DEFAULT_ORC_FORMAT_SELECTOR_REGEX))
+        .orcStripeLookahead(
+            configuration.getInt(ORC_STRIPE_LOOKAHEAD_KEY, DEFAULT_ORC_STRIPE_LOOKAHEAD))
+        .arrowFormatSelectorRegex(
+            configuration.getString(
+                ARROW_FORMAT_SELECTOR_REGEX, DEFAULT_ARROW_FORMAT_SELECTOR_REGEX))
+        .arrowRecordBatchLookahead(
+            configuration.getInt(
+                ARROW_RECORD_BATCH_LOOKAHEAD_KEY, DEFAULT_ARROW_RECORD_BATCH_LOOKAHEAD))
         .build();
   }
 
@@ -183,12 +307,30 @@ public class LogicalIOConfiguration {
     builder.append("\tlargeFileSize: " + largeFileSize + "\n");
     builder.append("\tparquetMetadataStoreSize: " + parquetMetadataStoreSize + "\n");
     builder.append("\tmaxColumnAccessCountStoreSize: " + maxColumnAccessCountStoreSize + "\n");
+    builder.append("\tcolumnAccessDecayFactor: " + columnAccessDecayFactor + "\n");
+    builder.append(
+        "\tcolumnPrefetchConfidenceThreshold: " + columnPrefetchConfidenceThreshold + "\n");
+    builder.append("\tcolumnAccessScope: " + columnAccessScope + "\n");
+    builder.append("\trowGroupLookaheadDepth: " + rowGroupLookaheadDepth + "\n");
+    builder.append("\trowGroupLookaheadThreshold: " + rowGroupLookaheadThreshold + "\n");
+    builder.append("\trowGroupLookaheadMaxBytes: " + rowGroupLookaheadMaxBytes + "\n");
     builder.append("\tparquetFormatSelectorRegex: " + parquetFormatSelectorRegex + "\n");
     builder.append("\tcsvFormatSelectorRegex: " + csvFormatSelectorRegex + "\n");
     builder.append("\tjsonFormatSelectorRegex: " + jsonFormatSelectorRegex + "\n");
     builder.append("\ttxtFormatSelectorRegex: " + txtFormatSelectorRegex + "\n");
+    builder.append("\torcFormatSelectorRegex: " + orcFormatSelectorRegex + "\n");
+    builder.append("\torcStripeLookahead: " + orcStripeLookahead + "\n");
+    builder.append("\tarrowFormatSelectorRegex: " + arrowFormatSelectorRegex + "\n");
+    builder.append("\tarrowRecordBatchLookahead: " + arrowRecordBatchLookahead + "\n");
     builder.append("\tprefetchingMode: " + prefetchingMode + "\n");
     builder.append("\tpartitionSize: " + partitionSize + "\n");
+    builder.append("\tsequentialPrefetchMinWindowSize: " + sequentialPrefetchMinWindowSize + "\n");
+    builder.append("\tsequentialPrefetchMaxWindowSize: " + sequentialPrefetchMaxWindowSize + "\n");
+    builder.append("\tsequentialPrefetchRequestSize: " + sequentialPrefetchRequestSize + "\n");
+    builder.append(
+        "\tsequentialPrefetchLeadTimeMilliseconds: "
+            + sequentialPrefetchLeadTimeMilliseconds
+            + "\n");
 
     return builder.toString();
   }
@@ -0,0 +1,48 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import lombok.Value;
+
+/**
+ * Location of a record batch in an Arrow IPC file, as listed in the file footer. A record batch is
+ * an encapsulated message: metadata, holding the layout of the buffers, followed by the body
+ * holding the buffers themselves.
+ */
+@Value
+public class ArrowBlock {
+  int batchIndex;
+  long offset;
+
+  /** Length of the message metadata, including its length prefix and padding. */
+  int metadataLength;
+
+  long bodyLength;
+
+  /**
+   * @return the offset of the body of the record batch
+   */
+  public long getBodyOffset() {
+    return offset + metadataLength;
+  }
+
+  /**
+   * @return the offset of the first byte after the record batch
+   */
+  public long getEndOffset() {
+    return getBodyOffset() + bodyLength;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.util.List;
+import lombok.Value;
+
+/** Metadata of an Arrow IPC file needed for prefetching, as parsed from its footer. */
+@Value
+public class ArrowFileMetadata {
+  /** Names of the top level columns of the schema. */
+  List<String> columnNames;
+
+  /** Record batches of the file, in the order listed in the footer. */
+  List<ArrowBlock> recordBatches;
+
+  /**
+   * Index of the top level column each buffer of a record batch belongs to. Every record batch of
+   * a file has the same buffers, as their layout is determined by the schema.
+   */
+  List<Integer> bufferColumns;
+
+  int schemaHash;
+
+  /**
+   * Finds the record batch whose metadata or body a position lies in.
+   *
+   * @param position position in the file
+   * @return the record batch containing the position, or null if there is none
+   */
+  public ArrowBlock getRecordBatchAtPosition(long position) {
+    // Writers append record batches in order, so the footer lists them sorted by offset
+    int low = 0;
+    int high = recordBatches.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      ArrowBlock recordBatch = recordBatches.get(mid);
+      if (position < recordBatch.getOffset()) {
+        high = mid - 1;
+      } else if (position >= recordBatch.getEndOffset()) {
+        low = mid + 1;
+      } else {
+        return recordBatch;
+      }
+    }
+
+    return null;
+  }
+}
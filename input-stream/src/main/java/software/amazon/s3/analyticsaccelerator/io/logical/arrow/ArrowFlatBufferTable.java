@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal read-only view of a FlatBuffers table, sufficient for the Arrow footer and record batch
+ * messages needed for prefetching. A table starts with the offset of its vtable, which holds the
+ * position of each field relative to the start of the table, or 0 if the field is absent. See
+ * https://flatbuffers.dev/internals/ for the encoding.
+ *
+ * <p>Accessors do not validate offsets beyond the bounds checks of {@link ByteBuffer}, so callers
+ * are expected to treat the runtime exceptions these raise as malformed metadata.
+ */
+final class ArrowFlatBufferTable {
+  private static final int VTABLE_HEADER_SIZE = 4;
+  private static final int OFFSET_SIZE = 4;
+
+  private final ByteBuffer buffer;
+  private final int position;
+  private final int vtablePosition;
+  private final int vtableSize;
+
+  private ArrowFlatBufferTable(ByteBuffer buffer, int position) {
+    this.buffer = buffer;
+    this.position = position;
+    this.vtablePosition = position - buffer.getInt(position);
+    this.vtableSize = buffer.getShort(vtablePosition) & 0xFFFF;
+  }
+
+  /**
+   * Gets the root table of a FlatBuffer.
+   *
+   * @param bytes the bytes holding the FlatBuffer
+   * @param offset the offset of the FlatBuffer in bytes
+   * @param length the length of the FlatBuffer
+   * @return the root table
+   */
+  static ArrowFlatBufferTable getRoot(byte[] bytes, int offset, int length) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length).slice();
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return new ArrowFlatBufferTable(buffer, buffer.getInt(0));
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @return true if the field is present in the table
+   */
+  boolean hasField(int field) {
+    return fieldPosition(field) != 0;
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @param defaultValue value of the field when it is absent
+   * @return the value of a byte field
+   */
+  int getByte(int field, int defaultValue) {
+    int fieldPosition = fieldPosition(field);
+    return fieldPosition == 0 ? defaultValue : buffer.get(fieldPosition) & 0xFF;
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @param defaultValue value of the field when it is absent
+   * @return the value of a short field
+   */
+  int getShort(int field, int defaultValue) {
+    int fieldPosition = fieldPosition(field);
+    return fieldPosition == 0 ? defaultValue : buffer.getShort(fieldPosition);
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @param defaultValue value of the field when it is absent
+   * @return the value of a long field
+   */
+  long getLong(int field, long defaultValue) {
+    int fieldPosition = fieldPosition(field);
+    return fieldPosition == 0 ? defaultValue : buffer.getLong(fieldPosition);
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @return the nested table, or null if the field is absent
+   */
+  ArrowFlatBufferTable getTable(int field) {
+    int fieldPosition = fieldPosition(field);
+    return fieldPosition == 0 ? null : new ArrowFlatBufferTable(buffer, indirect(fieldPosition));
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @return the string, or null if the field is absent
+   */
+  String getString(int field) {
+    int fieldPosition = fieldPosition(field);
+    if (fieldPosition == 0) {
+      return null;
+    }
+
+    int stringPosition = indirect(fieldPosition);
+    int length = buffer.getInt(stringPosition);
+    byte[] bytes = new byte[length];
+    ByteBuffer string = buffer.duplicate();
+    string.position(stringPosition + OFFSET_SIZE);
+    string.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param field index of the field in the table schema
+   * @return the number of elements of a vector field, 0 if the field is absent
+   */
+  int getVectorLength(int field) {
+    int fieldPosition = fieldPosition(field);
+    return fieldPosition == 0 ? 0 : buffer.getInt(indirect(fieldPosition));
+  }
+
+  /**
+   * Gets a table of a vector of tables.
+   *
+   * @param field index of the field in the table schema
+   * @param index index of the element in the vector
+   * @return the table at index
+   */
+  ArrowFlatBufferTable getVectorTable(int field, int index) {
+    int elementPosition = vectorStart(field) + index * OFFSET_SIZE;
+    return new ArrowFlatBufferTable(buffer, indirect(elementPosition));
+  }
+
+  /**
+   * Gets a long member of a struct in a vector of structs.
+   *
+   * @param field index of the field in the table schema
+   * @param index index of the element in the vector
+   * @param structSize size of the struct in bytes
+   * @param memberOffset offset of the member in the struct
+   * @return the value of the member
+   */
+  long getVectorStructLong(int field, int index, int structSize, int memberOffset) {
+    return buffer.getLong(vectorStart(field) + index * structSize + memberOffset);
+  }
+
+  /**
+   * Gets an int member of a struct in a vector of structs.
+   *
+   * @param field index of the field in the table schema
+   * @param index index of the element in the vector
+   * @param structSize size of the struct in bytes
+   * @param memberOffset offset of the member in the struct
+   * @return the value of the member
+   */
+  int getVectorStructInt(int field, int index, int structSize, int memberOffset) {
+    return buffer.getInt(vectorStart(field) + index * structSize + memberOffset);
+  }
+
+  private int vectorStart(int field) {
+    int fieldPosition = fieldPosition(field);
+    if (fieldPosition == 0) {
+      throw new IndexOutOfBoundsException("Vector field " + field + " is absent");
+    }
+    return indirect(fieldPosition) + OFFSET_SIZE;
+  }
+
+  private int fieldPosition(int field) {
+    int vtableOffset = VTABLE_HEADER_SIZE + field * 2;
+    if (vtableOffset >= vtableSize) {
+      return 0;
+    }
+
+    int fieldOffset = buffer.getShort(vtablePosition + vtableOffset) & 0xFFFF;
+    return fieldOffset == 0 ? 0 : position + fieldOffset;
+  }
+
+  private int indirect(int offsetPosition) {
+    return offsetPosition + buffer.getInt(offsetPosition);
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Parses the Arrow IPC file metadata needed for prefetching: the schema and record batch blocks
+ * from the file footer, and the buffer layout from the metadata of record batch messages.
+ *
+ * <p>The file format is defined in https://arrow.apache.org/docs/format/Columnar.html. A file ends
+ * with the footer, the length of the footer as a little endian int32 and the magic "ARROW1". The
+ * footer and messages are FlatBuffers; the field indexes used here are those of File.fbs,
+ * Schema.fbs and Message.fbs.
+ */
+public class ArrowParser {
+  private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+  private static final int FOOTER_LENGTH_SIZE = 4;
+  private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+  /** Length of the footer length and the magic that end the file. */
+  public static final int FILE_TAIL_SUFFIX_LENGTH = FOOTER_LENGTH_SIZE + 6;
+
+  // Footer fields
+  private static final int FOOTER_SCHEMA = 1;
+  private static final int FOOTER_RECORD_BATCHES = 3;
+
+  // Block struct layout
+  private static final int BLOCK_SIZE = 24;
+  private static final int BLOCK_OFFSET = 0;
+  private static final int BLOCK_METADATA_LENGTH = 8;
+  private static final int BLOCK_BODY_LENGTH = 16;
+
+  // Schema and Field fields
+  private static final int SCHEMA_FIELDS = 1;
+  private static final int FIELD_NAME = 0;
+  private static final int FIELD_TYPE_TYPE = 2;
+  private static final int FIELD_TYPE = 3;
+  private static final int FIELD_DICTIONARY = 4;
+  private static final int FIELD_CHILDREN = 5;
+  private static final int UNION_MODE = 0;
+  private static final int UNION_MODE_DENSE = 1;
+
+  // Message and RecordBatch fields
+  private static final int MESSAGE_HEADER_TYPE = 1;
+  private static final int MESSAGE_HEADER = 2;
+  private static final int MESSAGE_HEADER_RECORD_BATCH = 3;
+  private static final int RECORD_BATCH_BUFFERS = 2;
+
+  // Buffer struct layout
+  private static final int BUFFER_SIZE = 16;
+  private static final int BUFFER_OFFSET = 0;
+  private static final int BUFFER_LENGTH = 8;
+
+  // Values of the Type union
+  private static final int TYPE_NULL = 1;
+  private static final int TYPE_INT = 2;
+  private static final int TYPE_FLOATING_POINT = 3;
+  private static final int TYPE_BINARY = 4;
+  private static final int TYPE_UTF8 = 5;
+  private static final int TYPE_BOOL = 6;
+  private static final int TYPE_DECIMAL = 7;
+  private static final int TYPE_DATE = 8;
+  private static final int TYPE_TIME = 9;
+  private static final int TYPE_TIMESTAMP = 10;
+  private static final int TYPE_INTERVAL = 11;
+  private static final int TYPE_LIST = 12;
+  private static final int TYPE_STRUCT = 13;
+  private static final int TYPE_UNION = 14;
+  private static final int TYPE_FIXED_SIZE_BINARY = 15;
+  private static final int TYPE_FIXED_SIZE_LIST = 16;
+  private static final int TYPE_MAP = 17;
+  private static final int TYPE_DURATION = 18;
+  private static final int TYPE_LARGE_BINARY = 19;
+  private static final int TYPE_LARGE_UTF8 = 20;
+  private static final int TYPE_LARGE_LIST = 21;
+  private static final int TYPE_RUN_END_ENCODED = 22;
+  private static final int TYPE_LIST_VIEW = 25;
+  private static final int TYPE_LARGE_LIST_VIEW = 26;
+
+  /**
+   * Gets the number of bytes at the end of the file holding the footer, its length and the magic.
+   *
+   * @param tail bytes at the end of the file
+   * @param tailLength number of bytes of the tail
+   * @return the length of the file tail
+   * @throws IOException if the tail is too short or does not end with the Arrow magic
+   */
+  public long getFileTailLength(@NonNull byte[] tail, int tailLength) throws IOException {
+    if (tailLength < FILE_TAIL_SUFFIX_LENGTH) {
+      throw new IOException("Arrow file tail is too short");
+    }
+
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (tail[tailLength - MAGIC.length + i] != MAGIC[i]) {
+        throw new IOException("Not an Arrow IPC file, magic does not match");
+      }
+    }
+
+    long footerLength = readInt(tail, tailLength - FILE_TAIL_SUFFIX_LENGTH) & 0xFFFFFFFFL;
+    return footerLength + FILE_TAIL_SUFFIX_LENGTH;
+  }
+
+  /**
+   * Parses the footer of an Arrow IPC file.
+   *
+   * @param tail bytes at the end of the file, which must hold at least {@link
+   *     #getFileTailLength(byte[], int)} bytes
+   * @param tailLength number of bytes of the tail
+   * @return the file metadata
+   * @throws IOException if the footer is malformed, or the schema has types whose buffer layout
+   *     is not known
+   */
+  public ArrowFileMetadata parseFooter(@NonNull byte[] tail, int tailLength) throws IOException {
+    long fileTailLength = getFileTailLength(tail, tailLength);
+    if (fileTailLength > tailLength) {
+      throw new IOException("Arrow file tail does not contain the footer");
+    }
+
+    int footerLength = (int) fileTailLength - FILE_TAIL_SUFFIX_LENGTH;
+    try {
+      ArrowFlatBufferTable footer =
+          ArrowFlatBufferTable.getRoot(tail, (int) (tailLength - fileTailLength), footerLength);
+
+      List<String> columnNames = new ArrayList<>();
+      List<Integer> bufferColumns = new ArrayList<>();
+      ArrowFlatBufferTable schema = footer.getTable(FOOTER_SCHEMA);
+      if (schema == null) {
+        throw new IOException("Arrow footer has no schema");
+      }
+      for (int i = 0; i < schema.getVectorLength(SCHEMA_FIELDS); i++) {
+        ArrowFlatBufferTable field = schema.getVectorTable(SCHEMA_FIELDS, i);
+        String name = field.getString(FIELD_NAME);
+        columnNames.add(name == null ? "" : name);
+        for (int buffer = countBuffers(field); buffer > 0; buffer--) {
+          bufferColumns.add(i);
+        }
+      }
+
+      List<ArrowBlock> recordBatches = new ArrayList<>();
+      for (int i = 0; i < footer.getVectorLength(FOOTER_RECORD_BATCHES); i++) {
+        recordBatches.add(
+            new ArrowBlock(
+                i,
+                footer.getVectorStructLong(FOOTER_RECORD_BATCHES, i, BLOCK_SIZE, BLOCK_OFFSET),
+                footer.getVectorStructInt(
+                    FOOTER_RECORD_BATCHES, i, BLOCK_SIZE, BLOCK_METADATA_LENGTH),
+                footer.getVectorStructLong(
+                    FOOTER_RECORD_BATCHES, i, BLOCK_SIZE, BLOCK_BODY_LENGTH)));
+      }
+
+      return new ArrowFileMetadata(
+          Collections.unmodifiableList(columnNames),
+          Collections.unmodifiableList(recordBatches),
+          Collections.unmodifiableList(bufferColumns),
+          String.join("", columnNames).hashCode());
+    } catch (RuntimeException e) {
+      // Offsets read from malformed metadata surface as bounds errors of the underlying buffer
+      throw new IOException("Malformed Arrow footer", e);
+    }
+  }
+
+  /**
+   * Parses the metadata of a record batch message into the buffers of the record batch.
+   *
+   * @param message the metadata of the message, {@link ArrowBlock#getMetadataLength()} bytes
+   *     starting at the offset of the record batch
+   * @param fileMetadata metadata of the file the record batch belongs to
+   * @param recordBatch the record batch
+   * @return the buffers of the record batch with their absolute offsets
+   * @throws IOException if the message is malformed or is not a record batch
+   */
+  public List<ArrowBuffer> parseRecordBatch(
+      @NonNull byte[] message,
+      @NonNull ArrowFileMetadata fileMetadata,
+      @NonNull ArrowBlock recordBatch)
+      throws IOException {
+    try {
+      // Messages written since Arrow 0.15 are prefixed by a continuation marker
+      int prefixLength = FOOTER_LENGTH_SIZE;
+      if (readInt(message, 0) == CONTINUATION_MARKER) {
+        prefixLength += FOOTER_LENGTH_SIZE;
+      }
+      int flatBufferLength = readInt(message, prefixLength - FOOTER_LENGTH_SIZE);
+      ArrowFlatBufferTable messageTable =
+          ArrowFlatBufferTable.getRoot(message, prefixLength, flatBufferLength);
+
+      if (messageTable.getByte(MESSAGE_HEADER_TYPE, 0) != MESSAGE_HEADER_RECORD_BATCH) {
+        throw new IOException("Arrow message is not a record batch");
+      }
+      ArrowFlatBufferTable header = messageTable.getTable(MESSAGE_HEADER);
+      if (header == null) {
+        throw new IOException("Arrow record batch message has no header");
+      }
+
+      List<Integer> bufferColumns = fileMetadata.getBufferColumns();
+      int bufferCount = header.getVectorLength(RECORD_BATCH_BUFFERS);
+      if (bufferCount != bufferColumns.size()) {
+        throw new IOException(
+            "Arrow record batch has "
+                + bufferCount
+                + " buffers, the schema has "
+                + bufferColumns.size());
+      }
+
+      List<ArrowBuffer> buffers = new ArrayList<>(bufferCount);
+      for (int i = 0; i < bufferCount; i++) {
+        long offset =
+            header.getVectorStructLong(RECORD_BATCH_BUFFERS, i, BUFFER_SIZE, BUFFER_OFFSET);
+        long length =
+            header.getVectorStructLong(RECORD_BATCH_BUFFERS, i, BUFFER_SIZE, BUFFER_LENGTH);
+        buffers.add(
+            new ArrowBuffer(bufferColumns.get(i), recordBatch.getBodyOffset() + offset, length));
+      }
+
+      return buffers;
+    } catch (RuntimeException e) {
+      // Offsets read from malformed metadata surface as bounds errors of the underlying buffer
+      throw new IOException("Malformed Arrow record batch message", e);
+    }
+  }
+
+  /**
+   * Counts the buffers a field, and all its children, have in a record batch. The layout of each
+   * type is defined in the "Buffer Listing for Each Layout" section of the columnar format.
+   */
+  private int countBuffers(ArrowFlatBufferTable field) throws IOException {
+    // Dictionary encoded fields only hold their indices in record batches
+    if (field.hasField(FIELD_DICTIONARY)) {
+      return 2;
+    }
+
+    int typeType = field.getByte(FIELD_TYPE_TYPE, 0);
+    switch (typeType) {
+      case TYPE_NULL:
+        return 0;
+      case TYPE_INT:
+      case TYPE_FLOATING_POINT:
+      case TYPE_BOOL:
+      case TYPE_DECIMAL:
+      case TYPE_DATE:
+      case TYPE_TIME:
+      case TYPE_TIMESTAMP:
+      case TYPE_INTERVAL:
+      case TYPE_FIXED_SIZE_BINARY:
+      case TYPE_DURATION:
+        return 2;
+      case TYPE_BINARY:
+      case TYPE_UTF8:
+      case TYPE_LARGE_BINARY:
+      case TYPE_LARGE_UTF8:
+        return 3;
+      case TYPE_LIST:
+      case TYPE_LARGE_LIST:
+      case TYPE_MAP:
+        return 2 + countChildBuffers(field);
+      case TYPE_STRUCT:
+      case TYPE_FIXED_SIZE_LIST:
+        return 1 + countChildBuffers(field);
+      case TYPE_LIST_VIEW:
+      case TYPE_LARGE_LIST_VIEW:
+        return 3 + countChildBuffers(field);
+      case TYPE_RUN_END_ENCODED:
+        return countChildBuffers(field);
+      case TYPE_UNION:
+        ArrowFlatBufferTable union = field.getTable(FIELD_TYPE);
+        boolean dense = union != null && union.getShort(UNION_MODE, 0) == UNION_MODE_DENSE;
+        return (dense ? 2 : 1) + countChildBuffers(field);
+      default:
+        // Includes the view types, whose number of buffers varies between record batches
+        throw new IOException("Unsupported Arrow type for prefetching: " + typeType);
+    }
+  }
+
+  private int countChildBuffers(ArrowFlatBufferTable field) throws IOException {
+    int buffers = 0;
+    for (int i = 0; i < field.getVectorLength(FIELD_CHILDREN); i++) {
+      buffers += countBuffers(field.getVectorTable(FIELD_CHILDREN, i));
+    }
+    return buffers;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF)
+        | (bytes[offset + 1] & 0xFF) << 8
+        | (bytes[offset + 2] & 0xFF) << 16
+        | (bytes[offset + 3] & 0xFF) << 24;
+  }
+}
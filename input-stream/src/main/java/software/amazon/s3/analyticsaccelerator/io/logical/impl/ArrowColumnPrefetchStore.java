@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.List;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBuffer;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * This class maintains the shared state required for Arrow IPC prefetching, independent of the
+ * life of individual streams. It stores the parsed footer and record batch layouts of Arrow files,
+ * and decayed access scores of the columns read per schema, in the same way as {@link
+ * OrcColumnPrefetchStore} does for ORC files. Arrow columns are identified by the name of the top
+ * level field of the schema they belong to.
+ */
+public class ArrowColumnPrefetchStore
+    extends ColumnarPrefetchStore<ArrowFileMetadata, ArrowBuffer> {
+
+  /**
+   * Creates a new instance of ArrowColumnPrefetchStore.
+   *
+   * @param configuration object containing information about the metadata store size
+   */
+  public ArrowColumnPrefetchStore(LogicalIOConfiguration configuration) {
+    super(configuration);
+  }
+
+  /**
+   * Gets the buffers of a record batch of an Arrow file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the record batch
+   * @return the buffers of the record batch, or null if its metadata has not been parsed yet
+   */
+  public List<ArrowBuffer> getRecordBatchBuffers(S3URI s3URI, int batchIndex) {
+    return getBatchLayout(s3URI, batchIndex);
+  }
+
+  /**
+   * Stores the buffers of a record batch of an Arrow file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the record batch
+   * @param buffers the buffers parsed from the record batch message
+   */
+  public void putRecordBatchBuffers(S3URI s3URI, int batchIndex, List<ArrowBuffer> buffers) {
+    putBatchLayout(s3URI, batchIndex, buffers);
+  }
+
+  /**
+   * Marks a record batch of an Arrow file as prefetched.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the record batch
+   * @return true if the record batch had not been marked as prefetched before
+   */
+  public boolean markRecordBatchPrefetched(S3URI s3URI, int batchIndex) {
+    return markBatchPrefetched(s3URI, batchIndex);
+  }
+}
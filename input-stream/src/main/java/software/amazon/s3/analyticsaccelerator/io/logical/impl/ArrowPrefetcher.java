@@ -0,0 +1,170 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.util.List;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBlock;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBuffer;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowParser;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An Arrow prefetcher is a common place for all Arrow IPC-related async prefetching activity. On
+ * open, it reads the footer at the end of the file and parses the schema and the record batch
+ * blocks. As the stream is read, it maps reads to the columns whose buffers they overlap, and
+ * prefetches the buffers of the columns predicted to be read for the record batches ahead of the
+ * one being read, coalescing the buffers of each column into as few requests as possible.
+ */
+public class ArrowPrefetcher
+    extends ColumnarPrefetcher<ArrowFileMetadata, ArrowBlock, ArrowBuffer> {
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final ArrowParser arrowParser = new ArrowParser();
+
+  /**
+   * Buffers are padded to 8 or 64 bytes, so buffers of the same column are separated by at most
+   * this many bytes and are merged into a single request.
+   */
+  private static final long BUFFER_ALIGNMENT = 64;
+
+  private static final String OPERATION_ARROW_PREFETCH_FOOTER_AND_METADATA =
+      "arrow.prefetcher.prefetch.footer.and.metadata.async";
+  private static final String OPERATION_ARROW_PREFETCH_RECORD_BATCH =
+      "arrow.prefetcher.prefetch.record.batch";
+
+  /**
+   * Constructs an ArrowPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param arrowColumnPrefetchStore a common place for Arrow usage information
+   * @param openStreamInformation information the stream was opened with
+   */
+  public ArrowPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ArrowColumnPrefetchStore arrowColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    super(
+        s3URI,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        arrowColumnPrefetchStore,
+        openStreamInformation,
+        OPERATION_ARROW_PREFETCH_FOOTER_AND_METADATA,
+        OPERATION_ARROW_PREFETCH_RECORD_BATCH,
+        BUFFER_ALIGNMENT);
+    this.logicalIOConfiguration = logicalIOConfiguration;
+  }
+
+  /**
+   * Prefetches the message metadata and the buffers of the columns predicted to be read for a
+   * record batch, if the record batch has not been prefetched yet.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param batchIndex the record batch to prefetch
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  IOPlanExecution prefetchRecordBatch(ArrowFileMetadata fileMetadata, int batchIndex) {
+    return prefetchBatch(fileMetadata, batchIndex);
+  }
+
+  @Override
+  protected long getFileTailLength(byte[] tail, int tailLength) throws IOException {
+    return arrowParser.getFileTailLength(tail, tailLength);
+  }
+
+  @Override
+  protected ArrowFileMetadata parseFileMetadata(byte[] tail, int tailLength) throws IOException {
+    return arrowParser.parseFooter(tail, tailLength);
+  }
+
+  @Override
+  protected List<String> getColumnNames(ArrowFileMetadata fileMetadata) {
+    return fileMetadata.getColumnNames();
+  }
+
+  @Override
+  protected int getSchemaHash(ArrowFileMetadata fileMetadata) {
+    return fileMetadata.getSchemaHash();
+  }
+
+  @Override
+  protected List<ArrowBlock> getBatches(ArrowFileMetadata fileMetadata) {
+    return fileMetadata.getRecordBatches();
+  }
+
+  @Override
+  protected ArrowBlock getBatchAtPosition(ArrowFileMetadata fileMetadata, long position) {
+    return fileMetadata.getRecordBatchAtPosition(position);
+  }
+
+  @Override
+  protected int getBatchIndex(ArrowBlock recordBatch) {
+    return recordBatch.getBatchIndex();
+  }
+
+  @Override
+  protected boolean isDataPosition(ArrowBlock recordBatch, long position) {
+    return position >= recordBatch.getBodyOffset();
+  }
+
+  @Override
+  protected Range getBatchLayoutRange(ArrowBlock recordBatch) {
+    return new Range(recordBatch.getOffset(), recordBatch.getBodyOffset() - 1);
+  }
+
+  @Override
+  protected List<ArrowBuffer> parseBatchLayout(
+      byte[] message, ArrowFileMetadata fileMetadata, ArrowBlock recordBatch) throws IOException {
+    return arrowParser.parseRecordBatch(message, fileMetadata, recordBatch);
+  }
+
+  @Override
+  protected int getBatchLookahead() {
+    return logicalIOConfiguration.getArrowRecordBatchLookahead();
+  }
+
+  @Override
+  protected int getColumnIndex(ArrowBuffer buffer) {
+    return buffer.getColumnIndex();
+  }
+
+  @Override
+  protected long getExtentOffset(ArrowBuffer buffer) {
+    return buffer.getOffset();
+  }
+
+  @Override
+  protected long getExtentLength(ArrowBuffer buffer) {
+    return buffer.getLength();
+  }
+}
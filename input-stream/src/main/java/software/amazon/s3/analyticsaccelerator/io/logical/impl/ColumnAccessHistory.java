@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Collections;
+import java.util.Set;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+
+/**
+ * Decayed access scores of the columns read per schema, and optionally per query, for the column
+ * prefetch stores of formats whose columns are identified by name. Accesses are always recorded
+ * for the schema, and additionally for the query the stream belongs to when columnAccessScope in
+ * {@link LogicalIOConfiguration} is not SCHEMA. Predictions use the history of the query if there
+ * is one, and the history of the schema otherwise.
+ */
+class ColumnAccessHistory {
+  private final Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores;
+  private final LogicalIOConfiguration configuration;
+
+  /**
+   * Creates a new instance of ColumnAccessHistory.
+   *
+   * @param configuration LogicalIO configuration
+   * @param columnAccessScores Column access scores for each schema and query
+   */
+  ColumnAccessHistory(
+      LogicalIOConfiguration configuration,
+      Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores) {
+    this.configuration = configuration;
+    this.columnAccessScores = columnAccessScores;
+  }
+
+  /**
+   * Records a read of a column.
+   *
+   * @param schemaHash the schema the column belongs to
+   * @param columnName the name of the column read
+   * @param streamAuditContext audit context of the stream reading the column, can be null
+   */
+  void recordAccess(int schemaHash, String columnName, StreamAuditContext streamAuditContext) {
+    getOrCreateScores(new ColumnAccessKey(schemaHash, null)).recordAccess(columnName);
+
+    String queryId = getQueryId(streamAuditContext);
+    if (queryId != null) {
+      getOrCreateScores(new ColumnAccessKey(schemaHash, queryId)).recordAccess(columnName);
+    }
+  }
+
+  /**
+   * Gets the columns whose decayed access score is at least columnPrefetchConfidenceThreshold.
+   *
+   * @param schemaHash the schema for which to retrieve columns for
+   * @param streamAuditContext audit context of the stream prefetching, can be null
+   * @return Unique set of columns predicted to be read
+   */
+  Set<String> getPredictedColumns(int schemaHash, StreamAuditContext streamAuditContext) {
+    ColumnAccessScores scores = null;
+
+    String queryId = getQueryId(streamAuditContext);
+    if (queryId != null) {
+      scores = columnAccessScores.getIfPresent(new ColumnAccessKey(schemaHash, queryId));
+    }
+
+    if (scores == null) {
+      scores = columnAccessScores.getIfPresent(new ColumnAccessKey(schemaHash, null));
+    }
+
+    if (scores != null) {
+      return scores.getColumnsAboveThreshold(configuration.getColumnPrefetchConfidenceThreshold());
+    }
+
+    return Collections.emptySet();
+  }
+
+  private ColumnAccessScores getOrCreateScores(ColumnAccessKey key) {
+    return columnAccessScores.get(
+        key, k -> new ColumnAccessScores(configuration.getColumnAccessDecayFactor()));
+  }
+
+  private String getQueryId(StreamAuditContext streamAuditContext) {
+    return configuration.getColumnAccessScope().getQueryId(streamAuditContext);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Value;
+
+/**
+ * Decayed frequency scores for the columns read under a single schema, or a single query on a
+ * schema. Every access decays the scores of all columns by the decay factor and adds one to the
+ * score of the column accessed. A column that a workload reads over and over therefore builds up a
+ * high score and survives a burst of reads to other columns, while a column read once by a stray
+ * query quickly falls below the prefetch confidence threshold.
+ *
+ * <p>Decay is applied lazily: the class keeps a logical clock which ticks on every access, and each
+ * column remembers the tick at which its score was last updated. This keeps recording an access
+ * O(1), regardless of the number of columns in the schema.
+ *
+ * <p>This class is safe to use from multiple threads without external synchronization. The clock
+ * is an atomic counter, and each column's score is an immutable value swapped atomically, so
+ * streams reading different columns never contend with each other.
+ */
+class ColumnAccessScores {
+  private final double decayFactor;
+  private final Map<String, Score> scores = new ConcurrentHashMap<>();
+  private final AtomicLong tick = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link ColumnAccessScores}.
+   *
+   * @param decayFactor factor by which scores decay on every access, in [0, 1]
+   */
+  ColumnAccessScores(double decayFactor) {
+    this.decayFactor = decayFactor;
+  }
+
+  /**
+   * Records an access to a column.
+   *
+   * @param columnName name of the column accessed
+   */
+  void recordAccess(String columnName) {
+    long now = tick.incrementAndGet();
+    scores.compute(columnName, (name, score) -> increment(score, now));
+  }
+
+  /**
+   * Gets the current, decayed, score of a column.
+   *
+   * @param columnName name of the column
+   * @return the score of the column, 0 if the column was never accessed
+   */
+  double getScore(String columnName) {
+    Score score = scores.get(columnName);
+    return score == null ? 0 : decayedValue(score, tick.get());
+  }
+
+  /**
+   * Gets all columns that have a score of at least the given threshold.
+   *
+   * @param threshold minimum score for the column to be returned
+   * @return the set of columns with a score at or above threshold
+   */
+  Set<String> getColumnsAboveThreshold(double threshold) {
+    long now = tick.get();
+    Set<String> columns = new HashSet<>();
+    for (Map.Entry<String, Score> entry : scores.entrySet()) {
+      if (decayedValue(entry.getValue(), now) >= threshold) {
+        columns.add(entry.getKey());
+      }
+    }
+    return columns;
+  }
+
+  private Score increment(Score score, long now) {
+    if (score == null) {
+      return new Score(1, now);
+    }
+
+    // Accesses on different threads can be applied out of order. If a later access to this column
+    // has already been applied, decay this access to the tick of the score instead.
+    if (score.getTick() > now) {
+      return new Score(
+          score.getValue() + Math.pow(decayFactor, score.getTick() - now), score.getTick());
+    }
+
+    return new Score(decayedValue(score, now) + 1, now);
+  }
+
+  private double decayedValue(Score score, long now) {
+    return score.getValue() * Math.pow(decayFactor, Math.max(0, now - score.getTick()));
+  }
+
+  /** Score of a single column, as of the tick it was last updated. */
+  @Value
+  private static class Score {
+    double value;
+    long tick;
+  }
+}
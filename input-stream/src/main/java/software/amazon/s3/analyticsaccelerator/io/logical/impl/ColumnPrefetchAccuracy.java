@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how accurate the column predictions made from {@link ParquetColumnPrefetchStore} are.
+ * Every column chunk prefetched predictively is a prediction, every column chunk read by a stream
+ * is an actual access. Precision is the fraction of predictions that were later read, and recall is
+ * the fraction of column chunk reads that had been predicted.
+ */
+public class ColumnPrefetchAccuracy {
+  private final AtomicLong predictedCount = new AtomicLong();
+  private final AtomicLong readCount = new AtomicLong();
+  private final AtomicLong predictedAndReadCount = new AtomicLong();
+
+  /** Records a column chunk that was prefetched predictively. */
+  void recordPrediction() {
+    predictedCount.incrementAndGet();
+  }
+
+  /**
+   * Records a column chunk that was read.
+   *
+   * @param predicted true if the column chunk had been prefetched predictively before the read
+   */
+  void recordRead(boolean predicted) {
+    readCount.incrementAndGet();
+    if (predicted) {
+      predictedAndReadCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Gets the number of column chunks prefetched predictively.
+   *
+   * @return number of predictions
+   */
+  public long getPredictedCount() {
+    return predictedCount.get();
+  }
+
+  /**
+   * Gets the number of column chunks read.
+   *
+   * @return number of column chunk reads
+   */
+  public long getReadCount() {
+    return readCount.get();
+  }
+
+  /**
+   * Gets the number of column chunks that were read after being prefetched predictively.
+   *
+   * @return number of correct predictions
+   */
+  public long getPredictedAndReadCount() {
+    return predictedAndReadCount.get();
+  }
+
+  /**
+   * Gets the precision of predictions, that is the fraction of predicted column chunks that were
+   * read.
+   *
+   * @return precision in [0, 1], or 0 if no predictions were made
+   */
+  public double getPrecision() {
+    long predicted = getPredictedCount();
+    return predicted == 0 ? 0 : (double) getPredictedAndReadCount() / predicted;
+  }
+
+  /**
+   * Gets the recall of predictions, that is the fraction of column chunk reads that were predicted.
+   *
+   * @return recall in [0, 1], or 0 if no column chunks were read
+   */
+  public double getRecall() {
+    long read = getReadCount();
+    return read == 0 ? 0 : (double) getPredictedAndReadCount() / read;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "predicted: %d, read: %d, predictedAndRead: %d, precision: %.3f, recall: %.3f",
+        getPredictedCount(),
+        getReadCount(),
+        getPredictedAndReadCount(),
+        getPrecision(),
+        getRecall());
+  }
+}
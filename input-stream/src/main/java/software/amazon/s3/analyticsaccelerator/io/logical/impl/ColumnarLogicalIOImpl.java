@@ -0,0 +1,88 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A LogicalIO layer for file formats that are split into batches of rows, such as ORC and Arrow
+ * IPC. It reads and parses the footer of the file on open, and prefetches the columns of upcoming
+ * batches based on recent column access patterns using a {@link ColumnarPrefetcher}.
+ */
+public abstract class ColumnarLogicalIOImpl extends DefaultLogicalIOImpl {
+  // Dependencies
+  private final ColumnarPrefetcher<?, ?, ?> columnarPrefetcher;
+
+  /**
+   * Constructs an instance of ColumnarLogicalIOImpl, and starts prefetching the footer of the file.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param columnarPrefetcher prefetcher of the format of the object
+   */
+  protected ColumnarLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull ColumnarPrefetcher<?, ?, ?> columnarPrefetcher) {
+    super(s3Uri, physicalIO, telemetry);
+
+    // Start prefetching
+    this.columnarPrefetcher = columnarPrefetcher;
+    this.columnarPrefetcher.prefetchFooterAndBuildMetadata();
+  }
+
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the position to begin reading from
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    // Perform async prefetching before doing the blocking read
+    this.columnarPrefetcher.addToRecentColumnList(position, len);
+
+    return super.read(buf, off, len, position);
+  }
+
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param position the position to begin reading from
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(ByteBuffer buf, long position) throws IOException {
+    // Perform async prefetching before doing the blocking read
+    int len = buf.remaining();
+    this.columnarPrefetcher.addToRecentColumnList(position, len);
+
+    return super.read(buf, position);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Set;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * This class maintains the shared state required for prefetching the columns of file formats that
+ * are split into batches of rows, such as the stripes of ORC files and the record batches of Arrow
+ * files, independent of the life of individual streams. It stores the metadata parsed from the
+ * footer of each file, the layout of the columns in each batch, and decayed access scores of the
+ * columns read per schema, so that a stream opened to a file of the same table can prefetch the
+ * columns the workload is reading.
+ *
+ * <p>Column access is tracked in the same way as for Parquet, see {@link
+ * ParquetColumnPrefetchStore#addRecentColumn}.
+ *
+ * @param <F> the metadata parsed from the footer of a file
+ * @param <E> the location of a column in a batch, such as an ORC stream or an Arrow buffer
+ */
+public abstract class ColumnarPrefetchStore<F, E> {
+
+  /** This is a mapping of S3 URI's of files to the metadata parsed from their footer. */
+  private final Cache<S3URI, F> fileMetadataStore;
+
+  /**
+   * This is a mapping of batches of files to the location of their columns. The layout of a batch
+   * is read and parsed lazily, either when a stream reads from the batch or when the batch is
+   * prefetched.
+   */
+  private final Cache<BatchKey, List<E>> batchLayoutStore;
+
+  /** Decayed access scores of the columns read per schema, and optionally per query. */
+  private final ColumnAccessHistory columnAccessHistory;
+
+  /** This is a mapping of S3 URI's of files to a bit set of the batches prefetched. */
+  private final Cache<S3URI, ConcurrentBitSet> batchesPrefetched;
+
+  /**
+   * Creates a new instance of ColumnarPrefetchStore.
+   *
+   * @param configuration object containing information about the metadata store size
+   */
+  protected ColumnarPrefetchStore(LogicalIOConfiguration configuration) {
+    this(
+        configuration,
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getMaxColumnAccessCountStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build());
+  }
+
+  /**
+   * Creates a new instance of ColumnarPrefetchStore. This constructor is used for dependency
+   * injection.
+   *
+   * @param configuration LogicalIO configuration
+   * @param fileMetadataStore Store of file metadata
+   * @param batchLayoutStore Store of the location of the columns of batches
+   * @param columnAccessScores Column access scores for each schema and query
+   * @param batchesPrefetched File URI to the set of batches that have been prefetched for it
+   */
+  ColumnarPrefetchStore(
+      LogicalIOConfiguration configuration,
+      Cache<S3URI, F> fileMetadataStore,
+      Cache<BatchKey, List<E>> batchLayoutStore,
+      Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores,
+      Cache<S3URI, ConcurrentBitSet> batchesPrefetched) {
+    this.fileMetadataStore = fileMetadataStore;
+    this.batchLayoutStore = batchLayoutStore;
+    this.columnAccessHistory = new ColumnAccessHistory(configuration, columnAccessScores);
+    this.batchesPrefetched = batchesPrefetched;
+  }
+
+  /**
+   * Gets the file metadata of a file.
+   *
+   * @param s3URI the S3URI of the file
+   * @return the file metadata, or null if it has not been parsed yet
+   */
+  public F getFileMetadata(S3URI s3URI) {
+    return fileMetadataStore.getIfPresent(s3URI);
+  }
+
+  /**
+   * Stores the file metadata of a file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param fileMetadata the metadata parsed from the footer of the file
+   */
+  public void putFileMetadata(S3URI s3URI, F fileMetadata) {
+    fileMetadataStore.put(s3URI, fileMetadata);
+  }
+
+  /**
+   * Records a read of a column for a particular schema, and the query the reading stream belongs
+   * to.
+   *
+   * @param schemaHash the schema the column belongs to
+   * @param columnName the name of the column read
+   * @param streamAuditContext audit context of the stream reading the column, can be null
+   */
+  public void addRecentColumn(
+      int schemaHash, String columnName, StreamAuditContext streamAuditContext) {
+    columnAccessHistory.recordAccess(schemaHash, columnName, streamAuditContext);
+  }
+
+  /**
+   * Gets the set of columns to prefetch for a schema. These are the columns whose decayed access
+   * score is at least columnPrefetchConfidenceThreshold in {@link LogicalIOConfiguration}. If there
+   * is a history for the query the stream belongs to, that history is used. Otherwise, the history
+   * of the whole schema is used.
+   *
+   * @param schemaHash the schema for which to retrieve columns for
+   * @param streamAuditContext audit context of the stream prefetching, can be null
+   * @return Unique set of columns predicted to be read
+   */
+  public Set<String> getUniqueRecentColumnsForSchema(
+      int schemaHash, StreamAuditContext streamAuditContext) {
+    return columnAccessHistory.getPredictedColumns(schemaHash, streamAuditContext);
+  }
+
+  /**
+   * Gets the location of the columns of a batch of a file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the batch
+   * @return the location of the columns of the batch, or null if it has not been parsed yet
+   */
+  List<E> getBatchLayout(S3URI s3URI, int batchIndex) {
+    return batchLayoutStore.getIfPresent(new BatchKey(s3URI, batchIndex));
+  }
+
+  /**
+   * Stores the location of the columns of a batch of a file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the batch
+   * @param layout the location of the columns of the batch
+   */
+  void putBatchLayout(S3URI s3URI, int batchIndex, List<E> layout) {
+    batchLayoutStore.put(new BatchKey(s3URI, batchIndex), layout);
+  }
+
+  /**
+   * Marks a batch of a file as prefetched.
+   *
+   * @param s3URI the S3URI of the file
+   * @param batchIndex index of the batch
+   * @return true if the batch had not been marked as prefetched before
+   */
+  boolean markBatchPrefetched(S3URI s3URI, int batchIndex) {
+    return batchesPrefetched.get(s3URI, k -> new ConcurrentBitSet()).set(batchIndex);
+  }
+
+  /** Key of the layout of a single batch of a file. */
+  @Value
+  static class BatchKey {
+    S3URI s3URI;
+    int batchIndex;
+  }
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.RangeUtils;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * A columnar prefetcher is a common place for the async prefetching activity of file formats that
+ * are split into batches of rows, such as the stripes of ORC files and the record batches of Arrow
+ * files. On open, it reads the footer at the end of the file in a single tail read. As the stream
+ * is read, it maps reads to the columns whose extents they overlap, and prefetches the columns
+ * predicted to be read for the batches ahead of the one being read. The layout of the columns of a
+ * batch is parsed from its own metadata, which is loaded asynchronously so that reads never wait
+ * for it.
+ *
+ * <p>Like the {@link ParquetPrefetcher}, a columnar prefetcher swallows all exceptions arising from
+ * the tasks it schedules, so that a file it is unable to parse is read without prefetching.
+ *
+ * @param <F> the metadata parsed from the footer of a file
+ * @param <B> a batch of rows of a file
+ * @param <E> the location of a column in a batch
+ */
+public abstract class ColumnarPrefetcher<F, B, E> {
+  private final S3URI s3URI;
+  private final PhysicalIO physicalIO;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final ColumnarPrefetchStore<F, E> columnarPrefetchStore;
+  private final OpenStreamInformation openStreamInformation;
+  private final String footerOperationName;
+  private final String batchOperationName;
+  private final long maxMergeGap;
+
+  // Columns of each batch whose reads have been recorded by this stream
+  private final Set<Long> recordedBatchColumns = ConcurrentHashMap.newKeySet();
+  // Batch layouts this stream is loading, so that reads never wait for them
+  private final Map<Integer, CompletableFuture<List<E>>> batchLayoutLoads =
+      new ConcurrentHashMap<>();
+
+  private static final Logger LOG = LoggerFactory.getLogger(ColumnarPrefetcher.class);
+
+  /**
+   * Constructs a ColumnarPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param columnarPrefetchStore a common place for usage information of the format
+   * @param openStreamInformation information the stream was opened with
+   * @param footerOperationName name of the operation reading the footer
+   * @param batchOperationName name of the operation prefetching a batch
+   * @param maxMergeGap maximum number of bytes between two column extents prefetched together
+   */
+  protected ColumnarPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ColumnarPrefetchStore<F, E> columnarPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation,
+      @NonNull String footerOperationName,
+      @NonNull String batchOperationName,
+      long maxMergeGap) {
+    this.s3URI = s3URI;
+    this.physicalIO = physicalIO;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.columnarPrefetchStore = columnarPrefetchStore;
+    this.openStreamInformation = openStreamInformation;
+    this.footerOperationName = footerOperationName;
+    this.batchOperationName = batchOperationName;
+    this.maxMergeGap = maxMergeGap;
+  }
+
+  /**
+   * Reads and parses the footer of the file, and, when the prefetch mode is ALL, prefetches the
+   * predicted columns of the first batch. Otherwise, the layout of the first batch is loaded, so
+   * that the columns read from it can be recorded without waiting for it.
+   *
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  public CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadata() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(footerOperationName)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        prefetchFooterAndBuildMetadataImpl());
+  }
+
+  private CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadataImpl() {
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return CompletableFuture.completedFuture(skipped());
+    }
+
+    F fileMetadata = columnarPrefetchStore.getFileMetadata(s3URI);
+    CompletableFuture<F> fileMetadataFuture =
+        fileMetadata != null
+            ? CompletableFuture.completedFuture(fileMetadata)
+            : CompletableFuture.supplyAsync(this::readFileMetadata);
+
+    return fileMetadataFuture
+        .thenCompose(
+            (F metadata) ->
+                logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ALL
+                    ? CompletableFuture.completedFuture(prefetchBatch(metadata, 0))
+                    : loadFirstBatchLayout(metadata))
+        .exceptionally(
+            (e) -> {
+              LOG.debug(
+                  "Unable to read the metadata of {}, prefetching will be disabled.",
+                  s3URI.getKey(),
+                  e);
+              return skipped();
+            });
+  }
+
+  /**
+   * Reads the footer with a single read of the tail of the file. If the footer is larger than
+   * prefetchFileMetadataSize, the tail is read again at its exact size.
+   *
+   * @return the file metadata
+   */
+  F readFileMetadata() {
+    try {
+      long contentLength = physicalIO.metadata().getContentLength();
+      int tailLength =
+          (int) Math.min(contentLength, logicalIOConfiguration.getPrefetchFileMetadataSize());
+      byte[] tail = readTail(tailLength);
+
+      long fileTailLength = getFileTailLength(tail, tailLength);
+      if (fileTailLength > tailLength) {
+        if (fileTailLength > contentLength) {
+          throw new IOException("Footer is larger than the file");
+        }
+        tailLength = (int) fileTailLength;
+        tail = readTail(tailLength);
+      }
+
+      F fileMetadata = parseFileMetadata(tail, tailLength);
+      columnarPrefetchStore.putFileMetadata(s3URI, fileMetadata);
+      return fileMetadata;
+    } catch (IOException e) {
+      throw new CompletionException("Error in reading file tail", e);
+    }
+  }
+
+  private byte[] readTail(int tailLength) throws IOException {
+    byte[] tail = new byte[tailLength];
+    physicalIO.readTail(tail, 0, tailLength);
+    return tail;
+  }
+
+  private CompletableFuture<IOPlanExecution> loadFirstBatchLayout(F fileMetadata) {
+    if (getBatches(fileMetadata).isEmpty()) {
+      return CompletableFuture.completedFuture(skipped());
+    }
+    return getBatchLayoutAsync(fileMetadata, getBatches(fileMetadata).get(0))
+        .handle((layout, error) -> skipped());
+  }
+
+  /**
+   * Records the columns read by a read of this stream, and prefetches the batch being read and the
+   * lookahead batches after it. If the layout of the batch being read is not loaded yet, it is
+   * loaded asynchronously and the columns are recorded once it is, so that the read does not wait
+   * for it.
+   *
+   * @param position the position of the read
+   * @param len the length of the read
+   */
+  public void addToRecentColumnList(long position, int len) {
+    try {
+      if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+        return;
+      }
+
+      F fileMetadata = columnarPrefetchStore.getFileMetadata(s3URI);
+      if (fileMetadata == null) {
+        return;
+      }
+
+      B batch = getBatchAtPosition(fileMetadata, position);
+      if (batch == null) {
+        return;
+      }
+
+      if (isDataPosition(batch, position)) {
+        int batchIndex = getBatchIndex(batch);
+        List<E> layout = columnarPrefetchStore.getBatchLayout(s3URI, batchIndex);
+        if (layout != null) {
+          recordColumnsRead(fileMetadata, batchIndex, layout, position, len);
+        } else {
+          getBatchLayoutAsync(fileMetadata, batch)
+              .thenAccept(
+                  loaded -> recordColumnsRead(fileMetadata, batchIndex, loaded, position, len));
+        }
+        prefetchUpcomingBatches(fileMetadata, batchIndex);
+      }
+    } catch (Exception e) {
+      LOG.debug(
+          "Unable to add column to recently read columns tracked list for {}.", s3URI.getKey(), e);
+    }
+  }
+
+  private void recordColumnsRead(
+      F fileMetadata, int batchIndex, List<E> layout, long position, int len) {
+    long end = position + len;
+    List<String> columnNames = getColumnNames(fileMetadata);
+    for (E extent : layout) {
+      int columnIndex = getColumnIndex(extent);
+      if (columnIndex < 0 || columnIndex >= columnNames.size()) {
+        continue;
+      }
+
+      long offset = getExtentOffset(extent);
+      boolean overlaps = offset < end && position < offset + getExtentLength(extent);
+      long batchColumn = ((long) batchIndex << 32) | columnIndex;
+      if (overlaps && recordedBatchColumns.add(batchColumn)) {
+        columnarPrefetchStore.addRecentColumn(
+            getSchemaHash(fileMetadata),
+            columnNames.get(columnIndex),
+            openStreamInformation.getStreamAuditContext());
+      }
+    }
+  }
+
+  private void prefetchUpcomingBatches(F fileMetadata, int batchIndex) {
+    int lastBatch = Math.min(getBatches(fileMetadata).size() - 1, batchIndex + getBatchLookahead());
+    for (int i = batchIndex; i <= lastBatch; i++) {
+      int batchToPrefetch = i;
+      if (columnarPrefetchStore.markBatchPrefetched(s3URI, batchToPrefetch)) {
+        CompletableFuture.runAsync(() -> prefetchBatchColumns(fileMetadata, batchToPrefetch));
+      }
+    }
+  }
+
+  /**
+   * Prefetches the layout and the columns predicted to be read for a batch, if the batch has not
+   * been prefetched yet.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param batchIndex the batch to prefetch
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  IOPlanExecution prefetchBatch(F fileMetadata, int batchIndex) {
+    if (batchIndex >= getBatches(fileMetadata).size()
+        || !columnarPrefetchStore.markBatchPrefetched(s3URI, batchIndex)) {
+      return skipped();
+    }
+
+    return prefetchBatchColumns(fileMetadata, batchIndex);
+  }
+
+  private IOPlanExecution prefetchBatchColumns(F fileMetadata, int batchIndex) {
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(batchOperationName)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            Set<String> predictedColumns =
+                columnarPrefetchStore.getUniqueRecentColumnsForSchema(
+                    getSchemaHash(fileMetadata), openStreamInformation.getStreamAuditContext());
+            B batch = getBatches(fileMetadata).get(batchIndex);
+
+            List<Range> ranges = new ArrayList<>();
+            List<String> columnNames = getColumnNames(fileMetadata);
+            for (E extent : getBatchLayout(fileMetadata, batch)) {
+              int columnIndex = getColumnIndex(extent);
+              long offset = getExtentOffset(extent);
+              long length = getExtentLength(extent);
+              if (length > 0
+                  && columnIndex >= 0
+                  && columnIndex < columnNames.size()
+                  && predictedColumns.contains(columnNames.get(columnIndex))) {
+                ranges.add(new Range(offset, offset + length - 1));
+              }
+            }
+
+            if (ranges.isEmpty()) {
+              return skipped();
+            }
+
+            return physicalIO.execute(
+                new IOPlan(RangeUtils.mergeRanges(ranges, maxMergeGap)), ReadMode.COLUMN_PREFETCH);
+          } catch (Exception e) {
+            LOG.debug(
+                "Unable to prefetch batch {} of {}, it will be read without prefetching.",
+                batchIndex,
+                s3URI.getKey(),
+                e);
+            return skipped();
+          }
+        });
+  }
+
+  /**
+   * Gets the layout of a batch without blocking, loading it on another thread if it is not in the
+   * store. Concurrent calls for a batch share a single load, and a failed load is logged and not
+   * retried by this stream.
+   */
+  private CompletableFuture<List<E>> getBatchLayoutAsync(F fileMetadata, B batch) {
+    List<E> layout = columnarPrefetchStore.getBatchLayout(s3URI, getBatchIndex(batch));
+    if (layout != null) {
+      return CompletableFuture.completedFuture(layout);
+    }
+
+    return batchLayoutLoads.computeIfAbsent(
+        getBatchIndex(batch),
+        batchIndex -> {
+          CompletableFuture<List<E>> load =
+              CompletableFuture.supplyAsync(
+                  () -> {
+                    try {
+                      return getBatchLayout(fileMetadata, batch);
+                    } catch (IOException e) {
+                      throw new CompletionException(e);
+                    }
+                  });
+          load.exceptionally(
+              e -> {
+                LOG.debug(
+                    "Unable to read the layout of batch {} of {}.", batchIndex, s3URI.getKey(), e);
+                return null;
+              });
+          return load;
+        });
+  }
+
+  /**
+   * Gets the layout of a batch, reading and parsing its metadata if it is not in the store.
+   * Readers read the metadata of a batch before its columns, and the metadata of upcoming batches
+   * is prefetched, so it is usually already held by the PhysicalIO.
+   */
+  private List<E> getBatchLayout(F fileMetadata, B batch) throws IOException {
+    int batchIndex = getBatchIndex(batch);
+    List<E> layout = columnarPrefetchStore.getBatchLayout(s3URI, batchIndex);
+    if (layout != null) {
+      return layout;
+    }
+
+    Range layoutRange = getBatchLayoutRange(batch);
+    int layoutLength = layoutRange.getLength();
+    physicalIO.execute(new IOPlan(layoutRange), ReadMode.COLUMN_PREFETCH);
+
+    byte[] bytes = new byte[layoutLength];
+    int bytesRead = physicalIO.read(bytes, 0, layoutLength, layoutRange.getStart());
+    if (bytesRead < layoutLength) {
+      throw new IOException("Unable to read the layout of batch " + batchIndex);
+    }
+
+    layout = parseBatchLayout(bytes, fileMetadata, batch);
+    columnarPrefetchStore.putBatchLayout(s3URI, batchIndex, layout);
+    return layout;
+  }
+
+  /**
+   * Gets the length of the tail of the file that holds its footer.
+   *
+   * @param tail bytes at the end of the file
+   * @param tailLength number of bytes in the tail
+   * @return the length of the tail needed to parse the footer
+   * @throws IOException if the tail cannot be parsed
+   */
+  protected abstract long getFileTailLength(byte[] tail, int tailLength) throws IOException;
+
+  /**
+   * Parses the metadata of the file from its tail.
+   *
+   * @param tail bytes at the end of the file, holding the whole footer
+   * @param tailLength number of bytes in the tail
+   * @return the file metadata
+   * @throws IOException if the footer cannot be parsed
+   */
+  protected abstract F parseFileMetadata(byte[] tail, int tailLength) throws IOException;
+
+  /**
+   * Gets the names of the columns of a file, indexed by the column index of its extents.
+   *
+   * @param fileMetadata the metadata of the file
+   * @return the names of the columns
+   */
+  protected abstract List<String> getColumnNames(F fileMetadata);
+
+  /**
+   * Gets the hash of the schema of a file.
+   *
+   * @param fileMetadata the metadata of the file
+   * @return the schema hash
+   */
+  protected abstract int getSchemaHash(F fileMetadata);
+
+  /**
+   * Gets the batches of a file, in offset order.
+   *
+   * @param fileMetadata the metadata of the file
+   * @return the batches of the file
+   */
+  protected abstract List<B> getBatches(F fileMetadata);
+
+  /**
+   * Finds the batch that a position lies in.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param position position in the file
+   * @return the batch containing the position, or null if there is none
+   */
+  protected abstract B getBatchAtPosition(F fileMetadata, long position);
+
+  /**
+   * Gets the index of a batch in its file.
+   *
+   * @param batch the batch
+   * @return the index of the batch
+   */
+  protected abstract int getBatchIndex(B batch);
+
+  /**
+   * Checks whether a position of a batch holds column data, rather than the metadata of the batch.
+   *
+   * @param batch the batch
+   * @param position position in the file
+   * @return true if the position holds column data
+   */
+  protected abstract boolean isDataPosition(B batch, long position);
+
+  /**
+   * Gets the range of the metadata of a batch that lists the extents of its columns.
+   *
+   * @param batch the batch
+   * @return the range of the metadata
+   */
+  protected abstract Range getBatchLayoutRange(B batch);
+
+  /**
+   * Parses the extents of the columns of a batch from its metadata.
+   *
+   * @param bytes the bytes of the range returned by getBatchLayoutRange
+   * @param fileMetadata the metadata of the file
+   * @param batch the batch
+   * @return the extents of the columns of the batch
+   * @throws IOException if the metadata cannot be parsed
+   */
+  protected abstract List<E> parseBatchLayout(byte[] bytes, F fileMetadata, B batch)
+      throws IOException;
+
+  /**
+   * Gets the number of batches after the one being read to prefetch.
+   *
+   * @return the number of batches to look ahead
+   */
+  protected abstract int getBatchLookahead();
+
+  /**
+   * Gets the index of the column an extent belongs to.
+   *
+   * @param extent the extent
+   * @return the index of the column, or -1 if the extent does not belong to a column that is
+   *     tracked
+   */
+  protected abstract int getColumnIndex(E extent);
+
+  /**
+   * Gets the offset of an extent in the file.
+   *
+   * @param extent the extent
+   * @return the offset of the extent
+   */
+  protected abstract long getExtentOffset(E extent);
+
+  /**
+   * Gets the length of an extent.
+   *
+   * @param extent the extent
+   * @return the length of the extent
+   */
+  protected abstract long getExtentLength(E extent);
+
+  private static IOPlanExecution skipped() {
+    return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A minimal, growable bit set that can be read and updated concurrently without locking. Bits are
+ * stored in 64 bit words, which are created on demand the first time a bit in them is set. This is
+ * used to track the row groups of a Parquet file that have been prefetched, where a file rarely has
+ * more than a handful of row groups, but lookups happen on every read.
+ */
+class ConcurrentBitSet {
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private final Map<Integer, AtomicLong> words = new ConcurrentHashMap<>();
+
+  /**
+   * Sets the bit at the given index.
+   *
+   * @param bitIndex index of the bit to set, must not be negative
+   * @return true if the bit was not set before this call
+   */
+  boolean set(int bitIndex) {
+    Preconditions.checkArgument(bitIndex >= 0, "`bitIndex` must not be negative");
+    long mask = 1L << bitIndex;
+    AtomicLong word =
+        words.computeIfAbsent(bitIndex >>> ADDRESS_BITS_PER_WORD, k -> new AtomicLong());
+    return (word.getAndUpdate(w -> w | mask) & mask) == 0;
+  }
+
+  /**
+   * Gets the bit at the given index.
+   *
+   * @param bitIndex index of the bit to get
+   * @return true if the bit is set
+   */
+  boolean get(int bitIndex) {
+    if (bitIndex < 0) {
+      return false;
+    }
+    AtomicLong word = words.get(bitIndex >>> ADDRESS_BITS_PER_WORD);
+    return word != null && (word.get() & (1L << bitIndex)) != 0;
+  }
+}
@@ -27,6 +27,7 @@ import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -100,6 +101,32 @@ public class DefaultLogicalIOImpl implements LogicalIO {
         bytesRead -> bytesRead > 1);
   }
 
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param position the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(ByteBuffer buf, long position) throws IOException {
+    int len = buf.remaining();
+    return telemetry.measureConditionally(
+        TelemetryLevel.VERBOSE,
+        () ->
+            Operation.builder()
+                .name(OPERATION_LOGICAL_READ)
+                .attribute(StreamAttributes.logicalReadPosition(position))
+                .attribute(StreamAttributes.logicalReadLength(len))
+                .attribute(StreamAttributes.uri(s3URI))
+                .attribute(
+                    StreamAttributes.logicalIORelativeTimestamp(System.nanoTime() - birthTimestamp))
+                .build(),
+        () -> physicalIO.read(buf, position),
+        bytesRead -> bytesRead > 1);
+  }
+
   @Override
   public int readTail(byte[] buf, int off, int len) throws IOException {
     long contentLength = metadata().getContentLength();
@@ -147,6 +174,16 @@ public class DefaultLogicalIOImpl implements LogicalIO {
     return this.physicalIO.metadata();
   }
 
+  /**
+   * Returns the statistics of the reads of the stream.
+   *
+   * @return the statistics of the underlying physical IO
+   */
+  @Override
+  public StreamStatistics getStreamStatistics() {
+    return this.physicalIO.getStreamStatistics();
+  }
+
   protected void closeWithEviction(boolean shouldEvict) throws IOException {
     physicalIO.close(shouldEvict);
   }
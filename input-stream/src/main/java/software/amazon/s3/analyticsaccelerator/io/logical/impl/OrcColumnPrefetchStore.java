@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.List;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStream;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * This class maintains the shared state required for ORC prefetching, independent of the life of
+ * individual streams. It is the ORC counterpart of {@link ParquetColumnPrefetchStore}: it stores
+ * the parsed file footer and stripe footers of ORC files, and decayed access scores of the columns
+ * read per schema, so that a stream opened to a file of the same table can prefetch the columns
+ * the workload is reading.
+ *
+ * <p>Column access is tracked in the same way as for Parquet, see {@link
+ * ParquetColumnPrefetchStore#addRecentColumn}. ORC columns are identified by their path from the
+ * root of the schema, eg: "ss_a" or "customer.address.city".
+ */
+public class OrcColumnPrefetchStore extends ColumnarPrefetchStore<OrcFileMetadata, OrcStream> {
+
+  /**
+   * Creates a new instance of OrcColumnPrefetchStore.
+   *
+   * @param configuration object containing information about the metadata store size
+   */
+  public OrcColumnPrefetchStore(LogicalIOConfiguration configuration) {
+    super(configuration);
+  }
+
+  /**
+   * Gets the streams of a stripe of an ORC file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex index of the stripe
+   * @return the streams of the stripe, or null if its stripe footer has not been parsed yet
+   */
+  public List<OrcStream> getStripeStreams(S3URI s3URI, int stripeIndex) {
+    return getBatchLayout(s3URI, stripeIndex);
+  }
+
+  /**
+   * Stores the streams of a stripe of an ORC file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex index of the stripe
+   * @param streams the streams parsed from the stripe footer
+   */
+  public void putStripeStreams(S3URI s3URI, int stripeIndex, List<OrcStream> streams) {
+    putBatchLayout(s3URI, stripeIndex, streams);
+  }
+
+  /**
+   * Marks a stripe of an ORC file as prefetched.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex index of the stripe
+   * @return true if the stripe had not been marked as prefetched before
+   */
+  public boolean markStripePrefetched(S3URI s3URI, int stripeIndex) {
+    return markBatchPrefetched(s3URI, stripeIndex);
+  }
+}
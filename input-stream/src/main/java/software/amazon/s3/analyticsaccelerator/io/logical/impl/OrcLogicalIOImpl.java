@@ -0,0 +1,59 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An ORC-aware implementation of a LogicalIO layer. It reads and parses the ORC file footer on
+ * open, and prefetches the streams of upcoming stripes based on recent column access patterns.
+ */
+public class OrcLogicalIOImpl extends ColumnarLogicalIOImpl {
+  /**
+   * Constructs an instance of OrcLogicalIOImpl.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param orcColumnPrefetchStore object where ORC usage information is aggregated
+   * @param openStreamInformation information the stream was opened with
+   */
+  public OrcLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    super(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        new OrcPrefetcher(
+            s3Uri,
+            physicalIO,
+            telemetry,
+            logicalIOConfiguration,
+            orcColumnPrefetchStore,
+            openStreamInformation));
+  }
+}
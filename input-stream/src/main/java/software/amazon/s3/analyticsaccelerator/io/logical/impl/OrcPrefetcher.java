@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.util.List;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcParser;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStream;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStripeInformation;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An ORC prefetcher is a common place for all ORC-related async prefetching activity. On open, it
+ * reads the postscript and file footer in a single tail read and parses the stripes and schema of
+ * the file. As the stream is read, it maps reads to the columns whose streams they overlap, and
+ * prefetches the stripe footers and the streams of the columns predicted to be read for the stripes
+ * ahead of the one being read.
+ */
+public class OrcPrefetcher
+    extends ColumnarPrefetcher<OrcFileMetadata, OrcStripeInformation, OrcStream> {
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final OrcParser orcParser = new OrcParser();
+
+  private static final String OPERATION_ORC_PREFETCH_FOOTER_AND_METADATA =
+      "orc.prefetcher.prefetch.footer.and.metadata.async";
+  private static final String OPERATION_ORC_PREFETCH_STRIPE = "orc.prefetcher.prefetch.stripe";
+
+  /**
+   * Constructs an OrcPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param orcColumnPrefetchStore a common place for ORC usage information
+   * @param openStreamInformation information the stream was opened with
+   */
+  public OrcPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    super(
+        s3URI,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        orcColumnPrefetchStore,
+        openStreamInformation,
+        OPERATION_ORC_PREFETCH_FOOTER_AND_METADATA,
+        OPERATION_ORC_PREFETCH_STRIPE,
+        0);
+    this.logicalIOConfiguration = logicalIOConfiguration;
+  }
+
+  /**
+   * Prefetches the stripe footer and the streams of the columns predicted to be read for a stripe,
+   * if the stripe has not been prefetched yet.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param stripeIndex the stripe to prefetch
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  IOPlanExecution prefetchStripe(OrcFileMetadata fileMetadata, int stripeIndex) {
+    return prefetchBatch(fileMetadata, stripeIndex);
+  }
+
+  @Override
+  protected long getFileTailLength(byte[] tail, int tailLength) throws IOException {
+    return orcParser.parsePostScript(tail, tailLength).getFileTailLength();
+  }
+
+  @Override
+  protected OrcFileMetadata parseFileMetadata(byte[] tail, int tailLength) throws IOException {
+    return orcParser.parseFooter(tail, tailLength, orcParser.parsePostScript(tail, tailLength));
+  }
+
+  @Override
+  protected List<String> getColumnNames(OrcFileMetadata fileMetadata) {
+    return fileMetadata.getColumnNames();
+  }
+
+  @Override
+  protected int getSchemaHash(OrcFileMetadata fileMetadata) {
+    return fileMetadata.getSchemaHash();
+  }
+
+  @Override
+  protected List<OrcStripeInformation> getBatches(OrcFileMetadata fileMetadata) {
+    return fileMetadata.getStripes();
+  }
+
+  @Override
+  protected OrcStripeInformation getBatchAtPosition(OrcFileMetadata fileMetadata, long position) {
+    return fileMetadata.getStripeAtPosition(position);
+  }
+
+  @Override
+  protected int getBatchIndex(OrcStripeInformation stripe) {
+    return stripe.getStripeIndex();
+  }
+
+  @Override
+  protected boolean isDataPosition(OrcStripeInformation stripe, long position) {
+    return position < stripe.getFooterOffset();
+  }
+
+  @Override
+  protected Range getBatchLayoutRange(OrcStripeInformation stripe) {
+    return new Range(stripe.getFooterOffset(), stripe.getEndOffset() - 1);
+  }
+
+  @Override
+  protected List<OrcStream> parseBatchLayout(
+      byte[] footer, OrcFileMetadata fileMetadata, OrcStripeInformation stripe) throws IOException {
+    return orcParser.parseStripeFooter(footer, fileMetadata, stripe);
+  }
+
+  @Override
+  protected int getBatchLookahead() {
+    return logicalIOConfiguration.getOrcStripeLookahead();
+  }
+
+  @Override
+  protected int getColumnIndex(OrcStream stream) {
+    // Column 0 is the root struct, which is read alongside every other column
+    return stream.getColumnId() > 0 ? stream.getColumnId() : -1;
+  }
+
+  @Override
+  protected long getExtentOffset(OrcStream stream) {
+    return stream.getOffset();
+  }
+
+  @Override
+  protected long getExtentLength(OrcStream stream) {
+    return stream.getLength();
+  }
+}
@@ -15,34 +15,35 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataParsingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredictivePrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
  * This class maintains a shared state required for Parquet prefetching operations that is required
  * independent of the life of individual streams. It is used to store Parquet metadata for
- * individual files, and a list of recently read columns. This is meant to be shared across multiple
- * streams as calling applications may open and close a stream to a file several times while
- * reading. For Spark, this was observed to happen as a stream to a Parquet file is first opened to
- * read the footer, and then a separate stream is opened to read the data.
+ * individual files, and decayed access scores of the columns read per schema. This is meant to be
+ * shared across multiple streams as calling applications may open and close a stream to a file
+ * several times while reading. For Spark, this was observed to happen as a stream to a Parquet file
+ * is first opened to read the footer, and then a separate stream is opened to read the data.
+ *
+ * <p>As every read of a Parquet stream consults this store, it is built on concurrent data
+ * structures rather than synchronized methods, so that streams read in parallel do not serialize on
+ * a single lock. All per file and per schema state is held in bounded Caffeine caches, and the
+ * values in them can themselves be updated concurrently.
  */
-@SuppressFBWarnings(
-    value = "SE_BAD_FIELD",
-    justification = "The closure classes trigger this. We never use serialization on this class")
 public class ParquetColumnPrefetchStore {
 
   /**
@@ -67,40 +68,43 @@ public class ParquetColumnPrefetchStore {
    * exist, then the information stored in it's ColumnMetadata, specifically the start position and
    * length is used to prefetch the correct range for this column.
    */
-  private final Map<S3URI, ColumnMappers> columnMappersStore;
+  private final Cache<S3URI, ColumnMappers> columnMappersStore;
 
   /**
-   * This is a mapping of schema and the recently read columns for it. For a Parquet file, a hash is
-   * calculated by concatenating all the column names in the file metadata into a single string, and
-   * then computing the hash. This helps separate all Parquet files belonging to the same table. Eg:
-   * Two files belonging to store_sales table will have the same columns, and so have the same
-   * schema hash.
+   * This is a mapping of schema, and optionally query, to decayed frequency scores of the columns
+   * read for it. For a Parquet file, a hash is calculated by concatenating all the column names in
+   * the file metadata into a single string, and then computing the hash. This helps separate all
+   * Parquet files belonging to the same table. Eg: Two files belonging to store_sales table will
+   * have the same columns, and so have the same schema hash.
    *
-   * <p>This map is then used to store a list of recently read columns for each schema. For example,
-   * if a stream recently read columns [ss_a, ss_b] for a store_sales schema, the list would contain
-   * [ss_a, ss_b]. The list is limited to a size defined by maxColumnAccessCountStoreSize in {@link
-   * LogicalIOConfiguration}. By default, this 15. This means that this list will contain the last
-   * 15 columns that were read for this particular schema.
+   * <p>Every read of a column increments its score, and every read decays the scores of all other
+   * columns of the schema by columnAccessDecayFactor in {@link LogicalIOConfiguration}. Only
+   * columns with a score of at least columnPrefetchConfidenceThreshold are prefetched. If a query
+   * is reading ss_a and ss_b over and over, their scores build up, and a single read to ss_c by a
+   * stray query will not evict them from the prediction, as would happen with a plain history of
+   * the last N columns read.
    *
-   * <p>If a query is reading ss_a and ss_b, this list will look something like [ss_a, ss_b, ss_a,
-   * ss_b]. This helps us maintain a history of the columns currently being read.
+   * <p>When columnAccessScope is not SCHEMA, accesses are additionally recorded under a key made of
+   * the schema hash and the span id or operation name the stream was opened with, so that
+   * concurrent queries against the same table do not pollute each other. The number of schema and
+   * query scopes tracked is limited to maxColumnAccessCountStoreSize.
    */
-  private final Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema;
+  private final ColumnAccessHistory columnAccessHistory;
 
   /**
-   * This is a mapping of schema and the recently read column dictionaries for it. This differs from
-   * the recentlyReadColumnsPerSchema, as it tracks the dictionaries being read only. These two
-   * lists can differ. For example, say there is a query "select ss_a, ss_b from store_sales where
-   * ss_c = 123". Then, for predicate matching, the dictionary for ss_c will be read, and column
-   * data will be required for ss_a and ss_b.
+   * This is a mapping of schema, and optionally query, to decayed frequency scores of the column
+   * dictionaries read for it. This differs from the columnAccessHistory, as it tracks the
+   * dictionaries being read only. These two can differ. For example, say there is a query "select
+   * ss_a, ss_b from store_sales where ss_c = 123". Then, for predicate matching, the dictionary for
+   * ss_c will be read, and column data will be required for ss_a and ss_b.
    */
-  private final Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema;
+  private final ColumnAccessHistory dictionaryAccessHistory;
 
   /**
-   * This is a mapping of S3 URI's of Parquet files to a list of row group indexes prefetched. This
-   * is used when {@link PrefetchMode} is equal to ROW_GROUP. In this mode, prefetching only happens
-   * when a read to a column is detected. This is different to the ALL mode, where prefetching will
-   * happen on the first open of the file.
+   * This is a mapping of S3 URI's of Parquet files to a bit set of row group indexes prefetched.
+   * This is used when {@link PrefetchMode} is equal to ROW_GROUP. In this mode, prefetching only
+   * happens when a read to a column is detected. This is different to the ALL mode, where
+   * prefetching will happen on the first open of the file.
    *
    * <p>In ROW_GROUP mode, only columns that belong to the row group of the column currently being
    * read are prefetched. For example, for a file with 2 row groups with Parquet metadata: [ [<name:
@@ -110,84 +114,86 @@ public class ParquetColumnPrefetchStore {
    * <p>When there is a read at position to 100 or 500, this corresponds to a read to ss_a or ss_b
    * from row group 0, so in this case, any recent columns from row group 0 will be prefetched. 0
    * will then be added to this rowGroupsPrefetched map, so that if another read happens to a column
-   * in this row group, prefetches for the row group are not triggerred again.
+   * in this row group, prefetches for the row group are not triggerred again. As this is checked on
+   * every column read, a bit set indexed by row group is used so the check is a single lookup.
+   */
+  private final Cache<S3URI, ConcurrentBitSet> columnRowGroupsPrefetched;
+
+  /**
+   * Similar to columnRowGroupsPrefetched, this is a mapping of S3 URI's of Parquet files to a bit
+   * set of row group indexes prefetched for dictionaries only.
    */
-  private final Map<S3URI, List<Integer>> columnRowGroupsPrefetched;
+  private final Cache<S3URI, ConcurrentBitSet> dictionaryRowGroupsPrefetched;
 
   /**
-   * Similar to columnRowGroupsPrefetched, this is a mapping of S3 URI's of Parquet files to a list
-   * of row group indexes prefetched for dictionaries only.
+   * This is a mapping of S3 URI's of Parquet files to the column chunks predicted and read for
+   * them, which is used to compute the precision and recall of the predictions made from this
+   * store.
    */
-  private final Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched;
+  private final Cache<S3URI, ColumnPredictions> columnPredictions;
+
+  private final ColumnPrefetchAccuracy columnPrefetchAccuracy = new ColumnPrefetchAccuracy();
 
-  private final LogicalIOConfiguration configuration;
+  private final Metrics metrics;
 
   /**
-   * Creates a new instance of ParquetMetadataStore.
+   * Creates a new instance of ParquetColumnPrefetchStore.
    *
    * @param configuration object containing information about the metadata store size
    */
   public ParquetColumnPrefetchStore(LogicalIOConfiguration configuration) {
+    this(configuration, new Metrics());
+  }
+
+  /**
+   * Creates a new instance of ParquetColumnPrefetchStore.
+   *
+   * @param configuration object containing information about the metadata store size
+   * @param metrics metrics to record Parquet prefetching metrics to
+   */
+  public ParquetColumnPrefetchStore(LogicalIOConfiguration configuration, Metrics metrics) {
     this(
         configuration,
-        new LinkedHashMap<S3URI, ColumnMappers>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, ColumnMappers> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        },
-        new LinkedHashMap<Integer, LinkedList<String>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<Integer, LinkedList<String>> eldest) {
-            return this.size() > configuration.getMaxColumnAccessCountStoreSize();
-          }
-        },
-        new LinkedHashMap<Integer, LinkedList<String>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<Integer, LinkedList<String>> eldest) {
-            return this.size() > configuration.getMaxColumnAccessCountStoreSize();
-          }
-        },
-        new LinkedHashMap<S3URI, List<Integer>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, List<Integer>> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        },
-        new LinkedHashMap<S3URI, List<Integer>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, List<Integer>> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        });
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getMaxColumnAccessCountStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getMaxColumnAccessCountStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        Caffeine.newBuilder().maximumSize(configuration.getParquetMetadataStoreSize()).build(),
+        metrics);
   }
 
   /**
-   * Creates a new instance of ParquetMetadataStore. This constructor is used for dependency
+   * Creates a new instance of ParquetColumnPrefetchStore. This constructor is used for dependency
    * injection.
    *
    * @param configuration LogicalIO configuration
    * @param columnMappersStore Store of column mappings
-   * @param recentlyReadColumnsPerSchema List of recent read columns for each schema
-   * @param recentlyReadDictionariesPerSchema List of recent read dictionaries for each schema
-   * @param columnRowGroupsPrefetched Map of Parquet file URI to row groups that have been
+   * @param columnAccessScores Column access scores for each schema and query
+   * @param dictionaryAccessScores Dictionary access scores for each schema and query
+   * @param columnRowGroupsPrefetched Parquet file URI to the set of row groups that have been
    *     prefetched for it
-   * @param dictionaryRowGroupsPrefetched Map of Parquet file URI to row groups that have been
+   * @param dictionaryRowGroupsPrefetched Parquet file URI to the set of row groups that have been
    *     prefetched for it
+   * @param columnPredictions Parquet file URI to column chunks predicted and read for it
+   * @param metrics metrics to record Parquet prefetching metrics to
    */
   ParquetColumnPrefetchStore(
       LogicalIOConfiguration configuration,
-      Map<S3URI, ColumnMappers> columnMappersStore,
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema,
-      Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema,
-      Map<S3URI, List<Integer>> columnRowGroupsPrefetched,
-      Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched) {
-    this.configuration = configuration;
+      Cache<S3URI, ColumnMappers> columnMappersStore,
+      Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores,
+      Cache<ColumnAccessKey, ColumnAccessScores> dictionaryAccessScores,
+      Cache<S3URI, ConcurrentBitSet> columnRowGroupsPrefetched,
+      Cache<S3URI, ConcurrentBitSet> dictionaryRowGroupsPrefetched,
+      Cache<S3URI, ColumnPredictions> columnPredictions,
+      Metrics metrics) {
     this.columnMappersStore = columnMappersStore;
-    this.recentlyReadColumnsPerSchema = recentlyReadColumnsPerSchema;
+    this.columnAccessHistory = new ColumnAccessHistory(configuration, columnAccessScores);
     this.columnRowGroupsPrefetched = columnRowGroupsPrefetched;
-    this.recentlyReadDictionariesPerSchema = recentlyReadDictionariesPerSchema;
+    this.dictionaryAccessHistory = new ColumnAccessHistory(configuration, dictionaryAccessScores);
     this.dictionaryRowGroupsPrefetched = dictionaryRowGroupsPrefetched;
+    this.columnPredictions = columnPredictions;
+    this.metrics = metrics;
   }
 
   /**
@@ -196,8 +202,8 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI The S3URI to get column mappers for.
    * @return Column mappings
    */
-  public synchronized ColumnMappers getColumnMappers(S3URI s3URI) {
-    return columnMappersStore.get(s3URI);
+  public ColumnMappers getColumnMappers(S3URI s3URI) {
+    return columnMappersStore.getIfPresent(s3URI);
   }
 
   /**
@@ -206,113 +212,135 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI S3URI to store mappers for
    * @param columnMappers Parquet metadata column mappings
    */
-  public synchronized void putColumnMappers(S3URI s3URI, ColumnMappers columnMappers) {
+  public void putColumnMappers(S3URI s3URI, ColumnMappers columnMappers) {
     columnMappersStore.put(s3URI, columnMappers);
   }
 
   /**
-   * Adds a column to the list of recent columns for a particular schema. This is a fixed sized
-   * list, whose size is defined by maxColumnAccessCountStoreSize in {@link LogicalIOConfiguration}.
-   * The default value is 15.
+   * Records a read of a column for a particular schema, and the query the reading stream belongs
+   * to.
    *
    * <p>Reads at particular file offset correspond to a specific column being read. When a read
    * happens, {@link ColumnMappers} are used to find if this read corresponds to a column for the
    * currently open Parquet file. When a read happens, {@code
    * ParquetPredictivePrefetchingTask.addToRecentColumnList()} is used to decipher if it corresponds
    * to a column, that is, is there a column in the Parquet file with the same file_offset as the
-   * current position of the stream? If yes, this column gets added to the recently read columns for
-   * that particular schema. All Parquet files that have the exact same columns, and so the same
+   * current position of the stream? If yes, the score of this column is incremented for that
+   * particular schema. All Parquet files that have the exact same columns, and so the same
    * hash(concatenated string of columnNames), are said to belong to the same schema eg:
    * "store_sales".
    *
-   * <p>This list maintains names of the last 15 columns that were read for a schema. This is used
-   * to maintain a brief recent history of the columns being read by a workload and make predictions
-   * when prefetching. Only columns that exist in this list are prefetched by {@link
-   * ParquetPredictivePrefetchingTask}.
-   *
-   * <p>For example, assume that this list is of size 3, and the current query executing is Select
-   * ss_a, ss_b from store_sales. This list will then contain something like [ss_a, ss_b, ss_a]. If
-   * the query changes to Select ss_d, ss_e from store_sales, this list will start getting updated
-   * as the reads for column ss_d and ss_e are requested.
-   *
-   * <p>The list will change as follows: // new read for ss_d is requested, update list. Since list
-   * is already at capacity, remove the first element from it as this the column we saw least
-   * recently. The list then becomes: [ss_b, ss_a, ss_d]
-   *
-   * <p>// A read for ss_e comes in, update list. Again, since list is at capacity, remove the least
-   * recently seen column. List becomes: [ss_a, ss_d, ss_e]
-   *
-   * <p>After the next read, list will be [ss_d, ss_e, ss_d]
-   *
-   * <p>In this way, a fixed size list helps maintain the most recent columns and increases accuracy
-   * when prefetching.
+   * <p>Each read also decays the scores of all other columns of the schema by
+   * columnAccessDecayFactor in {@link LogicalIOConfiguration}, so the scores reflect both how often
+   * and how recently a column was read. For example, with a decay factor of 0.95, if the current
+   * query executing is Select ss_a, ss_b from store_sales and has read each column ten times, both
+   * columns will have a score of roughly 8. A query reading ss_d once gives ss_d a score of 1, and
+   * barely moves the scores of ss_a and ss_b, so all three columns remain above the default
+   * confidence threshold of 0.5. If the workload keeps reading ss_d, ss_a and ss_b will decay below
+   * the threshold after about 55 reads, and will no longer be prefetched.
    *
    * @param columnMetadata column to be added
+   * @param streamAuditContext audit context of the stream reading the column, can be null
    */
-  public synchronized void addRecentColumn(ColumnMetadata columnMetadata) {
-    updateColumnAccessList(columnMetadata, recentlyReadColumnsPerSchema);
+  public void addRecentColumn(
+      ColumnMetadata columnMetadata, StreamAuditContext streamAuditContext) {
+    columnAccessHistory.recordAccess(
+        columnMetadata.getSchemaHash(), columnMetadata.getColumnName(), streamAuditContext);
   }
 
   /**
-   * Adds a column dictionary to the list of recent dictionaries for a particular schema. This is
-   * similar to addRecentColumn(), except tracks current dictionaries being read.
+   * Records a read of a column dictionary for a particular schema. This is similar to
+   * addRecentColumn(), except tracks current dictionaries being read.
    *
    * @param columnMetadata column dictionary to be added
+   * @param streamAuditContext audit context of the stream reading the dictionary, can be null
    */
-  public synchronized void addRecentDictionary(ColumnMetadata columnMetadata) {
-    updateColumnAccessList(columnMetadata, recentlyReadDictionariesPerSchema);
-  }
-
-  private void updateColumnAccessList(
-      ColumnMetadata columnMetadata,
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema) {
-
-    LinkedList<String> schemaRecentColumns =
-        recentlyReadColumnsPerSchema.getOrDefault(
-            columnMetadata.getSchemaHash(), new LinkedList<>());
-
-    if (schemaRecentColumns.size() == this.configuration.getMaxColumnAccessCountStoreSize()) {
-      schemaRecentColumns.removeFirst();
-    }
-
-    schemaRecentColumns.add(columnMetadata.getColumnName());
-
-    recentlyReadColumnsPerSchema.put(columnMetadata.getSchemaHash(), schemaRecentColumns);
+  public void addRecentDictionary(
+      ColumnMetadata columnMetadata, StreamAuditContext streamAuditContext) {
+    dictionaryAccessHistory.recordAccess(
+        columnMetadata.getSchemaHash(), columnMetadata.getColumnName(), streamAuditContext);
   }
 
   /**
-   * Gets a list of unique column names from the recently read list. The recently read list contains
-   * a history of recent columns read for a particular schema. For example, for a store_sales schema
-   * this can be [ss_a, ss_b, ss_a, ss_b, ss_c, ss_c]. For prefetching, a set of unique columns to
-   * prefetch from this list is required. In this case, this will [ss_a, ss_b, ss_c].
+   * Gets the set of columns to prefetch for a schema. These are the columns whose decayed access
+   * score is at least columnPrefetchConfidenceThreshold in {@link LogicalIOConfiguration}. If
+   * accesses are partitioned by query and there is a history for the query the stream belongs to,
+   * that history is used. Otherwise, the history of the whole schema is used.
    *
    * @param schemaHash the schema for which to retrieve columns for
-   * @return Unique set of recently read columns
+   * @param streamAuditContext audit context of the stream prefetching, can be null
+   * @return Unique set of columns predicted to be read
    */
-  public synchronized Set<String> getUniqueRecentColumnsForSchema(int schemaHash) {
-    return getRecentAccessList(recentlyReadColumnsPerSchema, schemaHash);
+  public Set<String> getUniqueRecentColumnsForSchema(
+      int schemaHash, StreamAuditContext streamAuditContext) {
+    return columnAccessHistory.getPredictedColumns(schemaHash, streamAuditContext);
   }
 
   /**
-   * Gets a list of unique column dictionary names from the recently read list. Similar to
-   * getUniqueRecentColumnsForSchema(), except returns recent dictionaries accessed.
+   * Gets the set of column dictionaries to prefetch for a schema. Similar to
+   * getUniqueRecentColumnsForSchema(), except returns dictionaries.
    *
    * @param schemaHash the schema for which to retrieve columns for
-   * @return Unique set of recently read columns
+   * @param streamAuditContext audit context of the stream prefetching, can be null
+   * @return Unique set of column dictionaries predicted to be read
    */
-  public synchronized Set<String> getUniqueRecentDictionaryForSchema(int schemaHash) {
-    return getRecentAccessList(recentlyReadDictionariesPerSchema, schemaHash);
+  public Set<String> getUniqueRecentDictionaryForSchema(
+      int schemaHash, StreamAuditContext streamAuditContext) {
+    return dictionaryAccessHistory.getPredictedColumns(schemaHash, streamAuditContext);
   }
 
-  private Set<String> getRecentAccessList(
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema, int schemaHash) {
-    List<String> schemaRecentColumns = recentlyReadColumnsPerSchema.get(schemaHash);
+  /**
+   * Records column chunks that were prefetched predictively for a Parquet file. Column chunks
+   * already read by a stream for this file are not counted as predictions.
+   *
+   * @param s3URI the file the column chunks were prefetched for
+   * @param predictedColumns the column chunks prefetched
+   */
+  public void recordColumnsPredicted(S3URI s3URI, List<ColumnMetadata> predictedColumns) {
+    ColumnPredictions predictions = getOrCreatePredictions(s3URI);
+    for (ColumnMetadata columnMetadata : predictedColumns) {
+      if (!predictions.read.contains(columnMetadata)
+          && predictions.predicted.add(columnMetadata)) {
+        columnPrefetchAccuracy.recordPrediction();
+      }
+    }
+  }
 
-    if (schemaRecentColumns != null) {
-      return new HashSet<>(schemaRecentColumns);
+  /**
+   * Records a read of a column chunk of a Parquet file, and checks whether it had been predicted.
+   * Only the first read of each column chunk is counted.
+   *
+   * @param s3URI the file that was read
+   * @param columnMetadata the column chunk that was read
+   */
+  public void recordColumnRead(S3URI s3URI, ColumnMetadata columnMetadata) {
+    ColumnPredictions predictions = getOrCreatePredictions(s3URI);
+    if (predictions.read.add(columnMetadata)) {
+      columnPrefetchAccuracy.recordRead(predictions.predicted.contains(columnMetadata));
     }
+  }
+
+  private ColumnPredictions getOrCreatePredictions(S3URI s3URI) {
+    return columnPredictions.get(s3URI, k -> new ColumnPredictions());
+  }
 
-    return Collections.emptySet();
+  /**
+   * Gets the precision and recall of the column predictions made from this store.
+   *
+   * @return the {@link ColumnPrefetchAccuracy} of this store
+   */
+  public ColumnPrefetchAccuracy getColumnPrefetchAccuracy() {
+    return columnPrefetchAccuracy;
+  }
+
+  /**
+   * Records bytes of predicted columns that were not prefetched as their row group belongs to a
+   * different split than the one being read.
+   *
+   * @param bytes the number of bytes not prefetched
+   */
+  public void recordSplitPrefetchBytesAvoided(long bytes) {
+    metrics.add(MetricKey.SPLIT_PREFETCH_BYTES_AVOIDED, bytes);
   }
 
   /**
@@ -322,7 +350,7 @@ public class ParquetColumnPrefetchStore {
    * @param rowGroupIndex to check
    * @return Boolean returns true if this row group has been prefetched for this key
    */
-  public synchronized boolean isColumnRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
+  public boolean isColumnRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
     return isRowGroupPrefetched(s3URI, rowGroupIndex, columnRowGroupsPrefetched);
   }
 
@@ -333,20 +361,20 @@ public class ParquetColumnPrefetchStore {
    * @param rowGroupIndex to check
    * @return Boolean returns true if this row group has been prefetched for this key
    */
-  public synchronized boolean isDictionaryRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
+  public boolean isDictionaryRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
     return isRowGroupPrefetched(s3URI, rowGroupIndex, dictionaryRowGroupsPrefetched);
   }
 
   private boolean isRowGroupPrefetched(
-      S3URI s3URI, Integer rowGroupIndex, Map<S3URI, List<Integer>> rowGroupsPrefetched) {
-    List<Integer> rowGroupsPrefetchedForKey = rowGroupsPrefetched.get(s3URI);
+      S3URI s3URI, Integer rowGroupIndex, Cache<S3URI, ConcurrentBitSet> rowGroupsPrefetched) {
+    ConcurrentBitSet rowGroupsPrefetchedForKey = rowGroupsPrefetched.getIfPresent(s3URI);
 
     if (rowGroupsPrefetchedForKey == null) {
       return false;
     }
 
     // If columns for this row group have already been prefetched, don't prefetch again
-    return rowGroupsPrefetchedForKey.contains(rowGroupIndex);
+    return rowGroupsPrefetchedForKey.get(rowGroupIndex);
   }
 
   /**
@@ -357,7 +385,7 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI to store prefetched row indexes for
    * @param rowGroupIndex for which recent columns have been prefetched
    */
-  public synchronized void storeColumnPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
+  public void storeColumnPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
     storePrefetchedRowGroupIndex(s3URI, rowGroupIndex, columnRowGroupsPrefetched);
   }
 
@@ -369,16 +397,18 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI to store prefetched row indexes for
    * @param rowGroupIndex for which recent columns have been prefetched
    */
-  public synchronized void storeDictionaryPrefetchedRowGroupIndex(
-      S3URI s3URI, Integer rowGroupIndex) {
+  public void storeDictionaryPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
     storePrefetchedRowGroupIndex(s3URI, rowGroupIndex, dictionaryRowGroupsPrefetched);
   }
 
   private void storePrefetchedRowGroupIndex(
-      S3URI s3URI, Integer rowGroupIndex, Map<S3URI, List<Integer>> rowGroupsPrefetched) {
-    List<Integer> rowGroupsPrefetchedForKey =
-        rowGroupsPrefetched.getOrDefault(s3URI, new ArrayList<>());
-    rowGroupsPrefetchedForKey.add(rowGroupIndex);
-    rowGroupsPrefetched.put(s3URI, rowGroupsPrefetchedForKey);
+      S3URI s3URI, Integer rowGroupIndex, Cache<S3URI, ConcurrentBitSet> rowGroupsPrefetched) {
+    rowGroupsPrefetched.get(s3URI, k -> new ConcurrentBitSet()).set(rowGroupIndex);
+  }
+
+  /** Column chunks predicted and read for a single Parquet file. */
+  static class ColumnPredictions {
+    private final Set<ColumnMetadata> predicted = ConcurrentHashMap.newKeySet();
+    private final Set<ColumnMetadata> read = ConcurrentHashMap.newKeySet();
   }
 }
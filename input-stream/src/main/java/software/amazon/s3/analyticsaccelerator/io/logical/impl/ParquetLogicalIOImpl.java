@@ -16,10 +16,13 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.LongSupplier;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
@@ -45,12 +48,73 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        OpenStreamInformation.DEFAULT);
+  }
+
+  /**
+   * Constructs an instance of LogicalIOImpl.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param openStreamInformation information the stream was opened with
+   */
+  public ParquetLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        openStreamInformation,
+        () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs an instance of LogicalIOImpl whose row group lookahead respects a memory budget.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param openStreamInformation information the stream was opened with
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   */
+  public ParquetLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation,
+      @NonNull LongSupplier availableMemory) {
     super(s3Uri, physicalIO, telemetry);
 
     // Initialise prefetcher and start prefetching
     this.parquetPrefetcher =
         new ParquetPrefetcher(
-            s3Uri, physicalIO, telemetry, logicalIOConfiguration, parquetColumnPrefetchStore);
+            s3Uri,
+            physicalIO,
+            telemetry,
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            openStreamInformation,
+            availableMemory);
     this.parquetPrefetcher.prefetchFooterAndBuildMetadata();
   }
 
@@ -72,4 +136,22 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
 
     return super.read(buf, off, len, position);
   }
+
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param position the position to begin reading from
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(ByteBuffer buf, long position) throws IOException {
+    // Perform async prefetching before doing the blocking read
+    int len = buf.remaining();
+    this.parquetPrefetcher.prefetchRemainingColumnChunk(position, len);
+    this.parquetPrefetcher.addToRecentColumnList(position, len);
+
+    return super.read(buf, position);
+  }
 }
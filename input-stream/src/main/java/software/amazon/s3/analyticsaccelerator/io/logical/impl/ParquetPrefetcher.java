@@ -17,6 +17,7 @@ package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -29,6 +30,7 @@ import software.amazon.s3.analyticsaccelerator.io.logical.parquet.*;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -78,18 +80,81 @@ public class ParquetPrefetcher {
       Telemetry telemetry,
       LogicalIOConfiguration logicalIOConfiguration,
       ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        OpenStreamInformation.DEFAULT);
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param openStreamInformation information the stream was opened with
+   */
+  public ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      OpenStreamInformation openStreamInformation) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        openStreamInformation,
+        () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher whose row group lookahead respects a memory budget.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param openStreamInformation information the stream was opened with
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   */
+  public ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      OpenStreamInformation openStreamInformation,
+      LongSupplier availableMemory) {
     this(
         s3Uri,
         logicalIOConfiguration,
         parquetColumnPrefetchStore,
         telemetry,
-        new ParquetMetadataParsingTask(s3Uri, parquetColumnPrefetchStore),
+        new ParquetMetadataParsingTask(s3Uri, parquetColumnPrefetchStore, openStreamInformation),
         new ParquetPrefetchTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
         new ParquetReadTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
         new ParquetPrefetchRemainingColumnTask(
             s3Uri, telemetry, physicalIO, parquetColumnPrefetchStore),
         new ParquetPredictivePrefetchingTask(
-            s3Uri, telemetry, logicalIOConfiguration, physicalIO, parquetColumnPrefetchStore));
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamInformation,
+            availableMemory));
   }
 
   /**
@@ -180,7 +245,9 @@ public class ParquetPrefetcher {
       return columnMappersCompletableFuture.thenApply(
           (ColumnMappers columnMappers) ->
               parquetPredictivePrefetchingTask.prefetchRecentColumns(
-                  columnMappers, ParquetUtils.constructRowGroupsToPrefetch(), false));
+                  columnMappers,
+                  parquetPredictivePrefetchingTask.getRowGroupsToPrefetchOnOpen(columnMappers),
+                  false));
     }
 
     return CompletableFuture.completedFuture(
@@ -16,6 +16,8 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.LongSupplier;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
@@ -24,9 +26,9 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
  * A sequential read-aware implementation of the LogicalIO layer. This implementation is capable of
- * configurable prefetching based on the provided LogicalIOConfiguration. It specifically utilizes
- * the 'sparkPartitionSize' configuration to determine the size of data to prefetch, optimizing for
- * Spark's data processing patterns.
+ * configurable prefetching based on the provided LogicalIOConfiguration. It keeps a sliding window
+ * of prefetched bytes ahead of the reader, starting at the 'partitionSize' configuration and
+ * adapting to the rate at which data is consumed.
  */
 public class SequentialLogicalIOImpl extends DefaultLogicalIOImpl {
   private final SequentialPrefetcher sequentialPrefetcher;
@@ -44,9 +46,28 @@ public class SequentialLogicalIOImpl extends DefaultLogicalIOImpl {
       @NonNull PhysicalIO physicalIO,
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration) {
+    this(s3URI, physicalIO, telemetry, logicalIOConfiguration, () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs an instance of SequentialLogicalIOImpl whose prefetching respects a memory budget.
+   *
+   * @param s3URI the S3 URI of the object fetched
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   */
+  public SequentialLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull LongSupplier availableMemory) {
     super(s3URI, physicalIO, telemetry);
     this.sequentialPrefetcher =
-        new SequentialPrefetcher(s3URI, physicalIO, telemetry, logicalIOConfiguration);
+        new SequentialPrefetcher(
+            s3URI, physicalIO, telemetry, logicalIOConfiguration, availableMemory);
   }
 
   /**
@@ -65,6 +86,20 @@ public class SequentialLogicalIOImpl extends DefaultLogicalIOImpl {
     return super.read(buf, off, len, position);
   }
 
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param position the position to begin reading from
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(ByteBuffer buf, long position) throws IOException {
+    sequentialPrefetcher.prefetch(position);
+    return super.read(buf, position);
+  }
+
   @Override
   public void close() throws IOException {
     super.closeWithEviction(true);
@@ -15,6 +15,11 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,63 +34,150 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
 /**
- * Handles prefetching of data for sequential read operations. Uses 'sparkPartitionSize' from
- * LogicalIOConfiguration to determine prefetch size. Designed to work with SequentialLogicalIOImpl
- * for optimizing large, sequential file reads.
+ * Handles prefetching of data for sequential read operations. Designed to work with
+ * SequentialLogicalIOImpl for optimizing large, sequential file reads.
+ *
+ * <p>The prefetcher keeps a sliding window of bytes in flight ahead of the reader. The window
+ * starts at 'partitionSize' from LogicalIOConfiguration. Whenever less than half of the window is
+ * left ahead of the reader, the window is topped up again. Each top-up is split into requests of
+ * 'sequentialPrefetchRequestSize' so that they are fetched in parallel.
+ *
+ * <p>On every top-up the window is resized to the number of bytes the reader consumes in
+ * 'sequentialPrefetchLeadTimeMilliseconds' at its current consumption rate. It changes by at most a
+ * factor of two at a time and stays between the minimum and maximum window sizes. A top-up never
+ * asks for more bytes than the memory budget has left, and a read outside the window restarts it
+ * at the new position.
  */
 public class SequentialPrefetcher {
   private final PhysicalIO physicalIO;
   private final Telemetry telemetry;
   private final S3URI s3URI;
-  private boolean prefetchStarted = false;
-  private final long prefetchSize;
+  private final LongSupplier availableMemory;
+  private final LongSupplier clock;
+  private final long minWindowSize;
+  private final long maxWindowSize;
+  private final long initialWindowSize;
+  private final long requestSize;
+  private final long leadTimeNanos;
+
+  @Getter private long windowSize;
+  // Exclusive end of the bytes that were requested so far, -1 when the window is not started
+  @Getter private long prefetchedUntil = -1;
+  private long windowStart;
+  private long lastTopUpPosition;
+  private long lastTopUpNanos;
 
   private static final Logger LOG = LoggerFactory.getLogger(SequentialPrefetcher.class);
   private static final String OPERATION_SEQUENTIAL_PREFETCH = "sequential.prefetcher.prefetch";
   /**
-   * Constructs an instance of SequentialLogicalIOImpl.
+   * Constructs an instance of SequentialPrefetcher without a memory budget.
    *
    * @param s3URI the S3 URI of the object fetched
    * @param physicalIO underlying physical IO that knows how to fetch bytes
    * @param telemetry an instance of {@link Telemetry} to use
    * @param logicalIOConfiguration configuration for this logical IO implementation, particularly
-   *     sparkPartitionSize
+   *     partitionSize and the sequential prefetch window settings
    */
   public SequentialPrefetcher(
       @NonNull S3URI s3URI,
       @NonNull PhysicalIO physicalIO,
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration) {
+    this(s3URI, physicalIO, telemetry, logicalIOConfiguration, () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs an instance of SequentialPrefetcher.
+   *
+   * @param s3URI the S3 URI of the object fetched
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation, particularly
+   *     partitionSize and the sequential prefetch window settings
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   */
+  public SequentialPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull LongSupplier availableMemory) {
+    this(s3URI, physicalIO, telemetry, logicalIOConfiguration, availableMemory, System::nanoTime);
+  }
+
+  /**
+   * Constructs an instance of SequentialPrefetcher with a custom clock. Used in tests.
+   *
+   * @param s3URI the S3 URI of the object fetched
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   * @param clock supplies the current time in nanoseconds
+   */
+  SequentialPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull LongSupplier availableMemory,
+      @NonNull LongSupplier clock) {
     this.s3URI = s3URI;
     this.physicalIO = physicalIO;
     this.telemetry = telemetry;
-    this.prefetchSize = logicalIOConfiguration.getPartitionSize();
+    this.availableMemory = availableMemory;
+    this.clock = clock;
+    // A partition size outside of the window bounds widens them, so that the first window is
+    // always exactly the partition size
+    this.initialWindowSize = logicalIOConfiguration.getPartitionSize();
+    this.minWindowSize =
+        Math.min(logicalIOConfiguration.getSequentialPrefetchMinWindowSize(), initialWindowSize);
+    this.maxWindowSize =
+        Math.max(logicalIOConfiguration.getSequentialPrefetchMaxWindowSize(), initialWindowSize);
+    this.requestSize = logicalIOConfiguration.getSequentialPrefetchRequestSize();
+    this.leadTimeNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            logicalIOConfiguration.getSequentialPrefetchLeadTimeMilliseconds());
+    this.windowSize = initialWindowSize;
   }
+
   /**
-   * Attempts to initiate a one-time prefetch operation from the specified position. Subsequent
-   * calls or any errors are silently ignored. Prefetches up to prefetch size or file end.
+   * Keeps the prefetch window ahead of the given read position. Tops up the window when less than
+   * half of it is left ahead of the reader, and restarts it when the position is outside of it. Any
+   * errors are silently ignored.
    *
-   * @param position start position for prefetching
+   * @param position position of the current read
    */
   public void prefetch(long position) {
     try {
-      if (prefetchStarted) {
+      long contentLength = physicalIO.metadata().getContentLength();
+
+      if (prefetchedUntil < 0 || position < windowStart || position > prefetchedUntil) {
+        restartWindow(position);
+      } else if (prefetchedUntil - position > windowSize / 2) {
         return;
+      } else {
+        resizeWindow(position);
       }
-      prefetchStarted = true;
 
-      long contentLength = physicalIO.metadata().getContentLength();
-      long endPosition = Math.min(position + prefetchSize, contentLength);
+      long startPosition = prefetchedUntil;
+      long endPosition = Math.min(position + windowSize, contentLength);
+      endPosition = Math.min(endPosition, startPosition + Math.max(0, availableMemory.getAsLong()));
+      if (endPosition <= startPosition) {
+        return;
+      }
 
+      prefetchedUntil = endPosition;
+      long prefetchEnd = endPosition;
       telemetry.measureVerbose(
           () ->
               Operation.builder()
                   .name(OPERATION_SEQUENTIAL_PREFETCH)
                   .attribute(StreamAttributes.uri(this.s3URI))
-                  .attribute(StreamAttributes.range(position, endPosition - 1))
+                  .attribute(StreamAttributes.range(startPosition, prefetchEnd - 1))
                   .build(),
           () -> {
-            IOPlan prefetchPlan = new IOPlan(new Range(position, endPosition - 1));
+            IOPlan prefetchPlan = new IOPlan(splitIntoRequests(startPosition, prefetchEnd));
             return physicalIO.execute(prefetchPlan, ReadMode.SEQUENTIAL_FILE_PREFETCH);
           });
     } catch (Exception e) {
@@ -93,4 +185,38 @@ public class SequentialPrefetcher {
       LOG.debug("Error during prefetch operation for {}", this.s3URI.getKey(), e);
     }
   }
+
+  private void restartWindow(long position) {
+    windowStart = position;
+    prefetchedUntil = position;
+    windowSize = initialWindowSize;
+    lastTopUpPosition = position;
+    lastTopUpNanos = clock.getAsLong();
+  }
+
+  /**
+   * Sizes the window to the bytes consumed within the lead time at the consumption rate observed
+   * since the last top-up, changing it by at most a factor of two.
+   */
+  private void resizeWindow(long position) {
+    long now = clock.getAsLong();
+    long consumed = position - lastTopUpPosition;
+    long elapsedNanos = now - lastTopUpNanos;
+    if (consumed > 0 && elapsedNanos > 0) {
+      double targetWindowSize = (double) consumed * leadTimeNanos / elapsedNanos;
+      long newWindowSize = (long) Math.min(targetWindowSize, (double) windowSize * 2);
+      newWindowSize = Math.max(newWindowSize, windowSize / 2);
+      windowSize = Math.max(minWindowSize, Math.min(maxWindowSize, newWindowSize));
+    }
+    lastTopUpPosition = position;
+    lastTopUpNanos = now;
+  }
+
+  private List<Range> splitIntoRequests(long start, long end) {
+    List<Range> ranges = new ArrayList<>();
+    for (long requestStart = start; requestStart < end; requestStart += requestSize) {
+      ranges.add(new Range(requestStart, Math.min(requestStart + requestSize, end) - 1));
+    }
+    return ranges;
+  }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+/** Compression codecs of ORC files, in the order of their values in the ORC postscript. */
+public enum OrcCompressionKind {
+  NONE,
+  ZLIB,
+  SNAPPY,
+  LZO,
+  LZ4,
+  ZSTD,
+  BROTLI;
+
+  /**
+   * Gets the compression kind for its value in the ORC postscript.
+   *
+   * @param value the value in the postscript
+   * @return the compression kind
+   * @throws IllegalArgumentException if the value is not a known compression kind
+   */
+  public static OrcCompressionKind fromValue(int value) {
+    OrcCompressionKind[] kinds = values();
+    if (value < 0 || value >= kinds.length) {
+      throw new IllegalArgumentException("Unknown ORC compression kind: " + value);
+    }
+    return kinds[value];
+  }
+}
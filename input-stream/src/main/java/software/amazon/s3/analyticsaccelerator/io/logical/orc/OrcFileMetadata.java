@@ -0,0 +1,58 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.util.List;
+import lombok.Value;
+
+/** ORC file metadata needed for prefetching, parsed from the postscript and file footer. */
+@Value
+public class OrcFileMetadata {
+  OrcCompressionKind compressionKind;
+  long compressionBlockSize;
+
+  /** Stripes of the file, in offset order. */
+  List<OrcStripeInformation> stripes;
+
+  /** Name of each column, indexed by ORC column id. Nested columns use dotted paths. */
+  List<String> columnNames;
+
+  int schemaHash;
+
+  /**
+   * Finds the stripe that a position lies in.
+   *
+   * @param position position in the file
+   * @return the stripe containing the position, or null if there is none
+   */
+  public OrcStripeInformation getStripeAtPosition(long position) {
+    int low = 0;
+    int high = stripes.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      OrcStripeInformation stripe = stripes.get(mid);
+      if (position < stripe.getOffset()) {
+        high = mid - 1;
+      } else if (position >= stripe.getEndOffset()) {
+        low = mid + 1;
+      } else {
+        return stripe;
+      }
+    }
+
+    return null;
+  }
+}
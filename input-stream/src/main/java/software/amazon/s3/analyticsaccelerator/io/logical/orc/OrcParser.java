@@ -0,0 +1,375 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.NonNull;
+
+/**
+ * Parses the ORC metadata needed for prefetching: the postscript, the stripes and schema from the
+ * file footer, and the stream layout from stripe footers.
+ *
+ * <p>The layout of the messages is defined in the ORC specification, see
+ * https://orc.apache.org/specification/ORCv1/. Metadata compressed with ZLIB is decompressed with
+ * {@link Inflater}; files using other codecs are rejected, which disables ORC prefetching for them.
+ */
+public class OrcParser {
+  private static final String MAGIC = "ORC";
+  private static final int COMPRESSION_CHUNK_HEADER_LENGTH = 3;
+
+  // PostScript fields
+  private static final int POSTSCRIPT_FOOTER_LENGTH = 1;
+  private static final int POSTSCRIPT_COMPRESSION = 2;
+  private static final int POSTSCRIPT_COMPRESSION_BLOCK_SIZE = 3;
+  private static final int POSTSCRIPT_METADATA_LENGTH = 5;
+  private static final int POSTSCRIPT_MAGIC = 8000;
+
+  // Footer fields
+  private static final int FOOTER_STRIPES = 3;
+  private static final int FOOTER_TYPES = 4;
+
+  // StripeInformation fields
+  private static final int STRIPE_OFFSET = 1;
+  private static final int STRIPE_INDEX_LENGTH = 2;
+  private static final int STRIPE_DATA_LENGTH = 3;
+  private static final int STRIPE_FOOTER_LENGTH = 4;
+
+  // Type fields
+  private static final int TYPE_SUBTYPES = 2;
+  private static final int TYPE_FIELD_NAMES = 3;
+
+  // StripeFooter and Stream fields
+  private static final int STRIPE_FOOTER_STREAMS = 1;
+  private static final int STREAM_KIND = 1;
+  private static final int STREAM_COLUMN = 2;
+  private static final int STREAM_LENGTH = 3;
+
+  /**
+   * Parses the postscript at the end of an ORC file. The last byte of the file holds the length of
+   * the postscript, which directly precedes it.
+   *
+   * @param tail bytes at the end of the file
+   * @param tailLength number of bytes of the tail
+   * @return the postscript
+   * @throws IOException if the tail is too short or the postscript is malformed
+   */
+  public OrcPostScript parsePostScript(@NonNull byte[] tail, int tailLength) throws IOException {
+    if (tailLength < 1) {
+      throw new IOException("ORC file tail is empty");
+    }
+
+    int postScriptLength = tail[tailLength - 1] & 0xFF;
+    if (postScriptLength + 1 > tailLength) {
+      throw new IOException("ORC file tail does not contain the postscript");
+    }
+
+    long footerLength = 0;
+    long metadataLength = 0;
+    long compressionBlockSize = 0;
+    OrcCompressionKind compressionKind = OrcCompressionKind.NONE;
+    OrcProtoReader reader =
+        new OrcProtoReader(tail, tailLength - 1 - postScriptLength, postScriptLength);
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      switch (tag >>> 3) {
+        case POSTSCRIPT_FOOTER_LENGTH:
+          footerLength = reader.readVarint();
+          break;
+        case POSTSCRIPT_COMPRESSION:
+          compressionKind = OrcCompressionKind.fromValue((int) reader.readVarint());
+          break;
+        case POSTSCRIPT_COMPRESSION_BLOCK_SIZE:
+          compressionBlockSize = reader.readVarint();
+          break;
+        case POSTSCRIPT_METADATA_LENGTH:
+          metadataLength = reader.readVarint();
+          break;
+        case POSTSCRIPT_MAGIC:
+          if (!MAGIC.equals(reader.readString())) {
+            throw new IOException("Not an ORC file, postscript magic does not match");
+          }
+          break;
+        default:
+          reader.skipField(tag);
+      }
+    }
+
+    return new OrcPostScript(
+        postScriptLength, footerLength, metadataLength, compressionKind, compressionBlockSize);
+  }
+
+  /**
+   * Parses the file footer of an ORC file.
+   *
+   * @param tail bytes at the end of the file, which must hold at least {@link
+   *     OrcPostScript#getFileTailLength()} bytes
+   * @param tailLength number of bytes of the tail
+   * @param postScript the postscript of the file
+   * @return the file metadata
+   * @throws IOException if the footer is malformed or compressed with an unsupported codec
+   */
+  public OrcFileMetadata parseFooter(
+      @NonNull byte[] tail, int tailLength, @NonNull OrcPostScript postScript)
+      throws IOException {
+    if (postScript.getFileTailLength() > tailLength) {
+      throw new IOException("ORC file tail does not contain the footer");
+    }
+
+    int footerOffset = (int) (tailLength - postScript.getFileTailLength());
+    byte[] footer =
+        decompress(
+            tail,
+            footerOffset,
+            (int) postScript.getFooterLength(),
+            postScript.getCompressionKind());
+
+    List<OrcStripeInformation> stripes = new ArrayList<>();
+    List<List<Integer>> subtypes = new ArrayList<>();
+    List<List<String>> fieldNames = new ArrayList<>();
+    OrcProtoReader reader = new OrcProtoReader(footer, 0, footer.length);
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      switch (tag >>> 3) {
+        case FOOTER_STRIPES:
+          stripes.add(parseStripeInformation(reader.readMessage(), stripes.size()));
+          break;
+        case FOOTER_TYPES:
+          parseType(reader.readMessage(), subtypes, fieldNames);
+          break;
+        default:
+          reader.skipField(tag);
+      }
+    }
+
+    List<String> columnNames = buildColumnNames(subtypes, fieldNames);
+    return new OrcFileMetadata(
+        postScript.getCompressionKind(),
+        postScript.getCompressionBlockSize(),
+        Collections.unmodifiableList(stripes),
+        columnNames,
+        String.join("", columnNames).hashCode());
+  }
+
+  /**
+   * Parses a stripe footer into the streams of the stripe. Streams are stored back to back from
+   * the start of the stripe, in the order they are listed in the footer.
+   *
+   * @param stripeFooter bytes of the stripe footer
+   * @param fileMetadata metadata of the file the stripe belongs to
+   * @param stripe the stripe
+   * @return the streams of the stripe with their absolute offsets
+   * @throws IOException if the stripe footer is malformed
+   */
+  public List<OrcStream> parseStripeFooter(
+      @NonNull byte[] stripeFooter,
+      @NonNull OrcFileMetadata fileMetadata,
+      @NonNull OrcStripeInformation stripe)
+      throws IOException {
+    byte[] footer =
+        decompress(stripeFooter, 0, stripeFooter.length, fileMetadata.getCompressionKind());
+
+    List<OrcStream> streams = new ArrayList<>();
+    long offset = stripe.getOffset();
+    OrcProtoReader reader = new OrcProtoReader(footer, 0, footer.length);
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      if ((tag >>> 3) == STRIPE_FOOTER_STREAMS) {
+        OrcStream stream = parseStream(reader.readMessage(), offset);
+        streams.add(stream);
+        offset += stream.getLength();
+      } else {
+        reader.skipField(tag);
+      }
+    }
+
+    return streams;
+  }
+
+  private OrcStripeInformation parseStripeInformation(OrcProtoReader reader, int stripeIndex)
+      throws IOException {
+    long offset = 0;
+    long indexLength = 0;
+    long dataLength = 0;
+    long footerLength = 0;
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      switch (tag >>> 3) {
+        case STRIPE_OFFSET:
+          offset = reader.readVarint();
+          break;
+        case STRIPE_INDEX_LENGTH:
+          indexLength = reader.readVarint();
+          break;
+        case STRIPE_DATA_LENGTH:
+          dataLength = reader.readVarint();
+          break;
+        case STRIPE_FOOTER_LENGTH:
+          footerLength = reader.readVarint();
+          break;
+        default:
+          reader.skipField(tag);
+      }
+    }
+
+    return new OrcStripeInformation(stripeIndex, offset, indexLength, dataLength, footerLength);
+  }
+
+  private void parseType(
+      OrcProtoReader reader, List<List<Integer>> subtypes, List<List<String>> fieldNames)
+      throws IOException {
+    List<Integer> typeSubtypes = new ArrayList<>();
+    List<String> typeFieldNames = new ArrayList<>();
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      switch (tag >>> 3) {
+        case TYPE_SUBTYPES:
+          if ((tag & 0x7) == OrcProtoReader.WIRE_TYPE_LENGTH_DELIMITED) {
+            // Packed repeated field
+            OrcProtoReader packed = reader.readMessage();
+            while (packed.hasNext()) {
+              typeSubtypes.add((int) packed.readVarint());
+            }
+          } else {
+            typeSubtypes.add((int) reader.readVarint());
+          }
+          break;
+        case TYPE_FIELD_NAMES:
+          typeFieldNames.add(reader.readString());
+          break;
+        default:
+          reader.skipField(tag);
+      }
+    }
+
+    subtypes.add(typeSubtypes);
+    fieldNames.add(typeFieldNames);
+  }
+
+  private OrcStream parseStream(OrcProtoReader reader, long offset) throws IOException {
+    int kind = 0;
+    int column = 0;
+    long length = 0;
+    while (reader.hasNext()) {
+      int tag = reader.readTag();
+      switch (tag >>> 3) {
+        case STREAM_KIND:
+          kind = (int) reader.readVarint();
+          break;
+        case STREAM_COLUMN:
+          column = (int) reader.readVarint();
+          break;
+        case STREAM_LENGTH:
+          length = reader.readVarint();
+          break;
+        default:
+          reader.skipField(tag);
+      }
+    }
+
+    return new OrcStream(kind, column, offset, length);
+  }
+
+  /**
+   * Names columns by their path from the root struct. Children of structs are named by their field
+   * name, children of other compound types (lists, maps and unions) by their position.
+   */
+  private List<String> buildColumnNames(
+      List<List<Integer>> subtypes, List<List<String>> fieldNames) {
+    String[] columnNames = new String[subtypes.size()];
+    Arrays.fill(columnNames, "");
+    // Types are listed in pre-order, so a parent is always named before its children
+    for (int columnId = 0; columnId < subtypes.size(); columnId++) {
+      List<Integer> children = subtypes.get(columnId);
+      List<String> names = fieldNames.get(columnId);
+      String prefix = columnNames[columnId].isEmpty() ? "" : columnNames[columnId] + ".";
+      for (int i = 0; i < children.size(); i++) {
+        int childId = children.get(i);
+        if (childId > columnId && childId < columnNames.length) {
+          columnNames[childId] = prefix + (i < names.size() ? names.get(i) : String.valueOf(i));
+        }
+      }
+    }
+
+    return Collections.unmodifiableList(Arrays.asList(columnNames));
+  }
+
+  /**
+   * Decompresses ORC metadata. Compressed ORC data is a sequence of chunks, each with a 3 byte
+   * little endian header holding the chunk length shifted left by one, with the lowest bit set if
+   * the chunk is stored uncompressed.
+   */
+  private byte[] decompress(
+      byte[] buffer, int offset, int length, OrcCompressionKind compressionKind)
+      throws IOException {
+    if (compressionKind == OrcCompressionKind.NONE) {
+      return Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+
+    if (compressionKind != OrcCompressionKind.ZLIB) {
+      throw new IOException("Unsupported ORC compression kind: " + compressionKind);
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+    byte[] inflated = new byte[64 * 1024];
+    int position = offset;
+    int end = offset + length;
+    while (position < end) {
+      if (end - position < COMPRESSION_CHUNK_HEADER_LENGTH) {
+        throw new IOException("Truncated ORC compression chunk header");
+      }
+      int header =
+          (buffer[position] & 0xFF)
+              | (buffer[position + 1] & 0xFF) << 8
+              | (buffer[position + 2] & 0xFF) << 16;
+      position += COMPRESSION_CHUNK_HEADER_LENGTH;
+      boolean isOriginal = (header & 1) == 1;
+      int chunkLength = header >>> 1;
+      if (chunkLength > end - position) {
+        throw new IOException("Truncated ORC compression chunk");
+      }
+
+      if (isOriginal) {
+        out.write(buffer, position, chunkLength);
+      } else {
+        Inflater inflater = new Inflater(true);
+        try {
+          inflater.setInput(buffer, position, chunkLength);
+          while (!inflater.finished()) {
+            int inflatedLength = inflater.inflate(inflated);
+            if (inflatedLength == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+              break;
+            }
+            out.write(inflated, 0, inflatedLength);
+          }
+        } catch (DataFormatException e) {
+          throw new IOException("Unable to inflate ORC metadata", e);
+        } finally {
+          inflater.end();
+        }
+      }
+      position += chunkLength;
+    }
+
+    return out.toByteArray();
+  }
+}
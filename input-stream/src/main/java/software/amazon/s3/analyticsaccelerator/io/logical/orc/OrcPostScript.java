@@ -0,0 +1,36 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+
+/** Container for the fields of an ORC postscript needed to locate and decode the file footer. */
+@Value
+public class OrcPostScript {
+  int postScriptLength;
+  long footerLength;
+  long metadataLength;
+  OrcCompressionKind compressionKind;
+  long compressionBlockSize;
+
+  /**
+   * @return the number of bytes at the end of the file holding the footer, the postscript and the
+   *     byte storing the length of the postscript
+   */
+  public long getFileTailLength() {
+    return footerLength + postScriptLength + 1;
+  }
+}
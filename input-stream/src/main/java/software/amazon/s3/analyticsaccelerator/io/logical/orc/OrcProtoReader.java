@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal reader of the protobuf wire format, sufficient for the handful of ORC metadata messages
+ * (postscript, footer and stripe footer) needed for prefetching. Only varint and length delimited
+ * fields are interpreted, all other fields are skipped.
+ */
+final class OrcProtoReader {
+  static final int WIRE_TYPE_VARINT = 0;
+  static final int WIRE_TYPE_FIXED64 = 1;
+  static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+  static final int WIRE_TYPE_FIXED32 = 5;
+
+  private final byte[] buffer;
+  private final int limit;
+  private int position;
+
+  /**
+   * Creates a reader over a slice of a buffer.
+   *
+   * @param buffer the buffer holding the message
+   * @param offset the offset of the message in the buffer
+   * @param length the length of the message
+   */
+  OrcProtoReader(byte[] buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = offset + length;
+  }
+
+  /**
+   * @return true if there are fields left to read
+   */
+  boolean hasNext() {
+    return position < limit;
+  }
+
+  /**
+   * Reads the key of the next field.
+   *
+   * @return the key, which is the field number shifted left by three, or'd with the wire type
+   * @throws IOException if the message is malformed
+   */
+  int readTag() throws IOException {
+    return (int) readVarint();
+  }
+
+  /**
+   * Reads a varint encoded value.
+   *
+   * @return the value
+   * @throws IOException if the message is malformed
+   */
+  long readVarint() throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      if (position >= limit) {
+        throw new IOException("Truncated varint in ORC metadata");
+      }
+      byte b = buffer[position++];
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed varint in ORC metadata");
+  }
+
+  /**
+   * Reads a length delimited field holding a nested message.
+   *
+   * @return a reader over the nested message
+   * @throws IOException if the message is malformed
+   */
+  OrcProtoReader readMessage() throws IOException {
+    int length = readLength();
+    OrcProtoReader message = new OrcProtoReader(buffer, position, length);
+    position += length;
+    return message;
+  }
+
+  /**
+   * Reads a length delimited field holding a UTF-8 string.
+   *
+   * @return the string
+   * @throws IOException if the message is malformed
+   */
+  String readString() throws IOException {
+    int length = readLength();
+    String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return value;
+  }
+
+  /**
+   * Skips the value of a field.
+   *
+   * @param tag the key of the field, as returned by {@link #readTag()}
+   * @throws IOException if the message is malformed, or the wire type is not supported
+   */
+  void skipField(int tag) throws IOException {
+    switch (tag & 0x7) {
+      case WIRE_TYPE_VARINT:
+        readVarint();
+        break;
+      case WIRE_TYPE_FIXED64:
+        skipBytes(8);
+        break;
+      case WIRE_TYPE_LENGTH_DELIMITED:
+        skipBytes(readLength());
+        break;
+      case WIRE_TYPE_FIXED32:
+        skipBytes(4);
+        break;
+      default:
+        throw new IOException("Unsupported wire type in ORC metadata: " + (tag & 0x7));
+    }
+  }
+
+  private int readLength() throws IOException {
+    long length = readVarint();
+    if (length < 0 || length > limit - position) {
+      throw new IOException("Invalid field length in ORC metadata: " + length);
+    }
+    return (int) length;
+  }
+
+  private void skipBytes(int length) throws IOException {
+    if (length > limit - position) {
+      throw new IOException("Truncated field in ORC metadata");
+    }
+    position += length;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+
+/**
+ * Location of an ORC stripe. A stripe is laid out as its index streams, followed by its data
+ * streams, followed by the stripe footer describing the streams.
+ */
+@Value
+public class OrcStripeInformation {
+  int stripeIndex;
+  long offset;
+  long indexLength;
+  long dataLength;
+  long footerLength;
+
+  /**
+   * @return the offset of the first data stream of the stripe
+   */
+  public long getDataOffset() {
+    return offset + indexLength;
+  }
+
+  /**
+   * @return the offset of the stripe footer
+   */
+  public long getFooterOffset() {
+    return offset + indexLength + dataLength;
+  }
+
+  /**
+   * @return the offset of the first byte after the stripe
+   */
+  public long getEndOffset() {
+    return getFooterOffset() + footerLength;
+  }
+}
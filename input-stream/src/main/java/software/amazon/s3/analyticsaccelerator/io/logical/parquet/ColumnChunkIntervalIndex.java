@@ -0,0 +1,230 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Sorted index over the column chunks of a Parquet file, keyed by the offset each chunk starts at.
+ * Built once when the footer is parsed, so that finding the column chunk a position falls in, or
+ * the column chunks a read spans, is a binary search rather than a sort and scan of the offsets on
+ * every read.
+ *
+ * <p>A position belongs to the chunk with the largest start offset not greater than it, up to the
+ * start of the next chunk. The last chunk is bounded by its own compressed size. The index also
+ * records the byte extent of each row group, from the start of its first chunk to the end of its
+ * last.
+ */
+public class ColumnChunkIntervalIndex {
+  private final long[] startPositions;
+  private final long[] endPositions;
+  private final ColumnMetadata[] columns;
+  private final long[] rowGroupStartPositions;
+  private final long[] rowGroupEndPositions;
+
+  /** Index with no column chunks. */
+  public static final ColumnChunkIntervalIndex EMPTY =
+      new ColumnChunkIntervalIndex(
+          new long[0], new long[0], new ColumnMetadata[0], new long[0], new long[0]);
+
+  private ColumnChunkIntervalIndex(
+      long[] startPositions,
+      long[] endPositions,
+      ColumnMetadata[] columns,
+      long[] rowGroupStartPositions,
+      long[] rowGroupEndPositions) {
+    this.startPositions = startPositions;
+    this.endPositions = endPositions;
+    this.columns = columns;
+    this.rowGroupStartPositions = rowGroupStartPositions;
+    this.rowGroupEndPositions = rowGroupEndPositions;
+  }
+
+  /**
+   * Builds the index from a map of chunk start offset to column metadata.
+   *
+   * @param offsetIndexToColumnMap column chunks keyed by the offset they start at
+   * @return the index over the column chunks
+   */
+  public static ColumnChunkIntervalIndex build(
+      @NonNull Map<Long, ColumnMetadata> offsetIndexToColumnMap) {
+    if (offsetIndexToColumnMap.isEmpty()) {
+      return EMPTY;
+    }
+
+    int size = offsetIndexToColumnMap.size();
+    long[] startPositions = new long[size];
+    int i = 0;
+    for (Long startPosition : offsetIndexToColumnMap.keySet()) {
+      startPositions[i++] = startPosition;
+    }
+    Arrays.sort(startPositions);
+
+    long[] endPositions = new long[size];
+    ColumnMetadata[] columns = new ColumnMetadata[size];
+    int rowGroupCount = 0;
+    for (i = 0; i < size; i++) {
+      columns[i] = offsetIndexToColumnMap.get(startPositions[i]);
+      endPositions[i] =
+          i < size - 1 ? startPositions[i + 1] : startPositions[i] + columns[i].getCompressedSize();
+      rowGroupCount = Math.max(rowGroupCount, columns[i].getRowGroupIndex() + 1);
+    }
+
+    long[] rowGroupStartPositions = new long[rowGroupCount];
+    long[] rowGroupEndPositions = new long[rowGroupCount];
+    Arrays.fill(rowGroupStartPositions, Long.MAX_VALUE);
+    Arrays.fill(rowGroupEndPositions, Long.MIN_VALUE);
+    for (i = 0; i < size; i++) {
+      int rowGroupIndex = columns[i].getRowGroupIndex();
+      rowGroupStartPositions[rowGroupIndex] =
+          Math.min(rowGroupStartPositions[rowGroupIndex], startPositions[i]);
+      rowGroupEndPositions[rowGroupIndex] =
+          Math.max(
+              rowGroupEndPositions[rowGroupIndex],
+              startPositions[i] + columns[i].getCompressedSize());
+    }
+
+    return new ColumnChunkIntervalIndex(
+        startPositions, endPositions, columns, rowGroupStartPositions, rowGroupEndPositions);
+  }
+
+  /**
+   * Finds the column chunk that the position lies in.
+   *
+   * @param position position in the file
+   * @return the column chunk containing the position, or null if there is none
+   */
+  public ColumnMetadata getColumnAtPosition(long position) {
+    int index = floorIndex(position);
+    if (index < 0 || position >= endPositions[index]) {
+      return null;
+    }
+
+    return columns[index];
+  }
+
+  /**
+   * Finds the column chunks that start within a range, in offset order.
+   *
+   * @param start start of the range, inclusive
+   * @param end end of the range, exclusive
+   * @return the column chunks starting in [start, end)
+   */
+  public List<ColumnMetadata> getColumnsStartingInRange(long start, long end) {
+    if (start >= end) {
+      return Collections.emptyList();
+    }
+
+    int from = ceilingIndex(start);
+    int to = ceilingIndex(end);
+    if (from >= to) {
+      return Collections.emptyList();
+    }
+
+    List<ColumnMetadata> result = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      result.add(columns[i]);
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of column chunks in the index
+   */
+  public int size() {
+    return columns.length;
+  }
+
+  /**
+   * Returns how far a position is into the byte extent of a row group.
+   *
+   * @param rowGroupIndex index of the row group
+   * @param position position in the file
+   * @return the fraction of the row group before the position, between 0 and 1, or 0 if the row
+   *     group is not in the index
+   */
+  public double getRowGroupProgress(int rowGroupIndex, long position) {
+    if (!hasRowGroup(rowGroupIndex)) {
+      return 0;
+    }
+
+    long start = rowGroupStartPositions[rowGroupIndex];
+    long end = rowGroupEndPositions[rowGroupIndex];
+    if (position <= start) {
+      return 0;
+    }
+    if (position >= end) {
+      return 1;
+    }
+
+    return (double) (position - start) / (end - start);
+  }
+
+  /**
+   * Checks whether a row group belongs to a byte range split. As in Spark and Trino, a row group
+   * belongs to the split that contains the midpoint of its byte extent.
+   *
+   * @param rowGroupIndex index of the row group
+   * @param splitRange byte range of the split
+   * @return true if the row group is in the index and its midpoint lies in the split
+   */
+  public boolean isRowGroupInSplit(int rowGroupIndex, @NonNull Range splitRange) {
+    if (!hasRowGroup(rowGroupIndex)) {
+      return false;
+    }
+
+    long start = rowGroupStartPositions[rowGroupIndex];
+    long end = rowGroupEndPositions[rowGroupIndex];
+    return splitRange.contains(start + (end - start) / 2);
+  }
+
+  /**
+   * @return the number of row groups in the index, including any with no column chunks
+   */
+  public int getRowGroupCount() {
+    return rowGroupStartPositions.length;
+  }
+
+  /**
+   * Checks whether the index contains any column chunk of a row group.
+   *
+   * @param rowGroupIndex index of the row group
+   * @return true if the row group has at least one column chunk in the index
+   */
+  public boolean hasRowGroup(int rowGroupIndex) {
+    return rowGroupIndex >= 0
+        && rowGroupIndex < rowGroupStartPositions.length
+        && rowGroupStartPositions[rowGroupIndex] != Long.MAX_VALUE;
+  }
+
+  /** Index of the last start position <= position, or -1 if there is none. */
+  private int floorIndex(long position) {
+    int index = Arrays.binarySearch(startPositions, position);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  /** Index of the first start position >= position, or the length if there is none. */
+  private int ceilingIndex(long position) {
+    int index = Arrays.binarySearch(startPositions, position);
+    return index >= 0 ? index : -index - 1;
+  }
+}
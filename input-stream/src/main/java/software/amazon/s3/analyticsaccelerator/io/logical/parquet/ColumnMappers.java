@@ -17,6 +17,8 @@ package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.util.List;
 import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 
 /** Mappings of parquet column file offset index to column name and vice versa. */
@@ -24,4 +26,39 @@ import lombok.Value;
 public class ColumnMappers {
   Map<Long, ColumnMetadata> offsetIndexToColumnMap;
   Map<String, List<ColumnMetadata>> columnNameToColumnMap;
+
+  /** Sorted index over the offsets in {@code offsetIndexToColumnMap}, derived from it. */
+  @EqualsAndHashCode.Exclude @ToString.Exclude ColumnChunkIntervalIndex columnChunkIntervalIndex;
+
+  /**
+   * Creates a new instance of {@link ColumnMappers}, building the interval index from the offset
+   * map.
+   *
+   * @param offsetIndexToColumnMap column chunks keyed by the offset they start at
+   * @param columnNameToColumnMap column chunks keyed by column name
+   */
+  public ColumnMappers(
+      Map<Long, ColumnMetadata> offsetIndexToColumnMap,
+      Map<String, List<ColumnMetadata>> columnNameToColumnMap) {
+    this(
+        offsetIndexToColumnMap,
+        columnNameToColumnMap,
+        ColumnChunkIntervalIndex.build(offsetIndexToColumnMap));
+  }
+
+  /**
+   * Creates a new instance of {@link ColumnMappers}
+   *
+   * @param offsetIndexToColumnMap column chunks keyed by the offset they start at
+   * @param columnNameToColumnMap column chunks keyed by column name
+   * @param columnChunkIntervalIndex interval index built from {@code offsetIndexToColumnMap}
+   */
+  public ColumnMappers(
+      Map<Long, ColumnMetadata> offsetIndexToColumnMap,
+      Map<String, List<ColumnMetadata>> columnNameToColumnMap,
+      ColumnChunkIntervalIndex columnChunkIntervalIndex) {
+    this.offsetIndexToColumnMap = offsetIndexToColumnMap;
+    this.columnNameToColumnMap = columnNameToColumnMap;
+    this.columnChunkIntervalIndex = columnChunkIntervalIndex;
+  }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.NonNull;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnCryptoMetaData;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.EncryptionAlgorithm;
+import org.apache.parquet.format.EncryptionWithColumnKey;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import software.amazon.s3.analyticsaccelerator.util.ParquetDecryptionKeyRetriever;
+
+/**
+ * Decrypts the metadata modules of files written with Parquet modular encryption: the footer of
+ * files with an encrypted footer, and the column metadata of columns encrypted with their own key.
+ * Both are encrypted with AES GCM regardless of the algorithm of the file, as AES_GCM_CTR_V1 only
+ * uses CTR for pages. Only metadata is decrypted, so column chunk offsets can be found without
+ * access to the data.
+ */
+class ParquetFooterDecryptor {
+  private static final int NONCE_LENGTH = 12;
+  private static final int TAG_LENGTH_BITS = 128;
+  private static final int MODULE_LENGTH_SIZE = 4;
+
+  // Module types of the AAD suffixes, as defined by the Parquet modular encryption spec
+  private static final byte FOOTER_MODULE = 0;
+  private static final byte COLUMN_METADATA_MODULE = 1;
+
+  private final ParquetDecryptionKeyRetriever keyRetriever;
+  private final byte[] fileAad;
+
+  /**
+   * Creates a decryptor for a file.
+   *
+   * @param encryptionAlgorithm the encryption algorithm of the file, read from its footer
+   * @param keyRetriever retriever of the keys of the file
+   * @throws IOException if the AAD prefix is not stored in the file and cannot be retrieved
+   */
+  ParquetFooterDecryptor(
+      @NonNull EncryptionAlgorithm encryptionAlgorithm,
+      @NonNull ParquetDecryptionKeyRetriever keyRetriever)
+      throws IOException {
+    this.keyRetriever = keyRetriever;
+
+    byte[] aadPrefix;
+    byte[] aadFileUnique;
+    boolean supplyAadPrefix;
+    if (encryptionAlgorithm.isSetAES_GCM_V1()) {
+      aadPrefix = encryptionAlgorithm.getAES_GCM_V1().getAad_prefix();
+      aadFileUnique = encryptionAlgorithm.getAES_GCM_V1().getAad_file_unique();
+      supplyAadPrefix = encryptionAlgorithm.getAES_GCM_V1().isSupply_aad_prefix();
+    } else if (encryptionAlgorithm.isSetAES_GCM_CTR_V1()) {
+      aadPrefix = encryptionAlgorithm.getAES_GCM_CTR_V1().getAad_prefix();
+      aadFileUnique = encryptionAlgorithm.getAES_GCM_CTR_V1().getAad_file_unique();
+      supplyAadPrefix = encryptionAlgorithm.getAES_GCM_CTR_V1().isSupply_aad_prefix();
+    } else {
+      throw new IOException("Unsupported Parquet encryption algorithm");
+    }
+
+    if (supplyAadPrefix) {
+      aadPrefix = keyRetriever.getAadPrefix();
+      if (aadPrefix == null) {
+        throw new IOException("AAD prefix of the Parquet file is not stored and was not supplied");
+      }
+    }
+
+    this.fileAad = concat(aadPrefix, aadFileUnique);
+  }
+
+  /**
+   * Decrypts an encrypted footer.
+   *
+   * @param footer bytes holding the encrypted footer module
+   * @param offset offset of the module in footer
+   * @param keyMetadata key metadata of the footer key, can be null
+   * @return the serialized FileMetaData
+   * @throws IOException if the footer key is not available, or the footer cannot be decrypted
+   */
+  byte[] decryptFooter(byte[] footer, int offset, byte[] keyMetadata) throws IOException {
+    byte[] footerKey = keyRetriever.getFooterKey(keyMetadata);
+    if (footerKey == null) {
+      throw new IOException("Footer key of the Parquet file is not available");
+    }
+
+    return decrypt(footer, offset, footerKey, concat(fileAad, new byte[] {FOOTER_MODULE}));
+  }
+
+  /**
+   * Decrypts the metadata of columns whose metadata is only held in encrypted form, and sets it on
+   * their column chunks. Columns whose key is not available are left without metadata.
+   *
+   * @param fileMetaData the metadata of the file
+   * @param footerKeyMetadata key metadata of the footer key, used for columns encrypted with it
+   * @throws IOException if the metadata of a column cannot be decrypted with its key
+   */
+  void decryptColumnMetadata(FileMetaData fileMetaData, byte[] footerKeyMetadata)
+      throws IOException {
+    byte[] footerKey = null;
+    List<RowGroup> rowGroups = fileMetaData.getRow_groups();
+    for (int rowGroupIndex = 0; rowGroupIndex < rowGroups.size(); rowGroupIndex++) {
+      RowGroup rowGroup = rowGroups.get(rowGroupIndex);
+      short rowGroupOrdinal =
+          rowGroup.isSetOrdinal() ? rowGroup.getOrdinal() : (short) rowGroupIndex;
+
+      List<ColumnChunk> columns = rowGroup.getColumns();
+      for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+        ColumnChunk columnChunk = columns.get(columnIndex);
+        if (columnChunk.isSetMeta_data()
+            || !columnChunk.isSetEncrypted_column_metadata()
+            || !columnChunk.isSetCrypto_metadata()) {
+          continue;
+        }
+
+        byte[] columnKey;
+        ColumnCryptoMetaData cryptoMetaData = columnChunk.getCrypto_metadata();
+        if (cryptoMetaData.isSetENCRYPTION_WITH_COLUMN_KEY()) {
+          EncryptionWithColumnKey columnKeyMetaData =
+              cryptoMetaData.getENCRYPTION_WITH_COLUMN_KEY();
+          columnKey =
+              keyRetriever.getColumnKey(
+                  String.join(".", columnKeyMetaData.getPath_in_schema()),
+                  columnKeyMetaData.getKey_metadata());
+        } else {
+          if (footerKey == null) {
+            footerKey = keyRetriever.getFooterKey(footerKeyMetadata);
+          }
+          columnKey = footerKey;
+        }
+
+        if (columnKey != null) {
+          byte[] aad =
+              concat(
+                  fileAad,
+                  new byte[] {COLUMN_METADATA_MODULE},
+                  shortToBytesLittleEndian(rowGroupOrdinal),
+                  shortToBytesLittleEndian((short) columnIndex));
+          byte[] columnMetaData =
+              decrypt(columnChunk.getEncrypted_column_metadata(), 0, columnKey, aad);
+          ColumnMetaData metaData = new ColumnMetaData();
+          ParquetParser.readThrift(metaData, new ByteArrayInputStream(columnMetaData));
+          columnChunk.setMeta_data(metaData);
+        }
+      }
+    }
+  }
+
+  /**
+   * Decrypts a module laid out as its length, the nonce, the ciphertext and the GCM tag.
+   *
+   * @param module bytes holding the module
+   * @param offset offset of the module in module
+   * @param key the AES key
+   * @param aad additional authenticated data of the module
+   * @return the plaintext of the module
+   * @throws IOException if the module is malformed or fails authentication
+   */
+  private static byte[] decrypt(byte[] module, int offset, byte[] key, byte[] aad)
+      throws IOException {
+    if (module.length - offset < MODULE_LENGTH_SIZE) {
+      throw new IOException("Encrypted Parquet module is truncated");
+    }
+
+    InputStream lengthStream = new ByteArrayInputStream(module, offset, MODULE_LENGTH_SIZE);
+    int length = ParquetParser.readIntLittleEndian(lengthStream);
+    int nonceOffset = offset + MODULE_LENGTH_SIZE;
+    if (length < NONCE_LENGTH || length > module.length - nonceOffset) {
+      throw new IOException("Encrypted Parquet module is truncated");
+    }
+
+    try {
+      Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+      cipher.init(
+          Cipher.DECRYPT_MODE,
+          new SecretKeySpec(key, "AES"),
+          new GCMParameterSpec(TAG_LENGTH_BITS, module, nonceOffset, NONCE_LENGTH));
+      cipher.updateAAD(aad);
+      return cipher.doFinal(module, nonceOffset + NONCE_LENGTH, length - NONCE_LENGTH);
+    } catch (GeneralSecurityException | IllegalArgumentException e) {
+      throw new IOException("Unable to decrypt Parquet metadata", e);
+    }
+  }
+
+  private static byte[] shortToBytesLittleEndian(short value) {
+    return new byte[] {(byte) value, (byte) (value >> 8)};
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      if (part != null) {
+        out.write(part, 0, part.length);
+      }
+    }
+    return out.toByteArray();
+  }
+}
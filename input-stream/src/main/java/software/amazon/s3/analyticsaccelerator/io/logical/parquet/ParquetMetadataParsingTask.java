@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.CompletionException;
@@ -26,6 +27,7 @@ import org.apache.parquet.format.RowGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
@@ -51,6 +53,24 @@ public class ParquetMetadataParsingTask {
     this(s3URI, parquetColumnPrefetchStore, new ParquetParser());
   }
 
+  /**
+   * Creates a new instance of {@link ParquetMetadataParsingTask} for a stream whose open stream
+   * information may carry the keys of a file written with Parquet modular encryption.
+   *
+   * @param s3URI the S3Uri of the object
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamInformation information the stream was opened with
+   */
+  public ParquetMetadataParsingTask(
+      S3URI s3URI,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    this(
+        s3URI,
+        parquetColumnPrefetchStore,
+        new ParquetParser(openStreamInformation.getParquetDecryptionKeyRetriever()));
+  }
+
   /**
    * Creates a new instance of {@link ParquetMetadataParsingTask}. This version of the constructor
    * is useful for testing as it allows dependency injection.
@@ -100,6 +120,10 @@ public class ParquetMetadataParsingTask {
     for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
 
       for (ColumnChunk columnChunk : rowGroup.getColumns()) {
+        // Columns of encrypted files whose metadata could not be decrypted have no known offsets
+        if (!columnChunk.isSetMeta_data()) {
+          continue;
+        }
 
         // Get the full path to support nested schema
         String columnName = String.join(".", columnChunk.getMeta_data().getPath_in_schema());
@@ -139,7 +163,10 @@ public class ParquetMetadataParsingTask {
       rowGroupIndex++;
     }
 
-    return new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+    return new ColumnMappers(
+        offsetIndexToColumnMap,
+        columnNameToColumnMap,
+        ColumnChunkIntervalIndex.build(offsetIndexToColumnMap));
   }
 
   private String concatColumnNames(FileMetaData fileMetaData) {
@@ -148,10 +175,24 @@ public class ParquetMetadataParsingTask {
     // Concat all column names in a string from which schema hash can be constructed
     for (ColumnChunk columnChunk : rowGroup.getColumns()) {
       // Get the full path to support nested schema
-      String columnName = String.join(".", columnChunk.getMeta_data().getPath_in_schema());
+      String columnName = String.join(".", getPathInSchema(columnChunk));
       concatenatedColumnNames.append(columnName);
     }
 
     return concatenatedColumnNames.toString();
   }
+
+  private static List<String> getPathInSchema(ColumnChunk columnChunk) {
+    if (columnChunk.isSetMeta_data()) {
+      return columnChunk.getMeta_data().getPath_in_schema();
+    }
+
+    // The path of columns encrypted with their own key is also held in plaintext
+    if (columnChunk.isSetCrypto_metadata()
+        && columnChunk.getCrypto_metadata().isSetENCRYPTION_WITH_COLUMN_KEY()) {
+      return columnChunk.getCrypto_metadata().getENCRYPTION_WITH_COLUMN_KEY().getPath_in_schema();
+    }
+
+    return Collections.emptyList();
+  }
 }
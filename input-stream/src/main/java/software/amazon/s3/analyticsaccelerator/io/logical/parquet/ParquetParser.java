@@ -22,22 +22,51 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.parquet.format.FileCryptoMetaData;
 import org.apache.parquet.format.FileMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import shaded.parquet.org.apache.thrift.TBase;
 import shaded.parquet.org.apache.thrift.TException;
 import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
 import shaded.parquet.org.apache.thrift.protocol.TProtocol;
 import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
 import shaded.parquet.org.apache.thrift.transport.TTransportException;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.util.ParquetDecryptionKeyRetriever;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
-/** Allows for parsing a tail of a parquet file to get its FileMetadata. */
+/**
+ * Allows for parsing a tail of a parquet file to get its FileMetadata. Files written with Parquet
+ * modular encryption are supported: in plaintext footer mode the footer is read as is, and in
+ * encrypted footer mode ("PARE" magic) it is decrypted with the footer key. In both modes, the
+ * metadata of columns encrypted with their own key is decrypted if their key is available.
+ */
 class ParquetParser {
 
   private static final Logger LOG = LoggerFactory.getLogger(ParquetParser.class);
 
+  private static final byte[] PARQUET_MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] PARQUET_ENCRYPTED_MAGIC = "PARE".getBytes(StandardCharsets.US_ASCII);
+
+  private final ParquetDecryptionKeyRetriever keyRetriever;
+
+  /** Creates a parser for files whose keys, if they are encrypted, are not available. */
+  ParquetParser() {
+    this(null);
+  }
+
+  /**
+   * Creates a parser.
+   *
+   * @param keyRetriever retriever of the keys of encrypted files, can be null
+   */
+  ParquetParser(ParquetDecryptionKeyRetriever keyRetriever) {
+    this.keyRetriever = keyRetriever;
+  }
+
   /**
    * Parses the tail of a parquet file to obtain its FileMetaData.
    *
@@ -63,6 +92,14 @@ class ParquetParser {
     fileTail.get(buff, 0, PARQUET_FOOTER_LENGTH_SIZE);
 
     int fileMetadataLength = readIntLittleEndian(new ByteArrayInputStream(buff));
+
+    byte[] magic = new byte[PARQUET_MAGIC_STR_LENGTH];
+    fileTail.get(magic, 0, PARQUET_MAGIC_STR_LENGTH);
+    boolean encryptedFooter = Arrays.equals(magic, PARQUET_ENCRYPTED_MAGIC);
+    if (!encryptedFooter && !Arrays.equals(magic, PARQUET_MAGIC)) {
+      throw new IOException("Not a Parquet file, magic does not match for " + s3URI.getKey());
+    }
+
     int fileMetadataIndex = fileMetadataLengthIndex - fileMetadataLength;
 
     if (fileMetadataIndex < 0) {
@@ -84,12 +121,59 @@ class ParquetParser {
     byte[] footer = new byte[fileMetadataLength];
     fileTail.get(footer, 0, fileMetadataLength);
 
+    if (encryptedFooter) {
+      return parseEncryptedFooter(footer);
+    }
+
+    FileMetaData fmd = new FileMetaData();
+    readThrift(fmd, new ByteArrayInputStream(footer));
+    // In plaintext footer mode, the footer is followed by its signature, which is not verified
+    if (fmd.isSetEncryption_algorithm() && keyRetriever != null) {
+      new ParquetFooterDecryptor(fmd.getEncryption_algorithm(), keyRetriever)
+          .decryptColumnMetadata(fmd, fmd.getFooter_signing_key_metadata());
+    }
+    return fmd;
+  }
+
+  /**
+   * Parses an encrypted footer, which is the plaintext FileCryptoMetaData followed by the
+   * encrypted FileMetaData.
+   */
+  private FileMetaData parseEncryptedFooter(byte[] footer) throws IOException {
+    if (keyRetriever == null) {
+      throw new IOException("Parquet file has an encrypted footer and no key retriever was set");
+    }
+
+    ByteArrayInputStream footerStream = new ByteArrayInputStream(footer);
+    FileCryptoMetaData fileCryptoMetaData = new FileCryptoMetaData();
+    readThrift(fileCryptoMetaData, footerStream);
+    int encryptedFooterOffset = footer.length - footerStream.available();
+
+    ParquetFooterDecryptor decryptor =
+        new ParquetFooterDecryptor(fileCryptoMetaData.getEncryption_algorithm(), keyRetriever);
+    byte[] plaintextFooter =
+        decryptor.decryptFooter(
+            footer, encryptedFooterOffset, fileCryptoMetaData.getKey_metadata());
+
+    FileMetaData fmd = new FileMetaData();
+    readThrift(fmd, new ByteArrayInputStream(plaintextFooter));
+    decryptor.decryptColumnMetadata(fmd, fileCryptoMetaData.getKey_metadata());
+    return fmd;
+  }
+
+  /**
+   * Reads a Thrift struct in the compact protocol.
+   *
+   * @param struct the struct to read into
+   * @param from stream to read from, positioned at the end of the struct after the read
+   * @throws IOException if the struct cannot be read
+   */
+  static void readThrift(TBase<?, ?> struct, InputStream from) throws IOException {
     try {
-      FileMetaData fmd = new FileMetaData();
-      fmd.read(protocol(new ByteArrayInputStream(footer)));
-      return fmd;
+      struct.read(protocol(from));
     } catch (TException e) {
-      throw new IOException("can not read FileMetaData: " + e.getMessage(), e);
+      throw new IOException(
+          "can not read " + struct.getClass().getSimpleName() + ": " + e.getMessage(), e);
     }
   }
 
@@ -102,7 +186,7 @@ class ParquetParser {
     return new org.apache.parquet.format.InterningProtocol(new TCompactProtocol(t));
   }
 
-  private static int readIntLittleEndian(InputStream in) throws IOException {
+  static int readIntLittleEndian(InputStream in) throws IOException {
     int ch1 = in.read();
     int ch2 = in.read();
     int ch3 = in.read();
@@ -19,9 +19,12 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.DEFAULT_MIN
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongSupplier;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +38,8 @@ import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -46,9 +51,9 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
  * ParquetMetadataParsingTask}. Once the metadata has been parsed successfully, this task is
  * responsible for prefetching any recent columns that exist in the currently open file. {@link
  * ParquetColumnPrefetchStore} is responsible for track which columns are currently being read for a
- * particular schema, where two Parquet files are said to belong to the same schema if they contain
- * exactly the same columns, that is, the Hash(concatenated_string_of_column_names_in_file) is
- * equal.
+ * particular schema, keeping decayed frequency scores of the columns read, where two Parquet files
+ * are said to belong to the same schema if they contain exactly the same columns, that is, the
+ * Hash(concatenated_string_of_column_names_in_file) is equal.
  *
  * <p>As an example, assume two files A.parquet and B.parquet, both belonging to the store_sales
  * schema. A.parquet has metadata [{path_in_schema: ss_a, file_offset: 500, total_uncompressed_size:
@@ -81,6 +86,16 @@ public class ParquetPredictivePrefetchingTask {
   private final PhysicalIO physicalIO;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
   private final LogicalIOConfiguration logicalIOConfiguration;
+  private final StreamAuditContext streamAuditContext;
+  private final Range splitRange;
+  private final LongSupplier availableMemory;
+  // Row groups prefetched ahead of the reader that it has not reached yet, with their predicted
+  // bytes, and the row group the reader is currently in.
+  private final Map<Integer, Long> lookaheadRowGroups = new HashMap<>();
+  private long lookaheadBytes;
+  private int currentRowGroupIndex = -1;
+  // Row groups not looked ahead to as they belong to another split, to record their bytes once.
+  private final Set<Integer> splitExcludedRowGroups = new HashSet<>();
   private static final String OPERATION_PARQUET_PREFETCH_COLUMNS = "parquet.task.prefetch.columns";
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPredictivePrefetchingTask.class);
 
@@ -99,11 +114,74 @@ public class ParquetPredictivePrefetchingTask {
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull PhysicalIO physicalIO,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        OpenStreamInformation.DEFAULT);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPredictivePrefetchingTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamInformation information the stream was opened with, its audit context is used
+   *     to partition column accesses by query and its split range to limit prefetching to the row
+   *     groups of the split
+   */
+  public ParquetPredictivePrefetchingTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        openStreamInformation,
+        () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPredictivePrefetchingTask} whose row group lookahead
+   * respects a memory budget.
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamInformation information the stream was opened with, its audit context is used
+   *     to partition column accesses by query and its split range to limit prefetching to the row
+   *     groups of the split
+   * @param availableMemory supplies the number of bytes the memory budget has left
+   */
+  public ParquetPredictivePrefetchingTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamInformation openStreamInformation,
+      @NonNull LongSupplier availableMemory) {
     this.s3Uri = s3Uri;
     this.telemetry = telemetry;
     this.physicalIO = physicalIO;
     this.logicalIOConfiguration = logicalIOConfiguration;
     this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.streamAuditContext = openStreamInformation.getStreamAuditContext();
+    this.splitRange = openStreamInformation.getSplitRange();
+    this.availableMemory = availableMemory;
   }
 
   /**
@@ -125,11 +203,11 @@ public class ParquetPredictivePrefetchingTask {
         // If the column has a dictionary and the length of the read is <= the size of the
         // dictionary, then assume current read is for a dictionary only.
         if (isDictionaryRead(columnMetadata, len)) {
-          parquetColumnPrefetchStore.addRecentDictionary(columnMetadata);
+          parquetColumnPrefetchStore.addRecentDictionary(columnMetadata, streamAuditContext);
           prefetchDictionariesForCurrentRowGroup(columnMappers, columnMetadata);
           addedColumns.add(columnMetadata);
         } else {
-          parquetColumnPrefetchStore.addRecentColumn(columnMetadata);
+          recordColumnRead(columnMetadata);
           // Maybe prefetch all recent columns for the current row group, if they have not been
           // prefetched already.
           prefetchColumnsForCurrentRowGroup(columnMappers, columnMetadata);
@@ -138,6 +216,7 @@ public class ParquetPredictivePrefetchingTask {
           addedColumns.add(columnMetadata);
         }
 
+        prefetchNextRowGroups(columnMappers, position, len);
         return addedColumns;
       } else if (len > DEFAULT_MIN_ADJACENT_COLUMN_LENGTH) {
         // If the read does not align to a column boundary, then check if it lies within the
@@ -148,13 +227,200 @@ public class ParquetPredictivePrefetchingTask {
         // reading dictionaries/columnIndexes,
         // parquet-mr issues thousands of 1 byte read(0, pos, 1), and so without this we will end up
         // in this else clause more times than intended!
-        return addCurrentColumnAtPosition(position, columnMappers);
+        List<ColumnMetadata> addedColumns = addCurrentColumnAtPosition(position, columnMappers);
+        prefetchNextRowGroups(columnMappers, position, len);
+        return addedColumns;
       }
     }
 
     return Collections.emptyList();
   }
 
+  /**
+   * When PrefetchMode is ROW_GROUP, prefetching for a row group only starts on the first read to
+   * it, so every row group transition waits on new GETs. To pipeline them, once the reader is
+   * {@link LogicalIOConfiguration#getRowGroupLookaheadThreshold()} of the way through row group N,
+   * the recent columns and dictionaries of row groups N+1 up to N + {@link
+   * LogicalIOConfiguration#getRowGroupLookaheadDepth()} are prefetched too.
+   *
+   * <p>The predicted bytes of row groups prefetched ahead and not yet reached are capped at {@link
+   * LogicalIOConfiguration#getRowGroupLookaheadMaxBytes()}, and the row groups looked ahead to in
+   * one go must also fit in the memory the budget has left. If the reader jumps to a row group that
+   * was not looked ahead to, the lookahead is abandoned and its budget released. Requests already
+   * issued are left to complete, and their blocks are evicted as usual if never read. If the stream
+   * was opened for a split, lookahead stops at the first row group that is not in the split.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @param position the position of the current read
+   * @param len the length of the current read
+   */
+  private synchronized void prefetchNextRowGroups(
+      ColumnMappers columnMappers, long position, int len) {
+    if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.ROW_GROUP
+        || logicalIOConfiguration.getRowGroupLookaheadDepth() <= 0) {
+      return;
+    }
+
+    ColumnChunkIntervalIndex columnChunkIntervalIndex = columnMappers.getColumnChunkIntervalIndex();
+    ColumnMetadata columnMetadata = columnChunkIntervalIndex.getColumnAtPosition(position);
+    if (columnMetadata == null) {
+      return;
+    }
+
+    int rowGroupIndex = columnMetadata.getRowGroupIndex();
+    if (rowGroupIndex != currentRowGroupIndex) {
+      moveToRowGroup(rowGroupIndex);
+    }
+
+    if (columnChunkIntervalIndex.getRowGroupProgress(rowGroupIndex, position + len)
+        < logicalIOConfiguration.getRowGroupLookaheadThreshold()) {
+      return;
+    }
+
+    // Prefetched bytes only count towards memory usage once their blocks are loaded, so the bytes
+    // issued here are taken off the headroom as we go.
+    long memoryHeadroom = Math.max(0, availableMemory.getAsLong());
+    int lastRowGroupIndex = rowGroupIndex + logicalIOConfiguration.getRowGroupLookaheadDepth();
+    for (int nextRowGroupIndex = rowGroupIndex + 1;
+        nextRowGroupIndex <= lastRowGroupIndex
+            && columnChunkIntervalIndex.hasRowGroup(nextRowGroupIndex);
+        nextRowGroupIndex++) {
+      if (lookaheadRowGroups.containsKey(nextRowGroupIndex)) {
+        continue;
+      }
+
+      if (splitRange != null
+          && !columnChunkIntervalIndex.isRowGroupInSplit(nextRowGroupIndex, splitRange)) {
+        if (splitExcludedRowGroups.add(nextRowGroupIndex)) {
+          recordSplitPrefetchBytesAvoided(columnMappers, nextRowGroupIndex);
+        }
+        return;
+      }
+
+      long predictedBytes = getPredictedBytes(columnMappers, nextRowGroupIndex);
+      long maxLookaheadBytes =
+          Math.min(
+              logicalIOConfiguration.getRowGroupLookaheadMaxBytes(),
+              lookaheadBytes + memoryHeadroom);
+      if (lookaheadBytes + predictedBytes > maxLookaheadBytes) {
+        LOG.debug(
+            "Not looking ahead to rowGroupIndex {} for {}, {} bytes are already prefetched ahead"
+                + " and {} bytes of memory are available",
+            nextRowGroupIndex,
+            this.s3Uri.getKey(),
+            lookaheadBytes,
+            memoryHeadroom);
+        return;
+      }
+
+      lookaheadRowGroups.put(nextRowGroupIndex, predictedBytes);
+      lookaheadBytes += predictedBytes;
+      memoryHeadroom -= predictedBytes;
+      prefetchRowGroup(columnMappers, nextRowGroupIndex);
+    }
+  }
+
+  /**
+   * Tracks the reader moving to a new row group. Reaching a row group that was looked ahead to
+   * releases the budget of it and of any looked ahead row groups before it. Moving anywhere else
+   * means the reader has jumped, so the lookahead is abandoned.
+   *
+   * @param rowGroupIndex the row group the reader is now in
+   */
+  private void moveToRowGroup(int rowGroupIndex) {
+    if (lookaheadRowGroups.containsKey(rowGroupIndex)) {
+      lookaheadRowGroups.entrySet().removeIf(entry -> entry.getKey() <= rowGroupIndex);
+    } else if (!lookaheadRowGroups.isEmpty()) {
+      LOG.debug(
+          "Reader of {} jumped from rowGroupIndex {} to {}, abandoning lookahead of {}",
+          this.s3Uri.getKey(),
+          currentRowGroupIndex,
+          rowGroupIndex,
+          lookaheadRowGroups.keySet());
+      lookaheadRowGroups.clear();
+    }
+
+    lookaheadBytes = 0;
+    for (long predictedBytes : lookaheadRowGroups.values()) {
+      lookaheadBytes += predictedBytes;
+    }
+    currentRowGroupIndex = rowGroupIndex;
+  }
+
+  private void prefetchRowGroup(ColumnMappers columnMappers, int rowGroupIndex) {
+    List<Integer> rowGroupsToPrefetch = Collections.singletonList(rowGroupIndex);
+    if (!parquetColumnPrefetchStore.isDictionaryRowGroupPrefetched(s3Uri, rowGroupIndex)) {
+      prefetchRecentColumns(columnMappers, rowGroupsToPrefetch, true);
+      parquetColumnPrefetchStore.storeDictionaryPrefetchedRowGroupIndex(s3Uri, rowGroupIndex);
+    }
+    if (!parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3Uri, rowGroupIndex)) {
+      prefetchRecentColumns(columnMappers, rowGroupsToPrefetch, false);
+      parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(s3Uri, rowGroupIndex);
+    }
+  }
+
+  private void recordSplitPrefetchBytesAvoided(ColumnMappers columnMappers, int rowGroupIndex) {
+    long predictedBytes = getPredictedBytes(columnMappers, rowGroupIndex);
+    if (predictedBytes > 0) {
+      LOG.debug(
+          "Not prefetching rowGroupIndex {} of {} as it is outside of split {}",
+          rowGroupIndex,
+          this.s3Uri.getKey(),
+          splitRange);
+      parquetColumnPrefetchStore.recordSplitPrefetchBytesAvoided(predictedBytes);
+    }
+  }
+
+  private long getPredictedBytes(ColumnMappers columnMappers, int rowGroupIndex) {
+    long predictedBytes = 0;
+    for (String recentColumn : getRecentColumns(columnMappers.getOffsetIndexToColumnMap(), false)) {
+      List<ColumnMetadata> columnMetadataList =
+          columnMappers.getColumnNameToColumnMap().get(recentColumn);
+      if (columnMetadataList != null) {
+        for (ColumnMetadata columnMetadata : columnMetadataList) {
+          if (columnMetadata.getRowGroupIndex() == rowGroupIndex) {
+            predictedBytes += columnMetadata.getCompressedSize();
+          }
+        }
+      }
+    }
+
+    return predictedBytes;
+  }
+
+  /**
+   * Selects the row groups to prefetch recent columns for when the file is opened, which happens
+   * when PrefetchMode is ALL. Without a split, this is the first row group of the file. If the
+   * stream was opened for a split, it is the first row group belonging to the split instead, as the
+   * first row group of the file is read by whichever task owns it. Its predicted bytes are then
+   * recorded as avoided.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @return List of row group indexes to prefetch
+   */
+  public List<Integer> getRowGroupsToPrefetchOnOpen(ColumnMappers columnMappers) {
+    if (splitRange == null) {
+      return ParquetUtils.constructRowGroupsToPrefetch();
+    }
+
+    ColumnChunkIntervalIndex columnChunkIntervalIndex = columnMappers.getColumnChunkIntervalIndex();
+    List<Integer> rowGroupsToPrefetch = new ArrayList<>();
+    for (int rowGroupIndex = 0;
+        rowGroupIndex < columnChunkIntervalIndex.getRowGroupCount();
+        rowGroupIndex++) {
+      if (columnChunkIntervalIndex.isRowGroupInSplit(rowGroupIndex, splitRange)) {
+        rowGroupsToPrefetch.add(rowGroupIndex);
+        break;
+      }
+    }
+
+    if (!rowGroupsToPrefetch.contains(0)) {
+      recordSplitPrefetchBytesAvoided(columnMappers, 0);
+    }
+
+    return rowGroupsToPrefetch;
+  }
+
   /**
    * When PrefetchMode is ROW_GROUP, only prefetch recent columns when a read to a column is
    * detected, and NOT on an open of the file. For prefetching, only prefetch recent columns that
@@ -212,6 +478,8 @@ public class ParquetPredictivePrefetchingTask {
             List<Range> dictionaryRanges = new ArrayList<>();
             // Ranges for column data
             List<Range> columnRanges = new ArrayList<>();
+            // Column chunks whose data is prefetched, to track the accuracy of the predictions
+            List<ColumnMetadata> predictedColumns = new ArrayList<>();
 
             for (String recentColumn :
                 getRecentColumns(columnMappers.getOffsetIndexToColumnMap(), isDictionary)) {
@@ -243,6 +511,7 @@ public class ParquetPredictivePrefetchingTask {
                               columnMetadata.getStartPos()
                                   + columnMetadata.getCompressedSize()
                                   - 1));
+                      predictedColumns.add(columnMetadata);
                       LOG.debug(
                           "Column {} found in schema for {}, and rowGroupIndex {}, adding to prefetch list",
                           recentColumn,
@@ -262,7 +531,12 @@ public class ParquetPredictivePrefetchingTask {
                 (columnRanges.isEmpty())
                     ? IOPlan.EMPTY_PLAN
                     : new IOPlan(ParquetUtils.mergeRanges(columnRanges));
-            return physicalIO.execute(columnIoPlan, ReadMode.COLUMN_PREFETCH);
+            IOPlanExecution columnIoPlanExecution =
+                physicalIO.execute(columnIoPlan, ReadMode.COLUMN_PREFETCH);
+            if (!predictedColumns.isEmpty()) {
+              parquetColumnPrefetchStore.recordColumnsPredicted(s3Uri, predictedColumns);
+            }
+            return columnIoPlanExecution;
           } catch (Throwable t) {
             LOG.debug("Unable to prefetch columns for {}.", this.s3Uri.getKey(), t);
             return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
@@ -286,7 +560,7 @@ public class ParquetPredictivePrefetchingTask {
    *
    * <p>Since the reads do not align to column boundaries, that is, they do not start at the file
    * offset of the column, to track columns for prefetching additional logic is required. Here, we
-   * loop through the column file offsets and find the column that this read belongs to. For
+   * binary search the column chunk interval index to find the column that this read belongs to. For
    * example, for the read(8MB, 5MB) means we are reading column ss_b, since the position 8MB lies
    * within the boundary of ss_b as 8MB > file offset of ss_b > and 8MB < fil_offset of ss_c.
    *
@@ -296,29 +570,16 @@ public class ParquetPredictivePrefetchingTask {
    */
   private List<ColumnMetadata> addCurrentColumnAtPosition(
       long position, ColumnMappers columnMappers) {
-    ArrayList<Long> columnPositions =
-        new ArrayList<>(columnMappers.getOffsetIndexToColumnMap().keySet());
-    Collections.sort(columnPositions);
-
-    // For the last index, also add its end position so we can track reads that lie within
-    // that column boundary
-    long lastColumnStartPos = columnPositions.get(columnPositions.size() - 1);
-    ColumnMetadata lastColumnMetadata =
-        columnMappers.getOffsetIndexToColumnMap().get(lastColumnStartPos);
-    columnPositions.add(lastColumnStartPos + lastColumnMetadata.getCompressedSize());
-
-    for (int i = 0; i < columnPositions.size() - 1; i++) {
-      if (position > columnPositions.get(i) && position < columnPositions.get(i + 1)) {
-        ColumnMetadata currentColumnMetadata =
-            columnMappers.getOffsetIndexToColumnMap().get(columnPositions.get(i));
-        parquetColumnPrefetchStore.addRecentColumn(currentColumnMetadata);
-        List<ColumnMetadata> addedColumns = new ArrayList<>();
-        addedColumns.add(currentColumnMetadata);
-        return addedColumns;
-      }
+    ColumnMetadata currentColumnMetadata =
+        columnMappers.getColumnChunkIntervalIndex().getColumnAtPosition(position);
+    if (currentColumnMetadata == null) {
+      return Collections.emptyList();
     }
 
-    return Collections.emptyList();
+    recordColumnRead(currentColumnMetadata);
+    List<ColumnMetadata> addedColumns = new ArrayList<>();
+    addedColumns.add(currentColumnMetadata);
+    return addedColumns;
   }
 
   /**
@@ -341,21 +602,16 @@ public class ParquetPredictivePrefetchingTask {
 
     if (len > columnMetadata.getCompressedSize() && len > DEFAULT_MIN_ADJACENT_COLUMN_LENGTH) {
 
-      long remainingLen = len - columnMetadata.getCompressedSize();
-      long currentPos = position + columnMetadata.getCompressedSize();
-
-      while (remainingLen > 0) {
-        ColumnMetadata currentColumnMetadata =
-            columnMappers.getOffsetIndexToColumnMap().get(currentPos);
-
-        if (currentColumnMetadata == null || columnMetadata.getCompressedSize() == 0) {
-          break;
-        }
-
-        parquetColumnPrefetchStore.addRecentColumn(currentColumnMetadata);
-        remainingLen = remainingLen - currentColumnMetadata.getCompressedSize();
-        currentPos = currentPos + currentColumnMetadata.getCompressedSize();
-        addedColumns.add(currentColumnMetadata);
+      // Every column chunk starting between the end of the current column and the end of the read
+      // is at least partially contained in the read.
+      List<ColumnMetadata> adjacentColumns =
+          columnMappers
+              .getColumnChunkIntervalIndex()
+              .getColumnsStartingInRange(
+                  position + columnMetadata.getCompressedSize(), position + len);
+      for (ColumnMetadata adjacentColumn : adjacentColumns) {
+        recordColumnRead(adjacentColumn);
+        addedColumns.add(adjacentColumn);
       }
     }
 
@@ -371,15 +627,28 @@ public class ParquetPredictivePrefetchingTask {
       int schemaHash = firstColumnData.getValue().getSchemaHash();
 
       if (isDictionary) {
-        return parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash);
+        return parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(
+            schemaHash, streamAuditContext);
       } else {
-        return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash);
+        return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(
+            schemaHash, streamAuditContext);
       }
     }
 
     return Collections.emptySet();
   }
 
+  /**
+   * Records a read of a column chunk, both to update the column access scores for this schema, and
+   * to track whether the read had been predicted.
+   *
+   * @param columnMetadata Column metadata of the column being read
+   */
+  private void recordColumnRead(ColumnMetadata columnMetadata) {
+    parquetColumnPrefetchStore.addRecentColumn(columnMetadata, streamAuditContext);
+    parquetColumnPrefetchStore.recordColumnRead(s3Uri, columnMetadata);
+  }
+
   private boolean isDictionaryRead(ColumnMetadata columnMetadata, int len) {
     return columnMetadata.getDictionaryOffset() != 0
         && len <= (columnMetadata.getDataPageOffset() - columnMetadata.getDictionaryOffset());
@@ -22,6 +22,7 @@ import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
 import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
@@ -61,4 +62,12 @@ public interface PhysicalIO extends RandomAccessReadable {
    * @throws IOException if an I/O error occurs
    */
   void close(boolean shouldEvict) throws IOException;
+
+  /**
+   * Returns the statistics of the reads of the stream, such as the time it spent waiting for data
+   * and the bytes fetched on its behalf.
+   *
+   * @return the statistics of the stream
+   */
+  StreamStatistics getStreamStatistics();
 }
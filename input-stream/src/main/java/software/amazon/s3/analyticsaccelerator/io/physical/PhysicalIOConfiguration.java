@@ -50,6 +50,19 @@ public class PhysicalIOConfiguration {
   private static final long DEFAULT_READ_BUFFER_SIZE = 128 * ONE_KB;
   private static final long DEFAULT_TARGET_REQUEST_SIZE = 8 * ONE_MB;
   private static final double DEFAULT_REQUEST_TOLERANCE_RATIO = 1.4;
+  private static final boolean DEFAULT_PATTERN_PREFETCH_ENABLED = false;
+  private static final int DEFAULT_PATTERN_PREFETCH_HISTORY_SIZE = 16;
+  private static final int DEFAULT_PATTERN_PREFETCH_MIN_CONFIDENCE = 2;
+  private static final int DEFAULT_PATTERN_PREFETCH_MAX_DEPTH = 4;
+  private static final int DEFAULT_PATTERN_PREFETCH_MAX_INTERLEAVE = 4;
+  private static final boolean DEFAULT_CACHE_BYPASS_ENABLED = true;
+  private static final long DEFAULT_CACHE_BYPASS_THRESHOLD = 32 * ONE_MB;
+  private static final boolean DEFAULT_CACHE_BYPASS_POPULATE_CACHE = false;
+  private static final boolean DEFAULT_READ_VECTORED_DIRECT_ENABLED = true;
+  private static final long DEFAULT_READ_VECTORED_COALESCE_GAP_BYTES = 128 * ONE_KB;
+  private static final long DEFAULT_READ_VECTORED_MAX_COALESCED_SIZE = 8 * ONE_MB;
+  private static final boolean DEFAULT_BLOCK_CURSOR_ENABLED = true;
+  private static final int DEFAULT_BLOCK_CURSOR_MAX_READ_BYTES = 64;
 
   /**
    * Capacity, in blobs. {@link PhysicalIOConfiguration#DEFAULT_MEMORY_CAPACITY_BYTES} by default.
@@ -175,6 +188,87 @@ public class PhysicalIOConfiguration {
 
   private static final String REQUEST_TOLERANCE_RATIO_KEY = "request.tolerance.ratio";
 
+  /**
+   * Controls whether strided, reverse and interleaved read patterns are prefetched. Disabled by
+   * default, as each predicted read is fetched with a request of its own, which for small records
+   * is well below the minimum efficient request size.
+   */
+  @Builder.Default private boolean patternPrefetchEnabled = DEFAULT_PATTERN_PREFETCH_ENABLED;
+
+  private static final String PATTERN_PREFETCH_ENABLED_KEY = "patternprefetch.enabled";
+
+  /** Number of recent reads of a stream the read pattern is detected from */
+  @Builder.Default private int patternPrefetchHistorySize = DEFAULT_PATTERN_PREFETCH_HISTORY_SIZE;
+
+  private static final String PATTERN_PREFETCH_HISTORY_SIZE_KEY = "patternprefetch.history.size";
+
+  /** Number of times a read pattern has to repeat before it is prefetched */
+  @Builder.Default
+  private int patternPrefetchMinConfidence = DEFAULT_PATTERN_PREFETCH_MIN_CONFIDENCE;
+
+  private static final String PATTERN_PREFETCH_MIN_CONFIDENCE_KEY =
+      "patternprefetch.min.confidence";
+
+  /** Maximum number of reads ahead, per interleaved stream, that a read pattern is prefetched */
+  @Builder.Default private int patternPrefetchMaxDepth = DEFAULT_PATTERN_PREFETCH_MAX_DEPTH;
+
+  private static final String PATTERN_PREFETCH_MAX_DEPTH_KEY = "patternprefetch.max.depth";
+
+  /** Maximum number of interleaved streams a read pattern is detected for */
+  @Builder.Default
+  private int patternPrefetchMaxInterleave = DEFAULT_PATTERN_PREFETCH_MAX_INTERLEAVE;
+
+  private static final String PATTERN_PREFETCH_MAX_INTERLEAVE_KEY =
+      "patternprefetch.max.interleave";
+
+  /** Controls whether large reads of uncached ranges are read straight into the caller buffer */
+  @Builder.Default private boolean cacheBypassEnabled = DEFAULT_CACHE_BYPASS_ENABLED;
+
+  private static final String CACHE_BYPASS_ENABLED_KEY = "cachebypass.enabled";
+
+  /**
+   * Size, in bytes, from which a read of an uncached range bypasses the cache. {@link
+   * PhysicalIOConfiguration#DEFAULT_CACHE_BYPASS_THRESHOLD} by default.
+   */
+  @Builder.Default private long cacheBypassThreshold = DEFAULT_CACHE_BYPASS_THRESHOLD;
+
+  private static final String CACHE_BYPASS_THRESHOLD_KEY = "cachebypass.threshold.bytes";
+
+  /** Controls whether the data of reads that bypassed the cache is still added to the cache */
+  @Builder.Default private boolean cacheBypassPopulateCache = DEFAULT_CACHE_BYPASS_POPULATE_CACHE;
+
+  private static final String CACHE_BYPASS_POPULATE_CACHE_KEY = "cachebypass.populate.cache";
+
+  /** Controls whether uncached vectored read ranges are read straight from coalesced requests */
+  @Builder.Default
+  private boolean readVectoredDirectEnabled = DEFAULT_READ_VECTORED_DIRECT_ENABLED;
+
+  private static final String READ_VECTORED_DIRECT_ENABLED_KEY = "readvectored.direct.enabled";
+
+  /** Largest gap, in bytes, between two vectored read ranges that are fetched with one request */
+  @Builder.Default
+  private long readVectoredCoalesceGapBytes = DEFAULT_READ_VECTORED_COALESCE_GAP_BYTES;
+
+  private static final String READ_VECTORED_COALESCE_GAP_BYTES_KEY =
+      "readvectored.coalesce.gap.bytes";
+
+  /** Largest size, in bytes, of a request that several vectored read ranges are coalesced into */
+  @Builder.Default
+  private long readVectoredMaxCoalescedSize = DEFAULT_READ_VECTORED_MAX_COALESCED_SIZE;
+
+  private static final String READ_VECTORED_MAX_COALESCED_SIZE_KEY =
+      "readvectored.max.coalesced.size.bytes";
+
+  /** Controls whether sequential tiny reads are served from the block the stream is reading */
+  @Builder.Default private boolean blockCursorEnabled = DEFAULT_BLOCK_CURSOR_ENABLED;
+
+  private static final String BLOCK_CURSOR_ENABLED_KEY = "blockcursor.enabled";
+
+  /** Largest read, in bytes, that is served from the block the stream is reading */
+  @Builder.Default private int blockCursorMaxReadBytes = DEFAULT_BLOCK_CURSOR_MAX_READ_BYTES;
+
+  private static final String BLOCK_CURSOR_MAX_READ_BYTES_KEY = "blockcursor.max.read.bytes";
+
   /** Default set of settings for {@link PhysicalIO} */
   public static final PhysicalIOConfiguration DEFAULT = PhysicalIOConfiguration.builder().build();
 
@@ -225,6 +319,42 @@ public class PhysicalIOConfiguration {
             configuration.getLong(TARGET_REQUEST_SIZE_KEY, DEFAULT_TARGET_REQUEST_SIZE))
         .requestToleranceRatio(
             configuration.getDouble(REQUEST_TOLERANCE_RATIO_KEY, DEFAULT_REQUEST_TOLERANCE_RATIO))
+        .patternPrefetchEnabled(
+            configuration.getBoolean(
+                PATTERN_PREFETCH_ENABLED_KEY, DEFAULT_PATTERN_PREFETCH_ENABLED))
+        .patternPrefetchHistorySize(
+            configuration.getInt(
+                PATTERN_PREFETCH_HISTORY_SIZE_KEY, DEFAULT_PATTERN_PREFETCH_HISTORY_SIZE))
+        .patternPrefetchMinConfidence(
+            configuration.getInt(
+                PATTERN_PREFETCH_MIN_CONFIDENCE_KEY, DEFAULT_PATTERN_PREFETCH_MIN_CONFIDENCE))
+        .patternPrefetchMaxDepth(
+            configuration.getInt(
+                PATTERN_PREFETCH_MAX_DEPTH_KEY, DEFAULT_PATTERN_PREFETCH_MAX_DEPTH))
+        .patternPrefetchMaxInterleave(
+            configuration.getInt(
+                PATTERN_PREFETCH_MAX_INTERLEAVE_KEY, DEFAULT_PATTERN_PREFETCH_MAX_INTERLEAVE))
+        .cacheBypassEnabled(
+            configuration.getBoolean(CACHE_BYPASS_ENABLED_KEY, DEFAULT_CACHE_BYPASS_ENABLED))
+        .cacheBypassThreshold(
+            configuration.getLong(CACHE_BYPASS_THRESHOLD_KEY, DEFAULT_CACHE_BYPASS_THRESHOLD))
+        .cacheBypassPopulateCache(
+            configuration.getBoolean(
+                CACHE_BYPASS_POPULATE_CACHE_KEY, DEFAULT_CACHE_BYPASS_POPULATE_CACHE))
+        .readVectoredDirectEnabled(
+            configuration.getBoolean(
+                READ_VECTORED_DIRECT_ENABLED_KEY, DEFAULT_READ_VECTORED_DIRECT_ENABLED))
+        .readVectoredCoalesceGapBytes(
+            configuration.getLong(
+                READ_VECTORED_COALESCE_GAP_BYTES_KEY, DEFAULT_READ_VECTORED_COALESCE_GAP_BYTES))
+        .readVectoredMaxCoalescedSize(
+            configuration.getLong(
+                READ_VECTORED_MAX_COALESCED_SIZE_KEY, DEFAULT_READ_VECTORED_MAX_COALESCED_SIZE))
+        .blockCursorEnabled(
+            configuration.getBoolean(BLOCK_CURSOR_ENABLED_KEY, DEFAULT_BLOCK_CURSOR_ENABLED))
+        .blockCursorMaxReadBytes(
+            configuration.getInt(
+                BLOCK_CURSOR_MAX_READ_BYTES_KEY, DEFAULT_BLOCK_CURSOR_MAX_READ_BYTES))
         .build();
   }
 
@@ -251,6 +381,25 @@ public class PhysicalIOConfiguration {
    * @param readBufferSize Size of the maximum buffer for read operations
    * @param targetRequestSize Target S3 request size, in bytes
    * @param requestToleranceRatio Request tolerance ratio
+   * @param patternPrefetchEnabled Whether strided, reverse and interleaved read patterns are
+   *     prefetched
+   * @param patternPrefetchHistorySize Number of recent reads the read pattern is detected from
+   * @param patternPrefetchMinConfidence Number of repetitions before a read pattern is prefetched
+   * @param patternPrefetchMaxDepth Maximum number of reads ahead a read pattern is prefetched
+   * @param patternPrefetchMaxInterleave Maximum number of interleaved streams that are detected
+   * @param cacheBypassEnabled Whether large reads of uncached ranges bypass the cache
+   * @param cacheBypassThreshold Size in bytes from which a read of an uncached range bypasses the
+   *     cache
+   * @param cacheBypassPopulateCache Whether reads that bypassed the cache still populate it
+   * @param readVectoredDirectEnabled Whether uncached vectored read ranges are read straight from
+   *     coalesced requests
+   * @param readVectoredCoalesceGapBytes Largest gap in bytes between vectored read ranges that are
+   *     fetched with one request
+   * @param readVectoredMaxCoalescedSize Largest size in bytes of a coalesced vectored read request
+   * @param blockCursorEnabled Whether sequential tiny reads are served from the block the stream is
+   *     reading
+   * @param blockCursorMaxReadBytes Largest read in bytes that is served from the block the stream
+   *     is reading
    */
   @Builder
   private PhysicalIOConfiguration(
@@ -271,7 +420,20 @@ public class PhysicalIOConfiguration {
       int threadPoolSize,
       long readBufferSize,
       long targetRequestSize,
-      double requestToleranceRatio) {
+      double requestToleranceRatio,
+      boolean patternPrefetchEnabled,
+      int patternPrefetchHistorySize,
+      int patternPrefetchMinConfidence,
+      int patternPrefetchMaxDepth,
+      int patternPrefetchMaxInterleave,
+      boolean cacheBypassEnabled,
+      long cacheBypassThreshold,
+      boolean cacheBypassPopulateCache,
+      boolean readVectoredDirectEnabled,
+      long readVectoredCoalesceGapBytes,
+      long readVectoredMaxCoalescedSize,
+      boolean blockCursorEnabled,
+      int blockCursorMaxReadBytes) {
     Preconditions.checkArgument(memoryCapacityBytes > 0, "`memoryCapacityBytes` must be positive");
     Preconditions.checkArgument(
         memoryCleanupFrequencyMilliseconds > 0,
@@ -300,6 +462,23 @@ public class PhysicalIOConfiguration {
     Preconditions.checkArgument(targetRequestSize > 0, "`targetRequestSize` must be positive");
     Preconditions.checkArgument(
         requestToleranceRatio >= 1, "`requestToleranceRatio` must be greater than or equal than 1");
+    Preconditions.checkArgument(
+        patternPrefetchMinConfidence > 0, "`patternPrefetchMinConfidence` must be positive");
+    Preconditions.checkArgument(
+        patternPrefetchMaxDepth > 0, "`patternPrefetchMaxDepth` must be positive");
+    Preconditions.checkArgument(
+        patternPrefetchMaxInterleave > 0, "`patternPrefetchMaxInterleave` must be positive");
+    Preconditions.checkArgument(
+        patternPrefetchHistorySize >= 2 + patternPrefetchMinConfidence,
+        "`patternPrefetchHistorySize` must be at least `patternPrefetchMinConfidence` + 2");
+    Preconditions.checkArgument(
+        cacheBypassThreshold > 0, "`cacheBypassThreshold` must be positive");
+    Preconditions.checkArgument(
+        readVectoredCoalesceGapBytes >= 0, "`readVectoredCoalesceGapBytes` must not be negative");
+    Preconditions.checkArgument(
+        readVectoredMaxCoalescedSize > 0, "`readVectoredMaxCoalescedSize` must be positive");
+    Preconditions.checkArgument(
+        blockCursorMaxReadBytes > 0, "`blockCursorMaxReadBytes` must be positive");
 
     this.memoryCapacityBytes = memoryCapacityBytes;
     this.memoryCleanupFrequencyMilliseconds = memoryCleanupFrequencyMilliseconds;
@@ -319,6 +498,19 @@ public class PhysicalIOConfiguration {
     this.readBufferSize = readBufferSize;
     this.targetRequestSize = targetRequestSize;
     this.requestToleranceRatio = requestToleranceRatio;
+    this.patternPrefetchEnabled = patternPrefetchEnabled;
+    this.patternPrefetchHistorySize = patternPrefetchHistorySize;
+    this.patternPrefetchMinConfidence = patternPrefetchMinConfidence;
+    this.patternPrefetchMaxDepth = patternPrefetchMaxDepth;
+    this.patternPrefetchMaxInterleave = patternPrefetchMaxInterleave;
+    this.cacheBypassEnabled = cacheBypassEnabled;
+    this.cacheBypassThreshold = cacheBypassThreshold;
+    this.cacheBypassPopulateCache = cacheBypassPopulateCache;
+    this.readVectoredDirectEnabled = readVectoredDirectEnabled;
+    this.readVectoredCoalesceGapBytes = readVectoredCoalesceGapBytes;
+    this.readVectoredMaxCoalescedSize = readVectoredMaxCoalescedSize;
+    this.blockCursorEnabled = blockCursorEnabled;
+    this.blockCursorMaxReadBytes = blockCursorMaxReadBytes;
   }
 
   @Override
@@ -345,6 +537,19 @@ public class PhysicalIOConfiguration {
     builder.append("\treadBufferSize: " + readBufferSize + "\n");
     builder.append("\ttargetRequestSize: " + targetRequestSize + "\n");
     builder.append("\trequestToleranceRatio: " + requestToleranceRatio + "\n");
+    builder.append("\tpatternPrefetchEnabled: " + patternPrefetchEnabled + "\n");
+    builder.append("\tpatternPrefetchHistorySize: " + patternPrefetchHistorySize + "\n");
+    builder.append("\tpatternPrefetchMinConfidence: " + patternPrefetchMinConfidence + "\n");
+    builder.append("\tpatternPrefetchMaxDepth: " + patternPrefetchMaxDepth + "\n");
+    builder.append("\tpatternPrefetchMaxInterleave: " + patternPrefetchMaxInterleave + "\n");
+    builder.append("\tcacheBypassEnabled: " + cacheBypassEnabled + "\n");
+    builder.append("\tcacheBypassThreshold: " + cacheBypassThreshold + "\n");
+    builder.append("\tcacheBypassPopulateCache: " + cacheBypassPopulateCache + "\n");
+    builder.append("\treadVectoredDirectEnabled: " + readVectoredDirectEnabled + "\n");
+    builder.append("\treadVectoredCoalesceGapBytes: " + readVectoredCoalesceGapBytes + "\n");
+    builder.append("\treadVectoredMaxCoalescedSize: " + readVectoredMaxCoalescedSize + "\n");
+    builder.append("\tblockCursorEnabled: " + blockCursorEnabled + "\n");
+    builder.append("\tblockCursorMaxReadBytes: " + blockCursorMaxReadBytes + "\n");
 
     return builder.toString();
   }
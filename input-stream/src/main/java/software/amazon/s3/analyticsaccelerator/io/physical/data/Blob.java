@@ -17,11 +17,19 @@ package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
@@ -90,20 +98,38 @@ public class Blob implements Closeable {
    * @throws IOException if an I/O error occurs
    */
   public int read(long pos) throws IOException {
+    return readByte(pos, null);
+  }
+
+  /**
+   * Reads a byte from the underlying object on behalf of a specific stream
+   *
+   * @param pos The position to read
+   * @param streamContext context of the reading stream
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(long pos, @NonNull StreamContext streamContext) throws IOException {
+    return readByte(pos, streamContext);
+  }
+
+  private int readByte(long pos, @Nullable StreamContext streamContext) throws IOException {
     Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
 
     try {
       lock.readLock().lock();
-      blockManager.makePositionAvailable(pos, ReadMode.SYNC);
-      Optional<Block> block = blockManager.getBlock(pos);
-      return block
-          .orElseThrow(
-              () ->
-                  new IllegalStateException(
-                      String.format(
-                          "This block object key %s (for position %s) should have been available.",
-                          objectKey.getS3URI(), pos)))
-          .read(pos);
+      makeRangeAvailable(pos, 1, ReadMode.SYNC, streamContext);
+      Block block =
+          blockManager
+              .getBlock(pos)
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          String.format(
+                              "This block object key %s (for position %s) should have been available.",
+                              objectKey.getS3URI(), pos)));
+      awaitData(block, streamContext);
+      return block.read(pos);
     } finally {
       lock.readLock().unlock();
     }
@@ -120,6 +146,28 @@ public class Blob implements Closeable {
    * @throws IOException if an I/O error occurs
    */
   public int read(byte[] buf, int off, int len, long pos) throws IOException {
+    return readBytes(buf, off, len, pos, null);
+  }
+
+  /**
+   * Reads data into the provided buffer on behalf of a specific stream
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param pos the position to begin reading from
+   * @param streamContext context of the reading stream
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(byte[] buf, int off, int len, long pos, @NonNull StreamContext streamContext)
+      throws IOException {
+    return readBytes(buf, off, len, pos, streamContext);
+  }
+
+  private int readBytes(
+      byte[] buf, int off, int len, long pos, @Nullable StreamContext streamContext)
+      throws IOException {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
     Preconditions.checkArgument(0 <= off, "`off` must not be negative");
@@ -128,7 +176,7 @@ public class Blob implements Closeable {
 
     try {
       lock.readLock().lock();
-      blockManager.makeRangeAvailable(pos, len, ReadMode.SYNC);
+      makeRangeAvailable(pos, len, ReadMode.SYNC, streamContext);
 
       long nextPosition = pos;
       int numBytesRead = 0;
@@ -146,6 +194,7 @@ public class Blob implements Closeable {
                                 "This block object key %s (for position %s) should have been available.",
                                 objectKey.getS3URI(), nextPositionFinal)));
 
+        awaitData(nextBlock, streamContext);
         int bytesRead = nextBlock.read(buf, off + numBytesRead, len - numBytesRead, nextPosition);
 
         if (bytesRead == -1) {
@@ -161,6 +210,257 @@ public class Blob implements Closeable {
     }
   }
 
+  /**
+   * Reads data into the provided buffer. Up to {@code buf.remaining()} bytes are copied from the
+   * blocks straight into the buffer, starting at its current position, which is advanced by the
+   * number of bytes read.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(@NonNull ByteBuffer buf, long pos) throws IOException {
+    return readBuffer(buf, pos, null);
+  }
+
+  /**
+   * Reads data into the provided buffer on behalf of a specific stream. Up to {@code
+   * buf.remaining()} bytes are copied from the blocks straight into the buffer, starting at its
+   * current position, which is advanced by the number of bytes read.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @param streamContext context of the reading stream
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(@NonNull ByteBuffer buf, long pos, @NonNull StreamContext streamContext)
+      throws IOException {
+    return readBuffer(buf, pos, streamContext);
+  }
+
+  private int readBuffer(ByteBuffer buf, long pos, @Nullable StreamContext streamContext)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+
+    int len = buf.remaining();
+    try {
+      lock.readLock().lock();
+      makeRangeAvailable(pos, len, ReadMode.SYNC, streamContext);
+
+      long nextPosition = pos;
+      int numBytesRead = 0;
+
+      while (numBytesRead < len && nextPosition < contentLength()) {
+        final long nextPositionFinal = nextPosition;
+
+        Block nextBlock =
+            blockManager
+                .getBlock(nextPosition)
+                .orElseThrow(
+                    () ->
+                        new IllegalStateException(
+                            String.format(
+                                "This block object key %s (for position %s) should have been available.",
+                                objectKey.getS3URI(), nextPositionFinal)));
+
+        awaitData(nextBlock, streamContext);
+        int bytesRead = nextBlock.read(buf, nextPosition);
+
+        if (bytesRead == -1) {
+          return numBytesRead;
+        }
+        numBytesRead = numBytesRead + bytesRead;
+        nextPosition += bytesRead;
+      }
+
+      return numBytesRead;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Makes a range available on behalf of the reading stream, if there is one.
+   *
+   * @param pos start of the range
+   * @param len length of the range
+   * @param readMode the read mode of this request
+   * @param streamContext context of the reading stream, or null if there is none
+   */
+  private void makeRangeAvailable(
+      long pos, long len, ReadMode readMode, @Nullable StreamContext streamContext) {
+    if (streamContext == null) {
+      blockManager.makeRangeAvailable(pos, len, readMode);
+    } else {
+      blockManager.makeRangeAvailable(pos, len, readMode, streamContext);
+    }
+  }
+
+  /**
+   * Waits for the data of a block, recording the read and the wait in the statistics of the
+   * reading stream, if there is one.
+   *
+   * @param block the block to wait for
+   * @param streamContext context of the reading stream, or null if there is none
+   * @throws IOException if the data of the block could not be fetched
+   */
+  private static void awaitData(Block block, @Nullable StreamContext streamContext)
+      throws IOException {
+    long stallNanos = block.awaitData();
+    if (streamContext != null) {
+      streamContext.getStreamStatistics().recordBlockRead(stallNanos);
+    }
+  }
+
+  /**
+   * Returns the block holding the given position if its data has been loaded, so that a {@link
+   * BlockCursor} can keep reading from it.
+   *
+   * @param pos the position
+   * @return the loaded block holding the position, or empty if there is none
+   */
+  public Optional<Block> getLoadedBlock(long pos) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+
+    try {
+      lock.readLock().lock();
+      return blockManager.getBlock(pos).filter(Block::isDataReady);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Copies the given range into the provided buffer if every block holding it has been loaded, so
+   * that the read neither issues a request nor waits. Up to {@code buf.remaining()} bytes are
+   * copied, starting at the current position of the buffer, which is advanced by the number of
+   * bytes read. Nothing is copied if any of the blocks is missing or still being fetched.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @return true if the range was copied into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public boolean readIfLoaded(@NonNull ByteBuffer buf, long pos) throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+
+    long endPos = Math.min(pos + buf.remaining(), contentLength());
+    try {
+      lock.readLock().lock();
+      List<Block> blocks = new ArrayList<>();
+      long nextPosition = pos;
+      while (nextPosition < endPos) {
+        Optional<Block> block = blockManager.getBlock(nextPosition).filter(Block::isDataReady);
+        if (!block.isPresent()) {
+          return false;
+        }
+        blocks.add(block.get());
+        nextPosition = block.get().getBlockKey().getRange().getEnd() + 1;
+      }
+
+      nextPosition = pos;
+      for (Block block : blocks) {
+        nextPosition += block.read(buf, nextPosition);
+      }
+      return true;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the parts of the given range that are neither cached nor being fetched.
+   *
+   * @param pos the position the range starts at
+   * @param len the length of the range
+   * @return the missing ranges, in order
+   */
+  public List<Range> getMissingRanges(long pos, long len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+
+    long length = Math.min(len, contentLength() - pos);
+    if (length <= 0) {
+      return Collections.emptyList();
+    }
+    return blockManager.getMissingRanges(pos, length);
+  }
+
+  /**
+   * Checks whether none of the given range is cached or being fetched.
+   *
+   * @param pos the position the range starts at
+   * @param len the length of the range
+   * @return true if no byte of the range is in the cache
+   */
+  public boolean isRangeMissing(long pos, long len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+
+    long length = Math.min(len, contentLength() - pos);
+    return length > 0 && blockManager.isRangeMissing(pos, length);
+  }
+
+  /**
+   * Reads data into the provided buffer straight from the object, without copying it through the
+   * cache. This is meant for large reads that are not expected to be read again.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param pos the position to begin reading from
+   * @param readMode the read mode of this request
+   * @param populateCache whether the data is also added to the cache once it is read
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public int readBypassingCache(
+      byte[] buf, int off, int len, long pos, ReadMode readMode, boolean populateCache)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+    Preconditions.checkArgument(0 <= off, "`off` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkArgument(off + len <= buf.length, "`len` must fit in the buffer");
+
+    int length = (int) Math.min(len, contentLength() - pos);
+    if (length == 0) {
+      return 0;
+    }
+
+    // The read does not touch any block, so it doesn't need to hold off eviction
+    blockManager.readBypassingCache(buf, off, pos, length, readMode);
+
+    if (populateCache) {
+      try {
+        lock.readLock().lock();
+        blockManager.addBypassedRange(buf, off, pos, length);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Reads vectored read ranges straight from the object into buffers allocated for them, without
+   * copying them through the cache. The future of each range is completed once its bytes are in
+   * its buffer.
+   *
+   * @param objectRanges the ranges to read
+   * @param allocate function to allocate the buffer of a range
+   * @param release function to release the buffer of a range that failed
+   */
+  public void readVectoredBypassingCache(
+      List<ObjectRange> objectRanges,
+      Function<ObjectRange, ByteBuffer> allocate,
+      Consumer<ByteBuffer> release) {
+    blockManager.readVectoredBypassingCache(objectRanges, allocate, release);
+  }
+
   /**
    * Execute an IOPlan.
    *
@@ -169,6 +469,24 @@ public class Blob implements Closeable {
    * @return the status of execution
    */
   public IOPlanExecution execute(IOPlan plan, ReadMode readMode) throws IOException {
+    return executePlan(plan, readMode, null);
+  }
+
+  /**
+   * Execute an IOPlan on behalf of a stream, attributing the requests it issues to the stream.
+   *
+   * @param plan the IOPlan to execute
+   * @param readMode the readMode for which this IoPlan is being executed
+   * @param streamContext context of the stream the plan is executed for
+   * @return the status of execution
+   */
+  public IOPlanExecution execute(
+      IOPlan plan, ReadMode readMode, @NonNull StreamContext streamContext) throws IOException {
+    return executePlan(plan, readMode, streamContext);
+  }
+
+  private IOPlanExecution executePlan(
+      IOPlan plan, ReadMode readMode, @Nullable StreamContext streamContext) throws IOException {
     return telemetry.measureStandard(
         () ->
             Operation.builder()
@@ -180,7 +498,7 @@ public class Blob implements Closeable {
         () -> {
           try {
             for (Range range : plan.getPrefetchRanges()) {
-              this.blockManager.makeRangeAvailable(range.getStart(), range.getLength(), readMode);
+              makeRangeAvailable(range.getStart(), range.getLength(), readMode, streamContext);
             }
 
             return IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
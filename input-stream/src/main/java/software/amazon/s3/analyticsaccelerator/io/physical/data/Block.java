@@ -15,21 +15,41 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.BlockKey;
 import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
 /**
  * Represents a block of data from an object stream, identified by a {@link BlockKey} and a
  * generation number. The block's data is set asynchronously and becomes accessible only after it
  * has been marked ready.
+ *
+ * <p>Reads that have to wait for the data are recorded as stalls, and the time between the data
+ * arriving and the first read as the lead time of the fetch. Both are attributed to the {@link
+ * ReadMode} the block was fetched with, so that late prefetches can be told apart from synchronous
+ * fetches.
+ *
+ * <p>The parts of the block that have been read are tracked at a granularity of {@link
+ * #READ_CHUNK_COUNT}ths of the block. The bytes read for the first time are recorded as used, both
+ * by {@link ReadMode} and for the stream the block was fetched on behalf of, and the bytes never
+ * read are recorded as evicted unread when the block is closed.
  */
 public class Block implements Closeable {
   /**
@@ -38,17 +58,45 @@ public class Block implements Closeable {
    * confirms readiness.
    *
    * <p>This field is marked {@code @Nullable} because the data is not initialized at construction
-   * time, which would otherwise cause static code analysis to fail.
+   * time, which would otherwise cause static code analysis to fail. It is volatile, as a {@link
+   * BlockCursor} reads it without going through the latch, and has to see it cleared when the block
+   * is closed on eviction by another thread.
    */
-  @Nullable private byte[] data;
+  @SuppressFBWarnings(
+      value = "VO_VOLATILE_REFERENCE_TO_ARRAY",
+      justification = "Only the reference is published across threads, the array is never mutated")
+  @Nullable
+  private volatile byte[] data;
 
   @Nullable private IOException error;
 
   @Getter private final BlockKey blockKey;
   @Getter private final long generation;
+  @Getter private final ReadMode readMode;
 
   private final BlobStoreIndexCache indexCache;
   private final Metrics aggregatingMetrics;
+  private final Telemetry telemetry;
+  @Nullable private final StreamStatistics owner;
+
+  // Time the data arrived at, and whether the first read after it has been recorded
+  private volatile long dataReadyNanos;
+  private final AtomicBoolean firstReadRecorded = new AtomicBoolean(false);
+  private final AtomicBoolean evictionRecorded = new AtomicBoolean(false);
+
+  // Bit i is set once a byte of the i-th chunk of the block has been read
+  static final int READ_CHUNK_COUNT = Long.SIZE;
+  private static final long ALL_CHUNKS = -1L;
+  private final AtomicLong readChunks = new AtomicLong();
+
+  static final String METRIC_STALL_TIME = "block.stall.time";
+  static final String METRIC_PREFETCH_LEAD_TIME = "block.prefetch.lead.time";
+
+  // Metrics are built once per read mode, as they are reported on the read path
+  private static final Map<ReadMode, Metric> STALL_TIME_METRICS =
+      buildReadModeMetrics(METRIC_STALL_TIME);
+  private static final Map<ReadMode, Metric> PREFETCH_LEAD_TIME_METRICS =
+      buildReadModeMetrics(METRIC_PREFETCH_LEAD_TIME);
 
   /**
    * A synchronization aid that allows threads to wait until the block's data is available.
@@ -69,7 +117,8 @@ public class Block implements Closeable {
   private final CountDownLatch dataReadyLatch = new CountDownLatch(1);
 
   /**
-   * Constructs a {@link Block} object
+   * Constructs a {@link Block} object fetched by a synchronous read, that does not report to
+   * telemetry
    *
    * @param blockKey the key identifying the object and byte range
    * @param generation the generation number of this block in a sequential read pattern
@@ -81,13 +130,58 @@ public class Block implements Closeable {
       long generation,
       @NonNull BlobStoreIndexCache indexCache,
       @NonNull Metrics aggregatingMetrics) {
+    this(blockKey, generation, ReadMode.SYNC, indexCache, aggregatingMetrics, Telemetry.NOOP);
+  }
+
+  /**
+   * Constructs a {@link Block} object
+   *
+   * @param blockKey the key identifying the object and byte range
+   * @param generation the generation number of this block in a sequential read pattern
+   * @param readMode the read mode the block is fetched with
+   * @param indexCache blobstore index cache
+   * @param aggregatingMetrics blobstore metrics
+   * @param telemetry an instance of {@link Telemetry} to report stalls and lead times to
+   */
+  public Block(
+      @NonNull BlockKey blockKey,
+      long generation,
+      @NonNull ReadMode readMode,
+      @NonNull BlobStoreIndexCache indexCache,
+      @NonNull Metrics aggregatingMetrics,
+      @NonNull Telemetry telemetry) {
+    this(blockKey, generation, readMode, indexCache, aggregatingMetrics, telemetry, null);
+  }
+
+  /**
+   * Constructs a {@link Block} object fetched on behalf of a stream
+   *
+   * @param blockKey the key identifying the object and byte range
+   * @param generation the generation number of this block in a sequential read pattern
+   * @param readMode the read mode the block is fetched with
+   * @param indexCache blobstore index cache
+   * @param aggregatingMetrics blobstore metrics
+   * @param telemetry an instance of {@link Telemetry} to report stalls and lead times to
+   * @param owner statistics of the stream the block is fetched on behalf of, if any
+   */
+  public Block(
+      @NonNull BlockKey blockKey,
+      long generation,
+      @NonNull ReadMode readMode,
+      @NonNull BlobStoreIndexCache indexCache,
+      @NonNull Metrics aggregatingMetrics,
+      @NonNull Telemetry telemetry,
+      @Nullable StreamStatistics owner) {
     Preconditions.checkArgument(
         0 <= generation, "`generation` must be non-negative; was: %s", generation);
 
     this.blockKey = blockKey;
     this.generation = generation;
+    this.readMode = readMode;
     this.indexCache = indexCache;
     this.aggregatingMetrics = aggregatingMetrics;
+    this.telemetry = telemetry;
+    this.owner = owner;
   }
 
   /**
@@ -102,7 +196,9 @@ public class Block implements Closeable {
     awaitData();
     indexCache.recordAccess(this.blockKey);
     int contentOffset = posToOffset(pos);
-    return Byte.toUnsignedInt(this.data[contentOffset]);
+    int byteRead = Byte.toUnsignedInt(this.data[contentOffset]);
+    recordRead(pos, 1);
+    return byteRead;
   }
 
   /**
@@ -130,10 +226,150 @@ public class Block implements Closeable {
     int bytesToCopy = Math.min(len, available);
 
     if (bytesToCopy >= 0) System.arraycopy(this.data, contentOffset, buf, off, bytesToCopy);
+    recordRead(pos, bytesToCopy);
 
     return bytesToCopy;
   }
 
+  /**
+   * Reads up to {@code buf.remaining()} bytes from the block starting at the given object position
+   * and writes them into the provided buffer at its current position. The position of the buffer is
+   * advanced by the number of bytes read.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(@NonNull ByteBuffer buf, long pos) throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+
+    awaitData();
+
+    indexCache.recordAccess(this.blockKey);
+    int contentOffset = posToOffset(pos);
+    int available = this.data.length - contentOffset;
+    int bytesToCopy = Math.min(buf.remaining(), available);
+
+    if (bytesToCopy >= 0) buf.put(this.data, contentOffset, bytesToCopy);
+    recordRead(pos, bytesToCopy);
+
+    return bytesToCopy;
+  }
+
+  /**
+   * Reads a single byte for a {@link BlockCursor} that pinned this block once its data was ready.
+   * It neither waits for the data nor records the access in the index cache.
+   *
+   * @param pos the absolute position within the object
+   * @return the unsigned byte value at the given position, or -1 if the block has been closed
+   */
+  int readPinned(long pos) {
+    byte[] bytes = this.data;
+    int contentOffset = posToOffset(pos);
+    if (bytes == null || contentOffset >= bytes.length) {
+      return -1;
+    }
+    return Byte.toUnsignedInt(bytes[contentOffset]);
+  }
+
+  /**
+   * Reads {@code len} bytes for a {@link BlockCursor} that pinned this block once its data was
+   * ready. It neither waits for the data nor records the access in the index cache. Nothing is read
+   * unless all bytes are held by the block.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param pos the position to begin reading from
+   * @return {@code len}, or -1 if the block has been closed or does not hold all bytes
+   */
+  int readPinned(byte[] buf, int off, int len, long pos) {
+    byte[] bytes = this.data;
+    int contentOffset = posToOffset(pos);
+    if (bytes == null || contentOffset + len > bytes.length) {
+      return -1;
+    }
+    System.arraycopy(bytes, contentOffset, buf, off, len);
+    return len;
+  }
+
+  /**
+   * Records that {@code len} bytes starting at the given object position have been read. The
+   * bytes of the chunks read for the first time are recorded as used.
+   *
+   * @param pos the position the read started at
+   * @param len the number of bytes read
+   */
+  void recordRead(long pos, int len) {
+    if (len <= 0) {
+      return;
+    }
+    int length = getLength();
+    int chunkSize = chunkSize(length);
+    int offset = posToOffset(pos);
+    long chunks =
+        chunksBetween(offset / chunkSize, Math.min(offset + len - 1, length - 1) / chunkSize);
+
+    // Re-reads of the same chunks are the common case, and are not recorded again
+    long previous = readChunks.get();
+    if ((previous & chunks) == chunks) {
+      return;
+    }
+    previous = readChunks.getAndAccumulate(chunks, (a, b) -> a | b);
+    long newChunks = chunks & ~previous;
+    if (newChunks == 0) {
+      return;
+    }
+    long usedBytes = chunkBytes(newChunks, length);
+    aggregatingMetrics.add(MetricKey.USED_BYTES, readMode, usedBytes);
+    if (owner != null) {
+      owner.recordUsedBytes(usedBytes);
+    }
+  }
+
+  /**
+   * Marks the whole block as read without recording any used bytes, for blocks that only cache
+   * data already handed to the reader.
+   */
+  void markRead() {
+    int length = getLength();
+    readChunks.set(chunksBetween(0, (length - 1) / chunkSize(length)));
+  }
+
+  /**
+   * Returns the number of bytes of the block that have been read, at chunk granularity.
+   *
+   * @return the number of bytes read
+   */
+  long getReadBytes() {
+    return chunkBytes(readChunks.get(), getLength());
+  }
+
+  private static int chunkSize(int length) {
+    return Math.max(1, (length + READ_CHUNK_COUNT - 1) / READ_CHUNK_COUNT);
+  }
+
+  private static long chunksBetween(int first, int last) {
+    return (ALL_CHUNKS >>> (Long.SIZE - 1 - last)) & (ALL_CHUNKS << first);
+  }
+
+  /** Number of bytes of the block held by the given chunks; the last chunk may be a short one. */
+  private static long chunkBytes(long chunks, int length) {
+    int chunkSize = chunkSize(length);
+    long bytes = (long) Long.bitCount(chunks) * chunkSize;
+    int lastChunk = (length - 1) / chunkSize;
+    if ((chunks & (1L << lastChunk)) != 0) {
+      bytes -= (long) (lastChunk + 1) * chunkSize - length;
+    }
+    return bytes;
+  }
+
+  /** Records an access to this block in the index cache, so that it is not evicted as idle. */
+  void recordAccess() {
+    indexCache.recordAccess(this.blockKey);
+  }
+
   /**
    * Checks if data of the block is ready
    *
@@ -163,6 +399,7 @@ public class Block implements Closeable {
     this.data = data;
     this.aggregatingMetrics.add(MetricKey.MEMORY_USAGE, data.length);
     this.indexCache.put(this.blockKey, this.blockKey.getRange().getLength());
+    this.dataReadyNanos = System.nanoTime();
     dataReadyLatch.countDown();
   }
 
@@ -178,15 +415,24 @@ public class Block implements Closeable {
 
   /**
    * Waits for the block's data to become available. This method blocks until {@link
-   * #setData(byte[])} is called.
+   * #setData(byte[])} is called. A wait is recorded as a stall, and the first read of the data
+   * records the lead time of the fetch.
    *
+   * @return the time (in nanoseconds) spent waiting for the data, 0 if it was already available
    * @throws IOException if the thread is interrupted or data is not set
    */
-  private void awaitData() throws IOException {
-    try {
-      dataReadyLatch.await();
-    } catch (InterruptedException e) {
-      throw new IOException("Error while reading data. Read interrupted while waiting for data", e);
+  long awaitData() throws IOException {
+    long stallNanos = 0;
+    if (!isDataReady()) {
+      long waitStart = System.nanoTime();
+      try {
+        dataReadyLatch.await();
+      } catch (InterruptedException e) {
+        throw new IOException(
+            "Error while reading data. Read interrupted while waiting for data", e);
+      }
+      stallNanos = System.nanoTime() - waitStart;
+      recordStall(stallNanos);
     }
     if (this.error != null) {
       throw error;
@@ -194,6 +440,33 @@ public class Block implements Closeable {
     if (this.data == null) {
       throw new IOException("Error while reading data. Block data is null after successful await");
     }
+    if (!firstReadRecorded.get() && firstReadRecorded.compareAndSet(false, true)) {
+      // A read that had to wait for the data found it with no lead time
+      recordFirstRead(stallNanos > 0 ? 0 : Math.max(0, System.nanoTime() - dataReadyNanos));
+    }
+    return stallNanos;
+  }
+
+  private void recordStall(long stallNanos) {
+    aggregatingMetrics.add(MetricKey.STALL_COUNT, readMode, 1);
+    aggregatingMetrics.add(MetricKey.STALL_TIME_NANOS, readMode, stallNanos);
+    telemetry.measure(STALL_TIME_METRICS.get(readMode), stallNanos);
+  }
+
+  private void recordFirstRead(long leadTimeNanos) {
+    aggregatingMetrics.add(MetricKey.BLOCK_FIRST_READ_COUNT, readMode, 1);
+    aggregatingMetrics.add(MetricKey.PREFETCH_LEAD_TIME_NANOS, readMode, leadTimeNanos);
+    telemetry.measure(PREFETCH_LEAD_TIME_METRICS.get(readMode), leadTimeNanos);
+  }
+
+  private static Map<ReadMode, Metric> buildReadModeMetrics(String name) {
+    Map<ReadMode, Metric> metrics = new EnumMap<>(ReadMode.class);
+    for (ReadMode readMode : ReadMode.values()) {
+      metrics.put(
+          readMode,
+          Metric.builder().name(name).attribute(StreamAttributes.readMode(readMode)).build());
+    }
+    return metrics;
   }
 
   /**
@@ -205,9 +478,28 @@ public class Block implements Closeable {
     return this.blockKey.getRange().getLength();
   }
 
-  /** Releases the resources held by this block by clearing the internal data buffer. */
+  /**
+   * Records the eviction of a loaded block, along with the bytes of it that were never read. Only
+   * the first call for a block is recorded.
+   */
+  void recordEviction() {
+    if (this.data == null || !evictionRecorded.compareAndSet(false, true)) {
+      return;
+    }
+    aggregatingMetrics.add(MetricKey.BLOCK_EVICTION_COUNT, readMode, 1);
+    long unreadBytes = getLength() - getReadBytes();
+    if (unreadBytes > 0) {
+      aggregatingMetrics.add(MetricKey.EVICTED_UNREAD_BYTES, readMode, unreadBytes);
+    }
+  }
+
+  /**
+   * Releases the resources held by this block by clearing the internal data buffer. A loaded block
+   * is recorded as evicted.
+   */
   @Override
   public void close() throws IOException {
+    recordEviction();
     this.data = null;
   }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+
+/**
+ * Serves the sequential single byte and tiny reads of a single stream straight from the block it
+ * is reading. Readers such as parquet-mr decode dictionaries and page headers with thousands of
+ * such reads, and taking each of them through the {@link BlobStore}, the {@link Blob} lock and the
+ * {@link BlockManager} costs far more than the bytes they return.
+ *
+ * <p>Once a stream issues a tiny read that starts right where its previous read ended, the cursor
+ * pins the loaded block holding the next byte. Further tiny reads that continue where the previous
+ * one ended, and fall entirely within the pinned block, are then copied out of it directly. Any
+ * other read misses and is expected to go through the full read path, after which {@link
+ * #onRead(Blob, long, int)} is called. The cursor also misses once the pinned block has been
+ * evicted, and releases it.
+ *
+ * <p>Reads served by the cursor are recorded in the {@link StreamReadPattern} of the stream as a
+ * single run by {@link #flush(StreamReadPattern)}, which must be called before the next read that
+ * goes through the full read path. The run is recorded as read in the block it was served from at
+ * the same time. The access to the pinned block is recorded in the index cache
+ * when it is pinned and every {@link #RECORD_ACCESS_INTERVAL} reads after that, so that it is not
+ * evicted as idle while it is being read.
+ *
+ * <p>This class is not thread safe, as it belongs to a single stream.
+ */
+public class BlockCursor {
+  /** Returned by the read methods when the read cannot be served from the pinned block. */
+  public static final int MISS = -1;
+
+  private static final int RECORD_ACCESS_INTERVAL = 4096;
+
+  private final int maxReadBytes;
+  private final Metrics aggregatingMetrics;
+
+  private Block block;
+  private long blockStart;
+  private long blockEnd;
+  // The position right after the last read of the stream, -1 if unknown
+  private long nextPosition = -1;
+  // The block, first and last read served since the last flush, runStart is -1 if there was none
+  private Block runBlock;
+  private long runStart = -1;
+  private long lastReadStart;
+  private int lastReadLength;
+  private int runReads;
+  private int readsSinceAccess;
+
+  /**
+   * Creates a new instance of {@link BlockCursor}.
+   *
+   * @param maxReadBytes largest read, in bytes, that is served from the pinned block
+   * @param aggregatingMetrics metrics to record the reads served by the cursor to
+   */
+  public BlockCursor(int maxReadBytes, @NonNull Metrics aggregatingMetrics) {
+    Preconditions.checkArgument(maxReadBytes > 0, "`maxReadBytes` must be positive");
+    this.maxReadBytes = maxReadBytes;
+    this.aggregatingMetrics = aggregatingMetrics;
+  }
+
+  /**
+   * Reads a single byte from the pinned block.
+   *
+   * @param pos the position to read
+   * @return the unsigned byte read, or {@link #MISS} if it cannot be served from the pinned block
+   */
+  public int read(long pos) {
+    if (!covers(pos, 1)) {
+      return MISS;
+    }
+    int byteRead = block.readPinned(pos);
+    if (byteRead < 0) {
+      release();
+      return MISS;
+    }
+    served(pos, 1);
+    return byteRead;
+  }
+
+  /**
+   * Reads {@code len} bytes from the pinned block into the provided buffer. Nothing is read unless
+   * all bytes are held by the block.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param pos the position to begin reading from
+   * @return {@code len}, or {@link #MISS} if the read cannot be served from the pinned block
+   */
+  public int read(byte[] buf, int off, int len, long pos) {
+    if (len <= 0 || len > maxReadBytes || !covers(pos, len)) {
+      return MISS;
+    }
+    int bytesRead = block.readPinned(buf, off, len, pos);
+    if (bytesRead < 0) {
+      release();
+      return MISS;
+    }
+    served(pos, len);
+    return bytesRead;
+  }
+
+  /**
+   * Tracks a read that went through the full read path, and pins the block holding the byte that
+   * follows it if the read was a tiny one continuing the previous read of the stream.
+   *
+   * @param blob the blob the read was served from
+   * @param pos the position the read started at
+   * @param bytesRead the number of bytes read
+   */
+  public void onRead(Blob blob, long pos, int bytesRead) {
+    boolean sequential = pos == nextPosition;
+    this.nextPosition = bytesRead > 0 ? pos + bytesRead : -1;
+    if (!sequential || bytesRead <= 0 || bytesRead > maxReadBytes) {
+      return;
+    }
+
+    // Keep the pinned block if it also holds the byte that follows the read
+    if (block != null && blockStart <= nextPosition && nextPosition <= blockEnd) {
+      return;
+    }
+    this.block = null;
+    blob.getLoadedBlock(nextPosition).ifPresent(this::pin);
+  }
+
+  /**
+   * Records the reads served since the last flush in the access pattern of the stream.
+   *
+   * @param streamReadPattern access pattern of the stream
+   */
+  public void flush(StreamReadPattern streamReadPattern) {
+    if (runStart >= 0) {
+      streamReadPattern.recordCachedReads(runStart, lastReadStart, lastReadLength);
+      runBlock.recordRead(runStart, (int) (lastReadStart + lastReadLength - runStart));
+      aggregatingMetrics.add(MetricKey.BLOCK_CURSOR_HIT, runReads);
+      runBlock = null;
+      runStart = -1;
+      runReads = 0;
+    }
+  }
+
+  /**
+   * Releases the pinned block, if any, and forgets where the last read of the stream ended. The
+   * next read that continues it will not pin a block.
+   */
+  public void release() {
+    this.block = null;
+    this.nextPosition = -1;
+  }
+
+  private boolean covers(long pos, int len) {
+    return block != null && pos == nextPosition && blockStart <= pos && pos + len - 1 <= blockEnd;
+  }
+
+  private void pin(Block block) {
+    this.block = block;
+    this.blockStart = block.getBlockKey().getRange().getStart();
+    this.blockEnd = block.getBlockKey().getRange().getEnd();
+    this.readsSinceAccess = 0;
+    block.recordAccess();
+  }
+
+  private void served(long pos, int len) {
+    if (runStart < 0) {
+      runBlock = block;
+      runStart = pos;
+    }
+    lastReadStart = pos;
+    lastReadLength = len;
+    runReads++;
+    nextPosition = pos + len;
+
+    if (++readsSinceAccess >= RECORD_ACCESS_INTERVAL) {
+      readsSinceAccess = 0;
+      block.recordAccess();
+    }
+  }
+}
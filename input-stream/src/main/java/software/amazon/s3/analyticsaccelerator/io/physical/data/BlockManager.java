@@ -17,19 +17,27 @@ package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.SequentialReadProgression;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
 import software.amazon.s3.analyticsaccelerator.io.physical.reader.StreamReader;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
@@ -37,6 +45,7 @@ import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.AnalyticsAcceleratorUtils;
 import software.amazon.s3.analyticsaccelerator.util.BlockKey;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -147,15 +156,72 @@ public class BlockManager implements Closeable {
    * @param readMode whether this ask corresponds to a sync or async read
    */
   public synchronized void makeRangeAvailable(long pos, long len, ReadMode readMode) {
+    makeRangeAvailable(pos, len, readMode, null, null);
+  }
+
+  /**
+   * Method that ensures that a range is fully available in the object store, on behalf of a
+   * specific stream. The requests issued and the blocks fetched are attributed to the statistics
+   * of that stream. The sequential progression of a synchronous read is derived from the access
+   * pattern of the stream rather than from the blocks that happen to be in the shared store, while
+   * the prefetches of the stream neither shape nor follow its access pattern.
+   *
+   * @param pos start of a read
+   * @param len length of the read
+   * @param readMode whether this ask corresponds to a sync or async read
+   * @param streamContext context of the stream the range is made available for
+   */
+  public synchronized void makeRangeAvailable(
+      long pos, long len, ReadMode readMode, @NonNull StreamContext streamContext) {
+    makeRangeAvailable(
+        pos,
+        len,
+        readMode,
+        readMode == ReadMode.SYNC ? streamContext.getStreamReadPattern() : null,
+        streamContext.getStreamStatistics());
+  }
+
+  /**
+   * Makes a range available, on behalf of a stream or of none.
+   *
+   * @param pos start of a read
+   * @param len length of the read
+   * @param readMode whether this ask corresponds to a sync or async read
+   * @param streamReadPattern access pattern of the reading stream, or null to infer the
+   *     progression from the blocks in the store
+   * @param streamStatistics statistics of the reading stream, or null if there is none
+   */
+  private void makeRangeAvailable(
+      long pos,
+      long len,
+      ReadMode readMode,
+      @Nullable StreamReadPattern streamReadPattern,
+      @Nullable StreamStatistics streamStatistics) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
 
     long endPos = pos + len - 1;
 
     // Range is available, return
-    if (isRangeAvailable(pos, endPos)) return;
+    if (isRangeAvailable(pos, endPos)) {
+      aggregatingMetrics.add(MetricKey.CACHE_HIT, readMode, 1);
+      if (streamReadPattern != null) {
+        streamReadPattern.recordCachedRead(pos, len);
+      }
+      return;
+    }
+    aggregatingMetrics.add(MetricKey.CACHE_MISS, readMode, 1);
+
+    // Column and dictionary prefetches know the exact bytes they need, fetch them as extents
+    if (isExactRangeRead(readMode)) {
+      makeExtentsAvailable(pos, truncatePos(endPos), readMode, streamStatistics);
+      return;
+    }
 
-    long generation = getGeneration(pos, readMode);
+    long generation = getGeneration(pos, readMode, streamReadPattern);
+    if (streamReadPattern != null) {
+      streamReadPattern.recordRead(pos, len, generation);
+    }
 
     /*
      There are three different range length we need to consider.
@@ -213,18 +279,121 @@ public class BlockManager implements Closeable {
             for (int blockIndex : group) {
               BlockKey blockKey = new BlockKey(objectKey, getBlockIndexRange(blockIndex));
               Block block =
-                  new Block(blockKey, generation, this.indexCache, this.aggregatingMetrics);
+                  new Block(
+                      blockKey,
+                      generation,
+                      readMode,
+                      this.indexCache,
+                      this.aggregatingMetrics,
+                      this.telemetry,
+                      streamStatistics);
               // Add block to the store for future reference
               blockStore.add(block);
               blocksToFill.add(block);
             }
 
             // Perform a single read operation for this group of sequential blocks
-            streamReader.read(blocksToFill, readMode);
+            readBlocks(blocksToFill, readMode, streamStatistics);
+          }
+        });
+  }
+
+  /**
+   * Fetches the bytes of the given range that are not yet in the store as exact extents, without
+   * rounding them to block boundaries or extending them with read ahead. Each missing range is cut
+   * into extents of at most the block size, and consecutive extents are fetched together up to the
+   * target request size.
+   *
+   * @param pos start of the range
+   * @param endPos end of the range, inclusive
+   * @param readMode the read mode of this request
+   * @param streamStatistics statistics of the reading stream, may be null
+   */
+  private void makeExtentsAvailable(
+      long pos, long endPos, ReadMode readMode, @Nullable StreamStatistics streamStatistics) {
+    List<Range> missingRanges = blockStore.getMissingRangesInRange(new Range(pos, endPos));
+    if (missingRanges.isEmpty()) {
+      return;
+    }
+
+    this.telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_MAKE_RANGE_AVAILABLE)
+                .attribute(StreamAttributes.uri(this.objectKey.getS3URI()))
+                .attribute(StreamAttributes.etag(this.objectKey.getEtag()))
+                .attribute(StreamAttributes.range(pos, endPos))
+                .attribute(StreamAttributes.effectiveRange(pos, endPos))
+                .attribute(StreamAttributes.generation(0))
+                .build(),
+        () -> {
+          long extentSize = configuration.getReadBufferSize();
+          long targetRequestSize = Math.max(extentSize, configuration.getTargetRequestSize());
+
+          for (Range missingRange : missingRanges) {
+            List<Block> blocksToFill = new ArrayList<>();
+            long requestLength = 0;
+            for (long start = missingRange.getStart();
+                start <= missingRange.getEnd();
+                start += extentSize) {
+              long end = Math.min(start + extentSize - 1, missingRange.getEnd());
+              if (requestLength + (end - start + 1) > targetRequestSize) {
+                readBlocks(blocksToFill, readMode, streamStatistics);
+                blocksToFill = new ArrayList<>();
+                requestLength = 0;
+              }
+
+              BlockKey blockKey = new BlockKey(objectKey, new Range(start, end));
+              Block block =
+                  new Block(
+                      blockKey,
+                      0,
+                      readMode,
+                      this.indexCache,
+                      this.aggregatingMetrics,
+                      this.telemetry,
+                      streamStatistics);
+              blockStore.addExtent(block);
+              blocksToFill.add(block);
+              requestLength += end - start + 1;
+            }
+            readBlocks(blocksToFill, readMode, streamStatistics);
           }
         });
   }
 
+  /**
+   * Fetches the given blocks with a single request, and records the request for the stream it is
+   * issued on behalf of.
+   *
+   * @param blocks the blocks to fill
+   * @param readMode the read mode of this request
+   * @param streamStatistics statistics of the reading stream, may be null
+   */
+  private void readBlocks(
+      List<Block> blocks, ReadMode readMode, @Nullable StreamStatistics streamStatistics) {
+    if (streamStatistics != null) {
+      long bytes = 0;
+      for (Block block : blocks) {
+        bytes += block.getLength();
+      }
+      streamStatistics.recordRequest(bytes);
+    }
+    streamReader.read(blocks, readMode);
+  }
+
+  /**
+   * Reads that are fetched and cached with their exact extent rather than in fixed-size blocks.
+   *
+   * @param readMode the read mode of a request
+   * @return true if the request should be served with exact extents
+   */
+  private static boolean isExactRangeRead(ReadMode readMode) {
+    return readMode == ReadMode.COLUMN_PREFETCH
+        || readMode == ReadMode.DICTIONARY_PREFETCH
+        || readMode == ReadMode.PATTERN_PREFETCH;
+  }
+
   /**
    * Groups sequential block indexes into separate lists, ensuring each group doesn't exceed the
    * maximum block count.
@@ -243,15 +412,22 @@ public class BlockManager implements Closeable {
    *
    * @param pos position of the read
    * @param readMode whether this ask corresponds to a sync or async read
+   * @param streamReadPattern access pattern of the reading stream, may be null
    * @return generation of the block
    */
-  private long getGeneration(long pos, ReadMode readMode) {
+  private long getGeneration(
+      long pos, ReadMode readMode, @Nullable StreamReadPattern streamReadPattern) {
     // Generation is zero for read modes which not allow request extension or first block of the
     // object
     if (!readMode.allowRequestExtension() || pos < configuration.getReadBufferSize()) return 0;
 
-    Optional<Block> previousBlock = blockStore.getBlock(pos - 1);
-    long generation = previousBlock.map(block -> block.getGeneration() + 1).orElse(0L);
+    long generation;
+    if (streamReadPattern != null) {
+      generation = streamReadPattern.getGeneration(pos);
+    } else {
+      Optional<Block> previousBlock = blockStore.getBlock(pos - 1);
+      generation = previousBlock.map(block -> block.getGeneration() + 1).orElse(0L);
+    }
     return Math.min(generation, maxGeneration);
   }
 
@@ -304,6 +480,112 @@ public class BlockManager implements Closeable {
     return this.blockStore.getBlock(pos);
   }
 
+  /**
+   * Returns the parts of the given range that are neither in the block store nor being fetched into
+   * it.
+   *
+   * @param pos start of the range
+   * @param len length of the range
+   * @return the missing ranges, in order
+   */
+  public synchronized List<Range> getMissingRanges(long pos, long len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 < len, "`len` must be positive");
+
+    return blockStore.getMissingRangesInRange(new Range(pos, pos + len - 1));
+  }
+
+  /**
+   * Checks whether no byte of the given range is in the block store or being fetched into it.
+   *
+   * @param pos start of the range
+   * @param len length of the range
+   * @return true if the whole range is missing from the block store
+   */
+  public synchronized boolean isRangeMissing(long pos, long len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 < len, "`len` must be positive");
+
+    Range range = new Range(pos, pos + len - 1);
+    List<Range> missingRanges = blockStore.getMissingRangesInRange(range);
+    return missingRanges.size() == 1 && missingRanges.get(0).equals(range);
+  }
+
+  /**
+   * Reads a range of the object straight into the provided buffer, without going through the block
+   * store. The read blocks until the whole range is in the buffer.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param pos start of the range
+   * @param len length of the range
+   * @param readMode the read mode of this request
+   * @throws IOException if the range could not be read
+   */
+  public void readBypassingCache(byte[] buf, int off, long pos, int len, ReadMode readMode)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 < len, "`len` must be positive");
+
+    streamReader.readDirect(buf, off, new Range(pos, pos + len - 1), readMode);
+    aggregatingMetrics.add(MetricKey.CACHE_BYPASS_BYTES, len);
+    aggregatingMetrics.add(MetricKey.USED_BYTES, readMode, len);
+  }
+
+  /**
+   * Reads vectored read ranges straight into buffers allocated for them, without going through the
+   * block store. Nearby ranges are coalesced into a single request, and each range completes as
+   * soon as its bytes have arrived.
+   *
+   * @param objectRanges the ranges to read
+   * @param allocate function to allocate the buffer of a range
+   * @param release function to release the buffer of a range that failed
+   */
+  public void readVectoredBypassingCache(
+      @NonNull List<ObjectRange> objectRanges,
+      @NonNull Function<ObjectRange, ByteBuffer> allocate,
+      @NonNull Consumer<ByteBuffer> release) {
+    long usedBytes = 0;
+    for (List<ObjectRange> group : rangeOptimiser.coalesceVectoredRanges(objectRanges)) {
+      streamReader.readVectored(group, allocate, release, ReadMode.READ_VECTORED);
+      for (ObjectRange objectRange : group) {
+        usedBytes += objectRange.getLength();
+      }
+    }
+    aggregatingMetrics.add(MetricKey.USED_BYTES, ReadMode.READ_VECTORED, usedBytes);
+  }
+
+  /**
+   * Adds data that was read while bypassing the block store to it, as exact extents. Parts of the
+   * range that were added to the store in the meantime are left as they are.
+   *
+   * @param buf buffer holding the data
+   * @param off position in buffer at which the data starts
+   * @param pos start of the range the data was read from
+   * @param len length of the range
+   */
+  public synchronized void addBypassedRange(byte[] buf, int off, long pos, int len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 < len, "`len` must be positive");
+
+    long extentSize = configuration.getReadBufferSize();
+    for (Range missingRange : blockStore.getMissingRangesInRange(new Range(pos, pos + len - 1))) {
+      for (long start = missingRange.getStart();
+          start <= missingRange.getEnd();
+          start += extentSize) {
+        long end = Math.min(start + extentSize - 1, missingRange.getEnd());
+        int from = off + (int) (start - pos);
+
+        BlockKey blockKey = new BlockKey(objectKey, new Range(start, end));
+        Block block = new Block(blockKey, 0, this.indexCache, this.aggregatingMetrics);
+        // The data has been handed to the reader already, and is only kept for later reads
+        block.markRead();
+        block.setData(Arrays.copyOfRange(buf, from, from + (int) (end - start + 1)));
+        blockStore.addExtent(block);
+      }
+    }
+  }
+
   /**
    * Removes the specified {@link Block}s from the block store.
    *
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,12 @@ import software.amazon.s3.analyticsaccelerator.util.MetricKey;
  * A container that manages a collection of {@link Block} instances. Each {@code Block} corresponds
  * to a fixed-size chunk of data based on the configured block size. This class provides methods to
  * retrieve, add, and track missing blocks within a specified data range.
+ *
+ * <p>Next to the fixed-size blocks, the store keeps a secondary set of extents: blocks with an
+ * arbitrary, exact byte range. These are used for reads where the caller knows exactly which bytes
+ * it needs (for example Parquet column chunks), so that they can be fetched and cached without
+ * being padded to block boundaries. Positions are served from the fixed-size blocks first, and from
+ * the extents otherwise.
  */
 public class BlockStore implements Closeable {
 
@@ -59,6 +66,9 @@ public class BlockStore implements Closeable {
   // Integer key is safe since max S3 file size is 5TB. With 8KB blocks:
   // 5TB / 8KB = ~671M blocks, well within Integer.MAX_VALUE (2.1B)
   private final Map<Integer, Block> blocks;
+  // Maps the start offset of an extent to the extent. Extents are only ever created for bytes that
+  // were not yet covered by a block or another extent, so they never overlap each other.
+  private final TreeMap<Long, Block> extents;
 
   /**
    * Creates a new {@link BlockStore} with the specified configuration.
@@ -80,6 +90,7 @@ public class BlockStore implements Closeable {
     // are synchronised so, we can use HashMap<> here rather than
     // synchronised or ConcurrentHashMap to optimize the performance
     blocks = new HashMap<>();
+    extents = new TreeMap<>();
   }
 
   /**
@@ -90,7 +101,26 @@ public class BlockStore implements Closeable {
    */
   public Optional<Block> getBlock(long pos) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
-    return getBlockByIndex(getPositionIndex(pos));
+    Optional<Block> block = getBlockByIndex(getPositionIndex(pos));
+    if (block.isPresent()) {
+      return block;
+    }
+    return getExtent(pos);
+  }
+
+  /**
+   * Retrieves the extent containing the byte at the specified position, if it exists.
+   *
+   * @param pos the byte offset to locate
+   * @return an {@link Optional} containing the extent if found, or empty if not present
+   */
+  public Optional<Block> getExtent(long pos) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Map.Entry<Long, Block> entry = extents.floorEntry(pos);
+    if (entry == null || entry.getValue().getBlockKey().getRange().getEnd() < pos) {
+      return Optional.empty();
+    }
+    return Optional.of(entry.getValue());
   }
 
   /**
@@ -121,7 +151,24 @@ public class BlockStore implements Closeable {
   }
 
   /**
-   * Removes the specified {@link Block} from the store and updates memory usage metrics.
+   * Adds a new extent to the store if an extent starting at the same position doesn't already
+   * exist. Callers are expected to only add extents for bytes that are not yet in the store, see
+   * {@link #getMissingRangesInRange(Range)}.
+   *
+   * @param block the extent to add
+   */
+  public void addExtent(Block block) {
+    long start = block.getBlockKey().getRange().getStart();
+    if (extents.containsKey(start)) {
+      LOG.debug("Extent already exists at position {}, skipping add", start);
+    } else {
+      extents.put(start, block);
+    }
+  }
+
+  /**
+   * Removes the specified {@link Block} from the store and updates memory usage metrics. The block
+   * can either be a fixed-size block or an extent.
    *
    * @param block the {@code Block} to remove
    */
@@ -131,34 +178,106 @@ public class BlockStore implements Closeable {
     }
 
     int blockIndex = getBlockIndex(block);
-    if (blocks.remove(blockIndex) != null && block.isDataReady()) {
+    long start = block.getBlockKey().getRange().getStart();
+    boolean removed = blocks.remove(blockIndex, block) || extents.remove(start, block);
+    if (removed && block.isDataReady()) {
       aggregatingMetrics.reduce(MetricKey.MEMORY_USAGE, block.getLength());
       safeClose(block);
     }
   }
 
   /**
-   * Returns the list of block indexes that are missing for the given byte range.
+   * Returns the list of block indexes that are missing for the given byte range. A block index is
+   * not reported as missing if the part of the range that falls into it is fully held by extents.
    *
    * @param range the byte range to check for missing blocks
    * @return a list of missing block indexes within the specified range
    */
   public List<Integer> getMissingBlockIndexesInRange(Range range) {
-    return getMissingBlockIndexesInRange(
-        getPositionIndex(range.getStart()), getPositionIndex(range.getEnd()));
-  }
-
-  private List<Integer> getMissingBlockIndexesInRange(int startIndex, int endIndex) {
     List<Integer> missingBlockIndexes = new ArrayList<>();
+    long blockSize = this.configuration.getReadBufferSize();
 
-    for (int i = startIndex; i <= endIndex; i++) {
-      if (!blocks.containsKey(i)) {
+    for (int i = getPositionIndex(range.getStart()); i <= getPositionIndex(range.getEnd()); i++) {
+      if (blocks.containsKey(i)) {
+        continue;
+      }
+      // A block index whose requested bytes are all held by extents does not need to be fetched
+      long start = Math.max(range.getStart(), i * blockSize);
+      long end = Math.min(range.getEnd(), (i + 1) * blockSize - 1);
+      if (getFirstPositionNotInExtents(start, end) <= end) {
         missingBlockIndexes.add(i);
       }
     }
     return missingBlockIndexes;
   }
 
+  /**
+   * Returns the exact byte ranges within the given range that are neither held by a block nor by an
+   * extent.
+   *
+   * <p>Example with 8KB block size, a block at index 0 and an extent [10000-11999]: for range
+   * [4096-15999] the missing ranges are [8192-9999] and [12000-15999].
+   *
+   * @param range the byte range to check
+   * @return the ordered list of missing ranges within the specified range
+   */
+  public List<Range> getMissingRangesInRange(Range range) {
+    List<Range> missingRanges = new ArrayList<>();
+    long pos = range.getStart();
+    long missingStart = -1;
+
+    while (pos <= range.getEnd()) {
+      Optional<Block> block = getBlock(pos);
+      if (block.isPresent()) {
+        if (missingStart >= 0) {
+          missingRanges.add(new Range(missingStart, pos - 1));
+          missingStart = -1;
+        }
+        pos = block.get().getBlockKey().getRange().getEnd() + 1;
+      } else {
+        if (missingStart < 0) {
+          missingStart = pos;
+        }
+        pos = getNextCoveredPosition(pos, range.getEnd());
+      }
+    }
+
+    if (missingStart >= 0) {
+      missingRanges.add(new Range(missingStart, range.getEnd()));
+    }
+    return missingRanges;
+  }
+
+  /**
+   * Finds the first position after {@code pos} that could be held by a block or an extent, bounded
+   * by {@code end + 1}. The position {@code pos} itself is known to be missing.
+   */
+  private long getNextCoveredPosition(long pos, long end) {
+    long blockSize = this.configuration.getReadBufferSize();
+    long next = Math.min(end + 1, (getPositionIndex(pos) + 1) * blockSize);
+    Long nextExtentStart = extents.higherKey(pos);
+    if (nextExtentStart != null) {
+      next = Math.min(next, nextExtentStart);
+    }
+    return next;
+  }
+
+  /**
+   * Walks the extents from {@code start} and returns the first position that is not held by any of
+   * them, or {@code end + 1} if the whole range is held by extents.
+   */
+  private long getFirstPositionNotInExtents(long start, long end) {
+    long pos = start;
+    while (pos <= end) {
+      Optional<Block> extent = getExtent(pos);
+      if (!extent.isPresent()) {
+        return pos;
+      }
+      pos = extent.get().getBlockKey().getRange().getEnd() + 1;
+    }
+    return pos;
+  }
+
   /**
    * Cleans data from memory by removing blocks that are no longer needed. This method iterates
    * through all blocks in memory and removes those that: 1. Have their data loaded AND 2. Are not
@@ -166,15 +285,19 @@ public class BlockStore implements Closeable {
    * internal block store - Updates memory usage metrics
    */
   public void cleanUp() {
-    Iterator<Map.Entry<Integer, Block>> iterator = blocks.entrySet().iterator();
+    cleanUp(blocks.values().iterator());
+    cleanUp(extents.values().iterator());
+  }
+
+  private void cleanUp(Iterator<Block> iterator) {
     while (iterator.hasNext()) {
-      Map.Entry<Integer, Block> entry = iterator.next();
-      Block block = entry.getValue();
+      Block block = iterator.next();
       BlockKey blockKey = block.getBlockKey();
       if (block.isDataReady() && !indexCache.contains(blockKey)) {
         try {
           iterator.remove();
           aggregatingMetrics.reduce(MetricKey.MEMORY_USAGE, blockKey.getRange().getLength());
+          block.recordEviction();
         } catch (Exception e) {
           LOG.error("Error in removing block {}", e.getMessage());
         }
@@ -224,7 +347,7 @@ public class BlockStore implements Closeable {
   }
 
   /**
-   * Closes all {@link Block} instances in the store and clears the internal map. This should be
+   * Closes all {@link Block} instances in the store and clears the internal maps. This should be
    * called to release any underlying resources or memory.
    */
   @Override
@@ -232,7 +355,11 @@ public class BlockStore implements Closeable {
     for (Block block : blocks.values()) {
       safeClose(block);
     }
+    for (Block block : extents.values()) {
+      safeClose(block);
+    }
     blocks.clear();
+    extents.clear();
   }
 
   private void safeClose(Block block) {
@@ -249,6 +376,6 @@ public class BlockStore implements Closeable {
    * @return true if blockstore is empty
    */
   public boolean isEmpty() {
-    return this.blocks.isEmpty();
+    return this.blocks.isEmpty() && this.extents.isEmpty();
   }
 }
@@ -20,7 +20,12 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import org.slf4j.Logger;
@@ -29,6 +34,7 @@ import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
@@ -46,12 +52,12 @@ public class MetadataStore implements Closeable {
   private final ObjectClient objectClient;
   private final Telemetry telemetry;
   private final Cache<S3URI, ObjectMetadata> cache;
+  private final Map<S3URI, CompletableFuture<ObjectMetadata>> inFlight = new ConcurrentHashMap<>();
   private final PhysicalIOConfiguration configuration;
   private final Metrics aggregatingMetrics;
 
   private static final Logger LOG = LoggerFactory.getLogger(MetadataStore.class);
   private static final String OPERATION_METADATA_HEAD_ASYNC = "metadata.store.head.async";
-  private static final String OPERATION_METADATA_HEAD_JOIN = "metadata.store.head.join";
 
   /**
    * Constructs a new MetadataStore.
@@ -89,7 +95,28 @@ public class MetadataStore implements Closeable {
    */
   public ObjectMetadata get(S3URI s3URI, OpenStreamInformation openStreamInformation)
       throws IOException {
-    return this.asyncGet(s3URI, openStreamInformation);
+    CompletableFuture<ObjectMetadata> metadata = this.asyncGet(s3URI, openStreamInformation);
+    try {
+      return metadata.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException interrupted =
+          new InterruptedIOException("Interrupted while fetching metadata of " + s3URI);
+      interrupted.initCause(e);
+      throw interrupted;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException("Error while fetching metadata of " + s3URI, cause);
+    }
   }
 
   /**
@@ -105,31 +132,100 @@ public class MetadataStore implements Closeable {
 
   /**
    * Get the metadata for an object asynchronously (either from cache or the underlying object
-   * store).
+   * store). Concurrent requests for the same object share a single HEAD request, while requests for
+   * different objects do not wait for each other. When the object client is an {@link
+   * AsyncObjectClient} the HEAD request is composed on its future, otherwise it is made on the
+   * calling thread.
    *
    * @param s3URI the object to fetch the metadata for
    * @param openStreamInformation contains the open stream information
    * @return returns the {@link CompletableFuture} that holds object's metadata.
    */
-  public synchronized ObjectMetadata asyncGet(
+  public CompletableFuture<ObjectMetadata> asyncGet(
+      S3URI s3URI, OpenStreamInformation openStreamInformation) {
+    CompletableFuture<ObjectMetadata> pending;
+    synchronized (this) {
+      ObjectMetadata cached = this.cache.getIfPresent(s3URI);
+      if (cached != null) {
+        this.aggregatingMetrics.add(MetricKey.METADATA_CACHE_HIT, 1);
+        return CompletableFuture.completedFuture(cached);
+      }
+      CompletableFuture<ObjectMetadata> existing = this.inFlight.get(s3URI);
+      if (existing != null) {
+        // The lookup is served by the HEAD request already in flight
+        this.aggregatingMetrics.add(MetricKey.METADATA_CACHE_HIT, 1);
+        return existing;
+      }
+      this.aggregatingMetrics.add(MetricKey.METADATA_CACHE_MISS, 1);
+      pending = new CompletableFuture<>();
+      this.inFlight.put(s3URI, pending);
+    }
+
+    CompletableFuture<ObjectMetadata> head;
+    try {
+      head = headObject(s3URI, openStreamInformation);
+    } catch (Throwable t) {
+      head = new CompletableFuture<>();
+      head.completeExceptionally(t);
+    }
+    head.whenComplete(
+        (objectMetadata, error) -> {
+          if (error == null) {
+            openStreamInformation.getRequestCallback().onHeadRequest();
+            this.aggregatingMetrics.add(MetricKey.HEAD_REQUEST_COUNT, 1);
+            synchronized (this) {
+              this.cache.put(s3URI, objectMetadata);
+              this.inFlight.remove(s3URI, pending);
+            }
+            pending.complete(objectMetadata);
+          } else {
+            this.inFlight.remove(s3URI, pending);
+            pending.completeExceptionally(unwrap(error));
+          }
+        });
+    return pending;
+  }
+
+  /**
+   * Issues the HEAD request for an object, asynchronously if the object client supports it.
+   *
+   * @param s3URI the object to fetch the metadata for
+   * @param openStreamInformation contains the open stream information
+   * @return the {@link CompletableFuture} of the HEAD request
+   */
+  private CompletableFuture<ObjectMetadata> headObject(
       S3URI s3URI, OpenStreamInformation openStreamInformation) {
-    return this.cache.get(
-        s3URI,
-        uri ->
-            telemetry.measureCritical(
-                () ->
-                    Operation.builder()
-                        .name(OPERATION_METADATA_HEAD_ASYNC)
-                        .attribute(StreamAttributes.uri(s3URI))
-                        .build(),
-                () -> {
-                  ObjectMetadata objectMetadata =
-                      objectClient.headObject(
-                          HeadRequest.builder().s3Uri(s3URI).build(), openStreamInformation);
-                  openStreamInformation.getRequestCallback().onHeadRequest();
-                  this.aggregatingMetrics.add(MetricKey.HEAD_REQUEST_COUNT, 1);
-                  return objectMetadata;
-                }));
+    HeadRequest headRequest = HeadRequest.builder().s3Uri(s3URI).build();
+    if (objectClient instanceof AsyncObjectClient) {
+      return telemetry.measureCritical(
+          () ->
+              Operation.builder()
+                  .name(OPERATION_METADATA_HEAD_ASYNC)
+                  .attribute(StreamAttributes.uri(s3URI))
+                  .build(),
+          ((AsyncObjectClient) objectClient).headObjectAsync(headRequest, openStreamInformation));
+    }
+    return CompletableFuture.completedFuture(
+        telemetry.measureCritical(
+            () ->
+                Operation.builder()
+                    .name(OPERATION_METADATA_HEAD_ASYNC)
+                    .attribute(StreamAttributes.uri(s3URI))
+                    .build(),
+            () -> objectClient.headObject(headRequest, openStreamInformation)));
+  }
+
+  /**
+   * Strips the {@link CompletionException} a dependent stage wraps the original failure in.
+   *
+   * @param error the failure of a stage
+   * @return the original failure
+   */
+  private static Throwable unwrap(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      return error.getCause();
+    }
+    return error;
   }
 
   /**
@@ -16,8 +16,10 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 
 /**
@@ -190,6 +192,51 @@ public class RangeOptimiser {
     return chunks;
   }
 
+  /**
+   * Groups vectored read ranges that can be fetched with a single request. Ranges are sorted by
+   * offset, and a range joins the group of the previous one when it does not overlap it, the gap
+   * between them is at most {@link PhysicalIOConfiguration#getReadVectoredCoalesceGapBytes()}, and
+   * the group stays within {@link PhysicalIOConfiguration#getReadVectoredMaxCoalescedSize()}.
+   *
+   * <p>Example with a 128KB gap: ranges [0-100KB], [150KB-200KB] and [1MB-1.1MB] are grouped as
+   * [[0-100KB], [150KB-200KB]] and [[1MB-1.1MB]].
+   *
+   * @param objectRanges the vectored read ranges, in any order
+   * @return groups of ranges sorted by offset, each to be fetched with one request
+   */
+  public List<List<ObjectRange>> coalesceVectoredRanges(List<ObjectRange> objectRanges) {
+    List<List<ObjectRange>> groups = new ArrayList<>();
+    if (objectRanges == null || objectRanges.isEmpty()) {
+      return groups;
+    }
+
+    List<ObjectRange> sortedRanges = new ArrayList<>(objectRanges);
+    sortedRanges.sort(Comparator.comparingLong(ObjectRange::getOffset));
+
+    List<ObjectRange> currentGroup = null;
+    long groupStart = 0;
+    long groupEnd = 0;
+    for (ObjectRange objectRange : sortedRanges) {
+      long start = objectRange.getOffset();
+      long end = start + objectRange.getLength();
+
+      // Overlapping ranges are fetched separately, as each byte of a response is read only once
+      boolean canJoin =
+          currentGroup != null
+              && start >= groupEnd
+              && start - groupEnd <= configuration.getReadVectoredCoalesceGapBytes()
+              && end - groupStart <= configuration.getReadVectoredMaxCoalescedSize();
+      if (!canJoin) {
+        currentGroup = new ArrayList<>();
+        groups.add(currentGroup);
+        groupStart = start;
+      }
+      currentGroup.add(objectRange);
+      groupEnd = end;
+    }
+    return groups;
+  }
+
   private List<List<Integer>> createInitialChunks(List<Integer> group, int blocksPerTargetRequest) {
     List<List<Integer>> chunks = new ArrayList<>(group.size() / blocksPerTargetRequest + 1);
     for (int i = 0; i < group.size(); i += blocksPerTargetRequest) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
+
+/**
+ * The per-stream state a {@link Blob} is read with. Blobs and their blocks are shared between all
+ * streams reading the same object, so a stream passes its context along with its reads: the
+ * sequential progression of its reads is derived from its access pattern, and the requests and
+ * block reads they cause are attributed to its statistics. A context is owned by the PhysicalIO of
+ * the stream.
+ */
+@Value
+public class StreamContext {
+  /** Access pattern of the stream, which its synchronous reads are recorded in. */
+  @NonNull StreamReadPattern streamReadPattern;
+
+  /** Statistics of the stream, which its block reads and the requests it causes are recorded in. */
+  @NonNull StreamStatistics streamStatistics;
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Statistics of a single stream. Blocks are shared between all streams reading the same object, so
+ * factory-wide {@link software.amazon.s3.analyticsaccelerator.common.Metrics} cannot tell which
+ * stream waited for them or asked for them. The reads of a stream record their waits here, and the
+ * blocks fetched on behalf of the stream record how much of them was read.
+ *
+ * <p>This class is thread safe.
+ */
+public class StreamStatistics {
+  private final AtomicLong blockReadCount = new AtomicLong();
+  private final AtomicLong stallCount = new AtomicLong();
+  private final AtomicLong stallTimeNanos = new AtomicLong();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong fetchedBytes = new AtomicLong();
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  /**
+   * Records a read of the stream from a block, and the time it spent waiting for the data of the
+   * block to arrive.
+   *
+   * @param stallNanos the time (in nanoseconds) spent waiting, 0 if the data was available
+   */
+  public void recordBlockRead(long stallNanos) {
+    Preconditions.checkArgument(
+        0 <= stallNanos, "`stallNanos` must be non-negative; was: %s", stallNanos);
+
+    blockReadCount.incrementAndGet();
+    if (stallNanos > 0) {
+      stallCount.incrementAndGet();
+      stallTimeNanos.addAndGet(stallNanos);
+    }
+  }
+
+  /**
+   * Records a GET request issued on behalf of the stream.
+   *
+   * @param bytes the number of bytes requested
+   */
+  public void recordRequest(long bytes) {
+    Preconditions.checkArgument(0 <= bytes, "`bytes` must be non-negative; was: %s", bytes);
+
+    requestCount.incrementAndGet();
+    fetchedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Records bytes fetched on behalf of the stream that were read for the first time.
+   *
+   * @param bytes the number of bytes read
+   */
+  public void recordUsedBytes(long bytes) {
+    Preconditions.checkArgument(0 <= bytes, "`bytes` must be non-negative; was: %s", bytes);
+
+    usedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Returns the number of reads of the stream from blocks.
+   *
+   * @return the number of block reads
+   */
+  public long getBlockReadCount() {
+    return blockReadCount.get();
+  }
+
+  /**
+   * Returns the number of times the stream had to wait for the data of a block.
+   *
+   * @return the number of stalls
+   */
+  public long getStallCount() {
+    return stallCount.get();
+  }
+
+  /**
+   * Returns the time (in nanoseconds) reads of the stream spent waiting for data.
+   *
+   * @return the total stall time
+   */
+  public long getStallTimeNanos() {
+    return stallTimeNanos.get();
+  }
+
+  /**
+   * Returns the number of GET requests issued on behalf of the stream.
+   *
+   * @return the number of requests
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Returns the number of bytes requested on behalf of the stream.
+   *
+   * @return the number of fetched bytes
+   */
+  public long getFetchedBytes() {
+    return fetchedBytes.get();
+  }
+
+  /**
+   * Returns the number of bytes fetched on behalf of the stream that have been read.
+   *
+   * @return the number of used bytes
+   */
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  /**
+   * Returns the number of bytes fetched on behalf of the stream that have not been read (yet).
+   *
+   * @return the number of wasted bytes
+   */
+  public long getWastedBytes() {
+    return Math.max(0, getFetchedBytes() - getUsedBytes());
+  }
+
+  /**
+   * Returns the share of the block reads of the stream that found their data available.
+   *
+   * @return the hit ratio between 0 and 1, or 0 if the stream did not read from any block
+   */
+  public double getHitRatio() {
+    long blockReads = getBlockReadCount();
+    if (blockReads == 0) {
+      return 0;
+    }
+    return (double) (blockReads - getStallCount()) / blockReads;
+  }
+}
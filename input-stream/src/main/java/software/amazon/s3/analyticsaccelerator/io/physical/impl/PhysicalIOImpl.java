@@ -19,23 +19,39 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import lombok.Getter;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationDescriptor;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.Blob;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlockCursor;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamContext;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.AccessPatternDetector;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
@@ -53,6 +69,18 @@ public class PhysicalIOImpl implements PhysicalIO {
   private ObjectKey objectKey;
   private final ObjectMetadata metadata;
   private final ExecutorService threadPool;
+  // Access pattern of this stream, kept apart from the blocks shared with other streams
+  private final StreamReadPattern streamReadPattern = new StreamReadPattern();
+  // Waits for and bytes fetched on behalf of this stream, reported when the stream is closed
+  @Getter private final StreamStatistics streamStatistics = new StreamStatistics();
+  // Passed along with the reads of this stream from the blobs shared with other streams
+  private final StreamContext streamContext =
+      new StreamContext(streamReadPattern, streamStatistics);
+  // Detects strided, reverse and interleaved reads of this stream, null when disabled
+  private final AccessPatternDetector accessPatternDetector;
+  // Serves sequential tiny reads of this stream from the block it is reading, null when disabled
+  private final BlockCursor blockCursor;
+  private final PhysicalIOConfiguration configuration;
 
   private final long physicalIOBirth = System.nanoTime();
 
@@ -60,10 +88,40 @@ public class PhysicalIOImpl implements PhysicalIO {
   private static final String OPERATION_EXECUTE = "physical.io.execute";
   private static final String FLAVOR_TAIL = "tail";
   private static final String FLAVOR_BYTE = "byte";
-  private static final int TMP_BUFFER_MAX_SIZE = 64 * 1024;
+
+  private static final Metric STREAM_STALL_COUNT_METRIC =
+      Metric.builder().name("stream.stall.count").build();
+  private static final Metric STREAM_STALL_TIME_METRIC =
+      Metric.builder().name("stream.stall.time").build();
+
+  // Byte, array and buffer reads are recorded against pre-registered operations to keep them
+  // cheap. Their attributes are only built when reported, and match those of the other reads.
+  private static final OperationDescriptor READ_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ, TelemetryLevel.VERBOSE, PhysicalIOImpl::writeReadAttributes);
+  private static final OperationDescriptor READ_BYTE_OPERATION =
+      OperationDescriptor.of(
+          OPERATION_READ,
+          TelemetryLevel.VERBOSE,
+          (operationBuilder, subject, start, end, relativeTimestamp) ->
+              writeReadAttributes(
+                  operationBuilder.attribute(StreamAttributes.variant(FLAVOR_BYTE)),
+                  subject,
+                  start,
+                  end,
+                  relativeTimestamp));
 
   private static final Logger LOG = LoggerFactory.getLogger(PhysicalIOImpl.class);
 
+  // Used by the constructor that takes no configuration, which only reads through the cache
+  private static final PhysicalIOConfiguration CACHE_ONLY_CONFIGURATION =
+      PhysicalIOConfiguration.builder()
+          .patternPrefetchEnabled(false)
+          .cacheBypassEnabled(false)
+          .readVectoredDirectEnabled(false)
+          .blockCursorEnabled(false)
+          .build();
+
   /**
    * Construct a new instance of PhysicalIOV2.
    *
@@ -82,6 +140,70 @@ public class PhysicalIOImpl implements PhysicalIO {
       @NonNull OpenStreamInformation openStreamInformation,
       @NonNull ExecutorService threadPool)
       throws IOException {
+    this(
+        s3URI,
+        metadataStore,
+        blobStore,
+        telemetry,
+        openStreamInformation,
+        threadPool,
+        null,
+        null,
+        CACHE_ONLY_CONFIGURATION);
+  }
+
+  /**
+   * Construct a new instance of PhysicalIOV2 that prefetches the strided, reverse and interleaved
+   * reads it detects, and reads large uncached ranges and uncached vectored ranges without copying
+   * them through the cache.
+   *
+   * @param s3URI the S3 URI of the object
+   * @param metadataStore a metadata cache
+   * @param blobStore a data cache
+   * @param telemetry The {@link Telemetry} to use to report measurements.
+   * @param openStreamInformation contains stream information
+   * @param threadPool Thread pool for async operations
+   * @param configuration physical IO configuration holding the pattern prefetch and cache bypass
+   *     settings
+   * @param metrics metrics to record the pattern prefetch accuracy and block cursor hits to
+   */
+  public PhysicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull MetadataStore metadataStore,
+      @NonNull BlobStore blobStore,
+      @NonNull Telemetry telemetry,
+      @NonNull OpenStreamInformation openStreamInformation,
+      @NonNull ExecutorService threadPool,
+      @NonNull PhysicalIOConfiguration configuration,
+      @NonNull Metrics metrics)
+      throws IOException {
+    this(
+        s3URI,
+        metadataStore,
+        blobStore,
+        telemetry,
+        openStreamInformation,
+        threadPool,
+        configuration.isPatternPrefetchEnabled()
+            ? new AccessPatternDetector(configuration, metrics)
+            : null,
+        configuration.isBlockCursorEnabled()
+            ? new BlockCursor(configuration.getBlockCursorMaxReadBytes(), metrics)
+            : null,
+        configuration);
+  }
+
+  private PhysicalIOImpl(
+      S3URI s3URI,
+      MetadataStore metadataStore,
+      BlobStore blobStore,
+      Telemetry telemetry,
+      OpenStreamInformation openStreamInformation,
+      ExecutorService threadPool,
+      AccessPatternDetector accessPatternDetector,
+      BlockCursor blockCursor,
+      PhysicalIOConfiguration configuration)
+      throws IOException {
     this.metadataStore = metadataStore;
     this.blobStore = blobStore;
     this.telemetry = telemetry;
@@ -89,6 +211,9 @@ public class PhysicalIOImpl implements PhysicalIO {
     this.metadata = this.metadataStore.get(s3URI, openStreamInformation);
     this.objectKey = ObjectKey.builder().s3URI(s3URI).etag(metadata.getEtag()).build();
     this.threadPool = threadPool;
+    this.configuration = configuration;
+    this.accessPatternDetector = accessPatternDetector;
+    this.blockCursor = blockCursor;
   }
 
   /**
@@ -112,26 +237,37 @@ public class PhysicalIOImpl implements PhysicalIO {
   public int read(long pos) throws IOException {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+
+    // Sequential single byte reads are served from the block the stream is reading
+    if (blockCursor != null) {
+      int byteRead = blockCursor.read(pos);
+      if (byteRead != BlockCursor.MISS) {
+        return byteRead;
+      }
+      blockCursor.flush(streamReadPattern);
+    }
+
+    long recording = this.telemetry.startRecording(READ_BYTE_OPERATION);
     try {
-      return this.telemetry.measureVerbose(
-          () ->
-              Operation.builder()
-                  .name(OPERATION_READ)
-                  .attribute(StreamAttributes.variant(FLAVOR_BYTE))
-                  .attribute(StreamAttributes.uri(this.objectKey.getS3URI()))
-                  .attribute(StreamAttributes.etag(this.objectKey.getEtag()))
-                  .attribute(StreamAttributes.range(pos, pos))
-                  .attribute(
-                      StreamAttributes.physicalIORelativeTimestamp(
-                          System.nanoTime() - physicalIOBirth))
-                  .build(),
-          () -> blobStore.get(this.objectKey, this.metadata, openStreamInformation).read(pos));
+      int byteRead = readByte(pos);
+      completeReadRecording(READ_BYTE_OPERATION, recording, pos, pos, Optional.empty());
+      return byteRead;
     } catch (Exception e) {
+      completeReadRecording(READ_BYTE_OPERATION, recording, pos, pos, Optional.of(e));
       handleOperationExceptions(e);
       throw e;
     }
   }
 
+  private int readByte(long pos) throws IOException {
+    Blob blob = blobStore.get(this.objectKey, this.metadata, openStreamInformation);
+    int byteRead = blob.read(pos, streamContext);
+    if (blockCursor != null) {
+      blockCursor.onRead(blob, pos, 1);
+    }
+    return byteRead;
+  }
+
   /**
    * Reads request data into the provided buffer
    *
@@ -150,28 +286,180 @@ public class PhysicalIOImpl implements PhysicalIO {
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
     Preconditions.checkArgument(off < buf.length, "`off` must be less than size of buffer");
 
+    // Sequential tiny reads are served from the block the stream is reading. They are not recorded
+    // by the access pattern detector, which leaves forward sequential reads alone anyway.
+    if (blockCursor != null) {
+      int bytesRead = blockCursor.read(buf, off, len, pos);
+      if (bytesRead != BlockCursor.MISS) {
+        return bytesRead;
+      }
+      blockCursor.flush(streamReadPattern);
+    }
+
+    // Prefetch the reads that follow a detected pattern before doing the blocking read
+    prefetchDetectedPattern(pos, len);
+
+    long recording = this.telemetry.startRecording(READ_OPERATION);
     try {
-      return this.telemetry.measureVerbose(
-          () ->
-              Operation.builder()
-                  .name(OPERATION_READ)
-                  .attribute(StreamAttributes.uri(this.objectKey.getS3URI()))
-                  .attribute(StreamAttributes.etag(this.objectKey.getEtag()))
-                  .attribute(StreamAttributes.range(pos, pos + len - 1))
-                  .attribute(
-                      StreamAttributes.physicalIORelativeTimestamp(
-                          System.nanoTime() - physicalIOBirth))
-                  .build(),
-          () ->
-              blobStore
-                  .get(objectKey, this.metadata, openStreamInformation)
-                  .read(buf, off, len, pos));
+      int bytesRead = readIntoBuffer(buf, off, len, pos);
+      completeReadRecording(READ_OPERATION, recording, pos, pos + len - 1, Optional.empty());
+      return bytesRead;
     } catch (Exception e) {
+      completeReadRecording(READ_OPERATION, recording, pos, pos + len - 1, Optional.of(e));
       handleOperationExceptions(e);
       throw e;
     }
   }
 
+  /**
+   * Completes the recording of a byte, array or buffer read started with {@link
+   * Telemetry#startRecording}. The timestamp relative to the birth of this PhysicalIO is only
+   * taken when the read is actually recorded.
+   *
+   * @param descriptor the descriptor the recording was started with
+   * @param recording the token returned when the recording started
+   * @param start position of the first byte read
+   * @param end position of the last byte read
+   * @param error error thrown by the read, if any
+   */
+  private void completeReadRecording(
+      OperationDescriptor descriptor,
+      long recording,
+      long start,
+      long end,
+      Optional<Throwable> error) {
+    if (recording != Telemetry.NOT_RECORDING) {
+      this.telemetry.completeRecording(
+          descriptor,
+          recording,
+          this.objectKey,
+          start,
+          end,
+          System.nanoTime() - physicalIOBirth,
+          error);
+    }
+  }
+
+  /**
+   * Builds the attributes of a recorded read, the same as those of the reads measured with an
+   * {@link Operation} built on every call.
+   *
+   * @param operationBuilder builder of the reported operation
+   * @param subject the {@link ObjectKey} of the object read
+   * @param start position of the first byte read
+   * @param end position of the last byte read
+   * @param relativeTimestamp timestamp of the read relative to the birth of the PhysicalIO
+   */
+  private static void writeReadAttributes(
+      Operation.OperationBuilder operationBuilder,
+      Object subject,
+      long start,
+      long end,
+      long relativeTimestamp) {
+    ObjectKey objectKey = (ObjectKey) subject;
+    operationBuilder
+        .attribute(StreamAttributes.uri(objectKey.getS3URI()))
+        .attribute(StreamAttributes.etag(objectKey.getEtag()))
+        .attribute(StreamAttributes.range(start, end))
+        .attribute(StreamAttributes.physicalIORelativeTimestamp(relativeTimestamp));
+  }
+
+  private int readIntoBuffer(byte[] buf, int off, int len, long pos) throws IOException {
+    Blob blob = blobStore.get(objectKey, this.metadata, openStreamInformation);
+    int bytesRead;
+    if (shouldBypassCache(blob, pos, len)) {
+      streamReadPattern.recordCachedRead(pos, len);
+      bytesRead =
+          blob.readBypassingCache(
+              buf, off, len, pos, ReadMode.SYNC, configuration.isCacheBypassPopulateCache());
+      // The bypassed read fetches exactly the bytes handed to the stream
+      streamStatistics.recordRequest(bytesRead);
+      streamStatistics.recordUsedBytes(bytesRead);
+    } else {
+      bytesRead = blob.read(buf, off, len, pos, streamContext);
+    }
+
+    if (blockCursor != null) {
+      blockCursor.onRead(blob, pos, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads request data into the provided buffer. Heap buffers are filled through their backing
+   * array, direct buffers are filled straight from the cached blocks.
+   *
+   * @param buf heap or direct buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public int read(@NonNull ByteBuffer buf, long pos) throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+    Preconditions.checkArgument(!buf.isReadOnly(), "`buf` must not be read-only");
+
+    int len = buf.remaining();
+    if (len == 0) {
+      return 0;
+    }
+    if (buf.hasArray()) {
+      int bytesRead = read(buf.array(), buf.arrayOffset() + buf.position(), len, pos);
+      buf.position(buf.position() + bytesRead);
+      return bytesRead;
+    }
+
+    // Direct buffers are not served by the block cursor
+    if (blockCursor != null) {
+      blockCursor.flush(streamReadPattern);
+      blockCursor.release();
+    }
+
+    // Prefetch the reads that follow a detected pattern before doing the blocking read
+    prefetchDetectedPattern(pos, len);
+
+    long recording = this.telemetry.startRecording(READ_OPERATION);
+    try {
+      int bytesRead =
+          blobStore
+              .get(objectKey, this.metadata, openStreamInformation)
+              .read(buf, pos, streamContext);
+      completeReadRecording(READ_OPERATION, recording, pos, pos + len - 1, Optional.empty());
+      return bytesRead;
+    } catch (Exception e) {
+      completeReadRecording(READ_OPERATION, recording, pos, pos + len - 1, Optional.of(e));
+      handleOperationExceptions(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Large reads of ranges that are not cached at all are read straight into the caller buffer, as
+   * they are unlikely to be read again and copying them through the cache doubles the memory
+   * traffic.
+   */
+  private boolean shouldBypassCache(Blob blob, long pos, long len) {
+    return configuration.isCacheBypassEnabled()
+        && len >= configuration.getCacheBypassThreshold()
+        && blob.isRangeMissing(pos, len);
+  }
+
+  private void prefetchDetectedPattern(long pos, int len) {
+    if (accessPatternDetector == null) {
+      return;
+    }
+    try {
+      IOPlan ioPlan = accessPatternDetector.recordRead(pos, len, contentLength());
+      if (!ioPlan.getPrefetchRanges().isEmpty()) {
+        execute(ioPlan, ReadMode.PATTERN_PREFETCH);
+      }
+    } catch (Exception e) {
+      // Prefetching is best effort, the read itself reports any failure
+      LOG.debug("Unable to prefetch detected read pattern for {}", objectKey.getS3URI(), e);
+    }
+  }
+
   /**
    * Reads the last n bytes from the stream into a byte buffer. Blocks until end of stream is
    * reached. Leaves the position of the stream unaltered.
@@ -231,13 +519,9 @@ public class PhysicalIOImpl implements PhysicalIO {
         () ->
             blobStore
                 .get(objectKey, this.metadata, openStreamInformation)
-                .execute(ioPlan, readMode));
+                .execute(ioPlan, readMode, streamContext));
   }
 
-  @SuppressFBWarnings(
-      value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
-      justification =
-          "This is complaining about `executor.submit`. In this case we do not have any use for this Future")
   @Override
   public void readVectored(
       List<ObjectRange> objectRanges,
@@ -246,60 +530,189 @@ public class PhysicalIOImpl implements PhysicalIO {
       throws IOException {
     Blob blob = blobStore.get(objectKey, this.metadata, openStreamInformation);
 
-    makeReadVectoredRangesAvailable(objectRanges);
-
+    // Ranges, and parts of ranges, that are not cached at all are scattered straight from
+    // coalesced requests, the others are read from the blocks that hold them
+    List<ObjectRange> directRanges = new ArrayList<>();
+    List<ObjectRange> cachedRanges = new ArrayList<>();
+    // Parts of partially cached ranges, with the slice of the buffer of their range they fill
+    Map<ObjectRange, ByteBuffer> partSlices = new IdentityHashMap<>();
     for (ObjectRange objectRange : objectRanges) {
-      ByteBuffer buffer = allocate.apply(objectRange.getLength());
-      threadPool.submit(
-          () -> {
-            try {
-              LOG.debug(
-                  "Starting readVectored for key: {}, range: {} - {}",
-                  objectKey.getS3URI(),
-                  objectRange.getOffset(),
-                  objectRange.getOffset() + objectRange.getLength() - 1);
-
-              if (buffer.isDirect()) {
-                // Direct buffers do not support the buffer.array() method, so we need to read into
-                // them using a temp buffer.
-                readIntoDirectBuffer(buffer, blob, objectRange);
-                buffer.flip();
-              } else {
-                // there is no use of a temp byte buffer, or buffer.put() calls,
-                // so flip() is not needed.
-                blob.read(buffer.array(), 0, objectRange.getLength(), objectRange.getOffset());
-              }
-              objectRange.getByteBuffer().complete(buffer);
-            } catch (Exception e) {
-              objectRange.getByteBuffer().completeExceptionally(e);
+      long end = Math.min(objectRange.getOffset() + objectRange.getLength(), contentLength());
+      List<Range> missingRanges =
+          configuration.isReadVectoredDirectEnabled()
+              ? blob.getMissingRanges(objectRange.getOffset(), objectRange.getLength())
+              : Collections.emptyList();
+      if (missingRanges.isEmpty()) {
+        cachedRanges.add(objectRange);
+      } else if (missingRanges.size() == 1
+          && missingRanges.get(0).equals(new Range(objectRange.getOffset(), end - 1))) {
+        directRanges.add(objectRange);
+      } else {
+        splitPartiallyCachedRange(
+            objectRange, missingRanges, allocate, release, directRanges, cachedRanges, partSlices);
+      }
+    }
+
+    if (!directRanges.isEmpty()) {
+      blob.readVectoredBypassingCache(
+          directRanges,
+          range ->
+              partSlices.containsKey(range)
+                  ? partSlices.get(range)
+                  : allocate.apply(range.getLength()),
+          buffer -> {
+            // A failed part is released with the buffer of its range
+            if (!partSlices.containsValue(buffer)) {
               release.accept(buffer);
             }
           });
     }
+    if (cachedRanges.isEmpty()) {
+      return;
+    }
+
+    if (!configuration.isReadVectoredDirectEnabled()) {
+      makeReadVectoredRangesAvailable(cachedRanges);
+    }
+
+    for (ObjectRange objectRange : cachedRanges) {
+      ByteBuffer slice = partSlices.get(objectRange);
+      if (slice != null) {
+        readFromBlocks(blob, objectRange, slice, buffer -> {});
+      } else {
+        readFromBlocks(blob, objectRange, allocate.apply(objectRange.getLength()), release);
+      }
+    }
   }
 
-  private void readIntoDirectBuffer(ByteBuffer buffer, Blob blob, ObjectRange range)
-      throws IOException {
-    int length = range.getLength();
-    if (length == 0) {
-      // no-op
-      return;
+  /**
+   * Splits a partially cached vectored range into parts that fill slices of a single buffer, so
+   * that only its missing parts are fetched. The range completes once all of its parts have.
+   *
+   * @param objectRange the partially cached range
+   * @param missingRanges the parts of the range that are not cached, in order
+   * @param allocate function to allocate the buffer of the range
+   * @param release function to release the buffer of the range if it fails
+   * @param directRanges the ranges to scatter from the object, which missing parts are added to
+   * @param cachedRanges the ranges to read from blocks, which cached parts are added to
+   * @param partSlices the slices of the buffer that parts fill, which the new parts are added to
+   */
+  private void splitPartiallyCachedRange(
+      ObjectRange objectRange,
+      List<Range> missingRanges,
+      IntFunction<ByteBuffer> allocate,
+      Consumer<ByteBuffer> release,
+      List<ObjectRange> directRanges,
+      List<ObjectRange> cachedRanges,
+      Map<ObjectRange, ByteBuffer> partSlices) {
+    ByteBuffer buffer = allocate.apply(objectRange.getLength());
+    List<CompletableFuture<ByteBuffer>> parts = new ArrayList<>();
+    long partStart = objectRange.getOffset();
+    for (Range missingRange : missingRanges) {
+      if (partStart < missingRange.getStart()) {
+        cachedRanges.add(
+            addPart(objectRange, buffer, partStart, missingRange.getStart(), parts, partSlices));
+      }
+      directRanges.add(
+          addPart(
+              objectRange,
+              buffer,
+              missingRange.getStart(),
+              missingRange.getEnd() + 1,
+              parts,
+              partSlices));
+      partStart = missingRange.getEnd() + 1;
     }
+    long end = Math.min(objectRange.getOffset() + objectRange.getLength(), contentLength());
+    if (partStart < end) {
+      cachedRanges.add(addPart(objectRange, buffer, partStart, end, parts, partSlices));
+    }
+
+    CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (ignored, error) -> {
+              if (error == null) {
+                objectRange.getByteBuffer().complete(buffer);
+              } else {
+                objectRange.getByteBuffer().completeExceptionally(error);
+                release.accept(buffer);
+              }
+            });
+  }
+
+  /**
+   * Creates a part of a vectored range that fills a slice of the buffer of the range.
+   *
+   * @param objectRange the range the part belongs to
+   * @param buffer the buffer of the range
+   * @param start start of the part in the object
+   * @param end end of the part in the object, exclusive
+   * @param parts the futures of the parts of the range, which the new part is added to
+   * @param partSlices the slices of the buffer that parts fill, which the new part is added to
+   * @return the part
+   */
+  private static ObjectRange addPart(
+      ObjectRange objectRange,
+      ByteBuffer buffer,
+      long start,
+      long end,
+      List<CompletableFuture<ByteBuffer>> parts,
+      Map<ObjectRange, ByteBuffer> partSlices) {
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(buffer.position() + (int) (start - objectRange.getOffset()));
+    slice.limit(slice.position() + (int) (end - start));
+
+    ObjectRange part = new ObjectRange(new CompletableFuture<>(), start, (int) (end - start));
+    parts.add(part.getByteBuffer());
+    partSlices.put(part, slice.slice());
+    return part;
+  }
 
-    int readBytes = 0;
-    long position = range.getOffset();
-    int tmpBufferMaxSize = Math.min(TMP_BUFFER_MAX_SIZE, length);
-    byte[] tmp = new byte[tmpBufferMaxSize];
-    while (readBytes < length) {
-      int currentLength =
-          (readBytes + tmpBufferMaxSize) < length ? tmpBufferMaxSize : (length - readBytes);
-      LOG.debug(
-          "Reading {} bytes from position {} (bytes read={}", currentLength, position, readBytes);
-      blob.read(tmp, 0, currentLength, position);
-      buffer.put(tmp, 0, currentLength);
-      position = position + currentLength;
-      readBytes = readBytes + currentLength;
+  /**
+   * Reads a vectored range from the blocks that hold it into its buffer. A range whose blocks are
+   * all loaded is copied right away, the others are read on the thread pool once their blocks
+   * arrive.
+   *
+   * @param blob the blob of the object
+   * @param objectRange the range to read
+   * @param buffer the buffer of the range
+   * @param release function to release the buffer if the read fails
+   */
+  @SuppressFBWarnings(
+      value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+      justification =
+          "This is complaining about `executor.submit`. In this case we do not have any use for this Future")
+  private void readFromBlocks(
+      Blob blob, ObjectRange objectRange, ByteBuffer buffer, Consumer<ByteBuffer> release) {
+    try {
+      if (blob.readIfLoaded(buffer, objectRange.getOffset())) {
+        buffer.flip();
+        objectRange.getByteBuffer().complete(buffer);
+        return;
+      }
+    } catch (Exception e) {
+      objectRange.getByteBuffer().completeExceptionally(e);
+      release.accept(buffer);
+      return;
     }
+
+    threadPool.submit(
+        () -> {
+          try {
+            LOG.debug(
+                "Starting readVectored for key: {}, range: {} - {}",
+                objectKey.getS3URI(),
+                objectRange.getOffset(),
+                objectRange.getOffset() + objectRange.getLength() - 1);
+
+            blob.read(buffer, objectRange.getOffset());
+            buffer.flip();
+            objectRange.getByteBuffer().complete(buffer);
+          } catch (Exception e) {
+            objectRange.getByteBuffer().completeExceptionally(e);
+            release.accept(buffer);
+          }
+        });
   }
 
   /**
@@ -350,6 +763,12 @@ public class PhysicalIOImpl implements PhysicalIO {
 
   @Override
   public void close(boolean shouldEvict) throws IOException {
+    if (blockCursor != null) {
+      blockCursor.flush(streamReadPattern);
+      blockCursor.release();
+    }
+    telemetry.measure(STREAM_STALL_COUNT_METRIC, streamStatistics.getStallCount());
+    telemetry.measure(STREAM_STALL_TIME_METRIC, streamStatistics.getStallTimeNanos());
     if (shouldEvict) {
       blobStore.evictKey(this.objectKey);
     }
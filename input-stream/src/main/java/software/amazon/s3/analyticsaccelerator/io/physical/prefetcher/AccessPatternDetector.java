@@ -0,0 +1,253 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.prefetcher;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+
+/**
+ * Detects read patterns beyond forward sequential reads from the recent read history of a single
+ * stream, and predicts the next reads of the pattern so they can be prefetched.
+ *
+ * <p>The history is split into k interleaved streams, where read i belongs to stream i mod k. A
+ * pattern of k streams is found when every stream moves by a constant stride and reads a constant
+ * length. The smallest k that matches wins:
+ *
+ * <ul>
+ *   <li>k = 1 with a stride equal to the read length is a forward sequential read. These are left
+ *       to the sequential prefetching of the {@link
+ *       software.amazon.s3.analyticsaccelerator.io.physical.data.BlockManager}
+ *   <li>k = 1 with a stride equal to minus the read length is a reverse sequential read
+ *   <li>k = 1 with any other stride is a strided read, for example fixed size records in an index
+ *   <li>k > 1 are interleaved reads, for example several columns read in turns
+ * </ul>
+ *
+ * <p>The confidence in a pattern is the number of consecutive reads that confirmed it. Nothing is
+ * prefetched below the configured minimum confidence, and above it the number of reads prefetched
+ * ahead grows by one with every confirmation, up to the configured maximum depth.
+ *
+ * <p>The accuracy of the predictions is recorded in {@link MetricKey#PATTERN_PREFETCH_COUNT} and
+ * {@link MetricKey#PATTERN_PREFETCH_HIT_COUNT}.
+ */
+public class AccessPatternDetector {
+  /** The kind of read pattern detected. */
+  public enum AccessPattern {
+    NONE,
+    SEQUENTIAL,
+    REVERSE,
+    STRIDED,
+    INTERLEAVED
+  }
+
+  private final Metrics metrics;
+  private final int historySize;
+  private final int minConfidence;
+  private final int maxDepth;
+  private final int maxInterleave;
+
+  // Recent reads of the stream, oldest first
+  private final long[] positions;
+  private final long[] lengths;
+  private int historyLength = 0;
+
+  // Prefetched predictions that were not read yet, keyed by start position
+  private final LinkedHashMap<Long, Range> outstandingPredictions;
+
+  @Getter private AccessPattern accessPattern = AccessPattern.NONE;
+  @Getter private int interleave = 0;
+  @Getter private int confidence = 0;
+  @Getter private long predictionCount = 0;
+  @Getter private long hitCount = 0;
+
+  /**
+   * Creates a new {@link AccessPatternDetector}.
+   *
+   * @param configuration the {@link PhysicalIOConfiguration} holding the pattern prefetch settings
+   * @param metrics metrics to record the prediction accuracy to
+   */
+  public AccessPatternDetector(
+      @NonNull PhysicalIOConfiguration configuration, @NonNull Metrics metrics) {
+    this.metrics = metrics;
+    this.historySize = configuration.getPatternPrefetchHistorySize();
+    this.minConfidence = configuration.getPatternPrefetchMinConfidence();
+    this.maxDepth = configuration.getPatternPrefetchMaxDepth();
+    this.maxInterleave = configuration.getPatternPrefetchMaxInterleave();
+    this.positions = new long[historySize];
+    this.lengths = new long[historySize];
+
+    int maxOutstandingPredictions = maxDepth * maxInterleave * 2;
+    this.outstandingPredictions =
+        new LinkedHashMap<Long, Range>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Range> eldest) {
+            return size() > maxOutstandingPredictions;
+          }
+        };
+  }
+
+  /**
+   * Records a read of the stream, and returns the reads that are predicted to follow it and were
+   * not predicted before.
+   *
+   * @param pos the position the read starts at
+   * @param len the length of the read
+   * @param contentLength the length of the object, predictions are truncated to it
+   * @return an {@link IOPlan} with the ranges to prefetch, which is empty when there is nothing to
+   *     prefetch
+   */
+  public synchronized IOPlan recordRead(long pos, long len, long contentLength) {
+    Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
+    Preconditions.checkArgument(len >= 0, "`len` must be non-negative");
+
+    if (len == 0) {
+      return IOPlan.EMPTY_PLAN;
+    }
+    recordHit(pos);
+    addToHistory(pos, len);
+    detectPattern();
+
+    if (accessPattern == AccessPattern.NONE
+        || accessPattern == AccessPattern.SEQUENTIAL
+        || confidence < minConfidence) {
+      return IOPlan.EMPTY_PLAN;
+    }
+
+    int depth = Math.min(maxDepth, confidence - minConfidence + 1);
+    List<Range> predictions = predict(depth, contentLength);
+    if (predictions.isEmpty()) {
+      return IOPlan.EMPTY_PLAN;
+    }
+    return new IOPlan(predictions);
+  }
+
+  private void recordHit(long pos) {
+    Iterator<Range> iterator = outstandingPredictions.values().iterator();
+    while (iterator.hasNext()) {
+      Range prediction = iterator.next();
+      if (prediction.getStart() <= pos && pos <= prediction.getEnd()) {
+        iterator.remove();
+        hitCount++;
+        metrics.add(MetricKey.PATTERN_PREFETCH_HIT_COUNT, 1);
+        return;
+      }
+    }
+  }
+
+  private void addToHistory(long pos, long len) {
+    if (historyLength == historySize) {
+      System.arraycopy(positions, 1, positions, 0, historySize - 1);
+      System.arraycopy(lengths, 1, lengths, 0, historySize - 1);
+      historyLength--;
+    }
+    positions[historyLength] = pos;
+    lengths[historyLength] = len;
+    historyLength++;
+  }
+
+  /** Finds the smallest number of interleaved streams that explains the most recent reads. */
+  private void detectPattern() {
+    accessPattern = AccessPattern.NONE;
+    interleave = 0;
+    confidence = 0;
+
+    for (int k = 1; k <= maxInterleave && 2 * k < historyLength; k++) {
+      int matches = countMatches(k);
+      if (matches >= minConfidence || (k == 1 && matches > 0)) {
+        interleave = k;
+        confidence = matches;
+        accessPattern = classify(k);
+        if (matches >= minConfidence) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts how many of the most recent reads, going backwards, continue the stride of their stream
+   * when the reads are split into k interleaved streams.
+   */
+  private int countMatches(int k) {
+    int matches = 0;
+    for (int i = historyLength - 1; i - 2 * k >= 0; i--) {
+      long stride = positions[i] - positions[i - k];
+      long previousStride = positions[i - k] - positions[i - 2 * k];
+      if (stride != previousStride || stride == 0 || lengths[i] != lengths[i - k]) {
+        break;
+      }
+      matches++;
+    }
+    return matches;
+  }
+
+  private AccessPattern classify(int k) {
+    if (k > 1) {
+      return AccessPattern.INTERLEAVED;
+    }
+    int last = historyLength - 1;
+    long stride = positions[last] - positions[last - 1];
+    if (stride == lengths[last - 1]) {
+      return AccessPattern.SEQUENTIAL;
+    }
+    if (stride == -lengths[last]) {
+      return AccessPattern.REVERSE;
+    }
+    return AccessPattern.STRIDED;
+  }
+
+  /**
+   * Extends the history with the next depth reads of every interleaved stream, and returns those
+   * that fall within the object and were not predicted before.
+   */
+  private List<Range> predict(int depth, long contentLength) {
+    int k = interleave;
+    int count = depth * k;
+    long[] extendedPositions = new long[historyLength + count];
+    long[] extendedLengths = new long[historyLength + count];
+    System.arraycopy(positions, 0, extendedPositions, 0, historyLength);
+    System.arraycopy(lengths, 0, extendedLengths, 0, historyLength);
+
+    List<Range> predictions = new ArrayList<>();
+    for (int i = historyLength; i < historyLength + count; i++) {
+      long stride = extendedPositions[i - k] - extendedPositions[i - 2 * k];
+      extendedPositions[i] = extendedPositions[i - k] + stride;
+      extendedLengths[i] = extendedLengths[i - k];
+
+      long start = extendedPositions[i];
+      if (start < 0 || start >= contentLength || outstandingPredictions.containsKey(start)) {
+        continue;
+      }
+      Range prediction =
+          new Range(start, Math.min(start + extendedLengths[i], contentLength) - 1);
+      outstandingPredictions.put(start, prediction);
+      predictions.add(prediction);
+      predictionCount++;
+      metrics.add(MetricKey.PATTERN_PREFETCH_COUNT, 1);
+    }
+    return predictions;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.prefetcher;
+
+import lombok.Getter;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Tracks the access pattern of a single stream. Blocks are shared between all streams reading the
+ * same object, so the generation of a cached block tells us little about the stream that is reading
+ * now: another stream may have read it, or this stream may be re-reading cached data. This class
+ * remembers the last read of one stream and the generation of the last fetch it triggered, so that
+ * each reader's sequential progression is tracked independently.
+ */
+public class StreamReadPattern {
+  private long lastReadStart = -1;
+  private long lastReadEnd = -1;
+
+  /** The generation of the last sequential read of this stream. */
+  @Getter private long generation = 0;
+
+  /**
+   * Given that the byte at 'pos' will be read next, is this read part of a sequential read of this
+   * stream? It is if the previous byte was covered by the last read of the stream.
+   *
+   * @param pos the position of a byte that is requested
+   * @return returns true if this read is part of a sequential read pattern
+   */
+  public synchronized boolean isSequentialRead(long pos) {
+    Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
+
+    return pos > 0 && lastReadStart <= pos - 1 && pos - 1 <= lastReadEnd;
+  }
+
+  /**
+   * Given that the byte at 'pos' will be read next, what generation does it belong to?
+   *
+   * @param pos the position of a byte that is requested
+   * @return returns the generation of the byte
+   */
+  public synchronized long getGeneration(long pos) {
+    return isSequentialRead(pos) ? generation + 1 : 0;
+  }
+
+  /**
+   * Records a read that triggered a fetch of the given generation.
+   *
+   * @param pos the position the read started at
+   * @param len the length of the read
+   * @param generation the generation the read was fetched with
+   */
+  public synchronized void recordRead(long pos, long len, long generation) {
+    Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
+    Preconditions.checkArgument(len >= 0, "`len` must be non-negative");
+    Preconditions.checkArgument(generation >= 0, "`generation` must be non-negative");
+
+    this.lastReadStart = pos;
+    this.lastReadEnd = pos + len - 1;
+    this.generation = generation;
+  }
+
+  /**
+   * Records a read that was served from data which was already available. A sequential read keeps
+   * the current generation, any other read starts over at generation 0.
+   *
+   * @param pos the position the read started at
+   * @param len the length of the read
+   */
+  public synchronized void recordCachedRead(long pos, long len) {
+    recordRead(pos, len, isSequentialRead(pos) ? generation : 0);
+  }
+
+  /**
+   * Records a run of reads served from data which was already available, each one starting right
+   * after the previous one. This leaves the pattern as if the reads had been recorded one by one
+   * with {@link #recordCachedRead(long, long)}.
+   *
+   * @param runStart the position the first read of the run started at
+   * @param lastReadStart the position the last read of the run started at
+   * @param lastReadLen the length of the last read of the run
+   */
+  public synchronized void recordCachedReads(long runStart, long lastReadStart, long lastReadLen) {
+    recordRead(lastReadStart, lastReadLen, isSequentialRead(runStart) ? generation : 0);
+  }
+}
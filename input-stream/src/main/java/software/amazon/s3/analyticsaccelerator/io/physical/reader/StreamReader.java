@@ -20,19 +20,26 @@ import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.Block;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.GetRequest;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
@@ -51,7 +58,8 @@ import software.amazon.s3.analyticsaccelerator.util.retry.RetryStrategy;
  * S3 and populating the corresponding {@link Block}s with the downloaded data.
  *
  * <p>It submits the read task to a provided {@link ExecutorService}, allowing non-blocking
- * operation.
+ * operation. When the object client is an {@link AsyncObjectClient}, the GET request is composed on
+ * the client's future and only reading the response body is done on the {@link ExecutorService}.
  */
 public class StreamReader implements Closeable {
   private final ObjectClient objectClient;
@@ -68,6 +76,9 @@ public class StreamReader implements Closeable {
 
   private static final String OPERATION_GET_OBJECT = "s3.stream.get";
   private static final String OPERATION_STREAM_READ = "s3.stream.read";
+  private static final String OPERATION_STREAM_READ_DIRECT = "s3.stream.read.direct";
+  private static final String OPERATION_STREAM_READ_VECTORED = "s3.stream.read.vectored";
+  private static final int SCATTER_BUFFER_MAX_SIZE = 64 * 1024;
 
   private static final Logger LOG = LoggerFactory.getLogger(StreamReader.class);
 
@@ -136,12 +147,250 @@ public class StreamReader implements Closeable {
    * @implNote This method uses a fire-and-forget strategy and doesn't return a {@code Future};
    *     failures are logged or wrapped in a {@code IOException}.
    */
+  public void read(@NonNull final List<Block> blocks, ReadMode readMode) {
+    Preconditions.checkArgument(!blocks.isEmpty(), "`blocks` list must not be empty");
+    if (objectClient instanceof AsyncObjectClient) {
+      readAsync((AsyncObjectClient) objectClient, blocks, readMode);
+    } else {
+      submit(processReadTask(blocks, readMode, null));
+    }
+  }
+
+  /**
+   * Issues the GET request for the blocks without blocking the calling thread, and submits the read
+   * of the response body to the thread pool once the response arrives. Retries of the request are
+   * scheduled by the {@link RetryStrategy}, retries of the body read are done by the read task. If
+   * the thread pool rejects the read task, the response is released and the blocks are failed.
+   *
+   * @param asyncObjectClient the client to issue the request with
+   * @param blocks the list of {@link Block}s to be populated
+   * @param readMode the mode in which the read is being performed
+   */
   @SuppressFBWarnings(
       value = "RV_RETURN_VALUE_IGNORED",
       justification = "Intentional fire-and-forget task")
-  public void read(@NonNull final List<Block> blocks, ReadMode readMode) {
-    Preconditions.checkArgument(!blocks.isEmpty(), "`blocks` list must not be empty");
-    threadPool.submit(processReadTask(blocks, readMode));
+  private void readAsync(
+      AsyncObjectClient asyncObjectClient, List<Block> blocks, ReadMode readMode) {
+    GetRequest getRequest = createGetRequest(computeRange(blocks), readMode);
+    retryStrategy
+        .getAsync(
+            () -> {
+              recordGetRequest(getRequest);
+              this.aggregatingMetrics.add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+              CompletableFuture<ObjectContent> response =
+                  asyncObjectClient.getObjectAsync(getRequest, this.openStreamInformation);
+              response.whenComplete(
+                  (objectContent, error) -> {
+                    // A response is still in flight until the read task has consumed its body
+                    if (error != null || objectContent == null) {
+                      this.aggregatingMetrics.reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+                    }
+                  });
+              return response;
+            })
+        .whenComplete(
+            (objectContent, error) -> {
+              if (error != null) {
+                LOG.error("Unexpected exception while requesting blocks", error);
+                setErrorOnBlocksAndRemove(blocks, toIOException(error));
+                return;
+              }
+              try {
+                submit(processReadTask(blocks, readMode, objectContent));
+              } catch (RejectedExecutionException e) {
+                LOG.error("Read of blocks rejected by the thread pool", e);
+                releaseObjectContent(objectContent);
+                setErrorOnBlocksAndRemove(blocks, new IOException(e));
+              }
+            });
+  }
+
+  /**
+   * Reads a range of bytes from the S3 object straight into the provided buffer, without creating
+   * or populating any {@link Block}. Unlike {@link #read(List, ReadMode)}, the read is performed on
+   * the calling thread and returns once the whole range is in the buffer.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param range the range of the object to read
+   * @param readMode the mode in which the read is being performed
+   * @throws IOException if the request fails or the object ends before the range does
+   */
+  public void readDirect(byte @NonNull [] buf, int off, @NonNull Range range, ReadMode readMode)
+      throws IOException {
+    Preconditions.checkArgument(0 <= off, "`off` must not be negative");
+    Preconditions.checkArgument(
+        off + range.getLength() <= buf.length, "`buf` must have room for the whole range");
+
+    this.telemetry.measureCritical(
+        () ->
+            Operation.builder()
+                .name(OPERATION_STREAM_READ_DIRECT)
+                .attribute(StreamAttributes.uri(this.objectKey.getS3URI()))
+                .attribute(StreamAttributes.etag(this.objectKey.getEtag()))
+                .attribute(StreamAttributes.effectiveRange(range.getStart(), range.getEnd()))
+                .build(),
+        () ->
+            retryStrategy.execute(
+                () -> {
+                  ObjectContent objectContent =
+                      fetchObjectContent(createGetRequest(range, readMode));
+                  openStreamInformation.getRequestCallback().onGetRequest();
+                  if (objectContent == null) {
+                    throw new IOException(
+                        "No content returned for " + objectKey.getS3URI() + " range " + range);
+                  }
+
+                  try {
+                    readFully(objectContent.getStream(), buf, off, range.getLength());
+                  } finally {
+                    closeObjectContent(objectContent);
+                  }
+                }));
+  }
+
+  /**
+   * Asynchronously reads a group of vectored read ranges with a single request, and scatters the
+   * bytes of the response straight into a buffer for each range. The future of each range is
+   * completed as soon as its bytes are in its buffer, without waiting for the rest of the group.
+   *
+   * @param objectRanges the ranges to read; must not be empty, must be sorted by offset and must
+   *     not overlap
+   * @param allocate function to allocate the buffer of a range
+   * @param release function to release the buffer of a range that failed
+   * @param readMode the mode in which the read is being performed
+   */
+  public void readVectored(
+      @NonNull List<ObjectRange> objectRanges,
+      @NonNull Function<ObjectRange, ByteBuffer> allocate,
+      @NonNull Consumer<ByteBuffer> release,
+      ReadMode readMode) {
+    Preconditions.checkArgument(!objectRanges.isEmpty(), "`objectRanges` must not be empty");
+    submit(processReadVectoredTask(objectRanges, allocate, release, readMode));
+  }
+
+  /**
+   * Submits a read task to the thread pool, tracking it in the read queue depth until a thread of
+   * the pool picks it up.
+   *
+   * @param task the read task
+   */
+  @SuppressFBWarnings(
+      value = "RV_RETURN_VALUE_IGNORED",
+      justification = "Intentional fire-and-forget task")
+  private void submit(Runnable task) {
+    this.aggregatingMetrics.add(MetricKey.READ_QUEUE_DEPTH, 1);
+    try {
+      threadPool.submit(
+          () -> {
+            this.aggregatingMetrics.reduce(MetricKey.READ_QUEUE_DEPTH, 1);
+            task.run();
+          });
+    } catch (RuntimeException e) {
+      this.aggregatingMetrics.reduce(MetricKey.READ_QUEUE_DEPTH, 1);
+      throw e;
+    }
+  }
+
+  private Runnable processReadVectoredTask(
+      List<ObjectRange> objectRanges,
+      Function<ObjectRange, ByteBuffer> allocate,
+      Consumer<ByteBuffer> release,
+      ReadMode readMode) {
+    ObjectRange lastRange = objectRanges.get(objectRanges.size() - 1);
+    ByteBuffer[] buffers = new ByteBuffer[objectRanges.size()];
+    return () ->
+        this.telemetry.measureCritical(
+            () ->
+                Operation.builder()
+                    .name(OPERATION_STREAM_READ_VECTORED)
+                    .attribute(StreamAttributes.uri(this.objectKey.getS3URI()))
+                    .attribute(StreamAttributes.etag(this.objectKey.getEtag()))
+                    .attribute(
+                        StreamAttributes.effectiveRange(
+                            objectRanges.get(0).getOffset(),
+                            lastRange.getOffset() + lastRange.getLength() - 1))
+                    .build(),
+            () -> {
+              try {
+                retryStrategy.execute(
+                    () -> scatterRangesFromObject(objectRanges, buffers, allocate, readMode));
+              } catch (Exception e) {
+                LOG.error("Unexpected exception while reading vectored ranges", e);
+                for (int i = 0; i < objectRanges.size(); i++) {
+                  if (objectRanges.get(i).getByteBuffer().completeExceptionally(e)
+                      && buffers[i] != null) {
+                    release.accept(buffers[i]);
+                  }
+                }
+              }
+            });
+  }
+
+  /**
+   * Reads the ranges that are not completed yet with a single request. Ranges complete in order,
+   * so a retry resumes from the first range that did not complete.
+   */
+  private void scatterRangesFromObject(
+      List<ObjectRange> objectRanges,
+      ByteBuffer[] buffers,
+      Function<ObjectRange, ByteBuffer> allocate,
+      ReadMode readMode)
+      throws IOException {
+    int first = 0;
+    while (first < objectRanges.size() && objectRanges.get(first).getByteBuffer().isDone()) {
+      first++;
+    }
+    if (first == objectRanges.size()) {
+      return;
+    }
+
+    ObjectRange lastRange = objectRanges.get(objectRanges.size() - 1);
+    Range requestRange =
+        new Range(
+            objectRanges.get(first).getOffset(), lastRange.getOffset() + lastRange.getLength() - 1);
+    ObjectContent objectContent = fetchObjectContent(createGetRequest(requestRange, readMode));
+    openStreamInformation.getRequestCallback().onGetRequest();
+    if (objectContent == null) {
+      throw new IOException(
+          "No content returned for " + objectKey.getS3URI() + " range " + requestRange);
+    }
+
+    try {
+      InputStream inputStream = objectContent.getStream();
+      long currentPos = requestRange.getStart();
+      byte[] scatterBuffer = null;
+      for (int i = first; i < objectRanges.size(); i++) {
+        ObjectRange objectRange = objectRanges.get(i);
+        if (!skipToBlockStart(inputStream, objectRange.getOffset(), currentPos)) {
+          throw new EOFException("Premature EOF before position " + objectRange.getOffset());
+        }
+
+        if (buffers[i] == null) {
+          buffers[i] = allocate.apply(objectRange);
+        }
+        ByteBuffer buffer = buffers[i];
+        if (buffer.hasArray()) {
+          // Heap buffers are filled in place, so their position is left at the start
+          readFully(
+              inputStream,
+              buffer.array(),
+              buffer.arrayOffset() + buffer.position(),
+              objectRange.getLength());
+        } else {
+          if (scatterBuffer == null) {
+            scatterBuffer = new byte[SCATTER_BUFFER_MAX_SIZE];
+          }
+          readFully(inputStream, buffer, objectRange.getLength(), scatterBuffer);
+        }
+
+        currentPos = objectRange.getOffset() + objectRange.getLength();
+        aggregatingMetrics.add(MetricKey.CACHE_BYPASS_BYTES, objectRange.getLength());
+        objectRange.getByteBuffer().complete(buffer);
+      }
+    } finally {
+      closeObjectContent(objectContent);
+    }
   }
 
   /**
@@ -150,9 +399,13 @@ public class StreamReader implements Closeable {
    *
    * @param blocks the list of data blocks to populate with data
    * @param readMode the mode in which the read is being performed
+   * @param fetchedContent the response of a GET request already made for all the blocks, used by
+   *     the first attempt instead of making a new one, or null if there is none
    * @return a Runnable that executes the read operation asynchronously
    */
-  private Runnable processReadTask(final List<Block> blocks, ReadMode readMode) {
+  private Runnable processReadTask(
+      final List<Block> blocks, ReadMode readMode, ObjectContent fetchedContent) {
+    AtomicReference<ObjectContent> unusedContent = new AtomicReference<>(fetchedContent);
     return () ->
         this.telemetry.measureCritical(
             () ->
@@ -169,28 +422,31 @@ public class StreamReader implements Closeable {
               try {
                 retryStrategy.execute(
                     () -> {
-                      InputStream inputStream = null;
+                      // The response of the first attempt, if any, is owned by this attempt
+                      ObjectContent objectContent = unusedContent.getAndSet(null);
                       try {
                         // Calculate the byte range needed to cover all blocks
                         List<Block> nonFilledBlocks =
                             blocks.stream()
                                 .filter(block -> !block.isDataReady())
                                 .collect(Collectors.toList());
+                        if (nonFilledBlocks.isEmpty()) {
+                          return;
+                        }
 
                         Range requestRange = computeRange(nonFilledBlocks);
 
-                        // Build S3 GET request with range, ETag validation, and referrer info
-                        GetRequest getRequest =
-                            GetRequest.builder()
-                                .s3Uri(objectKey.getS3URI())
-                                .range(requestRange)
-                                .etag(objectKey.getEtag())
-                                .referrer(new Referrer(requestRange.toHttpString(), readMode))
-                                .build();
-
-                        // Fetch the object content from S3
-                        ObjectContent objectContent;
-                        objectContent = fetchObjectContent(getRequest);
+                        // Fetch the object content from S3, unless the first attempt already has
+                        if (objectContent != null && nonFilledBlocks.size() != blocks.size()) {
+                          // The response covers blocks that are filled already, so it is dropped
+                          ObjectContent droppedContent = objectContent;
+                          objectContent = null;
+                          closeObjectContent(droppedContent);
+                        }
+                        if (objectContent == null) {
+                          objectContent =
+                              fetchObjectContent(createGetRequest(requestRange, readMode));
+                        }
 
                         openStreamInformation.getRequestCallback().onGetRequest();
 
@@ -200,32 +456,56 @@ public class StreamReader implements Closeable {
                           removeNonFilledBlocksFromStore(nonFilledBlocks);
                           return;
                         }
-                        inputStream = objectContent.getStream();
                         boolean success =
                             readBlocksFromStream(
-                                inputStream, nonFilledBlocks, requestRange.getStart());
+                                objectContent.getStream(),
+                                nonFilledBlocks,
+                                requestRange.getStart());
                         if (!success) {
                           removeNonFilledBlocksFromStore(nonFilledBlocks);
                         }
                       } finally {
-                        if (inputStream != null) {
-                          inputStream.close();
+                        if (objectContent != null) {
+                          closeObjectContent(objectContent);
                         }
                       }
                     });
               } catch (Exception e) {
                 LOG.error("Unexpected exception while reading blocks", e);
-                if (e instanceof IOException) {
-                  setErrorOnBlocksAndRemove(blocks, (IOException) e);
-                } else {
-                  IOException ioException =
-                      new IOException("Unexpected error during block reading", e);
-                  setErrorOnBlocksAndRemove(blocks, ioException);
-                }
+                setErrorOnBlocksAndRemove(blocks, toIOException(e));
               }
             });
   }
 
+  /**
+   * Builds the S3 GET request for a range, with ETag validation and referrer info.
+   *
+   * @param requestRange the range to request
+   * @param readMode the mode in which the read is being performed
+   * @return the GET request
+   */
+  private GetRequest createGetRequest(Range requestRange, ReadMode readMode) {
+    return GetRequest.builder()
+        .s3Uri(objectKey.getS3URI())
+        .range(requestRange)
+        .etag(objectKey.getEtag())
+        .referrer(new Referrer(requestRange.toHttpString(), readMode))
+        .build();
+  }
+
+  /**
+   * Wraps the failure of a read in an {@link IOException}, unless it already is one.
+   *
+   * @param error the failure
+   * @return the failure as an {@link IOException}
+   */
+  private static IOException toIOException(Throwable error) {
+    if (error instanceof IOException) {
+      return (IOException) error;
+    }
+    return new IOException("Unexpected error during block reading", error);
+  }
+
   /**
    * Sequentially reads data from the input stream to populate all blocks. Maintains current offset
    * position to handle potential gaps between blocks.
@@ -266,14 +546,70 @@ public class StreamReader implements Closeable {
 
   /**
    * Fetches object content from S3 using the provided request. Returns null if the request fails,
-   * allowing caller to handle gracefully.
+   * allowing caller to handle gracefully. The request is counted as in flight until the returned
+   * content is passed to {@link #closeObjectContent(ObjectContent)}, once its body is consumed.
    *
    * @param getRequest the S3 GET request containing object URI, range, and ETag
    * @return the ObjectContent containing the S3 object data stream, or null if request fails
    */
   private ObjectContent fetchObjectContent(GetRequest getRequest) throws IOException {
-    this.aggregatingMetrics.add(MetricKey.GET_REQUEST_COUNT, 1);
-    return this.objectClient.getObject(getRequest, this.openStreamInformation);
+    recordGetRequest(getRequest);
+    this.aggregatingMetrics.add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    ObjectContent objectContent = null;
+    try {
+      objectContent = this.objectClient.getObject(getRequest, this.openStreamInformation);
+      return objectContent;
+    } finally {
+      if (objectContent == null) {
+        this.aggregatingMetrics.reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+      }
+    }
+  }
+
+  /**
+   * Closes the body of a response that will not be read, logging instead of throwing any failure.
+   *
+   * @param objectContent the response of a GET request, or null if there is none
+   */
+  private void releaseObjectContent(ObjectContent objectContent) {
+    if (objectContent == null) {
+      return;
+    }
+    try {
+      closeObjectContent(objectContent);
+    } catch (IOException e) {
+      LOG.debug("Error closing unread response of {}", objectKey.getS3URI(), e);
+    }
+  }
+
+  /**
+   * Closes the body of a response, and stops counting its request as in flight.
+   *
+   * @param objectContent the response of a GET request
+   * @throws IOException if closing the body fails
+   */
+  private void closeObjectContent(ObjectContent objectContent) throws IOException {
+    try {
+      InputStream inputStream = objectContent.getStream();
+      if (inputStream != null) {
+        inputStream.close();
+      }
+    } finally {
+      this.aggregatingMetrics.reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    }
+  }
+
+  /**
+   * Records a GET request, and the bytes it fetches, attributed to the read mode it is issued
+   * with.
+   *
+   * @param getRequest the request about to be issued
+   */
+  private void recordGetRequest(GetRequest getRequest) {
+    ReadMode readMode = getRequest.getReferrer().getReadMode();
+    this.aggregatingMetrics.add(MetricKey.GET_REQUEST_COUNT, readMode, 1);
+    this.aggregatingMetrics.add(
+        MetricKey.FETCHED_BYTES, readMode, getRequest.getRange().getLength());
   }
 
   /**
@@ -360,15 +696,58 @@ public class StreamReader implements Closeable {
    */
   private byte[] readExactBytes(InputStream inputStream, int size) throws IOException {
     byte[] buffer = new byte[size];
+    readFully(inputStream, buffer, 0, size);
+    return buffer;
+  }
+
+  /**
+   * Reads exactly {@code size} bytes from the input stream into a buffer that has no backing array,
+   * through the given scatter buffer. The buffer is flipped once it is filled.
+   *
+   * @param inputStream The input stream to read from.
+   * @param buffer The buffer to read into.
+   * @param size Number of bytes to read.
+   * @param scatterBuffer Buffer the bytes are read into before being put into {@code buffer}.
+   * @throws IOException if an I/O error occurs while reading from the stream
+   * @throws EOFException if the end of stream is reached before reading all requested bytes
+   */
+  private static void readFully(
+      InputStream inputStream, ByteBuffer buffer, int size, byte[] scatterBuffer)
+      throws IOException {
+    buffer.clear();
     int totalRead = 0;
     while (totalRead < size) {
-      int bytesRead = inputStream.read(buffer, totalRead, size - totalRead);
+      int bytesRead =
+          inputStream.read(scatterBuffer, 0, Math.min(scatterBuffer.length, size - totalRead));
+      if (bytesRead == -1) {
+        throw new EOFException("Premature EOF: expected " + size + " bytes, but got " + totalRead);
+      }
+      buffer.put(scatterBuffer, 0, bytesRead);
+      totalRead += bytesRead;
+    }
+    buffer.flip();
+  }
+
+  /**
+   * Reads exactly {@code size} bytes from the input stream into the buffer at the given offset.
+   *
+   * @param inputStream The input stream to read from.
+   * @param buffer The buffer to read into.
+   * @param off Offset in the buffer at which data is written.
+   * @param size Number of bytes to read.
+   * @throws IOException if an I/O error occurs while reading from the stream
+   * @throws EOFException if the end of stream is reached before reading all requested bytes
+   */
+  private static void readFully(InputStream inputStream, byte[] buffer, int off, int size)
+      throws IOException {
+    int totalRead = 0;
+    while (totalRead < size) {
+      int bytesRead = inputStream.read(buffer, off + totalRead, size - totalRead);
       if (bytesRead == -1) {
         throw new EOFException("Premature EOF: expected " + size + " bytes, but got " + totalRead);
       }
       totalRead += bytesRead;
     }
-    return buffer;
   }
 
   /**
@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+
+/**
+ * Class defining how column access history is partitioned. With SCHEMA, all streams reading files
+ * of the same schema share a single history. With SPAN_ID or OPERATION_NAME, the history is
+ * additionally partitioned by the corresponding field of the stream's {@link StreamAuditContext},
+ * so that concurrent queries against the same table do not pollute each other's predictions.
+ */
+public enum ColumnAccessScope {
+  SCHEMA("schema"),
+  SPAN_ID("span_id"),
+  OPERATION_NAME("operation_name");
+
+  private final String name;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ColumnAccessScope.class);
+
+  ColumnAccessScope(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the query identifier that column accesses of a stream are partitioned by.
+   *
+   * @param streamAuditContext audit context the stream was opened with, can be null
+   * @return the query identifier, or null if accesses are tracked per schema only
+   */
+  public String getQueryId(StreamAuditContext streamAuditContext) {
+    if (streamAuditContext == null) {
+      return null;
+    }
+
+    switch (this) {
+      case SPAN_ID:
+        return streamAuditContext.getSpanId();
+      case OPERATION_NAME:
+        return streamAuditContext.getOperationName();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Converts user supplied configuration to enum. Defaults to SCHEMA is user input is not
+   * recognised.
+   *
+   * @param columnAccessScope user supplied column access scope
+   * @return ColumnAccessScope enum to use
+   */
+  public static ColumnAccessScope fromString(String columnAccessScope) {
+    for (ColumnAccessScope value : values()) {
+      if (value.name.equalsIgnoreCase(columnAccessScope)) {
+        return value;
+      }
+    }
+    LOG.debug("Unknown column access scope {}, using default schema scope.", columnAccessScope);
+
+    return SCHEMA;
+  }
+}
@@ -18,6 +18,8 @@ package software.amazon.s3.analyticsaccelerator.util;
 /** Enum for file formats. */
 public enum ObjectFormat {
   PARQUET,
+  ORC,
+  ARROW,
   SEQUENTIAL,
   DEFAULT
 }
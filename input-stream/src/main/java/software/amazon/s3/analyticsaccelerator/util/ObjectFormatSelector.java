@@ -25,6 +25,8 @@ public class ObjectFormatSelector {
   private final Pattern csvPattern;
   private final Pattern jsonPattern;
   private final Pattern txtPattern;
+  private final Pattern orcPattern;
+  private final Pattern arrowPattern;
   private final boolean useFormatSpecificIO;
 
   /**
@@ -42,6 +44,10 @@ public class ObjectFormatSelector {
         Pattern.compile(configuration.getJsonFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
     this.txtPattern =
         Pattern.compile(configuration.getTxtFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.orcPattern =
+        Pattern.compile(configuration.getOrcFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.arrowPattern =
+        Pattern.compile(configuration.getArrowFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
     this.useFormatSpecificIO = configuration.isUseFormatSpecificIO();
   }
 
@@ -76,6 +82,14 @@ public class ObjectFormatSelector {
       return ObjectFormat.PARQUET;
     }
 
+    if (orcPattern.matcher(key).find()) {
+      return ObjectFormat.ORC;
+    }
+
+    if (arrowPattern.matcher(key).find()) {
+      return ObjectFormat.ARROW;
+    }
+
     return ObjectFormat.DEFAULT;
   }
 
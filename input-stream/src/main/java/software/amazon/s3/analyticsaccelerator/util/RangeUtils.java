@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/** Utils class for the byte ranges read from objects, independent of their format. */
+public final class RangeUtils {
+  /** Prevent direct instantiation, this is meant to be a facade. */
+  private RangeUtils() {}
+
+  /**
+   * Merges consecutive ranges to avoid making multiple small requests. For example, if there are
+   * ranges [100-200, 500-600, 601-800, 801-900, 1000-1200], this list will be merged into [100-200,
+   * 500-900, 1000-1200]. This is a common scenario when reading smaller consecutive columns, and
+   * when these consecutive columns are small (~1-2MB), making multiple GETs, instead of a single
+   * larger merged request, may hurt performance.
+   *
+   * @param ranges Range of requests to be merged
+   * @return merged ranges
+   */
+  public static List<Range> mergeRanges(List<Range> ranges) {
+    return mergeRanges(ranges, 0);
+  }
+
+  /**
+   * Merges ranges that are consecutive, or separated by at most maxGap bytes. For example, with a
+   * maxGap of 100, ranges [100-200, 300-600] are merged into [100-600], as reading the 99 bytes
+   * between them is cheaper than making a second request. Overlapping ranges are also merged.
+   *
+   * @param ranges Range of requests to be merged
+   * @param maxGap maximum number of bytes between two ranges for them to be merged
+   * @return merged ranges
+   */
+  public static List<Range> mergeRanges(List<Range> ranges, long maxGap) {
+    ranges.sort((Range a, Range b) -> a.getStart() > b.getStart() ? 1 : -1);
+    List<Range> mergedRanges = new ArrayList<>();
+
+    int i = 0;
+    while (i < ranges.size()) {
+      int k = i;
+      long end = ranges.get(i).getEnd();
+
+      // while there are consecutive or close enough ranges, keep iterating
+      while (k < ranges.size() - 1 && ranges.get(k + 1).getStart() - end - 1 <= maxGap) {
+        k++;
+        end = Math.max(end, ranges.get(k).getEnd());
+      }
+
+      mergedRanges.add(new Range(ranges.get(i).getStart(), end));
+
+      i = k + 1;
+    }
+
+    return mergedRanges;
+  }
+}
@@ -22,6 +22,7 @@ import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Attribute;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 
 /** Helper class to streamline Telemetry calls. */
 @Getter
@@ -33,6 +34,7 @@ public enum StreamAttributes {
   VARIANT("variant"),
   EFFECTIVE_RANGE("range.effective"),
   GENERATION("generation"),
+  READ_MODE("read.mode"),
   COLUMN("column"),
   IOPLAN("ioplan"),
   VECTORED_RANGES("vectored.ranges"),
@@ -41,7 +43,12 @@ public enum StreamAttributes {
   RANGE_LENGTH("range.length"),
   STREAM_RELATIVE_TS("stream.relative_ts"),
   LOGICAL_IO_REL_TIMESTAMP("logicalio.ts"),
-  PHYSICAL_IO_REL_TIMESTAMP("physicalio.ts");
+  PHYSICAL_IO_REL_TIMESTAMP("physicalio.ts"),
+  HIT_RATIO("hit.ratio"),
+  FETCHED_BYTES("bytes.fetched"),
+  WASTED_BYTES("bytes.wasted"),
+  GET_REQUEST_COUNT("get.count"),
+  STALL_TIME("stall.time");
   private final String name;
 
   /**
@@ -126,6 +133,16 @@ public enum StreamAttributes {
     return Attribute.of(StreamAttributes.GENERATION.getName(), generation);
   }
 
+  /**
+   * Creates an {@link Attribute} for the {@link ReadMode} of a request.
+   *
+   * @param readMode the read mode to create the attribute from.
+   * @return The new instance of the {@link Attribute}.
+   */
+  public static Attribute readMode(ReadMode readMode) {
+    return Attribute.of(StreamAttributes.READ_MODE.getName(), readMode.toString());
+  }
+
   /**
    * Creates an {@link Attribute} for generation.
    *
@@ -215,4 +232,55 @@ public enum StreamAttributes {
   public static Attribute rangeLength(long ts) {
     return Attribute.of(StreamAttributes.RANGE_LENGTH.getName(), ts);
   }
+
+  /**
+   * Creates an {@link Attribute} to record the share of block reads that found their data
+   * available.
+   *
+   * @param hitRatio the hit ratio to record
+   * @return The new instance of the {@link Attribute}
+   */
+  public static Attribute hitRatio(double hitRatio) {
+    return Attribute.of(StreamAttributes.HIT_RATIO.getName(), hitRatio);
+  }
+
+  /**
+   * Creates an {@link Attribute} to record the number of bytes fetched.
+   *
+   * @param bytes the number of bytes to record
+   * @return The new instance of the {@link Attribute}
+   */
+  public static Attribute fetchedBytes(long bytes) {
+    return Attribute.of(StreamAttributes.FETCHED_BYTES.getName(), bytes);
+  }
+
+  /**
+   * Creates an {@link Attribute} to record the number of bytes fetched but never read.
+   *
+   * @param bytes the number of bytes to record
+   * @return The new instance of the {@link Attribute}
+   */
+  public static Attribute wastedBytes(long bytes) {
+    return Attribute.of(StreamAttributes.WASTED_BYTES.getName(), bytes);
+  }
+
+  /**
+   * Creates an {@link Attribute} to record the number of GET requests issued.
+   *
+   * @param count the number of requests to record
+   * @return The new instance of the {@link Attribute}
+   */
+  public static Attribute getRequestCount(long count) {
+    return Attribute.of(StreamAttributes.GET_REQUEST_COUNT.getName(), count);
+  }
+
+  /**
+   * Creates an {@link Attribute} to record the time (in nanoseconds) spent waiting for data.
+   *
+   * @param stallTimeNanos the time to record
+   * @return The new instance of the {@link Attribute}
+   */
+  public static Attribute stallTime(long stallTimeNanos) {
+    return Attribute.of(StreamAttributes.STALL_TIME.getName(), stallTimeNanos);
+  }
 }
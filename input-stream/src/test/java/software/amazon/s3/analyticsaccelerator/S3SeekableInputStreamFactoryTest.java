@@ -38,7 +38,9 @@ import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.s3.analyticsaccelerator.exceptions.ExceptionHandler;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ArrowLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.SequentialLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
@@ -193,6 +195,8 @@ public class S3SeekableInputStreamFactoryTest {
     S3URI testURIKEYPAR = S3URI.of("bucket", "key.par");
     S3URI testURIJAVA = S3URI.of("bucket", "key.java");
     S3URI testURITXT = S3URI.of("bucket", "key.txt");
+    S3URI testURIORC = S3URI.of("bucket", "key.orc");
+    S3URI testURIARROW = S3URI.of("bucket", "key.arrow");
     S3SeekableInputStreamConfiguration configuration =
         S3SeekableInputStreamConfiguration.builder()
             .logicalIOConfiguration(
@@ -212,6 +216,12 @@ public class S3SeekableInputStreamFactoryTest {
     s3SeekableInputStreamFactory
         .getObjectMetadataStore()
         .storeObjectMetadata(testURITXT, objectMetadata);
+    s3SeekableInputStreamFactory
+        .getObjectMetadataStore()
+        .storeObjectMetadata(testURIORC, objectMetadata);
+    s3SeekableInputStreamFactory
+        .getObjectMetadataStore()
+        .storeObjectMetadata(testURIARROW, objectMetadata);
 
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(testURIParquet, OpenStreamInformation.DEFAULT)
@@ -223,6 +233,12 @@ public class S3SeekableInputStreamFactoryTest {
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(testURIJAVA, OpenStreamInformation.DEFAULT)
             instanceof DefaultLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(testURIORC, OpenStreamInformation.DEFAULT)
+            instanceof OrcLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(testURIARROW, OpenStreamInformation.DEFAULT)
+            instanceof ArrowLogicalIOImpl);
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(testURITXT, OpenStreamInformation.DEFAULT)
             instanceof SequentialLogicalIOImpl);
@@ -354,6 +370,20 @@ public class S3SeekableInputStreamFactoryTest {
         "ParquetColumnPrefetchStore should be initialized");
   }
 
+  @Test
+  void testGetColumnPrefetchAccuracy() {
+    ObjectClient mockObjectClient = mock(ObjectClient.class);
+    S3SeekableInputStreamFactory factory =
+        new S3SeekableInputStreamFactory(
+            mockObjectClient, S3SeekableInputStreamConfiguration.DEFAULT);
+
+    assertSame(
+        factory.getParquetColumnPrefetchStore().getColumnPrefetchAccuracy(),
+        factory.getColumnPrefetchAccuracy());
+    assertEquals(0, factory.getColumnPrefetchAccuracy().getPredictedCount());
+    assertEquals(0, factory.getColumnPrefetchAccuracy().getReadCount());
+  }
+
   @Test
   void testObjectFormatSelector() {
     ObjectClient mockObjectClient = mock(ObjectClient.class);
@@ -25,11 +25,20 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Attribute;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationDescriptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationSupplier;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryAction;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
@@ -38,6 +47,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
@@ -185,6 +195,76 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
     verify(logicalIO, times(1)).close();
   }
 
+  @Test
+  void testCloseReportsStreamSummaryOnce() throws Throwable {
+    // Given: a stream that stalled on one of two block reads and used 60 of 100 fetched bytes
+    StreamStatistics streamStatistics = new StreamStatistics();
+    streamStatistics.recordRequest(100);
+    streamStatistics.recordBlockRead(500);
+    streamStatistics.recordBlockRead(0);
+    streamStatistics.recordUsedBytes(60);
+    LogicalIO logicalIO = mock(LogicalIO.class);
+    when(logicalIO.getStreamStatistics()).thenReturn(streamStatistics);
+    Telemetry telemetry = mock(Telemetry.class);
+    S3SeekableInputStream stream = new S3SeekableInputStream(TEST_URI, logicalIO, telemetry);
+
+    // When: the stream is closed twice
+    stream.close();
+    stream.close();
+
+    // Then: a single summary is reported
+    ArgumentCaptor<OperationSupplier> operationCaptor =
+        ArgumentCaptor.forClass(OperationSupplier.class);
+    verify(telemetry, times(1))
+        .measureStandard(operationCaptor.capture(), any(TelemetryAction.class));
+    Operation operation = operationCaptor.getValue().apply();
+    assertEquals("stream.summary", operation.getName());
+    assertEquals(TEST_URI.toString(), operation.getAttributes().get("uri").getValue());
+    assertEquals(0.5, operation.getAttributes().get("hit.ratio").getValue());
+    assertEquals(100L, operation.getAttributes().get("bytes.fetched").getValue());
+    assertEquals(40L, operation.getAttributes().get("bytes.wasted").getValue());
+    assertEquals(1L, operation.getAttributes().get("get.count").getValue());
+    assertEquals(500L, operation.getAttributes().get("stall.time").getValue());
+  }
+
+  @Test
+  void testByteBufferReadIsRecordedWithReadAttributes() throws IOException {
+    // Given: a stream whose reads are recorded
+    LogicalIO logicalIO = mock(LogicalIO.class);
+    when(logicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(200).etag("RANDOM").build());
+    when(logicalIO.read(any(ByteBuffer.class), anyLong())).thenReturn(10);
+    Telemetry telemetry = mock(Telemetry.class);
+    when(telemetry.startRecording(any(OperationDescriptor.class))).thenReturn(1L);
+    S3SeekableInputStream stream = new S3SeekableInputStream(TEST_URI, logicalIO, telemetry);
+
+    // When: a buffer is filled
+    stream.readFully(100, ByteBuffer.allocate(10));
+
+    // Then: the read is reported with the same attributes as the reads measured on every call
+    ArgumentCaptor<OperationDescriptor> descriptorCaptor =
+        ArgumentCaptor.forClass(OperationDescriptor.class);
+    ArgumentCaptor<Object> subjectCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(telemetry)
+        .completeRecording(
+            descriptorCaptor.capture(),
+            eq(1L),
+            subjectCaptor.capture(),
+            eq(100L),
+            eq(109L),
+            eq(0L),
+            eq(Optional.empty()));
+    OperationDescriptor descriptor = descriptorCaptor.getValue();
+    Operation.OperationBuilder operationBuilder = Operation.builder().name(descriptor.getName());
+    descriptor.getAttributeWriter().write(operationBuilder, subjectCaptor.getValue(), 100, 109, 0);
+    Map<String, Attribute> attributes = operationBuilder.build().getAttributes();
+    assertEquals("stream.read", descriptor.getName());
+    assertEquals(TEST_URI.toString(), attributes.get("uri").getValue());
+    assertEquals("RANDOM", attributes.get("etag").getValue());
+    assertEquals("100-109", attributes.get("range").getValue());
+    assertEquals("bytebuffer", attributes.get("variant").getValue());
+  }
+
   @Test
   void testReadWithBufferNulls() throws IOException {
     try (S3SeekableInputStream stream = getTestStream()) {
@@ -561,6 +641,63 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
     }
   }
 
+  @Test
+  void testReadWithByteBuffer() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: the stream is read into a direct buffer and then into a heap buffer
+      ByteBuffer direct = ByteBuffer.allocateDirect(5);
+      ByteBuffer heap = ByteBuffer.allocate(TEST_DATA.length());
+      assertEquals(5, stream.read(direct));
+      assertEquals(TEST_DATA.length() - 5, stream.read(heap));
+
+      // Then: both buffers and the stream position are advanced
+      assertEquals(5, direct.position());
+      assertEquals(TEST_DATA.length() - 5, heap.position());
+      assertEquals(TEST_DATA.length(), stream.getPos());
+      direct.flip();
+      byte[] bytes = new byte[direct.remaining()];
+      direct.get(bytes);
+      assertEquals("test-", new String(bytes, StandardCharsets.UTF_8));
+      String heapContent = new String(heap.array(), 0, heap.position(), StandardCharsets.UTF_8);
+      assertEquals(TEST_DATA.substring(5), heapContent);
+
+      // All data has been read, and pos is current at EOF. Next read should return -1.
+      assertEquals(-1, stream.read(ByteBuffer.allocate(1)));
+      assertEquals(0, stream.read(ByteBuffer.allocate(0)));
+    }
+  }
+
+  @Test
+  void testReadFullyWithByteBuffer() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: reading 5 bytes from position 10 into a direct buffer
+      ByteBuffer buf = ByteBuffer.allocateDirect(5);
+      stream.readFully(10, buf);
+
+      // Then: the buffer is full, and the position of the stream did not change
+      assertFalse(buf.hasRemaining());
+      buf.flip();
+      byte[] bytes = new byte[buf.remaining()];
+      buf.get(bytes);
+      assertEquals(TEST_DATA.substring(10, 15), new String(bytes, StandardCharsets.UTF_8));
+      assertEquals(0, stream.getPos());
+
+      // And: reads past the end of the stream or into read-only buffers are rejected
+      assertThrows(IOException.class, () -> stream.readFully(15, ByteBuffer.allocate(10)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> stream.readFully(0, ByteBuffer.allocate(1).asReadOnlyBuffer()));
+    }
+  }
+
+  @Test
+  public void testByteBufferReadOnClosedStream() throws IOException {
+    S3SeekableInputStream seekableInputStream = getTestStream();
+    seekableInputStream.close();
+    assertThrows(IOException.class, () -> seekableInputStream.read(ByteBuffer.allocate(8)));
+    assertThrows(IOException.class, () -> seekableInputStream.readFully(0, ByteBuffer.allocate(8)));
+  }
+
   private S3SeekableInputStream getTestStream() {
     return new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT);
   }
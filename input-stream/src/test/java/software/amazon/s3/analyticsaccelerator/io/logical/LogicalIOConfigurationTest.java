@@ -80,11 +80,25 @@ public class LogicalIOConfigurationTest {
             + "\tlargeFileSize: 1073741824\n"
             + "\tparquetMetadataStoreSize: 45\n"
             + "\tmaxColumnAccessCountStoreSize: 15\n"
+            + "\tcolumnAccessDecayFactor: 0.95\n"
+            + "\tcolumnPrefetchConfidenceThreshold: 0.5\n"
+            + "\tcolumnAccessScope: SCHEMA\n"
+            + "\trowGroupLookaheadDepth: 1\n"
+            + "\trowGroupLookaheadThreshold: 0.5\n"
+            + "\trowGroupLookaheadMaxBytes: 67108864\n"
             + "\tparquetFormatSelectorRegex: ^.*.(parquet|par)$\n"
             + "\tcsvFormatSelectorRegex: ^.*\\.(csv|CSV)$\n"
             + "\tjsonFormatSelectorRegex: ^.*\\.(json|JSON)$\n"
             + "\ttxtFormatSelectorRegex: ^.*\\.(txt|TXT)$\n"
+            + "\torcFormatSelectorRegex: ^.*\\.(orc|ORC)$\n"
+            + "\torcStripeLookahead: 1\n"
+            + "\tarrowFormatSelectorRegex: ^.*\\.(arrow|feather|ARROW|FEATHER)$\n"
+            + "\tarrowRecordBatchLookahead: 1\n"
             + "\tprefetchingMode: ROW_GROUP\n"
-            + "\tpartitionSize: 134217728\n");
+            + "\tpartitionSize: 134217728\n"
+            + "\tsequentialPrefetchMinWindowSize: 8388608\n"
+            + "\tsequentialPrefetchMaxWindowSize: 536870912\n"
+            + "\tsequentialPrefetchRequestSize: 8388608\n"
+            + "\tsequentialPrefetchLeadTimeMilliseconds: 1000\n");
   }
 }
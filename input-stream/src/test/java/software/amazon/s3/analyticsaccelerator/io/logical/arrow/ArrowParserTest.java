@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.TYPE_INT;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.TYPE_STRUCT;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.TYPE_UTF8;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.TYPE_UTF8_VIEW;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.dictionaryField;
+import static software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles.field;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ArrowParserTest {
+  // Each record batch has a validity and a data buffer for ss_a, and a validity, an offsets and a
+  // data buffer for ss_b
+  private static final long[][] BUFFER_LENGTHS = {{0, 40, 8, 16, 100}, {8, 80, 8, 32, 200}};
+
+  @Test
+  void testParseFooter() throws IOException {
+    byte[] file = simpleFile();
+    ArrowParser arrowParser = new ArrowParser();
+
+    ArrowFileMetadata fileMetadata = arrowParser.parseFooter(file, file.length);
+    assertEquals(Arrays.asList("ss_a", "ss_b"), fileMetadata.getColumnNames());
+    assertEquals(Arrays.asList(0, 0, 1, 1, 1), fileMetadata.getBufferColumns());
+    assertEquals("ss_ass_b".hashCode(), fileMetadata.getSchemaHash());
+
+    List<ArrowBlock> recordBatches = fileMetadata.getRecordBatches();
+    assertEquals(2, recordBatches.size());
+    assertEquals(0, recordBatches.get(0).getBatchIndex());
+    assertEquals(8, recordBatches.get(0).getOffset());
+    assertEquals(168, recordBatches.get(0).getBodyLength());
+    assertEquals(1, recordBatches.get(1).getBatchIndex());
+    assertEquals(recordBatches.get(0).getEndOffset(), recordBatches.get(1).getOffset());
+    assertEquals(328, recordBatches.get(1).getBodyLength());
+    // The footer follows the last record batch
+    assertEquals(
+        file.length - recordBatches.get(1).getEndOffset(),
+        arrowParser.getFileTailLength(file, file.length));
+  }
+
+  @Test
+  void testParseFooterNestedAndDictionaryFields() throws IOException {
+    byte[] file =
+        ArrowTestFiles.file(
+            Arrays.asList(
+                field("ss_a", TYPE_INT),
+                field("ss_b", TYPE_STRUCT, field("x", TYPE_INT), field("y", TYPE_UTF8)),
+                dictionaryField("ss_c")),
+            new long[0][]);
+
+    ArrowFileMetadata fileMetadata = new ArrowParser().parseFooter(file, file.length);
+
+    assertEquals(Arrays.asList("ss_a", "ss_b", "ss_c"), fileMetadata.getColumnNames());
+    // The struct has its own validity buffer, followed by the buffers of its children
+    assertEquals(Arrays.asList(0, 0, 1, 1, 1, 1, 1, 1, 2, 2), fileMetadata.getBufferColumns());
+    assertEquals(0, fileMetadata.getRecordBatches().size());
+  }
+
+  @Test
+  void testParseFooterUnsupportedType() {
+    byte[] file =
+        ArrowTestFiles.file(
+            Arrays.asList(field("ss_a", TYPE_INT), field("ss_b", TYPE_UTF8_VIEW)), new long[0][]);
+
+    assertThrows(IOException.class, () -> new ArrowParser().parseFooter(file, file.length));
+  }
+
+  @Test
+  void testParseFooterTailTooShort() throws IOException {
+    byte[] file = simpleFile();
+    ArrowParser arrowParser = new ArrowParser();
+
+    // Only the footer length and the magic are in the tail
+    int tailLength = ArrowParser.FILE_TAIL_SUFFIX_LENGTH;
+    byte[] tail = Arrays.copyOfRange(file, file.length - tailLength, file.length);
+    assertEquals(
+        arrowParser.getFileTailLength(file, file.length),
+        arrowParser.getFileTailLength(tail, tailLength));
+    assertThrows(IOException.class, () -> arrowParser.parseFooter(tail, tailLength));
+  }
+
+  @Test
+  void testGetFileTailLengthNotArrow() {
+    ArrowParser arrowParser = new ArrowParser();
+    assertThrows(IOException.class, () -> arrowParser.getFileTailLength(new byte[0], 0));
+    assertThrows(IOException.class, () -> arrowParser.getFileTailLength(new byte[20], 20));
+  }
+
+  @Test
+  void testParseRecordBatch() throws IOException {
+    byte[] file = simpleFile();
+    ArrowParser arrowParser = new ArrowParser();
+    ArrowFileMetadata fileMetadata = arrowParser.parseFooter(file, file.length);
+    ArrowBlock recordBatch = fileMetadata.getRecordBatches().get(1);
+
+    List<ArrowBuffer> buffers =
+        arrowParser.parseRecordBatch(message(file, recordBatch), fileMetadata, recordBatch);
+
+    long body = recordBatch.getBodyOffset();
+    assertEquals(
+        Arrays.asList(
+            new ArrowBuffer(0, body, 8),
+            new ArrowBuffer(0, body + 8, 80),
+            new ArrowBuffer(1, body + 88, 8),
+            new ArrowBuffer(1, body + 96, 32),
+            new ArrowBuffer(1, body + 128, 200)),
+        buffers);
+  }
+
+  @Test
+  void testParseRecordBatchBufferCountMismatch() throws IOException {
+    byte[] file = simpleFile();
+    ArrowParser arrowParser = new ArrowParser();
+    ArrowFileMetadata fileMetadata = arrowParser.parseFooter(file, file.length);
+    ArrowBlock recordBatch = fileMetadata.getRecordBatches().get(0);
+    ArrowFileMetadata otherSchema =
+        new ArrowFileMetadata(
+            fileMetadata.getColumnNames(),
+            fileMetadata.getRecordBatches(),
+            Arrays.asList(0, 0, 1, 1),
+            fileMetadata.getSchemaHash());
+
+    assertThrows(
+        IOException.class,
+        () -> arrowParser.parseRecordBatch(message(file, recordBatch), otherSchema, recordBatch));
+    assertThrows(
+        IOException.class,
+        () -> arrowParser.parseRecordBatch(new byte[16], fileMetadata, recordBatch));
+  }
+
+  @Test
+  void testGetRecordBatchAtPosition() throws IOException {
+    byte[] file = simpleFile();
+    ArrowFileMetadata fileMetadata = new ArrowParser().parseFooter(file, file.length);
+    ArrowBlock first = fileMetadata.getRecordBatches().get(0);
+    ArrowBlock second = fileMetadata.getRecordBatches().get(1);
+
+    assertNull(fileMetadata.getRecordBatchAtPosition(0));
+    assertEquals(first, fileMetadata.getRecordBatchAtPosition(8));
+    assertEquals(first, fileMetadata.getRecordBatchAtPosition(first.getBodyOffset()));
+    assertEquals(first, fileMetadata.getRecordBatchAtPosition(first.getEndOffset() - 1));
+    assertEquals(second, fileMetadata.getRecordBatchAtPosition(second.getOffset()));
+    assertNull(fileMetadata.getRecordBatchAtPosition(second.getEndOffset()));
+  }
+
+  private static byte[] simpleFile() {
+    return ArrowTestFiles.file(
+        Arrays.asList(field("ss_a", TYPE_INT), field("ss_b", TYPE_UTF8)), BUFFER_LENGTHS);
+  }
+
+  private static byte[] message(byte[] file, ArrowBlock recordBatch) {
+    int offset = (int) recordBatch.getOffset();
+    return Arrays.copyOfRange(file, offset, offset + recordBatch.getMetadataLength());
+  }
+}
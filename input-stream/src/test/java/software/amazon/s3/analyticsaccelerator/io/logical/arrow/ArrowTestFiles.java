@@ -0,0 +1,255 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds Arrow IPC files for tests. Only the parts read by {@link ArrowParser} are written: the
+ * footer with the schema and record batch blocks, and record batch messages with their buffers.
+ * Buffers are laid out back to back in the body, each padded to 8 bytes.
+ */
+public final class ArrowTestFiles {
+  public static final int TYPE_INT = 2;
+  public static final int TYPE_UTF8 = 5;
+  public static final int TYPE_STRUCT = 13;
+  public static final int TYPE_UTF8_VIEW = 24;
+
+  private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+  private static final int BUFFER_ALIGNMENT = 8;
+
+  private ArrowTestFiles() {}
+
+  /**
+   * Creates a field of the schema.
+   *
+   * @param name name of the field
+   * @param typeType value of the Type union of the field
+   * @param children children of the field
+   * @return the field
+   */
+  public static Table field(String name, int typeType, Table... children) {
+    Table field = new Table().string(0, name).scalar(1, 1, 1).scalar(2, 1, typeType);
+    field.table(3, new Table());
+    field.tables(5, Arrays.asList(children));
+    return field;
+  }
+
+  /**
+   * Creates a dictionary encoded field of the schema.
+   *
+   * @param name name of the field
+   * @return the field
+   */
+  public static Table dictionaryField(String name) {
+    return field(name, TYPE_UTF8).table(4, new Table().scalar(0, 8, 0));
+  }
+
+  /**
+   * Builds an Arrow IPC file.
+   *
+   * @param fields top level fields of the schema
+   * @param bufferLengths lengths of the buffers of each record batch
+   * @return the file
+   */
+  public static byte[] file(List<Table> fields, long[][] bufferLengths) {
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    file.write(MAGIC, 0, MAGIC.length);
+    file.write(0);
+    file.write(0);
+
+    ByteBuffer blocks = littleEndian(bufferLengths.length * 24);
+    for (long[] lengths : bufferLengths) {
+      ByteBuffer buffers = littleEndian(lengths.length * 16);
+      long bodyLength = 0;
+      for (long length : lengths) {
+        buffers.putLong(bodyLength).putLong(length);
+        bodyLength += pad(length);
+      }
+
+      Table recordBatch = new Table().scalar(0, 8, 100).structs(2, buffers.array(), lengths.length);
+      Table message =
+          new Table()
+              .scalar(0, 2, 4)
+              .scalar(1, 1, 3)
+              .table(2, recordBatch)
+              .scalar(3, 8, bodyLength);
+      byte[] flatBuffer = message.toFlatBuffer();
+
+      long offset = file.size();
+      int metadataLength = (int) pad(8 + flatBuffer.length);
+      ByteBuffer metadata = littleEndian(metadataLength);
+      metadata.putInt(0xFFFFFFFF).putInt(metadataLength - 8).put(flatBuffer);
+      file.write(metadata.array(), 0, metadataLength);
+      file.write(new byte[(int) bodyLength], 0, (int) bodyLength);
+
+      blocks.putLong(offset).putInt(metadataLength).putInt(0).putLong(bodyLength);
+    }
+
+    Table schema = new Table().tables(1, fields);
+    Table footer =
+        new Table()
+            .scalar(0, 2, 4)
+            .table(1, schema)
+            .structs(3, blocks.array(), bufferLengths.length);
+    byte[] footerBytes = footer.toFlatBuffer();
+    file.write(footerBytes, 0, footerBytes.length);
+    file.write(littleEndian(4).putInt(footerBytes.length).array(), 0, 4);
+    file.write(MAGIC, 0, MAGIC.length);
+    return file.toByteArray();
+  }
+
+  private static long pad(long length) {
+    return (length + BUFFER_ALIGNMENT - 1) / BUFFER_ALIGNMENT * BUFFER_ALIGNMENT;
+  }
+
+  private static ByteBuffer littleEndian(int size) {
+    return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * A FlatBuffers table to be serialized. Children are written after their parent, so all offsets
+   * point forward as the format requires.
+   */
+  public static final class Table {
+    private final List<Object[]> fields = new ArrayList<>();
+
+    Table scalar(int index, int size, long value) {
+      fields.add(new Object[] {index, size, value});
+      return this;
+    }
+
+    Table table(int index, Table table) {
+      fields.add(new Object[] {index, 4, table});
+      return this;
+    }
+
+    Table string(int index, String value) {
+      fields.add(new Object[] {index, 4, value});
+      return this;
+    }
+
+    Table tables(int index, List<Table> tables) {
+      fields.add(new Object[] {index, 4, tables});
+      return this;
+    }
+
+    Table structs(int index, byte[] structs, int count) {
+      fields.add(new Object[] {index, 4, new Structs(structs, count)});
+      return this;
+    }
+
+    byte[] toFlatBuffer() {
+      ByteBuffer out = littleEndian(64 * 1024);
+      out.position(4);
+      out.putInt(0, write(out));
+      return Arrays.copyOf(out.array(), out.position());
+    }
+
+    private int write(ByteBuffer out) {
+      int maxIndex = -1;
+      for (Object[] field : fields) {
+        maxIndex = Math.max(maxIndex, (int) field[0]);
+      }
+
+      int[] fieldOffsets = new int[fields.size()];
+      int tableSize = 4;
+      for (int i = 0; i < fields.size(); i++) {
+        fieldOffsets[i] = tableSize;
+        tableSize += (int) fields.get(i)[1];
+      }
+
+      int vtablePosition = out.position();
+      out.putShort((short) (4 + 2 * (maxIndex + 1)));
+      out.putShort((short) tableSize);
+      short[] vtable = new short[maxIndex + 1];
+      for (int i = 0; i < fields.size(); i++) {
+        vtable[(int) fields.get(i)[0]] = (short) fieldOffsets[i];
+      }
+      for (short fieldOffset : vtable) {
+        out.putShort(fieldOffset);
+      }
+
+      int tablePosition = out.position();
+      out.putInt(tablePosition - vtablePosition);
+      for (Object[] field : fields) {
+        int size = (int) field[1];
+        long value = field[2] instanceof Long ? (long) field[2] : 0;
+        if (size == 1) {
+          out.put((byte) value);
+        } else if (size == 2) {
+          out.putShort((short) value);
+        } else if (size == 4) {
+          out.putInt((int) value);
+        } else {
+          out.putLong(value);
+        }
+      }
+
+      for (int i = 0; i < fields.size(); i++) {
+        Object value = fields.get(i)[2];
+        if (!(value instanceof Long)) {
+          int fieldPosition = tablePosition + fieldOffsets[i];
+          out.putInt(fieldPosition, writeChild(out, value) - fieldPosition);
+        }
+      }
+
+      return tablePosition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int writeChild(ByteBuffer out, Object value) {
+      if (value instanceof Table) {
+        return ((Table) value).write(out);
+      }
+
+      int position = out.position();
+      if (value instanceof String) {
+        byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes).put((byte) 0);
+      } else if (value instanceof Structs) {
+        Structs structs = (Structs) value;
+        out.putInt(structs.count).put(structs.bytes);
+      } else {
+        List<Table> tables = (List<Table>) value;
+        out.putInt(tables.size());
+        int elements = out.position();
+        out.position(elements + 4 * tables.size());
+        for (int i = 0; i < tables.size(); i++) {
+          int elementPosition = elements + 4 * i;
+          out.putInt(elementPosition, tables.get(i).write(out) - elementPosition);
+        }
+      }
+      return position;
+    }
+  }
+
+  private static final class Structs {
+    private final byte[] bytes;
+    private final int count;
+
+    Structs(byte[] bytes, int count) {
+      this.bytes = bytes;
+      this.count = count;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBuffer;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.ColumnAccessScope;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+public class ArrowColumnPrefetchStoreTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+
+  @Test
+  void testFileMetadata() {
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowFileMetadata fileMetadata =
+        new ArrowFileMetadata(
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), 0);
+
+    assertNull(store.getFileMetadata(TEST_URI));
+    store.putFileMetadata(TEST_URI, fileMetadata);
+    assertSame(fileMetadata, store.getFileMetadata(TEST_URI));
+  }
+
+  @Test
+  void testRecordBatchBuffers() {
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    List<ArrowBuffer> buffers = Arrays.asList(new ArrowBuffer(1, 100, 50));
+
+    assertNull(store.getRecordBatchBuffers(TEST_URI, 0));
+    store.putRecordBatchBuffers(TEST_URI, 0, buffers);
+    assertSame(buffers, store.getRecordBatchBuffers(TEST_URI, 0));
+    assertNull(store.getRecordBatchBuffers(TEST_URI, 1));
+  }
+
+  @Test
+  void testAddRecentColumn() {
+    int schemaHash = 1;
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    assertTrue(store.getUniqueRecentColumnsForSchema(schemaHash, null).isEmpty());
+
+    store.addRecentColumn(schemaHash, "ss_a", null);
+    store.addRecentColumn(schemaHash, "ss_b", null);
+
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        store.getUniqueRecentColumnsForSchema(schemaHash, null));
+    assertTrue(store.getUniqueRecentColumnsForSchema(2, null).isEmpty());
+  }
+
+  @Test
+  void testAddRecentColumnScopedByQuery() {
+    int schemaHash = 1;
+    ArrowColumnPrefetchStore store =
+        new ArrowColumnPrefetchStore(
+            LogicalIOConfiguration.builder().columnAccessScope(ColumnAccessScope.SPAN_ID).build());
+    StreamAuditContext query1 =
+        StreamAuditContext.builder().spanId("span-1").operationName("op_open").build();
+    StreamAuditContext query2 =
+        StreamAuditContext.builder().spanId("span-2").operationName("op_open").build();
+    StreamAuditContext query3 =
+        StreamAuditContext.builder().spanId("span-3").operationName("op_open").build();
+
+    store.addRecentColumn(schemaHash, "ss_a", query1);
+    store.addRecentColumn(schemaHash, "ss_b", query2);
+
+    assertEquals(
+        Collections.singleton("ss_a"), store.getUniqueRecentColumnsForSchema(schemaHash, query1));
+    assertEquals(
+        Collections.singleton("ss_b"), store.getUniqueRecentColumnsForSchema(schemaHash, query2));
+    // A query without history falls back to the history of the schema
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        store.getUniqueRecentColumnsForSchema(schemaHash, query3));
+  }
+
+  @Test
+  void testMarkRecordBatchPrefetched() {
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    assertTrue(store.markRecordBatchPrefetched(TEST_URI, 0));
+    assertFalse(store.markRecordBatchPrefetched(TEST_URI, 0));
+    assertTrue(store.markRecordBatchPrefetched(TEST_URI, 1));
+    assertTrue(store.markRecordBatchPrefetched(S3URI.of("foo", "baz.arrow"), 0));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ArrowLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            mock(LogicalIOConfiguration.class),
+            mock(ArrowColumnPrefetchStore.class),
+            OpenStreamInformation.DEFAULT));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(ArrowColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(ArrowColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                mock(LogicalIOConfiguration.class),
+                mock(ArrowColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                mock(ArrowColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                null,
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(ArrowColumnPrefetchStore.class),
+                null));
+  }
+
+  @Test
+  void testReadDelegatesToPhysicalIO() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build();
+    ArrowLogicalIOImpl logicalIO =
+        new ArrowLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            configuration,
+            new ArrowColumnPrefetchStore(configuration),
+            OpenStreamInformation.DEFAULT);
+    byte[] buffer = new byte[10];
+
+    logicalIO.read(buffer, 0, 10, 100);
+    logicalIO.close();
+
+    verify(physicalIO, times(1)).read(buffer, 0, 10, 100);
+    verify(physicalIO, times(1)).close(false);
+  }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBlock;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFiles;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowPrefetcherTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+
+  // Each record batch has a validity and a data buffer for ss_a, and a validity, an offsets and a
+  // data buffer for ss_b. Buffers are padded to 8 bytes, so the body of the first record batch is
+  // laid out as [0, 8) [8, 408) [408, 416) [416, 456) [456, 1056)
+  private static final long[][] BUFFER_LENGTHS = {{8, 400, 8, 40, 600}, {1, 800, 8, 80, 1200}};
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(ArrowColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                OpenStreamInformation.DEFAULT));
+  }
+
+  @Test
+  void testPrefetchFooterAndBuildMetadata() throws IOException {
+    ArrowFile arrowFile = new ArrowFile();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowPrefetcher arrowPrefetcher =
+        arrowFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+
+    IOPlanExecution execution = arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+    assertNotNull(fileMetadata);
+    assertEquals(2, fileMetadata.getRecordBatches().size());
+    assertEquals(Arrays.asList("ss_a", "ss_b"), fileMetadata.getColumnNames());
+    verify(arrowFile.physicalIO).readTail(any(), eq(0), eq(arrowFile.content.length));
+  }
+
+  @Test
+  void testPrefetchFooterRereadsLargeFooter() throws IOException {
+    ArrowFile arrowFile = new ArrowFile();
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchFileMetadataSize(24).build();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(configuration);
+    ArrowPrefetcher arrowPrefetcher = arrowFile.createPrefetcher(configuration, store);
+
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+    assertNotNull(fileMetadata);
+    int tailLength =
+        arrowFile.content.length - (int) fileMetadata.getRecordBatches().get(1).getEndOffset();
+    verify(arrowFile.physicalIO).readTail(any(), eq(0), eq(24));
+    verify(arrowFile.physicalIO).readTail(any(), eq(0), eq(tailLength));
+  }
+
+  @Test
+  void testPrefetchFooterSkippedWhenPrefetchingOff() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build();
+    ArrowPrefetcher arrowPrefetcher =
+        new ArrowPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            configuration,
+            new ArrowColumnPrefetchStore(configuration),
+            OpenStreamInformation.DEFAULT);
+
+    assertEquals(
+        IOPlanState.SKIPPED, arrowPrefetcher.prefetchFooterAndBuildMetadata().join().getState());
+    arrowPrefetcher.addToRecentColumnList(100, 10);
+    verifyNoInteractions(physicalIO);
+  }
+
+  @Test
+  void testPrefetchFooterSwallowsExceptions() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenThrow(new IOException("Error"));
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowPrefetcher arrowPrefetcher =
+        new ArrowPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            store,
+            OpenStreamInformation.DEFAULT);
+
+    assertEquals(
+        IOPlanState.SKIPPED, arrowPrefetcher.prefetchFooterAndBuildMetadata().join().getState());
+    assertNull(store.getFileMetadata(TEST_URI));
+  }
+
+  @Test
+  void testAddToRecentColumnListPrefetchesUpcomingRecordBatch() throws IOException {
+    ArrowFile arrowFile = new ArrowFile();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowPrefetcher arrowPrefetcher =
+        arrowFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    // Read the data buffer of ss_b in the first record batch
+    long firstBody = fileMetadata.getRecordBatches().get(0).getBodyOffset();
+    arrowPrefetcher.addToRecentColumnList(firstBody + 456, 600);
+
+    assertEquals(
+        Collections.singleton("ss_b"),
+        store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null));
+
+    // The buffers of ss_b in the second record batch are prefetched with a single request
+    long secondBody = fileMetadata.getRecordBatches().get(1).getBodyOffset();
+    List<Range> expectedRanges =
+        Collections.singletonList(new Range(secondBody + 808, secondBody + 2095));
+    verify(arrowFile.physicalIO, timeout(5000))
+        .execute(
+            argThat(ioPlan -> ioPlan.getPrefetchRanges().equals(expectedRanges)),
+            eq(ReadMode.COLUMN_PREFETCH));
+    assertFalse(store.markRecordBatchPrefetched(TEST_URI, 0));
+    assertFalse(store.markRecordBatchPrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testAddToRecentColumnListDoesNotWaitForRecordBatchMetadata() throws Exception {
+    ArrowFile arrowFile = new ArrowFile();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowPrefetcher arrowPrefetcher =
+        arrowFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    // The metadata of the second record batch is not loaded, and reading it is stalled
+    CountDownLatch metadataRead = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              metadataRead.await();
+              byte[] buf = invocation.getArgument(0);
+              int off = invocation.getArgument(1);
+              int len = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              System.arraycopy(arrowFile.content, (int) position, buf, off, len);
+              return len;
+            })
+        .when(arrowFile.physicalIO)
+        .read(any(), anyInt(), anyInt(), anyLong());
+
+    // Read the data buffer of ss_b in the second record batch
+    long secondBody = fileMetadata.getRecordBatches().get(1).getBodyOffset();
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5), () -> arrowPrefetcher.addToRecentColumnList(secondBody + 456, 600));
+    assertTrue(store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty());
+
+    // The column is recorded once the metadata arrives
+    metadataRead.countDown();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty()
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(
+        Collections.singleton("ss_b"),
+        store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null));
+  }
+
+  @Test
+  void testAddToRecentColumnListIgnoresMessageMetadataReads() throws IOException {
+    ArrowFile arrowFile = new ArrowFile();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ArrowPrefetcher arrowPrefetcher =
+        arrowFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    ArrowBlock recordBatch = fileMetadata.getRecordBatches().get(0);
+    arrowPrefetcher.addToRecentColumnList(recordBatch.getOffset(), 8);
+
+    assertTrue(store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty());
+    assertTrue(store.markRecordBatchPrefetched(TEST_URI, 0));
+  }
+
+  @Test
+  void testPrefetchRecordBatchOnlyOnce() throws IOException {
+    ArrowFile arrowFile = new ArrowFile();
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().arrowRecordBatchLookahead(0).build();
+    ArrowColumnPrefetchStore store = new ArrowColumnPrefetchStore(configuration);
+    ArrowPrefetcher arrowPrefetcher = arrowFile.createPrefetcher(configuration, store);
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+    ArrowFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+    store.addRecentColumn(fileMetadata.getSchemaHash(), "ss_a", null);
+
+    assertEquals(
+        IOPlanState.SUBMITTED, arrowPrefetcher.prefetchRecordBatch(fileMetadata, 1).getState());
+    assertEquals(
+        IOPlanState.SKIPPED, arrowPrefetcher.prefetchRecordBatch(fileMetadata, 1).getState());
+    assertEquals(
+        IOPlanState.SKIPPED, arrowPrefetcher.prefetchRecordBatch(fileMetadata, 2).getState());
+
+    // The 1 byte validity buffer of ss_a is merged with its data buffer across the padding
+    long secondBody = fileMetadata.getRecordBatches().get(1).getBodyOffset();
+    List<Range> expectedRanges =
+        Collections.singletonList(new Range(secondBody, secondBody + 807));
+    verify(arrowFile.physicalIO)
+        .execute(
+            argThat(ioPlan -> ioPlan.getPrefetchRanges().equals(expectedRanges)),
+            eq(ReadMode.COLUMN_PREFETCH));
+  }
+
+  /** An Arrow IPC file served by a mocked PhysicalIO. */
+  private static class ArrowFile {
+    private final PhysicalIO physicalIO = mock(PhysicalIO.class);
+    private final byte[] content;
+
+    ArrowFile() throws IOException {
+      this.content =
+          ArrowTestFiles.file(
+              Arrays.asList(
+                  ArrowTestFiles.field("ss_a", ArrowTestFiles.TYPE_INT),
+                  ArrowTestFiles.field("ss_b", ArrowTestFiles.TYPE_UTF8)),
+              BUFFER_LENGTHS);
+
+      when(physicalIO.metadata())
+          .thenReturn(ObjectMetadata.builder().contentLength(content.length).etag("ETAG").build());
+      when(physicalIO.readTail(any(), anyInt(), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                byte[] buf = invocation.getArgument(0);
+                int off = invocation.getArgument(1);
+                int len = invocation.getArgument(2);
+                System.arraycopy(content, content.length - len, buf, off, len);
+                return len;
+              });
+      when(physicalIO.read(any(), anyInt(), anyInt(), anyLong()))
+          .thenAnswer(
+              invocation -> {
+                byte[] buf = invocation.getArgument(0);
+                int off = invocation.getArgument(1);
+                int len = invocation.getArgument(2);
+                long position = invocation.getArgument(3);
+                System.arraycopy(content, (int) position, buf, off, len);
+                return len;
+              });
+      when(physicalIO.execute(any(), any()))
+          .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+    }
+
+    ArrowPrefetcher createPrefetcher(
+        LogicalIOConfiguration configuration, ArrowColumnPrefetchStore store) {
+      return new ArrowPrefetcher(
+          TEST_URI,
+          physicalIO,
+          TestTelemetry.DEFAULT,
+          configuration,
+          store,
+          OpenStreamInformation.DEFAULT);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.ColumnAccessScope;
+
+public class ColumnAccessHistoryTest {
+  private static final int SCHEMA_HASH = 1;
+
+  @Test
+  void testRecordAccessForSchema() {
+    Cache<ColumnAccessKey, ColumnAccessScores> scores = Caffeine.newBuilder().build();
+    ColumnAccessHistory history = new ColumnAccessHistory(LogicalIOConfiguration.DEFAULT, scores);
+
+    assertTrue(history.getPredictedColumns(SCHEMA_HASH, null).isEmpty());
+
+    history.recordAccess(SCHEMA_HASH, "ss_a", null);
+    history.recordAccess(SCHEMA_HASH, "ss_b", null);
+
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        history.getPredictedColumns(SCHEMA_HASH, null));
+    assertTrue(history.getPredictedColumns(2, null).isEmpty());
+    // With the default scope, accesses are only recorded for the schema
+    assertEquals(1, scores.estimatedSize());
+    assertNotNull(scores.getIfPresent(new ColumnAccessKey(SCHEMA_HASH, null)));
+  }
+
+  @Test
+  void testRecordAccessForQuery() {
+    Cache<ColumnAccessKey, ColumnAccessScores> scores = Caffeine.newBuilder().build();
+    ColumnAccessHistory history =
+        new ColumnAccessHistory(
+            LogicalIOConfiguration.builder().columnAccessScope(ColumnAccessScope.SPAN_ID).build(),
+            scores);
+    StreamAuditContext query1 =
+        StreamAuditContext.builder().spanId("span-1").operationName("op_open").build();
+    StreamAuditContext query2 =
+        StreamAuditContext.builder().spanId("span-2").operationName("op_open").build();
+
+    history.recordAccess(SCHEMA_HASH, "ss_a", query1);
+
+    assertEquals(Collections.singleton("ss_a"), history.getPredictedColumns(SCHEMA_HASH, query1));
+    // A query without history falls back to the history of the schema
+    assertEquals(Collections.singleton("ss_a"), history.getPredictedColumns(SCHEMA_HASH, query2));
+    assertNotNull(scores.getIfPresent(new ColumnAccessKey(SCHEMA_HASH, "span-1")));
+    assertNull(scores.getIfPresent(new ColumnAccessKey(SCHEMA_HASH, "span-2")));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class ColumnAccessScoresTest {
+
+  @Test
+  void testScoresDecayOnEveryAccess() {
+    ColumnAccessScores columnAccessScores = new ColumnAccessScores(0.5);
+
+    columnAccessScores.recordAccess("ss_a");
+    assertEquals(1, columnAccessScores.getScore("ss_a"));
+
+    columnAccessScores.recordAccess("ss_b");
+    assertEquals(0.5, columnAccessScores.getScore("ss_a"));
+    assertEquals(1, columnAccessScores.getScore("ss_b"));
+
+    columnAccessScores.recordAccess("ss_a");
+    assertEquals(1.25, columnAccessScores.getScore("ss_a"));
+    assertEquals(0.5, columnAccessScores.getScore("ss_b"));
+
+    assertEquals(0, columnAccessScores.getScore("ss_c"));
+  }
+
+  @Test
+  void testGetColumnsAboveThreshold() {
+    ColumnAccessScores columnAccessScores = new ColumnAccessScores(0.5);
+
+    columnAccessScores.recordAccess("ss_a");
+    columnAccessScores.recordAccess("ss_b");
+    columnAccessScores.recordAccess("ss_b");
+
+    // ss_a: 0.25, ss_b: 1.5
+    assertEquals(Collections.singleton("ss_b"), columnAccessScores.getColumnsAboveThreshold(0.3));
+    assertEquals(2, columnAccessScores.getColumnsAboveThreshold(0.25).size());
+    assertTrue(columnAccessScores.getColumnsAboveThreshold(2).isEmpty());
+  }
+}
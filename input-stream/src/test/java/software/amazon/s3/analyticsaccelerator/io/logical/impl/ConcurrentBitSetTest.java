@@ -0,0 +1,49 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentBitSetTest {
+
+  @Test
+  void testSetAndGet() {
+    ConcurrentBitSet bitSet = new ConcurrentBitSet();
+
+    assertFalse(bitSet.get(0));
+    assertTrue(bitSet.set(0));
+    assertFalse(bitSet.set(0));
+    assertTrue(bitSet.get(0));
+
+    // Bits in other words are created on demand
+    assertTrue(bitSet.set(64));
+    assertTrue(bitSet.set(1000));
+    assertTrue(bitSet.get(64));
+    assertTrue(bitSet.get(1000));
+    assertFalse(bitSet.get(63));
+    assertFalse(bitSet.get(65));
+    assertFalse(bitSet.get(-1));
+  }
+
+  @Test
+  void testSetNegativeIndexFails() {
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentBitSet().set(-1));
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcCompressionKind;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcTestFiles;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcPrefetcherTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+
+  // Each stripe has a row index stream and a data stream for columns ss_a and ss_b, laid out as
+  // [ss_a index, ss_b index, ss_a data, ss_b data, stripe footer]
+  private static final long[][] STREAM_LENGTHS = {{40, 60, 400, 600}, {40, 60, 800, 1200}};
+  private static final long FILE_START = 3;
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                OpenStreamInformation.DEFAULT));
+  }
+
+  @Test
+  void testPrefetchFooterAndBuildMetadata() throws IOException {
+    OrcFile orcFile = new OrcFile();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+
+    IOPlanExecution execution = orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    OrcFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+    assertNotNull(fileMetadata);
+    assertEquals(2, fileMetadata.getStripes().size());
+    assertEquals(Arrays.asList("", "ss_a", "ss_b"), fileMetadata.getColumnNames());
+    verify(orcFile.physicalIO).readTail(any(), eq(0), eq(orcFile.content.length));
+  }
+
+  @Test
+  void testPrefetchFooterRereadsLargeFooter() throws IOException {
+    OrcFile orcFile = new OrcFile();
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchFileMetadataSize(24).build();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(configuration);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(configuration, store);
+
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    assertNotNull(store.getFileMetadata(TEST_URI));
+    verify(orcFile.physicalIO).readTail(any(), eq(0), eq(24));
+    verify(orcFile.physicalIO).readTail(any(), eq(0), eq(orcFile.tailLength));
+  }
+
+  @Test
+  void testPrefetchFooterSkippedWhenPrefetchingOff() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build();
+    OrcPrefetcher orcPrefetcher =
+        new OrcPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            configuration,
+            new OrcColumnPrefetchStore(configuration),
+            OpenStreamInformation.DEFAULT);
+
+    assertEquals(
+        IOPlanState.SKIPPED, orcPrefetcher.prefetchFooterAndBuildMetadata().join().getState());
+    orcPrefetcher.addToRecentColumnList(100, 10);
+    verifyNoInteractions(physicalIO);
+  }
+
+  @Test
+  void testPrefetchFooterSwallowsExceptions() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenThrow(new IOException("Error"));
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetcher orcPrefetcher =
+        new OrcPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            store,
+            OpenStreamInformation.DEFAULT);
+
+    assertEquals(
+        IOPlanState.SKIPPED, orcPrefetcher.prefetchFooterAndBuildMetadata().join().getState());
+    assertNull(store.getFileMetadata(TEST_URI));
+  }
+
+  @Test
+  void testAddToRecentColumnListPrefetchesUpcomingStripe() throws IOException {
+    OrcFile orcFile = new OrcFile();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+    OrcFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    // Read the data stream of ss_a in the first stripe
+    orcPrefetcher.addToRecentColumnList(FILE_START + 100, 400);
+
+    assertEquals(
+        Collections.singleton("ss_a"),
+        store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null));
+
+    // The index and data streams of ss_a in the second stripe are prefetched
+    long secondStripe = fileMetadata.getStripes().get(1).getOffset();
+    List<Range> expectedRanges =
+        Arrays.asList(
+            new Range(secondStripe, secondStripe + 39),
+            new Range(secondStripe + 100, secondStripe + 899));
+    verify(orcFile.physicalIO, timeout(5000))
+        .execute(
+            argThat(ioPlan -> ioPlan.getPrefetchRanges().equals(expectedRanges)),
+            eq(ReadMode.COLUMN_PREFETCH));
+    assertFalse(store.markStripePrefetched(TEST_URI, 0));
+    assertFalse(store.markStripePrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testAddToRecentColumnListDoesNotWaitForStripeFooter() throws Exception {
+    OrcFile orcFile = new OrcFile();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+    OrcFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    // The footer of the second stripe is not loaded, and reading it is stalled
+    CountDownLatch footerRead = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              footerRead.await();
+              byte[] buf = invocation.getArgument(0);
+              int off = invocation.getArgument(1);
+              int len = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              System.arraycopy(orcFile.content, (int) position, buf, off, len);
+              return len;
+            })
+        .when(orcFile.physicalIO)
+        .read(any(), anyInt(), anyInt(), anyLong());
+
+    // Read the data stream of ss_a in the second stripe
+    long secondStripe = fileMetadata.getStripes().get(1).getOffset();
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5), () -> orcPrefetcher.addToRecentColumnList(secondStripe + 100, 800));
+    assertTrue(store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty());
+
+    // The column is recorded once the footer arrives
+    footerRead.countDown();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty()
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(
+        Collections.singleton("ss_a"),
+        store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null));
+  }
+
+  @Test
+  void testAddToRecentColumnListIgnoresStripeFooterReads() throws IOException {
+    OrcFile orcFile = new OrcFile();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(LogicalIOConfiguration.DEFAULT, store);
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+    OrcFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+
+    orcPrefetcher.addToRecentColumnList(fileMetadata.getStripes().get(0).getFooterOffset(), 10);
+
+    assertTrue(store.getUniqueRecentColumnsForSchema(fileMetadata.getSchemaHash(), null).isEmpty());
+    assertTrue(store.markStripePrefetched(TEST_URI, 0));
+  }
+
+  @Test
+  void testPrefetchStripeOnlyOnce() throws IOException {
+    OrcFile orcFile = new OrcFile();
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().orcStripeLookahead(0).build();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(configuration);
+    OrcPrefetcher orcPrefetcher = orcFile.createPrefetcher(configuration, store);
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+    OrcFileMetadata fileMetadata = store.getFileMetadata(TEST_URI);
+    store.addRecentColumn(fileMetadata.getSchemaHash(), "ss_b", null);
+
+    assertEquals(IOPlanState.SUBMITTED, orcPrefetcher.prefetchStripe(fileMetadata, 1).getState());
+    assertEquals(IOPlanState.SKIPPED, orcPrefetcher.prefetchStripe(fileMetadata, 1).getState());
+    assertEquals(IOPlanState.SKIPPED, orcPrefetcher.prefetchStripe(fileMetadata, 2).getState());
+
+    long secondStripe = fileMetadata.getStripes().get(1).getOffset();
+    List<Range> expectedRanges =
+        Arrays.asList(
+            new Range(secondStripe + 40, secondStripe + 99),
+            new Range(secondStripe + 900, secondStripe + 2099));
+    verify(orcFile.physicalIO)
+        .execute(
+            argThat(ioPlan -> ioPlan.getPrefetchRanges().equals(expectedRanges)),
+            eq(ReadMode.COLUMN_PREFETCH));
+  }
+
+  /** An ORC file served by a mocked PhysicalIO. */
+  private static class OrcFile {
+    private final PhysicalIO physicalIO = mock(PhysicalIO.class);
+    private final byte[] content;
+    private final int tailLength;
+
+    OrcFile() throws IOException {
+      byte[][] stripeFooters = new byte[STREAM_LENGTHS.length][];
+      long[][] stripes = new long[STREAM_LENGTHS.length][];
+      long offset = FILE_START;
+      for (int i = 0; i < STREAM_LENGTHS.length; i++) {
+        long[] lengths = STREAM_LENGTHS[i];
+        stripeFooters[i] =
+            OrcTestFiles.stripeFooter(
+                OrcCompressionKind.NONE,
+                new long[][] {
+                  {6, 1, lengths[0]}, {6, 2, lengths[1]}, {1, 1, lengths[2]}, {1, 2, lengths[3]}
+                });
+        long indexLength = lengths[0] + lengths[1];
+        long dataLength = lengths[2] + lengths[3];
+        stripes[i] = new long[] {offset, indexLength, dataLength, stripeFooters[i].length};
+        offset += indexLength + dataLength + stripeFooters[i].length;
+      }
+
+      byte[] tail = OrcTestFiles.fileTail(OrcCompressionKind.NONE, stripes, "ss_a", "ss_b");
+      this.tailLength = tail.length;
+      this.content = new byte[(int) offset + tail.length];
+      System.arraycopy(tail, 0, content, (int) offset, tail.length);
+      for (int i = 0; i < stripes.length; i++) {
+        int footerOffset = (int) (stripes[i][0] + stripes[i][1] + stripes[i][2]);
+        System.arraycopy(stripeFooters[i], 0, content, footerOffset, stripeFooters[i].length);
+      }
+
+      when(physicalIO.metadata())
+          .thenReturn(ObjectMetadata.builder().contentLength(content.length).etag("ETAG").build());
+      when(physicalIO.readTail(any(), anyInt(), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                byte[] buf = invocation.getArgument(0);
+                int off = invocation.getArgument(1);
+                int len = invocation.getArgument(2);
+                System.arraycopy(content, content.length - len, buf, off, len);
+                return len;
+              });
+      when(physicalIO.read(any(), anyInt(), anyInt(), anyLong()))
+          .thenAnswer(
+              invocation -> {
+                byte[] buf = invocation.getArgument(0);
+                int off = invocation.getArgument(1);
+                int len = invocation.getArgument(2);
+                long position = invocation.getArgument(3);
+                System.arraycopy(content, (int) position, buf, off, len);
+                return len;
+              });
+      when(physicalIO.execute(any(), any()))
+          .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+    }
+
+    OrcPrefetcher createPrefetcher(
+        LogicalIOConfiguration configuration, OrcColumnPrefetchStore store) {
+      return new OrcPrefetcher(
+          TEST_URI,
+          physicalIO,
+          TestTelemetry.DEFAULT,
+          configuration,
+          store,
+          OpenStreamInformation.DEFAULT);
+    }
+  }
+}
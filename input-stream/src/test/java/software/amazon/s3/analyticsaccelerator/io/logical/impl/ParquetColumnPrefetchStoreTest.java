@@ -17,23 +17,30 @@ package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
-import java.util.ArrayList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
-import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+import software.amazon.s3.analyticsaccelerator.util.ColumnAccessScope;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetColumnPrefetchStoreTest {
+  private static final S3URI TEST_URI = S3URI.of("test", "key");
 
   @Test
   void testConstructor() {
@@ -45,66 +52,152 @@ public class ParquetColumnPrefetchStoreTest {
     StringBuilder concatedColumnString =
         new StringBuilder().append("sk_test").append("sk_test_2").append("sk_test_3");
     int schemaHash = concatedColumnString.toString().hashCode();
-    Map<S3URI, ColumnMappers> columnMappersStore = new HashMap<>();
-    Map<S3URI, List<Integer>> rowGroupsPrefetched = new HashMap<>();
-    Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched = new HashMap<>();
 
     ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test3 = new ColumnMetadata(0, "sk_test3", 0, 0, 0, 500, schemaHash);
 
-    Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema = new HashMap<>();
-    Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema = new HashMap<>();
+    Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores = Caffeine.newBuilder().build();
 
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
-            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
-            columnMappersStore,
-            recentlyReadColumnsPerSchema,
-            recentlyReadDictionariesPerSchema,
-            rowGroupsPrefetched,
-            dictionaryRowGroupsPrefetched);
-
-    parquetColumnPrefetchStore.addRecentColumn(sk_test);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test2);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test2);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test3);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test3);
-
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash).size(), 3);
-
-    // We should only have the last 3 recently read columns in the list
-    List<String> expectedColumns = new ArrayList<>();
-    expectedColumns.add("sk_test2");
-    expectedColumns.add("sk_test3");
-    expectedColumns.add("sk_test3");
-
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash), expectedColumns);
-
-    // We should only have unique columns in the list
+            LogicalIOConfiguration.builder()
+                .columnAccessDecayFactor(0.5)
+                .columnPrefetchConfidenceThreshold(0.3)
+                .build(),
+            Caffeine.newBuilder().build(),
+            columnAccessScores,
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            new Metrics());
+
+    parquetColumnPrefetchStore.addRecentColumn(sk_test, null);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test2, null);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test, null);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test2, null);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test3, null);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test3, null);
+
+    // Only a single, schema wide, history is kept
+    assertEquals(1, columnAccessScores.estimatedSize());
+
+    // sk_test has decayed below the confidence threshold
     Set<String> expectedUniqueColumns = new HashSet<>();
     expectedUniqueColumns.add("sk_test2");
     expectedUniqueColumns.add("sk_test3");
 
     assertEquals(
-        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash),
-        expectedUniqueColumns);
+        expectedUniqueColumns,
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, null));
+  }
+
+  @Test
+  void frequentColumnSurvivesStrayReads() {
+    int schemaHash = "sk_test".hashCode();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder()
+                .columnAccessDecayFactor(0.9)
+                .columnPrefetchConfidenceThreshold(0.5)
+                .build());
+
+    ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
+    for (int i = 0; i < 10; i++) {
+      parquetColumnPrefetchStore.addRecentColumn(sk_test, null);
+    }
+
+    // A stray query reads 20 other columns, once each
+    for (int i = 0; i < 20; i++) {
+      parquetColumnPrefetchStore.addRecentColumn(
+          new ColumnMetadata(0, "stray_" + i, 0, 0, 0, 500, schemaHash), null);
+    }
+
+    Set<String> predictedColumns =
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, null);
+    assertTrue(predictedColumns.contains("sk_test"));
+    // Stray columns read early on have already decayed below the threshold
+    assertTrue(!predictedColumns.contains("stray_0"));
+    assertTrue(predictedColumns.contains("stray_19"));
+  }
+
+  @Test
+  void columnAccessesArePartitionedByQuery() {
+    int schemaHash = "sk_test".hashCode();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().columnAccessScope(ColumnAccessScope.SPAN_ID).build());
+
+    StreamAuditContext query1 =
+        StreamAuditContext.builder().spanId("span-1").operationName("op_open").build();
+    StreamAuditContext query2 =
+        StreamAuditContext.builder().spanId("span-2").operationName("op_open").build();
+    StreamAuditContext query3 =
+        StreamAuditContext.builder().spanId("span-3").operationName("op_open").build();
+
+    ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
+    ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 0, 0, 500, schemaHash);
+
+    parquetColumnPrefetchStore.addRecentColumn(sk_test, query1);
+    parquetColumnPrefetchStore.addRecentColumn(sk_test2, query2);
+
+    assertEquals(
+        Collections.singleton("sk_test"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, query1));
+    assertEquals(
+        Collections.singleton("sk_test2"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, query2));
+
+    // Queries without a history of their own fall back to the history of the schema
+    Set<String> allColumns = new HashSet<>(Arrays.asList("sk_test", "sk_test2"));
+    assertEquals(
+        allColumns, parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, query3));
+    assertEquals(
+        allColumns, parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, null));
+  }
+
+  @Test
+  void columnPrefetchAccuracy() {
+    int schemaHash = "sk_test".hashCode();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
+    ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 500, 500, 500, schemaHash);
+    ColumnMetadata sk_test3 = new ColumnMetadata(0, "sk_test3", 0, 1000, 1000, 500, schemaHash);
+
+    parquetColumnPrefetchStore.recordColumnRead(TEST_URI, sk_test3);
+    parquetColumnPrefetchStore.recordColumnsPredicted(
+        TEST_URI, Arrays.asList(sk_test, sk_test2, sk_test3));
+    parquetColumnPrefetchStore.recordColumnRead(TEST_URI, sk_test);
+    parquetColumnPrefetchStore.recordColumnRead(TEST_URI, sk_test);
+
+    ColumnPrefetchAccuracy accuracy = parquetColumnPrefetchStore.getColumnPrefetchAccuracy();
+    // sk_test3 was already read when it was prefetched, so is not counted as a prediction
+    assertEquals(2, accuracy.getPredictedCount());
+    // Repeated reads of the same column chunk are only counted once
+    assertEquals(2, accuracy.getReadCount());
+    assertEquals(1, accuracy.getPredictedAndReadCount());
+    assertEquals(0.5, accuracy.getPrecision());
+    assertEquals(0.5, accuracy.getRecall());
   }
 
   @Test
   public void isRowGroupPrefetched() {
-    Map<S3URI, List<Integer>> columnRowGroupsPrefetched = new HashMap<>();
-    Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched = new HashMap<>();
+    Cache<S3URI, ConcurrentBitSet> columnRowGroupsPrefetched = Caffeine.newBuilder().build();
+    Cache<S3URI, ConcurrentBitSet> dictionaryRowGroupsPrefetched = Caffeine.newBuilder().build();
 
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
             LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
-            Collections.emptyMap(),
-            Collections.emptyMap(),
-            Collections.emptyMap(),
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
             columnRowGroupsPrefetched,
-            dictionaryRowGroupsPrefetched);
+            dictionaryRowGroupsPrefetched,
+            Caffeine.newBuilder().build(),
+            new Metrics());
 
     parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(S3URI.of("test", "key"), 0);
     parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(S3URI.of("test", "key"), 1);
@@ -139,50 +232,101 @@ public class ParquetColumnPrefetchStoreTest {
     StringBuilder concatedColumnString =
         new StringBuilder().append("sk_test").append("sk_test_2").append("sk_test_3");
     int schemaHash = concatedColumnString.toString().hashCode();
-    Map<S3URI, ColumnMappers> columnMappersStore = new HashMap<>();
-    Map<S3URI, List<Integer>> rowGroupsPrefetched = new HashMap<>();
-    Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched = new HashMap<>();
 
     ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test3 = new ColumnMetadata(0, "sk_test3", 0, 0, 0, 500, schemaHash);
 
-    Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema = new HashMap<>();
-    Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema = new HashMap<>();
+    Cache<ColumnAccessKey, ColumnAccessScores> columnAccessScores = Caffeine.newBuilder().build();
+    Cache<ColumnAccessKey, ColumnAccessScores> dictionaryAccessScores =
+        Caffeine.newBuilder().build();
 
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
-            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
-            columnMappersStore,
-            recentlyReadColumnsPerSchema,
-            recentlyReadDictionariesPerSchema,
-            rowGroupsPrefetched,
-            dictionaryRowGroupsPrefetched);
-
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test);
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test2);
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test);
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test2);
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test3);
-    parquetColumnPrefetchStore.addRecentDictionary(sk_test3);
-
-    assertEquals(recentlyReadDictionariesPerSchema.get(schemaHash).size(), 3);
-
-    // We should only have the last 3 recently read columns in the list
-    List<String> expectedDictionaries = new ArrayList<>();
-    expectedDictionaries.add("sk_test2");
-    expectedDictionaries.add("sk_test3");
-    expectedDictionaries.add("sk_test3");
-
-    assertEquals(recentlyReadDictionariesPerSchema.get(schemaHash), expectedDictionaries);
-
-    // We should only have unique columns in the list
+            LogicalIOConfiguration.builder()
+                .columnAccessDecayFactor(0.5)
+                .columnPrefetchConfidenceThreshold(0.3)
+                .build(),
+            Caffeine.newBuilder().build(),
+            columnAccessScores,
+            dictionaryAccessScores,
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            new Metrics());
+
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test, null);
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test2, null);
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test, null);
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test2, null);
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test3, null);
+    parquetColumnPrefetchStore.addRecentDictionary(sk_test3, null);
+
+    // Dictionary reads do not count as column reads
+    assertEquals(0, columnAccessScores.estimatedSize());
+    assertEquals(1, dictionaryAccessScores.estimatedSize());
+
     Set<String> expectedUniqueDictionaries = new HashSet<>();
     expectedUniqueDictionaries.add("sk_test2");
     expectedUniqueDictionaries.add("sk_test3");
 
     assertEquals(
-        parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash),
-        expectedUniqueDictionaries);
+        expectedUniqueDictionaries,
+        parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash, null));
+  }
+
+  @Test
+  void concurrentAccessesAreAllRecorded() throws InterruptedException {
+    int schemaHash = "sk_test".hashCode();
+    int threads = 16;
+    int readsPerThread = 1000;
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder()
+                .columnAccessDecayFactor(1.0)
+                .columnPrefetchConfidenceThreshold(threads * readsPerThread)
+                .build());
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int i = 0; i < threads; i++) {
+      int thread = i;
+      executorService.submit(
+          () -> {
+            start.await();
+            ColumnMetadata columnMetadata =
+                new ColumnMetadata(thread, "sk_test", 0, 0, 0, 500, schemaHash);
+            for (int j = 0; j < readsPerThread; j++) {
+              parquetColumnPrefetchStore.addRecentColumn(columnMetadata, null);
+              parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(TEST_URI, thread);
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executorService.shutdown();
+    assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+    // Without decay, the score of a column is the exact number of times it was read, so the column
+    // only reaches the threshold if no access was lost
+    assertEquals(
+        Collections.singleton("sk_test"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, null));
+    for (int i = 0; i < threads; i++) {
+      assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, i));
+    }
+    assertTrue(!parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, threads));
+  }
+
+  @Test
+  void testRecordSplitPrefetchBytesAvoided() {
+    Metrics metrics = new Metrics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT, metrics);
+
+    parquetColumnPrefetchStore.recordSplitPrefetchBytesAvoided(100);
+    parquetColumnPrefetchStore.recordSplitPrefetchBytesAvoided(50);
+
+    assertEquals(150, metrics.get(MetricKey.SPLIT_PREFETCH_BYTES_AVOIDED));
   }
 }
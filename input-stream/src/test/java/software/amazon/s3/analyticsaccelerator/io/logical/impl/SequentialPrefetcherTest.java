@@ -17,13 +17,18 @@ package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
@@ -149,4 +154,135 @@ public class SequentialPrefetcherTest {
     // Verify that execute was called despite the exception
     verify(physicalIO).execute(any(IOPlan.class), any(ReadMode.class));
   }
+
+  @Test
+  void testPrefetchIsSplitIntoRequests() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(10000L);
+    LogicalIOConfiguration config =
+        LogicalIOConfiguration.builder()
+            .partitionSize(4096L)
+            .sequentialPrefetchRequestSize(1500L)
+            .build();
+
+    new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, config).prefetch(0);
+
+    List<Range> ranges = captureRanges(physicalIO, 1).get(0);
+    assertEquals(3, ranges.size());
+    assertEquals(new Range(0, 1499), ranges.get(0));
+    assertEquals(new Range(1500, 2999), ranges.get(1));
+    assertEquals(new Range(3000, 4095), ranges.get(2));
+  }
+
+  @Test
+  void testWindowIsToppedUpWhenHalfIsConsumed() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(100000L);
+    AtomicLong clock = new AtomicLong();
+    SequentialPrefetcher prefetcher = createPrefetcher(physicalIO, 4096L, 1024L, clock);
+
+    prefetcher.prefetch(0);
+    // More than half of the window is still ahead of the reader, nothing is fetched
+    clock.set(TimeUnit.MILLISECONDS.toNanos(250));
+    prefetcher.prefetch(1000);
+    // The reader consumed 2048 bytes in 500ms, which keeps the window at 4096 bytes
+    clock.set(TimeUnit.MILLISECONDS.toNanos(500));
+    prefetcher.prefetch(2048);
+
+    List<List<Range>> plans = captureRanges(physicalIO, 2);
+    assertEquals(new Range(0, 4095), plans.get(0).get(0));
+    assertEquals(1, plans.get(1).size());
+    assertEquals(new Range(4096, 6143), plans.get(1).get(0));
+    assertEquals(4096, prefetcher.getWindowSize());
+    assertEquals(6144, prefetcher.getPrefetchedUntil());
+  }
+
+  @Test
+  void testWindowGrowsWithFastReader() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(100000L);
+    AtomicLong clock = new AtomicLong();
+    SequentialPrefetcher prefetcher = createPrefetcher(physicalIO, 4096L, 1024L, clock);
+
+    prefetcher.prefetch(0);
+    clock.set(TimeUnit.MILLISECONDS.toNanos(1));
+    prefetcher.prefetch(2048);
+
+    // The window grows by at most a factor of two at a time
+    List<List<Range>> plans = captureRanges(physicalIO, 2);
+    assertEquals(8192, prefetcher.getWindowSize());
+    assertEquals(new Range(4096, 10239), plans.get(1).get(0));
+  }
+
+  @Test
+  void testWindowShrinksWithSlowReader() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(100000L);
+    AtomicLong clock = new AtomicLong();
+    SequentialPrefetcher prefetcher = createPrefetcher(physicalIO, 4096L, 1024L, clock);
+
+    prefetcher.prefetch(0);
+    clock.set(TimeUnit.SECONDS.toNanos(10));
+    prefetcher.prefetch(2048);
+    assertEquals(2048, prefetcher.getWindowSize());
+
+    // The smaller window is already fully in flight, so nothing more is fetched yet
+    captureRanges(physicalIO, 1);
+  }
+
+  @Test
+  void testWindowRestartsAfterSeek() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(100000L);
+    AtomicLong clock = new AtomicLong();
+    SequentialPrefetcher prefetcher = createPrefetcher(physicalIO, 4096L, 1024L, clock);
+
+    prefetcher.prefetch(0);
+    prefetcher.prefetch(50000);
+
+    List<List<Range>> plans = captureRanges(physicalIO, 2);
+    assertEquals(new Range(50000, 54095), plans.get(1).get(0));
+    assertEquals(4096, prefetcher.getWindowSize());
+  }
+
+  @Test
+  void testPrefetchRespectsMemoryBudget() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO(100000L);
+    LogicalIOConfiguration config = LogicalIOConfiguration.builder().partitionSize(4096L).build();
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, config, () -> 1000L);
+
+    prefetcher.prefetch(0);
+
+    assertEquals(new Range(0, 999), captureRanges(physicalIO, 1).get(0).get(0));
+    assertEquals(1000, prefetcher.getPrefetchedUntil());
+  }
+
+  private static PhysicalIO mockPhysicalIO(long contentLength) throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ObjectMetadata metadata = mock(ObjectMetadata.class);
+    when(metadata.getContentLength()).thenReturn(contentLength);
+    when(physicalIO.metadata()).thenReturn(metadata);
+    when(physicalIO.execute(any(IOPlan.class), any(ReadMode.class)))
+        .thenReturn(mock(IOPlanExecution.class));
+    return physicalIO;
+  }
+
+  private static SequentialPrefetcher createPrefetcher(
+      PhysicalIO physicalIO, long partitionSize, long minWindowSize, AtomicLong clock) {
+    LogicalIOConfiguration config =
+        LogicalIOConfiguration.builder()
+            .partitionSize(partitionSize)
+            .sequentialPrefetchMinWindowSize(minWindowSize)
+            .build();
+    return new SequentialPrefetcher(
+        TEST_URI, physicalIO, TestTelemetry.DEFAULT, config, () -> Long.MAX_VALUE, clock::get);
+  }
+
+  private static List<List<Range>> captureRanges(PhysicalIO physicalIO, int times)
+      throws IOException {
+    ArgumentCaptor<IOPlan> ioPlanCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(times))
+        .execute(ioPlanCaptor.capture(), eq(ReadMode.SEQUENTIAL_FILE_PREFETCH));
+    List<List<Range>> plans = new ArrayList<>();
+    for (IOPlan plan : ioPlanCaptor.getAllValues()) {
+      plans.add(plan.getPrefetchRanges());
+    }
+    return plans;
+  }
 }
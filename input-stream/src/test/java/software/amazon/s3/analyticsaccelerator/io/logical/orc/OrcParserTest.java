@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class OrcParserTest {
+  private static final long[][] STRIPES = {{3, 100, 1000, 50}, {1153, 100, 2000, 60}};
+
+  @ParameterizedTest
+  @EnumSource(
+      value = OrcCompressionKind.class,
+      names = {"NONE", "ZLIB"})
+  void testParseFileTail(OrcCompressionKind compressionKind) throws IOException {
+    byte[] tail = OrcTestFiles.fileTail(compressionKind, STRIPES, "ss_a", "ss_b");
+    OrcParser orcParser = new OrcParser();
+
+    OrcPostScript postScript = orcParser.parsePostScript(tail, tail.length);
+    assertEquals(compressionKind, postScript.getCompressionKind());
+    assertEquals(tail.length, postScript.getFileTailLength());
+
+    OrcFileMetadata fileMetadata = orcParser.parseFooter(tail, tail.length, postScript);
+    assertEquals(compressionKind, fileMetadata.getCompressionKind());
+    assertEquals(Arrays.asList("", "ss_a", "ss_b"), fileMetadata.getColumnNames());
+    assertEquals("ss_ass_b".hashCode(), fileMetadata.getSchemaHash());
+    assertEquals(
+        Arrays.asList(
+            new OrcStripeInformation(0, 3, 100, 1000, 50),
+            new OrcStripeInformation(1, 1153, 100, 2000, 60)),
+        fileMetadata.getStripes());
+  }
+
+  @Test
+  void testParseFooterFromLargerTail() throws IOException {
+    byte[] fileTail = OrcTestFiles.fileTail(OrcCompressionKind.NONE, STRIPES, "ss_a");
+    // Tail read with 100 bytes of stripe data in front of the footer
+    byte[] tail = new byte[fileTail.length + 100];
+    System.arraycopy(fileTail, 0, tail, 100, fileTail.length);
+
+    OrcParser orcParser = new OrcParser();
+    OrcPostScript postScript = orcParser.parsePostScript(tail, tail.length);
+    OrcFileMetadata fileMetadata = orcParser.parseFooter(tail, tail.length, postScript);
+
+    assertEquals(2, fileMetadata.getStripes().size());
+    assertEquals(Arrays.asList("", "ss_a"), fileMetadata.getColumnNames());
+  }
+
+  @Test
+  void testParseFooterTailTooShort() throws IOException {
+    byte[] fileTail = OrcTestFiles.fileTail(OrcCompressionKind.NONE, STRIPES, "ss_a");
+    OrcParser orcParser = new OrcParser();
+    OrcPostScript postScript = orcParser.parsePostScript(fileTail, fileTail.length);
+
+    // Only the postscript and its length are in the tail
+    int tailLength = postScript.getPostScriptLength() + 1;
+    byte[] tail =
+        Arrays.copyOfRange(fileTail, fileTail.length - tailLength, fileTail.length);
+    assertEquals(postScript, orcParser.parsePostScript(tail, tailLength));
+    assertThrows(IOException.class, () -> orcParser.parseFooter(tail, tailLength, postScript));
+  }
+
+  @Test
+  void testParsePostScriptNotOrc() {
+    OrcParser orcParser = new OrcParser();
+    assertThrows(IOException.class, () -> orcParser.parsePostScript(new byte[0], 0));
+    assertThrows(IOException.class, () -> orcParser.parsePostScript(new byte[] {1, 2, 50}, 3));
+  }
+
+  @Test
+  void testParseFooterUnsupportedCompression() throws IOException {
+    byte[] tail = OrcTestFiles.fileTail(OrcCompressionKind.NONE, STRIPES, "ss_a");
+    OrcParser orcParser = new OrcParser();
+    OrcPostScript postScript = orcParser.parsePostScript(tail, tail.length);
+    OrcPostScript snappyPostScript =
+        new OrcPostScript(
+            postScript.getPostScriptLength(),
+            postScript.getFooterLength(),
+            postScript.getMetadataLength(),
+            OrcCompressionKind.SNAPPY,
+            postScript.getCompressionBlockSize());
+
+    assertThrows(
+        IOException.class, () -> orcParser.parseFooter(tail, tail.length, snappyPostScript));
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = OrcCompressionKind.class,
+      names = {"NONE", "ZLIB"})
+  void testParseStripeFooter(OrcCompressionKind compressionKind) throws IOException {
+    byte[] tail = OrcTestFiles.fileTail(compressionKind, STRIPES, "ss_a", "ss_b");
+    OrcParser orcParser = new OrcParser();
+    OrcFileMetadata fileMetadata =
+        orcParser.parseFooter(tail, tail.length, orcParser.parsePostScript(tail, tail.length));
+    OrcStripeInformation stripe = fileMetadata.getStripes().get(1);
+
+    byte[] stripeFooter =
+        OrcTestFiles.stripeFooter(
+            compressionKind, new long[][] {{6, 1, 40}, {6, 2, 60}, {1, 1, 400}, {1, 2, 600}});
+    List<OrcStream> streams = orcParser.parseStripeFooter(stripeFooter, fileMetadata, stripe);
+
+    assertEquals(
+        Arrays.asList(
+            new OrcStream(6, 1, 1153, 40),
+            new OrcStream(6, 2, 1193, 60),
+            new OrcStream(1, 1, 1253, 400),
+            new OrcStream(1, 2, 1653, 600)),
+        streams);
+  }
+
+  @Test
+  void testGetStripeAtPosition() throws IOException {
+    byte[] tail = OrcTestFiles.fileTail(OrcCompressionKind.NONE, STRIPES, "ss_a");
+    OrcParser orcParser = new OrcParser();
+    OrcFileMetadata fileMetadata =
+        orcParser.parseFooter(tail, tail.length, orcParser.parsePostScript(tail, tail.length));
+
+    assertNull(fileMetadata.getStripeAtPosition(0));
+    assertEquals(0, fileMetadata.getStripeAtPosition(3).getStripeIndex());
+    assertEquals(0, fileMetadata.getStripeAtPosition(1152).getStripeIndex());
+    assertEquals(1, fileMetadata.getStripeAtPosition(1153).getStripeIndex());
+    assertEquals(1, fileMetadata.getStripeAtPosition(3312).getStripeIndex());
+    assertNull(fileMetadata.getStripeAtPosition(3313));
+  }
+}
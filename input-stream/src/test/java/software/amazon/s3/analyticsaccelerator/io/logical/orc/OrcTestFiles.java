@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+/**
+ * Builds the metadata sections of ORC files for tests. Files have a flat schema of a root struct
+ * with one LONG column per field name, so column id i + 1 is the i-th field.
+ */
+public final class OrcTestFiles {
+  private static final int TYPE_KIND_LONG = 4;
+  private static final int TYPE_KIND_STRUCT = 12;
+
+  private OrcTestFiles() {}
+
+  /**
+   * Builds the tail of an ORC file: the file footer, the postscript and the postscript length.
+   *
+   * @param compressionKind compression of the footer, NONE or ZLIB
+   * @param stripes stripes of the file, each as {offset, indexLength, dataLength, footerLength}
+   * @param fieldNames names of the columns of the file
+   * @return the tail of the file
+   */
+  public static byte[] fileTail(
+      OrcCompressionKind compressionKind, long[][] stripes, String... fieldNames) {
+    ProtoWriter footer = new ProtoWriter();
+    footer.varint(1, 3); // headerLength
+    for (long[] stripe : stripes) {
+      ProtoWriter stripeInformation = new ProtoWriter();
+      stripeInformation.varint(1, stripe[0]);
+      stripeInformation.varint(2, stripe[1]);
+      stripeInformation.varint(3, stripe[2]);
+      stripeInformation.varint(4, stripe[3]);
+      stripeInformation.varint(5, 100); // numberOfRows
+      footer.bytes(3, stripeInformation.toByteArray());
+    }
+
+    ProtoWriter root = new ProtoWriter();
+    root.varint(1, TYPE_KIND_STRUCT);
+    ProtoWriter subtypes = new ProtoWriter();
+    for (int i = 0; i < fieldNames.length; i++) {
+      subtypes.rawVarint(i + 1);
+    }
+    root.bytes(2, subtypes.toByteArray());
+    for (String fieldName : fieldNames) {
+      root.bytes(3, fieldName.getBytes(StandardCharsets.UTF_8));
+    }
+    footer.bytes(4, root.toByteArray());
+    for (int i = 0; i < fieldNames.length; i++) {
+      ProtoWriter type = new ProtoWriter();
+      type.varint(1, TYPE_KIND_LONG);
+      footer.bytes(4, type.toByteArray());
+    }
+
+    byte[] footerBytes = compress(footer.toByteArray(), compressionKind);
+
+    ProtoWriter postScript = new ProtoWriter();
+    postScript.varint(1, footerBytes.length);
+    postScript.varint(2, compressionKind.ordinal());
+    postScript.varint(3, 256 * 1024);
+    postScript.varint(5, 0);
+    postScript.bytes(8000, "ORC".getBytes(StandardCharsets.UTF_8));
+    byte[] postScriptBytes = postScript.toByteArray();
+
+    ByteArrayOutputStream tail = new ByteArrayOutputStream();
+    tail.write(footerBytes, 0, footerBytes.length);
+    tail.write(postScriptBytes, 0, postScriptBytes.length);
+    tail.write(postScriptBytes.length);
+    return tail.toByteArray();
+  }
+
+  /**
+   * Builds a stripe footer.
+   *
+   * @param compressionKind compression of the stripe footer, NONE or ZLIB
+   * @param streams streams of the stripe, each as {kind, column, length}
+   * @return the stripe footer
+   */
+  public static byte[] stripeFooter(OrcCompressionKind compressionKind, long[][] streams) {
+    ProtoWriter stripeFooter = new ProtoWriter();
+    for (long[] stream : streams) {
+      ProtoWriter streamWriter = new ProtoWriter();
+      streamWriter.varint(1, stream[0]);
+      streamWriter.varint(2, stream[1]);
+      streamWriter.varint(3, stream[2]);
+      stripeFooter.bytes(1, streamWriter.toByteArray());
+    }
+    return compress(stripeFooter.toByteArray(), compressionKind);
+  }
+
+  private static byte[] compress(byte[] bytes, OrcCompressionKind compressionKind) {
+    if (compressionKind == OrcCompressionKind.NONE) {
+      return bytes;
+    }
+
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(bytes);
+    deflater.finish();
+    byte[] buffer = new byte[bytes.length * 2 + 64];
+    int length = deflater.deflate(buffer);
+    deflater.end();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int header = length << 1;
+    out.write(header & 0xFF);
+    out.write((header >>> 8) & 0xFF);
+    out.write((header >>> 16) & 0xFF);
+    out.write(buffer, 0, length);
+    return out.toByteArray();
+  }
+
+  /** Minimal protobuf encoder for varint and length delimited fields. */
+  private static class ProtoWriter {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    void varint(int field, long value) {
+      rawVarint((long) field << 3);
+      rawVarint(value);
+    }
+
+    void bytes(int field, byte[] value) {
+      rawVarint(((long) field << 3) | 2);
+      rawVarint(value.length);
+      out.write(value, 0, value.length);
+    }
+
+    void rawVarint(long value) {
+      while ((value & ~0x7FL) != 0) {
+        out.write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      out.write((int) value);
+    }
+
+    byte[] toByteArray() {
+      return out.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnChunkIntervalIndexTest {
+  private static final ColumnMetadata COLUMN_A = new ColumnMetadata(0, "a", 100, 0, 100, 200, 1);
+  private static final ColumnMetadata COLUMN_B = new ColumnMetadata(0, "b", 350, 300, 300, 100, 1);
+  private static final ColumnMetadata COLUMN_C = new ColumnMetadata(1, "c", 500, 0, 500, 50, 1);
+
+  @Test
+  void testBuildFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> ColumnChunkIntervalIndex.build(null));
+  }
+
+  @Test
+  void testEmptyIndex() {
+    ColumnChunkIntervalIndex index = ColumnChunkIntervalIndex.build(new HashMap<>());
+
+    assertSame(ColumnChunkIntervalIndex.EMPTY, index);
+    assertEquals(0, index.size());
+    assertNull(index.getColumnAtPosition(0));
+    assertTrue(index.getColumnsStartingInRange(0, Long.MAX_VALUE).isEmpty());
+  }
+
+  @Test
+  void testGetColumnAtPosition() {
+    ColumnChunkIntervalIndex index = ColumnChunkIntervalIndex.build(testColumns());
+
+    assertEquals(3, index.size());
+    // Before the first column
+    assertNull(index.getColumnAtPosition(99));
+    // Column start and within the column
+    assertEquals(COLUMN_A, index.getColumnAtPosition(100));
+    assertEquals(COLUMN_A, index.getColumnAtPosition(299));
+    // A gap between columns is attributed to the preceding column
+    assertEquals(COLUMN_B, index.getColumnAtPosition(300));
+    assertEquals(COLUMN_B, index.getColumnAtPosition(450));
+    // The last column is bounded by its compressed size
+    assertEquals(COLUMN_C, index.getColumnAtPosition(549));
+    assertNull(index.getColumnAtPosition(550));
+  }
+
+  @Test
+  void testGetColumnsStartingInRange() {
+    ColumnChunkIntervalIndex index = ColumnChunkIntervalIndex.build(testColumns());
+
+    assertEquals(
+        Arrays.asList(COLUMN_A, COLUMN_B, COLUMN_C), index.getColumnsStartingInRange(0, 1000));
+    assertEquals(Arrays.asList(COLUMN_B), index.getColumnsStartingInRange(300, 500));
+    assertEquals(Arrays.asList(COLUMN_B, COLUMN_C), index.getColumnsStartingInRange(101, 501));
+    assertTrue(index.getColumnsStartingInRange(101, 300).isEmpty());
+    assertTrue(index.getColumnsStartingInRange(500, 500).isEmpty());
+    assertTrue(index.getColumnsStartingInRange(600, 1000).isEmpty());
+  }
+
+  @Test
+  void testRowGroupProgress() {
+    ColumnChunkIntervalIndex index = ColumnChunkIntervalIndex.build(testColumns());
+
+    // Row group 0 spans [100, 400), row group 1 spans [500, 550)
+    assertTrue(index.hasRowGroup(0));
+    assertTrue(index.hasRowGroup(1));
+    assertFalse(index.hasRowGroup(2));
+    assertFalse(index.hasRowGroup(-1));
+    assertEquals(0, index.getRowGroupProgress(0, 50));
+    assertEquals(0.5, index.getRowGroupProgress(0, 250));
+    assertEquals(1, index.getRowGroupProgress(0, 450));
+    assertEquals(0.2, index.getRowGroupProgress(1, 510), 1e-9);
+    assertEquals(0, index.getRowGroupProgress(2, 600));
+  }
+
+  @Test
+  void testIsRowGroupInSplit() {
+    ColumnChunkIntervalIndex index = ColumnChunkIntervalIndex.build(testColumns());
+
+    // Row group 0 has its midpoint at 250, row group 1 at 525
+    assertEquals(2, index.getRowGroupCount());
+    assertTrue(index.isRowGroupInSplit(0, new Range(0, 250)));
+    assertFalse(index.isRowGroupInSplit(0, new Range(251, 1000)));
+    assertTrue(index.isRowGroupInSplit(1, new Range(251, 1000)));
+    assertFalse(index.isRowGroupInSplit(1, new Range(0, 250)));
+    assertFalse(index.isRowGroupInSplit(2, new Range(0, 1000)));
+  }
+
+  @Test
+  void testColumnMappersBuildsIndex() {
+    ColumnMappers columnMappers = new ColumnMappers(testColumns(), new HashMap<>());
+
+    assertEquals(3, columnMappers.getColumnChunkIntervalIndex().size());
+    assertEquals(COLUMN_B, columnMappers.getColumnChunkIntervalIndex().getColumnAtPosition(301));
+  }
+
+  private static Map<Long, ColumnMetadata> testColumns() {
+    Map<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    offsetIndexToColumnMap.put(500L, COLUMN_C);
+    offsetIndexToColumnMap.put(100L, COLUMN_A);
+    offsetIndexToColumnMap.put(300L, COLUMN_B);
+    return offsetIndexToColumnMap;
+  }
+}
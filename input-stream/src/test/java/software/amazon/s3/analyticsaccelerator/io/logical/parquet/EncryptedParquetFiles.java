@@ -0,0 +1,228 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.parquet.format.AesGcmV1;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnCryptoMetaData;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.EncryptionAlgorithm;
+import org.apache.parquet.format.EncryptionWithColumnKey;
+import org.apache.parquet.format.EncryptionWithFooterKey;
+import org.apache.parquet.format.FileCryptoMetaData;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Type;
+import shaded.parquet.org.apache.thrift.TBase;
+import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
+import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
+
+/**
+ * Builds tails of files written with Parquet modular encryption for tests. Each row group has the
+ * columns ss_a, encrypted with the footer key, and ss_b, encrypted with its own key. Column chunks
+ * are 1000 bytes, with the first row group starting at offset 4.
+ */
+final class EncryptedParquetFiles {
+  static final byte[] FOOTER_KEY = "footer-key-16byt".getBytes(StandardCharsets.US_ASCII);
+  static final byte[] COLUMN_KEY = "column-key-16byt".getBytes(StandardCharsets.US_ASCII);
+  static final byte[] FOOTER_KEY_METADATA = "kf".getBytes(StandardCharsets.US_ASCII);
+  static final byte[] COLUMN_KEY_METADATA = "kc".getBytes(StandardCharsets.US_ASCII);
+  static final byte[] AAD_PREFIX = "table".getBytes(StandardCharsets.US_ASCII);
+  static final long COLUMN_CHUNK_LENGTH = 1000;
+
+  private static final byte[] AAD_FILE_UNIQUE = {1, 2, 3, 4, 5, 6, 7, 8};
+  private static final int SIGNATURE_LENGTH = 28;
+
+  private EncryptedParquetFiles() {}
+
+  /**
+   * Creates the encryption algorithm of a file.
+   *
+   * @param supplyAadPrefix whether the AAD prefix is left out of the file, to be supplied by the
+   *     reader
+   * @return the encryption algorithm
+   */
+  static EncryptionAlgorithm encryptionAlgorithm(boolean supplyAadPrefix) {
+    AesGcmV1 aesGcmV1 = new AesGcmV1().setAad_file_unique(AAD_FILE_UNIQUE);
+    if (supplyAadPrefix) {
+      aesGcmV1.setSupply_aad_prefix(true);
+    } else {
+      aesGcmV1.setAad_prefix(AAD_PREFIX);
+    }
+    return EncryptionAlgorithm.AES_GCM_V1(aesGcmV1);
+  }
+
+  /**
+   * Builds the tail of a file with an encrypted footer.
+   *
+   * @param rowGroups number of row groups
+   * @param encryptionAlgorithm encryption algorithm of the file
+   * @return the tail, from the start of the footer to the "PARE" magic
+   */
+  static byte[] encryptedFooterTail(int rowGroups, EncryptionAlgorithm encryptionAlgorithm) {
+    FileMetaData fileMetaData = fileMetaData(rowGroups, true);
+    FileCryptoMetaData fileCryptoMetaData =
+        new FileCryptoMetaData()
+            .setEncryption_algorithm(encryptionAlgorithm)
+            .setKey_metadata(FOOTER_KEY_METADATA);
+
+    byte[] footerAad = concat(AAD_PREFIX, AAD_FILE_UNIQUE, new byte[] {0});
+    byte[] footer =
+        concat(
+            serialize(fileCryptoMetaData), encrypt(serialize(fileMetaData), FOOTER_KEY, footerAad));
+    return tail(footer, "PARE");
+  }
+
+  /**
+   * Builds the tail of a file with a plaintext footer.
+   *
+   * @param rowGroups number of row groups
+   * @return the tail, from the start of the footer to the "PAR1" magic
+   */
+  static byte[] plaintextFooterTail(int rowGroups) {
+    FileMetaData fileMetaData =
+        fileMetaData(rowGroups, false)
+            .setEncryption_algorithm(encryptionAlgorithm(false))
+            .setFooter_signing_key_metadata(FOOTER_KEY_METADATA);
+
+    // The footer is followed by the nonce and tag of its signature
+    return tail(concat(serialize(fileMetaData), new byte[SIGNATURE_LENGTH]), "PAR1");
+  }
+
+  private static FileMetaData fileMetaData(int rowGroupCount, boolean encryptedFooter) {
+    List<RowGroup> rowGroups = new ArrayList<>();
+    long offset = 4;
+    for (short i = 0; i < rowGroupCount; i++) {
+      ColumnChunk columnA =
+          new ColumnChunk(offset + COLUMN_CHUNK_LENGTH)
+              .setMeta_data(columnMetaData("ss_a", offset))
+              .setCrypto_metadata(
+                  ColumnCryptoMetaData.ENCRYPTION_WITH_FOOTER_KEY(new EncryptionWithFooterKey()));
+      offset += COLUMN_CHUNK_LENGTH;
+
+      ColumnMetaData columnMetaDataB = columnMetaData("ss_b", offset);
+      byte[] aad = concat(AAD_PREFIX, AAD_FILE_UNIQUE, new byte[] {1, (byte) i, 0, 1, 0});
+      ColumnChunk columnB =
+          new ColumnChunk(offset + COLUMN_CHUNK_LENGTH)
+              .setEncrypted_column_metadata(encrypt(serialize(columnMetaDataB), COLUMN_KEY, aad))
+              .setCrypto_metadata(
+                  ColumnCryptoMetaData.ENCRYPTION_WITH_COLUMN_KEY(
+                      new EncryptionWithColumnKey(Collections.singletonList("ss_b"))
+                          .setKey_metadata(COLUMN_KEY_METADATA)));
+      if (!encryptedFooter) {
+        // Plaintext footers hold the metadata of all columns, stripped of their statistics
+        columnB.setMeta_data(columnMetaDataB);
+      }
+      offset += COLUMN_CHUNK_LENGTH;
+
+      rowGroups.add(
+          new RowGroup(Arrays.asList(columnA, columnB), 2 * COLUMN_CHUNK_LENGTH, 100)
+              .setOrdinal(i));
+    }
+
+    List<SchemaElement> schema =
+        Arrays.asList(
+            new SchemaElement("schema").setNum_children(2),
+            new SchemaElement("ss_a").setType(Type.INT32),
+            new SchemaElement("ss_b").setType(Type.INT32));
+    return new FileMetaData(1, schema, 100L * rowGroupCount, rowGroups);
+  }
+
+  private static ColumnMetaData columnMetaData(String name, long offset) {
+    return new ColumnMetaData(
+        Type.INT32,
+        Collections.singletonList(Encoding.PLAIN),
+        Collections.singletonList(name),
+        CompressionCodec.UNCOMPRESSED,
+        100,
+        COLUMN_CHUNK_LENGTH,
+        COLUMN_CHUNK_LENGTH,
+        offset);
+  }
+
+  private static byte[] tail(byte[] footer, String magic) {
+    return concat(
+        footer,
+        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(footer.length).array(),
+        magic.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Serializes a Thrift struct in the compact protocol.
+   *
+   * @param struct the struct
+   * @return the serialized struct
+   */
+  static byte[] serialize(TBase<?, ?> struct) {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      struct.write(new TCompactProtocol(new TIOStreamTransport(out)));
+      return out.toByteArray();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Encrypts a module with AES GCM, laid out as its length, the nonce, the ciphertext and the tag.
+   *
+   * @param plaintext the module
+   * @param key the AES key
+   * @param aad additional authenticated data of the module
+   * @return the encrypted module
+   */
+  static byte[] encrypt(byte[] plaintext, byte[] key, byte[] aad) {
+    try {
+      byte[] nonce = new byte[12];
+      Arrays.fill(nonce, (byte) 7);
+      Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+      cipher.init(
+          Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, nonce));
+      cipher.updateAAD(aad);
+      byte[] ciphertext = cipher.doFinal(plaintext);
+      byte[] length =
+          ByteBuffer.allocate(4)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .putInt(nonce.length + ciphertext.length)
+              .array();
+      return concat(length, nonce, ciphertext);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      out.write(part, 0, part.length);
+    }
+    return out.toByteArray();
+  }
+}
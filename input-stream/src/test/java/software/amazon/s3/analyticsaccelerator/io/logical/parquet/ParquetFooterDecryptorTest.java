@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.parquet.format.EncryptionAlgorithm;
+import org.junit.jupiter.api.Test;
+
+public class ParquetFooterDecryptorTest {
+  private static final byte[] FOOTER = "footer".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () -> new ParquetFooterDecryptor(null, keyMetadata -> EncryptedParquetFiles.FOOTER_KEY));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ParquetFooterDecryptor(EncryptedParquetFiles.encryptionAlgorithm(false), null));
+  }
+
+  @Test
+  void testUnsupportedAlgorithm() {
+    assertThrows(
+        IOException.class,
+        () ->
+            new ParquetFooterDecryptor(
+                new EncryptionAlgorithm(), keyMetadata -> EncryptedParquetFiles.FOOTER_KEY));
+  }
+
+  @Test
+  void testDecryptFooter() throws IOException {
+    byte[] aad =
+        EncryptedParquetFiles.concat(
+            EncryptedParquetFiles.AAD_PREFIX, new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, new byte[] {0});
+    // The module may be preceded by other bytes, such as the FileCryptoMetaData
+    byte[] module =
+        EncryptedParquetFiles.concat(
+            new byte[3],
+            EncryptedParquetFiles.encrypt(FOOTER, EncryptedParquetFiles.FOOTER_KEY, aad));
+    ParquetFooterDecryptor decryptor =
+        new ParquetFooterDecryptor(
+            EncryptedParquetFiles.encryptionAlgorithm(false),
+            keyMetadata -> EncryptedParquetFiles.FOOTER_KEY);
+
+    assertArrayEquals(FOOTER, decryptor.decryptFooter(module, 3, null));
+  }
+
+  @Test
+  void testDecryptFooterTruncated() throws IOException {
+    ParquetFooterDecryptor decryptor =
+        new ParquetFooterDecryptor(
+            EncryptedParquetFiles.encryptionAlgorithm(false),
+            keyMetadata -> EncryptedParquetFiles.FOOTER_KEY);
+
+    assertThrows(IOException.class, () -> decryptor.decryptFooter(new byte[2], 0, null));
+    assertThrows(
+        IOException.class, () -> decryptor.decryptFooter(new byte[] {100, 0, 0, 0, 1}, 0, null));
+  }
+}
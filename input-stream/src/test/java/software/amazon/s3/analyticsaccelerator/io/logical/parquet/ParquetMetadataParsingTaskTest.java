@@ -45,6 +45,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import software.amazon.awssdk.utils.ImmutableMap;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -84,7 +85,16 @@ public class ParquetMetadataParsingTaskTest {
         NullPointerException.class,
         () ->
             new ParquetMetadataParsingTask(
-                TEST_URI, new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT), null));
+                TEST_URI,
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                (ParquetParser) null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetMetadataParsingTask(
+                TEST_URI,
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                (OpenStreamInformation) null));
   }
 
   @ParameterizedTest
@@ -121,7 +131,14 @@ public class ParquetMetadataParsingTaskTest {
       assertEquals(
           columnChunk.getMeta_data().getTotal_compressed_size(),
           columnMappers.getOffsetIndexToColumnMap().get(key).getCompressedSize());
+      assertEquals(
+          columnMappers.getOffsetIndexToColumnMap().get(key),
+          columnMappers.getColumnChunkIntervalIndex().getColumnAtPosition(key));
     }
+
+    assertEquals(
+        columnMappers.getOffsetIndexToColumnMap().size(),
+        columnMappers.getColumnChunkIntervalIndex().size());
   }
 
   @ParameterizedTest
@@ -246,6 +263,34 @@ public class ParquetMetadataParsingTaskTest {
     assertThrows(CompletionException.class, parquetMetadataTaskFuture::join);
   }
 
+  @Test
+  void testEncryptedFooterColumnMappers() {
+    byte[] tail =
+        EncryptedParquetFiles.encryptedFooterTail(
+            2, EncryptedParquetFiles.encryptionAlgorithm(false));
+    // Only the footer key is available, so the offsets of ss_b are unknown
+    OpenStreamInformation openStreamInformation =
+        OpenStreamInformation.builder()
+            .parquetDecryptionKeyRetriever(keyMetadata -> EncryptedParquetFiles.FOOTER_KEY)
+            .build();
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(
+            TEST_URI,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            openStreamInformation);
+
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(
+            new FileTail(ByteBuffer.wrap(tail), tail.length));
+
+    assertEquals(1, columnMappers.getColumnNameToColumnMap().size());
+    List<ColumnMetadata> columnMetadataList = columnMappers.getColumnNameToColumnMap().get("ss_a");
+    assertEquals(2, columnMetadataList.size());
+    assertEquals(2004, columnMetadataList.get(1).getDataPageOffset());
+    // The schema hash covers all columns, including those whose metadata is encrypted
+    assertEquals("ss_ass_b".hashCode(), columnMetadataList.get(0).getSchemaHash());
+  }
+
   private FileMetaData getFileMetadata(String filePath) throws IOException, ClassNotFoundException {
     // Deserialize fileMetaData object
     try (FileInputStream fileInStream = new FileInputStream(filePath)) {
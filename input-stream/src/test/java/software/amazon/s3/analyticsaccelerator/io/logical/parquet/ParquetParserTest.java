@@ -16,8 +16,15 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static software.amazon.s3.analyticsaccelerator.io.logical.parquet.EncryptedParquetFiles.AAD_PREFIX;
+import static software.amazon.s3.analyticsaccelerator.io.logical.parquet.EncryptedParquetFiles.COLUMN_KEY;
+import static software.amazon.s3.analyticsaccelerator.io.logical.parquet.EncryptedParquetFiles.COLUMN_KEY_METADATA;
+import static software.amazon.s3.analyticsaccelerator.io.logical.parquet.EncryptedParquetFiles.FOOTER_KEY;
+import static software.amazon.s3.analyticsaccelerator.io.logical.parquet.EncryptedParquetFiles.FOOTER_KEY_METADATA;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 
 import java.io.File;
@@ -25,17 +32,40 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.stream.Stream;
+import org.apache.parquet.format.ColumnChunk;
 import org.apache.parquet.format.FileMetaData;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.s3.analyticsaccelerator.util.ParquetDecryptionKeyRetriever;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetParserTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
 
+  private static final ParquetDecryptionKeyRetriever KEY_RETRIEVER =
+      new ParquetDecryptionKeyRetriever() {
+        @Override
+        public byte[] getFooterKey(byte[] keyMetadata) {
+          return Arrays.equals(FOOTER_KEY_METADATA, keyMetadata) ? FOOTER_KEY : null;
+        }
+
+        @Override
+        public byte[] getColumnKey(String columnPath, byte[] keyMetadata) {
+          return "ss_b".equals(columnPath) && Arrays.equals(COLUMN_KEY_METADATA, keyMetadata)
+              ? COLUMN_KEY
+              : null;
+        }
+
+        @Override
+        public byte[] getAadPrefix() {
+          return AAD_PREFIX;
+        }
+      };
+
   @Test
   void testContructor() {
     assertNotNull(new ParquetParser());
@@ -137,4 +167,98 @@ public class ParquetParserTest {
           () -> parquetParser.parseParquetFooter(ByteBuffer.wrap(tailBuffer), 20, TEST_URI));
     }
   }
+
+  @Test
+  void testParseEncryptedFooter() throws IOException {
+    byte[] tail =
+        EncryptedParquetFiles.encryptedFooterTail(
+            2, EncryptedParquetFiles.encryptionAlgorithm(false));
+
+    FileMetaData fileMetaData =
+        new ParquetParser(KEY_RETRIEVER)
+            .parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI);
+
+    assertEquals(2, fileMetaData.getRow_groups().size());
+    ColumnChunk columnA = fileMetaData.getRow_groups().get(1).getColumns().get(0);
+    ColumnChunk columnB = fileMetaData.getRow_groups().get(1).getColumns().get(1);
+    assertEquals(2004, columnA.getMeta_data().getData_page_offset());
+    // The metadata of ss_b is decrypted with its own key
+    assertEquals(3004, columnB.getMeta_data().getData_page_offset());
+  }
+
+  @Test
+  void testParseEncryptedFooterWithSuppliedAadPrefix() throws IOException {
+    byte[] tail =
+        EncryptedParquetFiles.encryptedFooterTail(
+            1, EncryptedParquetFiles.encryptionAlgorithm(true));
+
+    FileMetaData fileMetaData =
+        new ParquetParser(KEY_RETRIEVER)
+            .parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI);
+    assertEquals(1, fileMetaData.getRow_groups().size());
+
+    // Without the AAD prefix, the footer cannot be decrypted
+    ParquetParser parquetParser = new ParquetParser(keyMetadata -> FOOTER_KEY);
+    assertThrows(
+        IOException.class,
+        () -> parquetParser.parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI));
+  }
+
+  @Test
+  void testParseEncryptedFooterWithoutColumnKey() throws IOException {
+    byte[] tail =
+        EncryptedParquetFiles.encryptedFooterTail(
+            1, EncryptedParquetFiles.encryptionAlgorithm(false));
+
+    FileMetaData fileMetaData =
+        new ParquetParser(keyMetadata -> FOOTER_KEY)
+            .parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI);
+
+    assertTrue(fileMetaData.getRow_groups().get(0).getColumns().get(0).isSetMeta_data());
+    assertFalse(fileMetaData.getRow_groups().get(0).getColumns().get(1).isSetMeta_data());
+  }
+
+  @Test
+  void testParseEncryptedFooterWithoutFooterKey() {
+    byte[] tail =
+        EncryptedParquetFiles.encryptedFooterTail(
+            1, EncryptedParquetFiles.encryptionAlgorithm(false));
+
+    assertThrows(
+        IOException.class,
+        () -> new ParquetParser().parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI));
+    assertThrows(
+        IOException.class,
+        () ->
+            new ParquetParser(keyMetadata -> null)
+                .parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI));
+    assertThrows(
+        IOException.class,
+        () ->
+            new ParquetParser(keyMetadata -> COLUMN_KEY)
+                .parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI));
+  }
+
+  @Test
+  void testParsePlaintextFooter() throws IOException {
+    byte[] tail = EncryptedParquetFiles.plaintextFooterTail(2);
+
+    // Column chunk offsets are readable without any key
+    FileMetaData fileMetaData =
+        new ParquetParser().parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI);
+
+    assertEquals(2, fileMetaData.getRow_groups().size());
+    ColumnChunk columnB = fileMetaData.getRow_groups().get(1).getColumns().get(1);
+    assertEquals(3004, columnB.getMeta_data().getData_page_offset());
+  }
+
+  @Test
+  void testParseFooterNotParquet() {
+    byte[] tail = EncryptedParquetFiles.plaintextFooterTail(1);
+    tail[tail.length - 1] = 'X';
+
+    assertThrows(
+        IOException.class,
+        () -> new ParquetParser().parseParquetFooter(ByteBuffer.wrap(tail), tail.length, TEST_URI));
+  }
 }
@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -46,6 +47,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -136,7 +138,7 @@ public class ParquetPredictivePrefetchingTaskTest {
     when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI)).thenReturn(columnMappers);
 
     assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 400).size());
-    verify(parquetColumnPrefetchStore).addRecentColumn(columnMetadata);
+    verify(parquetColumnPrefetchStore).addRecentColumn(columnMetadata, null);
   }
 
   @Test
@@ -174,11 +176,11 @@ public class ParquetPredictivePrefetchingTaskTest {
 
     Set<String> recentColumns = new HashSet<>();
     recentColumns.add("sk_test");
-    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema("sk_test".hashCode()))
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema("sk_test".hashCode(), null))
         .thenReturn(recentColumns);
 
     assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 200).size());
-    verify(parquetColumnPrefetchStore).addRecentColumn(sk_test);
+    verify(parquetColumnPrefetchStore).addRecentColumn(sk_test, null);
 
     // Then: physical IO gets the correct plan. Only recent columns from the current row
     // group are prefetched.
@@ -229,11 +231,11 @@ public class ParquetPredictivePrefetchingTaskTest {
 
     Set<String> recentDictionaries = new HashSet<>();
     recentDictionaries.add("sk_test");
-    when(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema("sk_test".hashCode()))
+    when(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema("sk_test".hashCode(), null))
         .thenReturn(recentDictionaries);
 
     assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 50).size());
-    verify(parquetColumnPrefetchStore).addRecentDictionary(sk_test);
+    verify(parquetColumnPrefetchStore).addRecentDictionary(sk_test, null);
 
     // Then: physical IO gets the correct plan. Only recent columns from the current row
     // group are prefetched.
@@ -268,7 +270,30 @@ public class ParquetPredictivePrefetchingTaskTest {
             parquetColumnPrefetchStore);
 
     assertTrue(parquetPredictivePrefetchingTask.addToRecentColumnList(100, 0).isEmpty());
-    verify(parquetColumnPrefetchStore, times(0)).addRecentColumn(any());
+    verify(parquetColumnPrefetchStore, times(0)).addRecentColumn(any(), any());
+  }
+
+  @Test
+  void testAddToRecentColumnListNoColumnAtPosition() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI))
+        .thenReturn(new ColumnMappers(new HashMap<>(), new HashMap<>()));
+
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    assertTrue(
+        parquetPredictivePrefetchingTask
+            .addToRecentColumnList(100 * ONE_KB, 600 * ONE_KB)
+            .isEmpty());
+    verify(parquetColumnPrefetchStore, times(0)).addRecentColumn(any(), any());
   }
 
   @Test
@@ -337,7 +362,7 @@ public class ParquetPredictivePrefetchingTaskTest {
     expectedColumns.add(sk_test2);
     expectedColumns.add(sk_test3);
 
-    verify(parquetColumnPrefetchStore, times(3)).addRecentColumn(any());
+    verify(parquetColumnPrefetchStore, times(3)).addRecentColumn(any(), any());
     assertTrue(expectedColumns.containsAll(addedColumns));
     assertEquals(3, addedColumns.size());
 
@@ -348,7 +373,7 @@ public class ParquetPredictivePrefetchingTaskTest {
         parquetPredictivePrefetchingTask.addToRecentColumnList(1900 * ONE_KB, 600 * ONE_KB);
     List<ColumnMetadata> expectedColumns2 = new ArrayList<>();
     expectedColumns2.add(sk_test4);
-    verify(parquetColumnPrefetchStore, times(1)).addRecentColumn(sk_test4);
+    verify(parquetColumnPrefetchStore, times(1)).addRecentColumn(sk_test4, null);
     assertEquals(1, addedColumns2.size());
     assertTrue(expectedColumns2.containsAll(addedColumns2));
 
@@ -404,7 +429,7 @@ public class ParquetPredictivePrefetchingTaskTest {
     recentColumns.add("sk_test");
     recentColumns.add("sk_test_2");
     recentColumns.add("sk_test_3");
-    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash))
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash, null))
         .thenReturn(recentColumns);
 
     // When: recent columns get prefetched
@@ -435,6 +460,196 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertEquals(readModeCaptor.getValue(), ReadMode.COLUMN_PREFETCH);
   }
 
+  @Test
+  void testRowGroupLookahead() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    when(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 0)).thenReturn(true);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    // Reading less than the threshold of row group 0 does not look ahead
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 300);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+
+    // Reading past the threshold prefetches the recent columns of row group 1 only
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 600);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+    verify(parquetColumnPrefetchStore).storeDictionaryPrefetchedRowGroupIndex(TEST_URI, 1);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 2);
+
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    ArgumentCaptor<ReadMode> readModeCaptor = ArgumentCaptor.forClass(ReadMode.class);
+    verify(physicalIO, times(4)).execute(ioPlanArgumentCaptor.capture(), readModeCaptor.capture());
+    assertEquals(ReadMode.COLUMN_PREFETCH, readModeCaptor.getValue());
+    assertEquals(
+        Collections.singletonList(new Range(1100, 2099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+
+    // Further reads in row group 0 do not prefetch row group 1 again
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 900);
+    verify(physicalIO, times(4)).execute(any(IOPlan.class), any(ReadMode.class));
+  }
+
+  @Test
+  void testRowGroupLookaheadBoundedByMaxBytes() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .rowGroupLookaheadDepth(3)
+                .rowGroupLookaheadMaxBytes(2000)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 600);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 2);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 3);
+  }
+
+  @Test
+  void testRowGroupLookaheadBoundedByAvailableMemory() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .rowGroupLookaheadDepth(3)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore,
+            OpenStreamInformation.DEFAULT,
+            () -> 1500);
+
+    // Only row group 1 fits in the memory left, even though the byte cap allows all three
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 600);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 2);
+  }
+
+  @Test
+  void testRowGroupLookaheadAbandonedOnJump() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(5);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .rowGroupLookaheadDepth(2)
+                .rowGroupLookaheadMaxBytes(2000)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    // Row groups 1 and 2 are prefetched ahead, using up the lookahead budget
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 600);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 2);
+
+    // Jumping to row group 3 abandons the lookahead, so row group 4 fits in the budget again
+    parquetPredictivePrefetchingTask.addToRecentColumnList(3100, 600);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 4);
+  }
+
+  @Test
+  void testRowGroupLookaheadStopsAtSplitEnd() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .rowGroupLookaheadDepth(2)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore,
+            OpenStreamInformation.builder().splitRange(new Range(0, 1999)).build());
+
+    // Row group 1 has its midpoint at 1600 and is looked ahead to, row group 2 is in the next split
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 600);
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 900);
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 2);
+    verify(parquetColumnPrefetchStore, times(1)).recordSplitPrefetchBytesAvoided(1000);
+  }
+
+  @Test
+  void testGetRowGroupsToPrefetchOnOpen() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    ColumnMappers columnMappers = parquetColumnPrefetchStore.getColumnMappers(TEST_URI);
+
+    ParquetPredictivePrefetchingTask withoutSplit =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            parquetColumnPrefetchStore);
+    assertEquals(
+        Collections.singletonList(0), withoutSplit.getRowGroupsToPrefetchOnOpen(columnMappers));
+    verify(parquetColumnPrefetchStore, times(0)).recordSplitPrefetchBytesAvoided(anyLong());
+
+    // Only the midpoint of row group 2, at 2600, lies in the split
+    ParquetPredictivePrefetchingTask withSplit =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            parquetColumnPrefetchStore,
+            OpenStreamInformation.builder().splitRange(new Range(2000, 2999)).build());
+    assertEquals(
+        Collections.singletonList(2), withSplit.getRowGroupsToPrefetchOnOpen(columnMappers));
+    verify(parquetColumnPrefetchStore).recordSplitPrefetchBytesAvoided(1000);
+
+    // A split that owns no row group prefetches nothing
+    ParquetPredictivePrefetchingTask withEmptySplit =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            parquetColumnPrefetchStore,
+            OpenStreamInformation.builder().splitRange(new Range(2700, 3500)).build());
+    assertTrue(withEmptySplit.getRowGroupsToPrefetchOnOpen(columnMappers).isEmpty());
+  }
+
+  @Test
+  void testRowGroupLookaheadDisabled() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getLookaheadTestStore(4);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .rowGroupLookaheadDepth(0)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 900);
+    verify(parquetColumnPrefetchStore, times(0)).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+  }
+
   @Test
   void testExceptionInPrefetchingIsSwallowed() throws IOException {
     // Given: a task performing predictive prefetching
@@ -458,6 +673,32 @@ public class ParquetPredictivePrefetchingTaskTest {
             new ColumnMappers(new HashMap<>(), new HashMap<>()), Collections.emptyList(), false));
   }
 
+  /**
+   * Creates a mocked store for a file with the given number of row groups, each holding one
+   * recently read column "sk_test" of 1000 bytes, with row group i starting at 100 + i * 1000.
+   */
+  private ParquetColumnPrefetchStore getLookaheadTestStore(int rowGroupCount) {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    List<ColumnMetadata> columnMetadataList = new ArrayList<>();
+    for (int rowGroupIndex = 0; rowGroupIndex < rowGroupCount; rowGroupIndex++) {
+      long startPos = 100 + rowGroupIndex * 1000L;
+      ColumnMetadata columnMetadata =
+          new ColumnMetadata(
+              rowGroupIndex, "sk_test", startPos, 0, startPos, 1000, "sk_test".hashCode());
+      offsetIndexToColumnMap.put(startPos, columnMetadata);
+      columnMetadataList.add(columnMetadata);
+    }
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    columnNameToColumnMap.put("sk_test", columnMetadataList);
+
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI))
+        .thenReturn(new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap));
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema("sk_test".hashCode(), null))
+        .thenReturn(Collections.singleton("sk_test"));
+    return parquetColumnPrefetchStore;
+  }
+
   private int getHashCode(StringBuilder stringToHash) {
     return stringToHash.toString().hashCode();
   }
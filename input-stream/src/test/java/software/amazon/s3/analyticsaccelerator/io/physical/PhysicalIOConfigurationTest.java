@@ -80,6 +80,19 @@ public class PhysicalIOConfigurationTest {
             + "\tthreadPoolSize: 96\n"
             + "\treadBufferSize: 131072\n"
             + "\ttargetRequestSize: 20\n"
-            + "\trequestToleranceRatio: 1.4\n");
+            + "\trequestToleranceRatio: 1.4\n"
+            + "\tpatternPrefetchEnabled: false\n"
+            + "\tpatternPrefetchHistorySize: 16\n"
+            + "\tpatternPrefetchMinConfidence: 2\n"
+            + "\tpatternPrefetchMaxDepth: 4\n"
+            + "\tpatternPrefetchMaxInterleave: 4\n"
+            + "\tcacheBypassEnabled: true\n"
+            + "\tcacheBypassThreshold: 33554432\n"
+            + "\tcacheBypassPopulateCache: false\n"
+            + "\treadVectoredDirectEnabled: true\n"
+            + "\treadVectoredCoalesceGapBytes: 131072\n"
+            + "\treadVectoredMaxCoalescedSize: 8388608\n"
+            + "\tblockCursorEnabled: true\n"
+            + "\tblockCursorMaxReadBytes: 64\n");
   }
 }
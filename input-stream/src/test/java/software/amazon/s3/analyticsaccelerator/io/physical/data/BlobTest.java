@@ -21,6 +21,7 @@ import static software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanSta
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
@@ -32,6 +33,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfigurati
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
@@ -106,6 +108,29 @@ public class BlobTest {
     assertEquals("data", new String(b2, StandardCharsets.UTF_8));
   }
 
+  @Test
+  public void testByteBufferReadReturnsCorrectBytes() throws IOException {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When: reads into heap and direct buffers are performed
+    ByteBuffer heap = ByteBuffer.allocate(4);
+    ByteBuffer direct = ByteBuffer.allocateDirect(TEST_DATA.length());
+    int heapBytesRead = blob.read(heap, 5, null);
+    int directBytesRead = blob.read(direct, 10, null);
+
+    // Then: correct bytes are returned and the buffer positions are advanced
+    assertEquals(4, heapBytesRead);
+    assertEquals(4, heap.position());
+    assertEquals("data", new String(heap.array(), StandardCharsets.UTF_8));
+    assertEquals(TEST_DATA.length() - 10, directBytesRead);
+    assertEquals(directBytesRead, direct.position());
+    direct.flip();
+    byte[] bytes = new byte[direct.remaining()];
+    direct.get(bytes);
+    assertEquals("0123456789", new String(bytes, StandardCharsets.UTF_8));
+  }
+
   @Test
   public void testBufferedReadTestOverlappingRanges() throws IOException {
     // Given: test Blob
@@ -305,4 +330,35 @@ public class BlobTest {
     // Then: returns number of bytes actually read
     assertEquals(0, bytesRead);
   }
+
+  @Test
+  public void testReadsRecordStallsInStreamStatistics() throws IOException {
+    // Given: test blob with a block whose data arrives after the first wait
+    Block mockBlock = mock(Block.class);
+    when(mockBlock.awaitData()).thenReturn(1000L, 0L);
+    when(mockBlock.read(anyLong())).thenReturn(7);
+    when(mockBlock.read(any(byte[].class), anyInt(), anyInt(), anyLong())).thenReturn(10);
+
+    BlockManager blockManager = mock(BlockManager.class);
+    when(blockManager.getBlock(anyLong())).thenReturn(Optional.of(mockBlock));
+
+    Blob blob = new Blob(objectKey, mockMetadataStore, blockManager, TestTelemetry.DEFAULT);
+    StreamStatistics streamStatistics = new StreamStatistics();
+    StreamContext streamContext = new StreamContext(new StreamReadPattern(), streamStatistics);
+
+    // When: reading on behalf of a stream
+    assertEquals(7, blob.read(0, streamContext));
+    byte[] buffer = new byte[10];
+    assertEquals(10, blob.read(buffer, 0, buffer.length, 0, streamContext));
+
+    // Then: both reads and only the wait are recorded
+    assertEquals(2, streamStatistics.getBlockReadCount());
+    assertEquals(1, streamStatistics.getStallCount());
+    assertEquals(1000L, streamStatistics.getStallTimeNanos());
+
+    // And: reads without a stream still wait for the data, but record nothing
+    blob.read(0);
+    verify(mockBlock, times(3)).awaitData();
+    assertEquals(2, streamStatistics.getBlockReadCount());
+  }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.BlockKey;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+public class BlockCursorTest {
+  private static final String TEST_DATA = "0123456789abcdef";
+  private static final int MAX_READ_BYTES = 4;
+
+  private BlobStoreIndexCache mockIndexCache;
+  private Block block;
+  private Blob mockBlob;
+
+  @BeforeEach
+  void setUp() {
+    ObjectKey objectKey =
+        ObjectKey.builder().s3URI(S3URI.of("foo", "bar")).etag("RandomString").build();
+    mockIndexCache = mock(BlobStoreIndexCache.class);
+    block =
+        new Block(
+            new BlockKey(objectKey, new Range(0, TEST_DATA.length() - 1)),
+            0,
+            mockIndexCache,
+            mock(Metrics.class));
+    block.setData(TEST_DATA.getBytes(StandardCharsets.UTF_8));
+    mockBlob = mock(Blob.class);
+    when(mockBlob.getLoadedBlock(anyLong())).thenReturn(Optional.of(block));
+  }
+
+  @Test
+  void testConstructorRejectsNonPositiveMaxReadBytes() {
+    assertThrows(IllegalArgumentException.class, () -> new BlockCursor(0, new Metrics()));
+  }
+
+  @Test
+  void testMissesUntilSequentialReadPinsBlock() {
+    BlockCursor blockCursor = new BlockCursor(MAX_READ_BYTES, new Metrics());
+    assertEquals(BlockCursor.MISS, blockCursor.read(0));
+
+    // The first read of the stream does not pin a block, as it does not continue a previous read
+    blockCursor.onRead(mockBlob, 0, 1);
+    verify(mockBlob, never()).getLoadedBlock(anyLong());
+    assertEquals(BlockCursor.MISS, blockCursor.read(1));
+
+    // The second one does
+    blockCursor.onRead(mockBlob, 1, 1);
+    verify(mockBlob).getLoadedBlock(2);
+    assertEquals('2', blockCursor.read(2));
+    assertEquals('3', blockCursor.read(3));
+  }
+
+  @Test
+  void testServesSequentialTinyReadsWithinBlock() {
+    BlockCursor blockCursor = pinnedCursor();
+
+    byte[] buffer = new byte[MAX_READ_BYTES];
+    assertEquals(4, blockCursor.read(buffer, 0, 4, 2));
+    assertArrayEquals("2345".getBytes(StandardCharsets.UTF_8), buffer);
+    assertEquals('6', blockCursor.read(6));
+  }
+
+  @Test
+  void testMissesReadsItCannotServe() {
+    BlockCursor blockCursor = pinnedCursor();
+    byte[] buffer = new byte[TEST_DATA.length()];
+
+    // Reads that do not continue the previous read
+    assertEquals(BlockCursor.MISS, blockCursor.read(3));
+    assertEquals(BlockCursor.MISS, blockCursor.read(buffer, 0, 1, 1));
+
+    // Reads larger than the maximum
+    assertEquals(BlockCursor.MISS, blockCursor.read(buffer, 0, MAX_READ_BYTES + 1, 2));
+
+    // Reads going past the end of the block
+    for (int pos = 2; pos < 14; pos++) {
+      assertEquals(TEST_DATA.charAt(pos), blockCursor.read(pos));
+    }
+    assertEquals(BlockCursor.MISS, blockCursor.read(buffer, 0, 3, 14));
+    assertEquals(2, blockCursor.read(buffer, 0, 2, 14));
+    assertEquals(BlockCursor.MISS, blockCursor.read(16));
+  }
+
+  @Test
+  void testMissesAndReleasesEvictedBlock() throws IOException {
+    BlockCursor blockCursor = pinnedCursor();
+    assertEquals('2', blockCursor.read(2));
+
+    block.close();
+
+    assertEquals(BlockCursor.MISS, blockCursor.read(3));
+    // The position of the stream was forgotten, so a read continuing it does not pin a block
+    blockCursor.onRead(mockBlob, 3, 1);
+    verify(mockBlob, times(1)).getLoadedBlock(anyLong());
+  }
+
+  @Test
+  void testMissesBlockEvictedByAnotherThread() throws Exception {
+    BlockCursor blockCursor = pinnedCursor();
+    assertEquals('2', blockCursor.read(2));
+
+    Thread evictor =
+        new Thread(
+            () -> {
+              try {
+                block.close();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    evictor.start();
+    evictor.join();
+
+    byte[] buffer = new byte[2];
+    assertEquals(BlockCursor.MISS, blockCursor.read(buffer, 0, 2, 3));
+    assertEquals(BlockCursor.MISS, blockCursor.read(3));
+  }
+
+  @Test
+  void testRelease() {
+    BlockCursor blockCursor = pinnedCursor();
+    blockCursor.release();
+    assertEquals(BlockCursor.MISS, blockCursor.read(2));
+  }
+
+  @Test
+  void testRecordsAccessWhenPinning() {
+    pinnedCursor();
+    verify(mockIndexCache).recordAccess(block.getBlockKey());
+  }
+
+  @Test
+  void testFlushRecordsServedReadsAsSequentialRun() {
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(1, 1, 3);
+    BlockCursor blockCursor = pinnedCursor();
+
+    // Nothing was served yet
+    blockCursor.flush(streamReadPattern);
+    assertTrue(streamReadPattern.isSequentialRead(2));
+
+    for (int pos = 2; pos < 10; pos++) {
+      blockCursor.read(pos);
+    }
+    blockCursor.flush(streamReadPattern);
+
+    assertEquals(3, streamReadPattern.getGeneration());
+    assertTrue(streamReadPattern.isSequentialRead(10));
+    assertEquals(4, streamReadPattern.getGeneration(10));
+  }
+
+  @Test
+  void testFlushRecordsServedReadsInTheBlock() throws IOException {
+    Metrics metrics = new Metrics();
+    StreamStatistics owner = new StreamStatistics();
+    ObjectKey objectKey =
+        ObjectKey.builder().s3URI(S3URI.of("foo", "bar")).etag("RandomString").build();
+    block =
+        new Block(
+            new BlockKey(objectKey, new Range(0, TEST_DATA.length() - 1)),
+            0,
+            ReadMode.SYNC,
+            mockIndexCache,
+            metrics,
+            Telemetry.NOOP,
+            owner);
+    block.setData(TEST_DATA.getBytes(StandardCharsets.UTF_8));
+    when(mockBlob.getLoadedBlock(anyLong())).thenReturn(Optional.of(block));
+    BlockCursor blockCursor = pinnedCursor(metrics);
+
+    for (int pos = 2; pos < 10; pos++) {
+      blockCursor.read(pos);
+    }
+    assertEquals(0, metrics.get(MetricKey.USED_BYTES));
+
+    blockCursor.flush(new StreamReadPattern());
+    assertEquals(8, metrics.get(MetricKey.USED_BYTES, ReadMode.SYNC));
+    assertEquals(8, owner.getUsedBytes());
+    assertEquals(8, metrics.get(MetricKey.BLOCK_CURSOR_HIT));
+
+    // Nothing is recorded twice
+    blockCursor.flush(new StreamReadPattern());
+    assertEquals(8, owner.getUsedBytes());
+    assertEquals(8, metrics.get(MetricKey.BLOCK_CURSOR_HIT));
+    block.close();
+    assertEquals(TEST_DATA.length() - 8, metrics.get(MetricKey.EVICTED_UNREAD_BYTES));
+  }
+
+  /**
+   * Creates a cursor that pinned the block after reads of bytes 0 and 1.
+   *
+   * @return the cursor
+   */
+  private BlockCursor pinnedCursor() {
+    return pinnedCursor(new Metrics());
+  }
+
+  /**
+   * Creates a cursor that pinned the block after reads of bytes 0 and 1.
+   *
+   * @param metrics metrics the cursor records its hits to
+   * @return the cursor
+   */
+  private BlockCursor pinnedCursor(Metrics metrics) {
+    BlockCursor blockCursor = new BlockCursor(MAX_READ_BYTES, metrics);
+    blockCursor.onRead(mockBlob, 0, 1);
+    blockCursor.onRead(mockBlob, 1, 1);
+    return blockCursor;
+  }
+}
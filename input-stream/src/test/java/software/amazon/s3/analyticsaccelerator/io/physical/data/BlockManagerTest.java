@@ -37,7 +37,9 @@ import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.StreamReadPattern;
 import software.amazon.s3.analyticsaccelerator.request.*;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -769,6 +771,249 @@ public class BlockManagerTest {
     assertEquals(1, count3MBRequests);
   }
 
+  @Test
+  @DisplayName("Test column prefetches are fetched with their exact range")
+  void testMakeRangeAvailableColumnPrefetchFetchesExactRange() throws IOException {
+    // Given
+    ObjectClient objectClient = mock(ObjectClient.class);
+    BlockManager blockManager =
+        getTestBlockManager(
+            objectClient,
+            100 * ONE_KB,
+            PhysicalIOConfiguration.builder()
+                .smallObjectsPrefetchingEnabled(false)
+                .readBufferSize(8 * ONE_KB)
+                .build());
+
+    // When: a column chunk that is not aligned to the 8KB blocks is prefetched
+    blockManager.makeRangeAvailable(1000, 5000, ReadMode.COLUMN_PREFETCH);
+
+    // Then: exactly the bytes of the column chunk are requested and cached
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(objectClient, timeout(1_000)).getObject(requestCaptor.capture(), any());
+    assertEquals(new Range(1000, 5999), requestCaptor.getValue().getRange());
+
+    Optional<Block> blockOpt = blockManager.getBlock(1000);
+    assertTrue(blockOpt.isPresent());
+    assertEquals(new Range(1000, 5999), blockOpt.get().getBlockKey().getRange());
+    assertFalse(blockManager.getBlock(999).isPresent());
+    assertFalse(blockManager.getBlock(6000).isPresent());
+
+    // And: a synchronous read within the column chunk is served without a new request
+    blockManager.makeRangeAvailable(2000, 100, ReadMode.SYNC);
+    verify(objectClient, timeout(1_000).times(1)).getObject(any(), any());
+  }
+
+  @Test
+  @DisplayName("Test column prefetches only fetch bytes which are not in the store")
+  void testMakeRangeAvailableColumnPrefetchStraddlesBlocks() throws IOException {
+    // Given: the first 8KB block is in the store
+    ObjectClient objectClient = mock(ObjectClient.class);
+    BlockManager blockManager =
+        getTestBlockManager(
+            objectClient,
+            100 * ONE_KB,
+            PhysicalIOConfiguration.builder()
+                .smallObjectsPrefetchingEnabled(false)
+                .readBufferSize(8 * ONE_KB)
+                .readAheadBytes(8 * ONE_KB)
+                .build());
+    blockManager.makeRangeAvailable(0, 1, ReadMode.SYNC);
+
+    // When: a column chunk straddling the end of that block is prefetched
+    blockManager.makeRangeAvailable(4 * ONE_KB, 8 * ONE_KB, ReadMode.DICTIONARY_PREFETCH);
+
+    // Then: only the part after the block is requested
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(objectClient, timeout(1_000).times(2)).getObject(requestCaptor.capture(), any());
+    assertEquals(new Range(0, 8191), requestCaptor.getAllValues().get(0).getRange());
+    assertEquals(new Range(8192, 12287), requestCaptor.getAllValues().get(1).getRange());
+
+    // And: the whole column chunk can be served from the block and the extent
+    assertRangeIsAvailable(blockManager, 4 * ONE_KB, 12 * ONE_KB - 1);
+  }
+
+  @Test
+  @DisplayName("Test sequential progression is tracked per stream")
+  void testMakeRangeAvailableTracksProgressionPerStream() throws IOException {
+    // Given
+    ObjectClient objectClient = mock(ObjectClient.class);
+    BlockManager blockManager =
+        getTestBlockManager(
+            objectClient,
+            16 * ONE_MB,
+            PhysicalIOConfiguration.builder()
+                .smallObjectsPrefetchingEnabled(false)
+                .readBufferSize(8 * ONE_KB)
+                .build());
+    StreamReadPattern firstStream = new StreamReadPattern();
+    StreamReadPattern secondStream = new StreamReadPattern();
+    StreamContext firstContext = new StreamContext(firstStream, new StreamStatistics());
+    StreamContext secondContext = new StreamContext(secondStream, new StreamStatistics());
+
+    // When: the first stream reads sequentially, its second fetch is extended to 4MB
+    blockManager.makeRangeAvailable(0, 64 * ONE_KB, ReadMode.SYNC, firstContext);
+    blockManager.makeRangeAvailable(64 * ONE_KB, 64 * ONE_KB, ReadMode.SYNC, firstContext);
+    assertEquals(1, firstStream.getGeneration());
+
+    // And: a second stream starts reading right after the bytes fetched for the first stream
+    long secondStreamPosition = 64 * ONE_KB + 4 * ONE_MB;
+    blockManager.makeRangeAvailable(secondStreamPosition, 1, ReadMode.SYNC, secondContext);
+
+    // Then: the second stream starts its own progression instead of continuing the first one
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(objectClient, timeout(1_000).times(3)).getObject(requestCaptor.capture(), any());
+    Set<Range> actualRanges = new HashSet<>();
+    for (GetRequest request : requestCaptor.getAllValues()) {
+      actualRanges.add(request.getRange());
+    }
+    Set<Range> expectedRanges = new HashSet<>();
+    expectedRanges.add(new Range(0, 64 * ONE_KB - 1));
+    expectedRanges.add(new Range(64 * ONE_KB, secondStreamPosition - 1));
+    expectedRanges.add(new Range(secondStreamPosition, secondStreamPosition + 64 * ONE_KB - 1));
+    assertEquals(expectedRanges, actualRanges);
+    assertEquals(0, secondStream.getGeneration());
+  }
+
+  @Test
+  @DisplayName("Test re-reading cached data restarts the progression of a stream")
+  void testMakeRangeAvailableCachedReadRestartsProgression() throws IOException {
+    // Given: a stream that has read sequentially
+    BlockManager blockManager = getTestBlockManager(16 * ONE_MB);
+    StreamReadPattern stream = new StreamReadPattern();
+    StreamContext streamContext = new StreamContext(stream, new StreamStatistics());
+    blockManager.makeRangeAvailable(0, 64 * ONE_KB, ReadMode.SYNC, streamContext);
+    blockManager.makeRangeAvailable(64 * ONE_KB, 64 * ONE_KB, ReadMode.SYNC, streamContext);
+    assertEquals(1, stream.getGeneration());
+
+    // When: it seeks back and re-reads data that is in the store
+    blockManager.makeRangeAvailable(0, 100, ReadMode.SYNC, streamContext);
+
+    // Then: its progression starts over
+    assertEquals(0, stream.getGeneration());
+  }
+
+  @Test
+  @DisplayName("Test prefetches on behalf of a stream are not part of its progression")
+  void testMakeRangeAvailablePrefetchDoesNotShapeStreamProgression() throws IOException {
+    // Given: a stream that has read sequentially
+    BlockManager blockManager = getTestBlockManager(16 * ONE_MB);
+    StreamReadPattern stream = new StreamReadPattern();
+    StreamStatistics streamStatistics = new StreamStatistics();
+    StreamContext streamContext = new StreamContext(stream, streamStatistics);
+    blockManager.makeRangeAvailable(0, 64 * ONE_KB, ReadMode.SYNC, streamContext);
+    blockManager.makeRangeAvailable(64 * ONE_KB, 64 * ONE_KB, ReadMode.SYNC, streamContext);
+    assertEquals(1, stream.getGeneration());
+
+    // When: a prefetch is issued on behalf of the stream
+    blockManager.makeRangeAvailable(8 * ONE_MB, 100, ReadMode.ASYNC, streamContext);
+
+    // Then: its request is attributed to the stream, but its progression is left alone
+    assertEquals(3, streamStatistics.getRequestCount());
+    assertEquals(1, stream.getGeneration());
+  }
+
+  @Test
+  @DisplayName("Test block store hits and misses are recorded by read mode")
+  void testMakeRangeAvailableRecordsCacheHitsAndMisses() throws IOException {
+    // Given: an empty block store
+    Metrics metrics = new Metrics();
+    BlockManager blockManager =
+        getTestBlockManager(
+            mock(ObjectClient.class),
+            16 * ONE_MB,
+            PhysicalIOConfiguration.builder().readBufferSize(8 * ONE_KB).build(),
+            metrics);
+
+    // When: a range is read and then read again
+    blockManager.makeRangeAvailable(0, 100, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(0, 100, ReadMode.SYNC);
+
+    // Then: the first read missed and the second one hit
+    assertEquals(1, metrics.get(MetricKey.CACHE_MISS, ReadMode.SYNC));
+    assertEquals(1, metrics.get(MetricKey.CACHE_HIT, ReadMode.SYNC));
+    assertEquals(0, metrics.get(MetricKey.CACHE_HIT, ReadMode.ASYNC));
+  }
+
+  @Test
+  @DisplayName("Test isRangeMissing is only true when no byte of the range is in the store")
+  void testIsRangeMissing() throws IOException {
+    // Given: the first 8KB block is in the store
+    BlockManager blockManager =
+        getTestBlockManager(
+            mock(ObjectClient.class),
+            100 * ONE_KB,
+            PhysicalIOConfiguration.builder()
+                .smallObjectsPrefetchingEnabled(false)
+                .readBufferSize(8 * ONE_KB)
+                .readAheadBytes(8 * ONE_KB)
+                .build());
+    blockManager.makeRangeAvailable(0, 1, ReadMode.SYNC);
+
+    // Then
+    assertFalse(blockManager.isRangeMissing(0, 100));
+    assertFalse(blockManager.isRangeMissing(4 * ONE_KB, 8 * ONE_KB));
+    assertTrue(blockManager.isRangeMissing(8 * ONE_KB, 8 * ONE_KB));
+    assertThrows(IllegalArgumentException.class, () -> blockManager.isRangeMissing(-1, 10));
+    assertThrows(IllegalArgumentException.class, () -> blockManager.isRangeMissing(0, 0));
+  }
+
+  @Test
+  @DisplayName("Test reads bypassing the cache do not add blocks to the store")
+  void testReadBypassingCache() throws IOException {
+    // Given
+    ObjectClient objectClient = mock(ObjectClient.class);
+    BlockManager blockManager =
+        getTestBlockManager(
+            objectClient,
+            100 * ONE_KB,
+            PhysicalIOConfiguration.builder().smallObjectsPrefetchingEnabled(false).build());
+
+    // When
+    byte[] buffer = new byte[20 * ONE_KB];
+    blockManager.readBypassingCache(buffer, 10, 1000, 16 * ONE_KB, ReadMode.SYNC);
+
+    // Then: exactly the requested range is fetched, and nothing is cached
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(objectClient, times(1)).getObject(requestCaptor.capture(), any());
+    assertEquals(new Range(1000, 1000 + 16 * ONE_KB - 1), requestCaptor.getValue().getRange());
+    assertTrue(blockManager.isBlockStoreEmpty());
+  }
+
+  @Test
+  @DisplayName("Test data read bypassing the cache can be added to the store as extents")
+  void testAddBypassedRange() throws IOException {
+    // Given: the block at 16KB is already in the store
+    BlockManager blockManager =
+        getTestBlockManager(
+            mock(ObjectClient.class),
+            100 * ONE_KB,
+            PhysicalIOConfiguration.builder()
+                .smallObjectsPrefetchingEnabled(false)
+                .readBufferSize(8 * ONE_KB)
+                .readAheadBytes(8 * ONE_KB)
+                .build());
+    blockManager.makeRangeAvailable(16 * ONE_KB, 1, ReadMode.SYNC);
+
+    // When: 20KB read from position 1000 are added to the store
+    byte[] buffer = new byte[20 * ONE_KB + 5];
+    for (int i = 0; i < buffer.length; i++) {
+      buffer[i] = (byte) i;
+    }
+    blockManager.addBypassedRange(buffer, 5, 1000, 20 * ONE_KB);
+
+    // Then: the range can be served from the store, with the data of the buffer
+    assertRangeIsAvailable(blockManager, 1000, 1000 + 20 * ONE_KB - 1);
+    assertEquals(5, blockManager.getBlock(1000).get().read(1000));
+    long secondExtentPosition = 1000 + 8 * ONE_KB + 1;
+    assertEquals(6, blockManager.getBlock(secondExtentPosition).get().read(secondExtentPosition));
+
+    // And: the block that was already in the store is kept
+    assertEquals(
+        new Range(16 * ONE_KB, 24 * ONE_KB - 1),
+        blockManager.getBlock(16 * ONE_KB).get().getBlockKey().getRange());
+  }
+
   private static List<ReadMode> readModes() {
     List<ReadMode> readModes = new ArrayList<>();
     readModes.add(ReadMode.READ_VECTORED);
@@ -792,6 +1037,15 @@ public class BlockManagerTest {
   private BlockManager getTestBlockManager(
       ObjectClient objectClient, int size, PhysicalIOConfiguration configuration)
       throws IOException {
+    return getTestBlockManager(objectClient, size, configuration, mock(Metrics.class));
+  }
+
+  private BlockManager getTestBlockManager(
+      ObjectClient objectClient,
+      int size,
+      PhysicalIOConfiguration configuration,
+      Metrics aggregatingMetrics)
+      throws IOException {
     /*
      The argument matcher is used to check if our arguments match the values we want to mock a return for
      (https://www.baeldung.com/mockito-argument-matchers)
@@ -833,7 +1087,7 @@ public class BlockManagerTest {
         metadataStore,
         TestTelemetry.DEFAULT,
         configuration,
-        mock(Metrics.class),
+        aggregatingMetrics,
         mock(BlobStoreIndexCache.class),
         OpenStreamInformation.DEFAULT,
         threadPool);
@@ -297,6 +297,8 @@ public class BlockStoreTest {
 
     // Then: Only the first block is removed (range length is 8192)
     verify(mockMetrics).reduce(eq(MetricKey.MEMORY_USAGE), eq(8192L));
+    verify(block1).recordEviction();
+    verify(block2, never()).recordEviction();
 
     // And: The first block is no longer in the store
     Optional<Block> removedBlock = blockStore.getBlockByIndex(0);
@@ -444,4 +446,102 @@ public class BlockStoreTest {
     verify(b1).close();
     verify(b2).close();
   }
+
+  @Test
+  public void test__blockStore__getBlockFallsBackToExtent() {
+    // Given: A block at index 0 and an extent [10000-11999]
+    Block block = newBlock(0, 8191);
+    Block extent = newBlock(10000, 11999);
+    blockStore.add(block);
+    blockStore.addExtent(extent);
+
+    // Then: Positions are served by the block first, then by the extent
+    assertEquals(block, blockStore.getBlock(100).get());
+    assertEquals(extent, blockStore.getBlock(10000).get());
+    assertEquals(extent, blockStore.getBlock(11999).get());
+    assertFalse(blockStore.getBlock(9999).isPresent());
+    assertFalse(blockStore.getBlock(12000).isPresent());
+
+    // And: The extent is not reachable through its block index
+    assertFalse(blockStore.getBlockByIndex(1).isPresent());
+    assertTrue(blockStore.getExtent(10500).isPresent());
+    assertFalse(blockStore.getExtent(100).isPresent());
+  }
+
+  @Test
+  public void test__blockStore__getMissingRangesInRange() {
+    // Given: A block at index 0 and an extent [10000-11999]
+    blockStore.add(newBlock(0, 8191));
+    blockStore.addExtent(newBlock(10000, 11999));
+
+    // When: Missing ranges are requested
+    List<Range> missingRanges = blockStore.getMissingRangesInRange(new Range(4096, 15999));
+
+    // Then: Only the exact bytes not held by the block or the extent are missing
+    assertEquals(2, missingRanges.size());
+    assertEquals(new Range(8192, 9999), missingRanges.get(0));
+    assertEquals(new Range(12000, 15999), missingRanges.get(1));
+
+    // And: A range fully held by the extent has no missing ranges
+    assertTrue(blockStore.getMissingRangesInRange(new Range(10100, 11000)).isEmpty());
+  }
+
+  @Test
+  public void test__blockStore__getMissingBlockIndexesInRange_extents() {
+    // Given: An extent covering [8192-12287], which is the first half of index 1
+    blockStore.addExtent(newBlock(8192, 12287));
+
+    // Then: Index 1 is not missing when only bytes held by the extent are requested
+    assertTrue(blockStore.getMissingBlockIndexesInRange(new Range(9000, 12000)).isEmpty());
+
+    // And: Index 1 is missing when bytes after the extent are requested
+    List<Integer> missingBlocks = blockStore.getMissingBlockIndexesInRange(new Range(9000, 13000));
+    assertEquals(1, missingBlocks.size());
+    assertTrue(missingBlocks.contains(1));
+  }
+
+  @Test
+  public void test__blockStore__removeExtent() throws IOException {
+    // Given: A block and an extent starting in the same block index
+    Block block = newBlock(0, 4);
+    Block extent = spy(newBlock(5, 9));
+    block.setData(new byte[] {1, 2, 3, 4, 5});
+    extent.setData(new byte[] {6, 7, 8, 9, 10});
+    blockStore.add(block);
+    blockStore.addExtent(extent);
+
+    // When: The extent is removed
+    blockStore.remove(extent);
+
+    // Then: The extent is gone but the block at the same index remains
+    assertFalse(blockStore.getExtent(5).isPresent());
+    assertEquals(block, blockStore.getBlockByIndex(0).get());
+    verify(mockMetrics).reduce(eq(MetricKey.MEMORY_USAGE), eq(5L));
+    verify(extent).close();
+  }
+
+  @Test
+  public void test__blockStore__cleanUpExtents() {
+    // Given: An extent that is no longer in the index cache
+    BlockKey blockKey = new BlockKey(objectKey, new Range(100, 299));
+    Block extent = mock(Block.class);
+    when(extent.getBlockKey()).thenReturn(blockKey);
+    when(extent.isDataReady()).thenReturn(true);
+    when(mockIndexCache.contains(blockKey)).thenReturn(false);
+    blockStore.addExtent(extent);
+    assertFalse(blockStore.isEmpty());
+
+    // When: cleanUp is called
+    blockStore.cleanUp();
+
+    // Then: The extent is removed
+    verify(mockMetrics).reduce(eq(MetricKey.MEMORY_USAGE), eq(200L));
+    assertFalse(blockStore.getExtent(100).isPresent());
+    assertTrue(blockStore.isEmpty());
+  }
+
+  private Block newBlock(long start, long end) {
+    BlockKey blockKey = new BlockKey(objectKey, new Range(start, end));
+    return new Block(blockKey, 0, mockIndexCache, mockMetrics);
+  }
 }
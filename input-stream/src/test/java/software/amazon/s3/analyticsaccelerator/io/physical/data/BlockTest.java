@@ -20,6 +20,7 @@ import static org.mockito.Mockito.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +28,10 @@ import java.util.concurrent.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.*;
 
 @SuppressFBWarnings(
@@ -192,6 +196,24 @@ public class BlockTest {
     assertEquals("ta", new String(buffer, 0, bytesRead, StandardCharsets.UTF_8));
   }
 
+  @Test
+  void testReadByteBufferAfterDataSet() throws IOException {
+    Block block = new Block(blockKey, 0, mockIndexCache, mockMetrics);
+    block.setData(TEST_DATA_BYTES);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+    buffer.position(1);
+    int bytesRead = block.read(buffer, 5);
+
+    assertEquals(4, bytesRead); // Only 4 bytes available from position 5
+    assertEquals(5, buffer.position());
+    buffer.flip().position(1);
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertEquals("data", new String(bytes, StandardCharsets.UTF_8));
+    verify(mockIndexCache).recordAccess(blockKey);
+  }
+
   @Test
   void testReadBufferWithInvalidParameters() {
     Block block = new Block(blockKey, 0, mockIndexCache, mockMetrics);
@@ -250,6 +272,31 @@ public class BlockTest {
     assertThrows(IOException.class, () -> block.read(0));
   }
 
+  @Test
+  void testEvictionIsRecordedOnce() throws IOException {
+    Metrics metrics = new Metrics();
+    Block block =
+        new Block(blockKey, 0, ReadMode.ASYNC, mockIndexCache, metrics, mock(Telemetry.class));
+    block.setData(TEST_DATA_BYTES);
+
+    block.recordEviction();
+    block.close();
+
+    assertEquals(1, metrics.get(MetricKey.BLOCK_EVICTION_COUNT, ReadMode.ASYNC));
+    assertEquals(
+        TEST_DATA_BYTES.length, metrics.get(MetricKey.EVICTED_UNREAD_BYTES, ReadMode.ASYNC));
+  }
+
+  @Test
+  void testEvictionOfUnloadedBlockIsNotRecorded() throws IOException {
+    Metrics metrics = new Metrics();
+    Block block = new Block(blockKey, 0, mockIndexCache, metrics);
+
+    block.close();
+
+    assertEquals(0, metrics.get(MetricKey.BLOCK_EVICTION_COUNT));
+  }
+
   @Test
   void testMultipleSetDataCalls() {
     Block block = new Block(blockKey, 0, mockIndexCache, mockMetrics);
@@ -382,4 +429,164 @@ public class BlockTest {
     CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
     executor.shutdown();
   }
+
+  @Test
+  void testStallIsRecordedByReadMode() throws Exception {
+    Metrics metrics = new Metrics();
+    Telemetry telemetry = mock(Telemetry.class);
+    Block block =
+        new Block(blockKey, 0, ReadMode.COLUMN_PREFETCH, mockIndexCache, metrics, telemetry);
+    assertEquals(ReadMode.COLUMN_PREFETCH, block.getReadMode());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<Long> stallNanos = executor.submit(block::awaitData);
+
+    // simulate a prefetch that arrives late
+    Thread.sleep(50);
+    block.setData(TEST_DATA_BYTES);
+
+    assertTrue(stallNanos.get(1, TimeUnit.SECONDS) >= TimeUnit.MILLISECONDS.toNanos(50));
+    executor.shutdown();
+
+    assertEquals(1, metrics.get(MetricKey.STALL_COUNT, ReadMode.COLUMN_PREFETCH));
+    assertEquals(0, metrics.get(MetricKey.STALL_COUNT, ReadMode.SYNC));
+    assertEquals(
+        (long) stallNanos.get(), metrics.get(MetricKey.STALL_TIME_NANOS, ReadMode.COLUMN_PREFETCH));
+    // The late prefetch had no lead time
+    assertEquals(1, metrics.get(MetricKey.BLOCK_FIRST_READ_COUNT, ReadMode.COLUMN_PREFETCH));
+    assertEquals(0, metrics.get(MetricKey.PREFETCH_LEAD_TIME_NANOS, ReadMode.COLUMN_PREFETCH));
+
+    verify(telemetry)
+        .measure(
+            argThat(
+                (Metric metric) ->
+                    metric.getName().equals(Block.METRIC_STALL_TIME)
+                        && metric
+                            .getAttributes()
+                            .get(StreamAttributes.READ_MODE.getName())
+                            .getValue()
+                            .equals(ReadMode.COLUMN_PREFETCH.toString())),
+            eq((double) stallNanos.get()));
+    verify(telemetry)
+        .measure(
+            argThat((Metric metric) -> metric.getName().equals(Block.METRIC_PREFETCH_LEAD_TIME)),
+            eq(0.0));
+  }
+
+  @Test
+  void testLeadTimeIsRecordedOnFirstRead() throws Exception {
+    Metrics metrics = new Metrics();
+    Telemetry telemetry = mock(Telemetry.class);
+    Block block = new Block(blockKey, 0, ReadMode.ASYNC, mockIndexCache, metrics, telemetry);
+
+    block.setData(TEST_DATA_BYTES);
+    // simulate a prefetch that arrives early
+    Thread.sleep(20);
+    assertEquals(0, block.awaitData());
+    block.read(0);
+    block.read(1);
+
+    assertEquals(0, metrics.get(MetricKey.STALL_COUNT));
+    assertEquals(1, metrics.get(MetricKey.BLOCK_FIRST_READ_COUNT, ReadMode.ASYNC));
+    assertTrue(
+        metrics.get(MetricKey.PREFETCH_LEAD_TIME_NANOS, ReadMode.ASYNC)
+            >= TimeUnit.MILLISECONDS.toNanos(20));
+    verify(telemetry, times(1)).measure(any(Metric.class), anyDouble());
+  }
+
+  @Test
+  void testNothingIsRecordedForFailedBlocks() {
+    Metrics metrics = new Metrics();
+    Block block =
+        new Block(blockKey, 0, ReadMode.SYNC, mockIndexCache, metrics, mock(Telemetry.class));
+
+    block.setError(new IOException("test error"));
+
+    assertThrows(IOException.class, block::awaitData);
+    assertEquals(0, metrics.get(MetricKey.STALL_COUNT));
+    assertEquals(0, metrics.get(MetricKey.BLOCK_FIRST_READ_COUNT));
+  }
+
+  @Test
+  void testUsedBytesAreRecordedOnFirstReadOfEachChunk() throws IOException {
+    // A block of 640 bytes is tracked in chunks of 10 bytes
+    Metrics metrics = new Metrics();
+    StreamStatistics owner = new StreamStatistics();
+    BlockKey key = new BlockKey(objectKey, new Range(0, 639));
+    Block block =
+        new Block(key, 0, ReadMode.ASYNC, mockIndexCache, metrics, Telemetry.NOOP, owner);
+    block.setData(new byte[640]);
+
+    block.read(new byte[5], 0, 5, 0);
+    assertEquals(10, metrics.get(MetricKey.USED_BYTES, ReadMode.ASYNC));
+
+    // Reads of chunks read before are not recorded again
+    block.read(3);
+    block.read(new byte[4], 0, 4, 6);
+    assertEquals(10, metrics.get(MetricKey.USED_BYTES, ReadMode.ASYNC));
+
+    // A read spanning chunks records the ones not read before
+    block.read(new byte[20], 0, 20, 5);
+    assertEquals(30, metrics.get(MetricKey.USED_BYTES, ReadMode.ASYNC));
+    block.read(ByteBuffer.allocate(10), 635);
+    assertEquals(40, metrics.get(MetricKey.USED_BYTES, ReadMode.ASYNC));
+    assertEquals(40, metrics.get(MetricKey.USED_BYTES));
+    assertEquals(40, owner.getUsedBytes());
+
+    block.close();
+    assertEquals(600, metrics.get(MetricKey.EVICTED_UNREAD_BYTES, ReadMode.ASYNC));
+  }
+
+  @Test
+  void testUsedBytesOfShortLastChunk() throws IOException {
+    // A block of 101 bytes is tracked in chunks of 2 bytes, the last one holding a single byte
+    Metrics metrics = new Metrics();
+    BlockKey key = new BlockKey(objectKey, new Range(0, 100));
+    Block block = new Block(key, 0, ReadMode.SYNC, mockIndexCache, metrics, Telemetry.NOOP);
+    block.setData(new byte[101]);
+
+    block.read(100);
+    assertEquals(1, metrics.get(MetricKey.USED_BYTES, ReadMode.SYNC));
+    block.read(new byte[101], 0, 101, 0);
+    assertEquals(101, metrics.get(MetricKey.USED_BYTES, ReadMode.SYNC));
+
+    block.close();
+    assertEquals(0, metrics.get(MetricKey.EVICTED_UNREAD_BYTES));
+  }
+
+  @Test
+  void testBlocksMarkedReadRecordNoUsedOrUnreadBytes() throws IOException {
+    Metrics metrics = new Metrics();
+    BlockKey key = new BlockKey(objectKey, new Range(0, 100));
+    Block block = new Block(key, 0, mockIndexCache, metrics);
+    block.markRead();
+    block.setData(new byte[101]);
+
+    block.read(new byte[101], 0, 101, 0);
+    block.close();
+
+    assertEquals(0, metrics.get(MetricKey.USED_BYTES));
+    assertEquals(0, metrics.get(MetricKey.EVICTED_UNREAD_BYTES));
+  }
+
+  @Test
+  void testBlocksNeverLoadedRecordNoUnreadBytes() throws IOException {
+    Metrics metrics = new Metrics();
+    Block block = new Block(blockKey, 0, mockIndexCache, metrics);
+
+    block.setError(new IOException("test error"));
+    block.close();
+
+    assertEquals(0, metrics.get(MetricKey.EVICTED_UNREAD_BYTES));
+  }
+
+  @Test
+  void testConstructorWithNullReadModeOrTelemetry() {
+    assertThrows(
+        NullPointerException.class,
+        () -> new Block(blockKey, 0, null, mockIndexCache, mockMetrics, mock(Telemetry.class)));
+    assertThrows(
+        NullPointerException.class,
+        () -> new Block(blockKey, 0, ReadMode.SYNC, mockIndexCache, mockMetrics, null));
+  }
 }
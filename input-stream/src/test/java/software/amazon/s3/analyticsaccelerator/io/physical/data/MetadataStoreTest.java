@@ -17,14 +17,19 @@ package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -32,8 +37,10 @@ import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 import software.amazon.s3.analyticsaccelerator.util.RequestCallback;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -286,4 +293,93 @@ public class MetadataStoreTest {
     verify(objectClient, times(1)).headObject(any(), any());
     threadPool.shutdown();
   }
+
+  @Test
+  public void testAsyncClientSharesInFlightHeadRequest() throws Exception {
+    AsyncObjectClient objectClient = mock(AsyncObjectClient.class);
+    CompletableFuture<ObjectMetadata> pendingHead = new CompletableFuture<>();
+    when(objectClient.headObjectAsync(any(), any())).thenReturn(pendingHead);
+    Metrics metrics = new Metrics();
+
+    MetadataStore metadataStore =
+        new MetadataStore(
+            objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT, metrics);
+    S3URI key = S3URI.of("bucket", "async-key");
+
+    // Both requests are outstanding before the HEAD response arrives
+    CompletableFuture<ObjectMetadata> first =
+        metadataStore.asyncGet(key, OpenStreamInformation.DEFAULT);
+    CompletableFuture<ObjectMetadata> second =
+        metadataStore.asyncGet(key, OpenStreamInformation.DEFAULT);
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+
+    ObjectMetadata metadata = ObjectMetadata.builder().etag("async-etag").build();
+    pendingHead.complete(metadata);
+
+    assertEquals(metadata, first.get());
+    assertEquals(metadata, second.get());
+    assertEquals(metadata, metadataStore.get(key, OpenStreamInformation.DEFAULT));
+    verify(objectClient, times(1)).headObjectAsync(any(), any());
+    verify(objectClient, never()).headObject(any(), any());
+    assertEquals(1, metrics.get(MetricKey.HEAD_REQUEST_COUNT));
+    // The second request joined the in-flight HEAD, the last one was served from the cache
+    assertEquals(1, metrics.get(MetricKey.METADATA_CACHE_MISS));
+    assertEquals(2, metrics.get(MetricKey.METADATA_CACHE_HIT));
+  }
+
+  @Test
+  public void testAsyncClientDoesNotSerializeDifferentKeys() throws Exception {
+    AsyncObjectClient objectClient = mock(AsyncObjectClient.class);
+    CompletableFuture<ObjectMetadata> slowHead = new CompletableFuture<>();
+    ObjectMetadata fastMetadata = ObjectMetadata.builder().etag("fast-etag").build();
+    S3URI slowKey = S3URI.of("bucket", "slow-key");
+    S3URI fastKey = S3URI.of("bucket", "fast-key");
+    when(objectClient.headObjectAsync(
+            argThat(request -> request != null && slowKey.equals(request.getS3Uri())), any()))
+        .thenReturn(slowHead);
+    when(objectClient.headObjectAsync(
+            argThat(request -> request != null && fastKey.equals(request.getS3Uri())), any()))
+        .thenReturn(CompletableFuture.completedFuture(fastMetadata));
+
+    MetadataStore metadataStore =
+        new MetadataStore(
+            objectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT,
+            mock(Metrics.class));
+
+    // The outstanding HEAD of one object does not hold up the metadata of another
+    CompletableFuture<ObjectMetadata> slow =
+        metadataStore.asyncGet(slowKey, OpenStreamInformation.DEFAULT);
+    assertEquals(fastMetadata, metadataStore.get(fastKey, OpenStreamInformation.DEFAULT));
+    assertFalse(slow.isDone());
+    slowHead.complete(ObjectMetadata.builder().etag("slow-etag").build());
+    assertEquals("slow-etag", slow.get().getEtag());
+  }
+
+  @Test
+  public void testAsyncClientFailureIsNotCached() throws Exception {
+    AsyncObjectClient objectClient = mock(AsyncObjectClient.class);
+    CompletableFuture<ObjectMetadata> failedHead = new CompletableFuture<>();
+    failedHead.completeExceptionally(new FileNotFoundException("missing"));
+    ObjectMetadata metadata = ObjectMetadata.builder().etag("etag").build();
+    when(objectClient.headObjectAsync(any(), any()))
+        .thenReturn(failedHead)
+        .thenReturn(CompletableFuture.completedFuture(metadata));
+
+    MetadataStore metadataStore =
+        new MetadataStore(
+            objectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT,
+            mock(Metrics.class));
+    S3URI key = S3URI.of("bucket", "key");
+
+    // The original exception reaches the caller, and the next request makes a new HEAD
+    assertThrows(
+        FileNotFoundException.class, () -> metadataStore.get(key, OpenStreamInformation.DEFAULT));
+    assertEquals(metadata, metadataStore.get(key, OpenStreamInformation.DEFAULT));
+    verify(objectClient, times(2)).headObjectAsync(any(), any());
+  }
 }
@@ -23,8 +23,10 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 
 public class RangeOptimiserTest {
@@ -34,6 +36,8 @@ public class RangeOptimiserTest {
   private static final long READ_BUFFER_SIZE = 1024;
   private static final long TARGET_REQUEST_SIZE = 3 * READ_BUFFER_SIZE;
   private static final double REQUEST_TOLERANCE_RATIO = 1.4;
+  private static final long COALESCE_GAP_BYTES = 100;
+  private static final long MAX_COALESCED_SIZE = 1000;
 
   @BeforeEach
   void setUp() {
@@ -41,6 +45,8 @@ public class RangeOptimiserTest {
     when(mockConfig.getTargetRequestSize()).thenReturn(TARGET_REQUEST_SIZE);
     when(mockConfig.getRequestToleranceRatio()).thenReturn(REQUEST_TOLERANCE_RATIO);
     when(mockConfig.getReadBufferSize()).thenReturn(READ_BUFFER_SIZE);
+    when(mockConfig.getReadVectoredCoalesceGapBytes()).thenReturn(COALESCE_GAP_BYTES);
+    when(mockConfig.getReadVectoredMaxCoalescedSize()).thenReturn(MAX_COALESCED_SIZE);
 
     rangeOptimiser = new RangeOptimiser(mockConfig);
   }
@@ -228,4 +234,58 @@ public class RangeOptimiserTest {
       assertEquals(expected.get(i), result.get(i), "Group " + i + " should match");
     }
   }
+
+  @Test
+  public void testCoalesceVectoredRanges_emptyList() {
+    assertTrue(rangeOptimiser.coalesceVectoredRanges(Collections.emptyList()).isEmpty());
+    assertTrue(rangeOptimiser.coalesceVectoredRanges(null).isEmpty());
+  }
+
+  @Test
+  public void testCoalesceVectoredRanges_nearbyRangesAreGrouped() {
+    // Given: ranges out of order, two of them within the gap of each other
+    ObjectRange first = newObjectRange(0, 100);
+    ObjectRange second = newObjectRange(150, 50);
+    ObjectRange far = newObjectRange(5000, 10);
+    List<ObjectRange> input = Arrays.asList(far, second, first);
+
+    // Then: nearby ranges share a request, and groups are sorted by offset
+    List<List<ObjectRange>> expected =
+        Arrays.asList(Arrays.asList(first, second), Collections.singletonList(far));
+    assertEquals(expected, rangeOptimiser.coalesceVectoredRanges(input));
+  }
+
+  @Test
+  public void testCoalesceVectoredRanges_groupsRespectMaxSize() {
+    // Given: adjacent ranges that add up to more than the maximum coalesced size
+    ObjectRange first = newObjectRange(0, 600);
+    ObjectRange second = newObjectRange(600, 300);
+    ObjectRange third = newObjectRange(900, 300);
+    ObjectRange large = newObjectRange(1200, 2000);
+
+    // Then: a new group starts whenever the next range would exceed it, and a single large range
+    // is kept whole
+    List<List<ObjectRange>> expected =
+        Arrays.asList(
+            Arrays.asList(first, second),
+            Collections.singletonList(third),
+            Collections.singletonList(large));
+    List<ObjectRange> input = Arrays.asList(first, second, third, large);
+    assertEquals(expected, rangeOptimiser.coalesceVectoredRanges(input));
+  }
+
+  @Test
+  public void testCoalesceVectoredRanges_overlappingRangesAreNotGrouped() {
+    ObjectRange first = newObjectRange(0, 100);
+    ObjectRange overlapping = newObjectRange(50, 100);
+
+    List<List<ObjectRange>> expected =
+        Arrays.asList(Collections.singletonList(first), Collections.singletonList(overlapping));
+    List<ObjectRange> input = Arrays.asList(first, overlapping);
+    assertEquals(expected, rangeOptimiser.coalesceVectoredRanges(input));
+  }
+
+  private static ObjectRange newObjectRange(long offset, int length) {
+    return new ObjectRange(new CompletableFuture<>(), offset, length);
+  }
 }
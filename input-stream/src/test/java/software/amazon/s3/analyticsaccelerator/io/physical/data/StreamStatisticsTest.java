@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamStatisticsTest {
+  @Test
+  void testEmpty() {
+    StreamStatistics streamStatistics = new StreamStatistics();
+    assertEquals(0, streamStatistics.getBlockReadCount());
+    assertEquals(0, streamStatistics.getStallCount());
+    assertEquals(0, streamStatistics.getStallTimeNanos());
+    assertEquals(0, streamStatistics.getRequestCount());
+    assertEquals(0, streamStatistics.getFetchedBytes());
+    assertEquals(0, streamStatistics.getUsedBytes());
+    assertEquals(0, streamStatistics.getWastedBytes());
+    assertEquals(0, streamStatistics.getHitRatio());
+  }
+
+  @Test
+  void testRecordBlockRead() {
+    StreamStatistics streamStatistics = new StreamStatistics();
+    streamStatistics.recordBlockRead(100);
+    streamStatistics.recordBlockRead(0);
+    streamStatistics.recordBlockRead(50);
+    streamStatistics.recordBlockRead(0);
+
+    assertEquals(4, streamStatistics.getBlockReadCount());
+    assertEquals(2, streamStatistics.getStallCount());
+    assertEquals(150, streamStatistics.getStallTimeNanos());
+    assertEquals(0.5, streamStatistics.getHitRatio());
+  }
+
+  @Test
+  void testRecordRequestsAndUsedBytes() {
+    StreamStatistics streamStatistics = new StreamStatistics();
+    streamStatistics.recordRequest(100);
+    streamStatistics.recordRequest(50);
+    streamStatistics.recordUsedBytes(120);
+
+    assertEquals(2, streamStatistics.getRequestCount());
+    assertEquals(150, streamStatistics.getFetchedBytes());
+    assertEquals(120, streamStatistics.getUsedBytes());
+    assertEquals(30, streamStatistics.getWastedBytes());
+
+    // Bytes fetched for other streams may be used as well
+    streamStatistics.recordUsedBytes(100);
+    assertEquals(0, streamStatistics.getWastedBytes());
+  }
+
+  @Test
+  void testRecordNegativeValues() {
+    StreamStatistics streamStatistics = new StreamStatistics();
+    assertThrows(IllegalArgumentException.class, () -> streamStatistics.recordBlockRead(-1));
+    assertThrows(IllegalArgumentException.class, () -> streamStatistics.recordRequest(-1));
+    assertThrows(IllegalArgumentException.class, () -> streamStatistics.recordUsedBytes(-1));
+  }
+}
@@ -17,12 +17,15 @@ package software.amazon.s3.analyticsaccelerator.io.physical.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -44,7 +47,11 @@ import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.StreamStatistics;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.MetricKey;
 import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
@@ -270,6 +277,233 @@ public class PhysicalIOImplTest {
     assertEquals(5, physicalIOImplV2.read(buffer, 0, 5, 5));
   }
 
+  @Test
+  void testReadWithByteBuffer() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOImpl physicalIOImplV2 =
+        createPhysicalIO(fakeObjectClient, PhysicalIOConfiguration.DEFAULT, new Metrics());
+
+    // A heap buffer is filled through its backing array, from its current position
+    ByteBuffer heap = ByteBuffer.allocate(8);
+    heap.position(2);
+    assertEquals(6, physicalIOImplV2.read(heap, 4));
+    assertEquals(8, heap.position());
+    assertEquals("ef0123", new String(heap.array(), 2, 6, StandardCharsets.UTF_8));
+
+    // A direct buffer is filled straight from the blocks, up to the end of the object
+    ByteBuffer direct = ByteBuffer.allocateDirect(32);
+    assertEquals(6, physicalIOImplV2.read(direct, 10));
+    direct.flip();
+    byte[] bytes = new byte[direct.remaining()];
+    direct.get(bytes);
+    assertEquals("456789", new String(bytes, StandardCharsets.UTF_8));
+
+    assertEquals(0, physicalIOImplV2.read(ByteBuffer.allocate(0), 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> physicalIOImplV2.read(ByteBuffer.allocate(1).asReadOnlyBuffer(), 0));
+  }
+
+  @Test
+  void testReadWithBufferPrefetchesStridedReads() throws IOException {
+    final String TEST_DATA = "abcdef0123456789abcdef0123456789abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder()
+            .smallObjectsPrefetchingEnabled(false)
+            .patternPrefetchEnabled(true)
+            .build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIOImplV2 = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    // Reads of 2 bytes every 8 bytes
+    byte[] buffer = new byte[2];
+    for (int pos = 0; pos <= 24; pos += 8) {
+      assertEquals(2, physicalIOImplV2.read(buffer, 0, 2, pos));
+      assertEquals(TEST_DATA.substring(pos, pos + 2), new String(buffer, StandardCharsets.UTF_8));
+    }
+
+    // The fourth read confirmed the stride and the fifth record was prefetched
+    assertEquals(1, metrics.get(MetricKey.PATTERN_PREFETCH_COUNT));
+    assertEquals(2, physicalIOImplV2.read(buffer, 0, 2, 32));
+    assertEquals(1, metrics.get(MetricKey.PATTERN_PREFETCH_HIT_COUNT));
+  }
+
+  @Test
+  void testSequentialTinyReadsAreServedFromBlockCursor() throws IOException {
+    final String TEST_DATA = "abcdef0123456789abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Metrics metrics = new Metrics();
+    BlobStore blobStore =
+        spy(
+            new BlobStore(
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                PhysicalIOConfiguration.DEFAULT,
+                metrics,
+                executorService));
+    PhysicalIOImpl physicalIOImplV2 =
+        createPhysicalIO(fakeObjectClient, blobStore, PhysicalIOConfiguration.DEFAULT, metrics);
+
+    // Single byte reads, then reads of 4 bytes
+    for (int pos = 0; pos < 16; pos++) {
+      assertEquals(TEST_DATA.charAt(pos), physicalIOImplV2.read(pos));
+    }
+    byte[] buffer = new byte[4];
+    for (int pos = 16; pos < 32; pos += 4) {
+      assertEquals(4, physicalIOImplV2.read(buffer, 0, 4, pos));
+      assertEquals(TEST_DATA.substring(pos, pos + 4), new String(buffer, StandardCharsets.UTF_8));
+    }
+
+    // Only the first two reads went through the blob store, which pinned the block for the others
+    verify(blobStore, times(2)).get(any(), any(), any());
+  }
+
+  @Test
+  void testTinyReadsGoThroughBlobStoreWithoutBlockCursor() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().blockCursorEnabled(false).build();
+    Metrics metrics = new Metrics();
+    BlobStore blobStore =
+        spy(
+            new BlobStore(
+                fakeObjectClient, TestTelemetry.DEFAULT, configuration, metrics, executorService));
+    PhysicalIOImpl physicalIOImplV2 =
+        createPhysicalIO(fakeObjectClient, blobStore, configuration, metrics);
+
+    for (int pos = 0; pos < 16; pos++) {
+      assertEquals(TEST_DATA.charAt(pos), physicalIOImplV2.read(pos));
+    }
+    verify(blobStore, times(16)).get(any(), any(), any());
+  }
+
+  @Test
+  void testStallsAreRecordedForTheStreamAndTheFactory() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIOImplV2 =
+        createPhysicalIO(fakeObjectClient, PhysicalIOConfiguration.DEFAULT, metrics);
+
+    byte[] buffer = new byte[TEST_DATA.length()];
+    assertEquals(TEST_DATA.length(), physicalIOImplV2.read(buffer, 0, buffer.length, 0));
+    assertEquals('a', physicalIOImplV2.read(0));
+
+    // The stream is the only reader, so it waited for every stall of the factory
+    assertEquals(1, metrics.get(MetricKey.BLOCK_FIRST_READ_COUNT));
+    assertEquals(
+        metrics.get(MetricKey.STALL_COUNT), physicalIOImplV2.getStreamStatistics().getStallCount());
+    assertEquals(
+        metrics.get(MetricKey.STALL_TIME_NANOS),
+        physicalIOImplV2.getStreamStatistics().getStallTimeNanos());
+    physicalIOImplV2.close();
+  }
+
+  @Test
+  void testFetchedAndUsedBytesAreRecordedForTheStreamAndTheFactory() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().smallObjectsPrefetchingEnabled(false).build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIOImplV2 = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    byte[] buffer = new byte[4];
+    assertEquals(4, physicalIOImplV2.read(buffer, 0, buffer.length, 0));
+
+    // The read ahead fetched the whole object with a single request, of which 4 bytes were read
+    StreamStatistics streamStatistics = physicalIOImplV2.getStreamStatistics();
+    assertEquals(1, streamStatistics.getRequestCount());
+    assertEquals(1, metrics.get(MetricKey.GET_REQUEST_COUNT, ReadMode.SYNC));
+    assertEquals(TEST_DATA.length(), streamStatistics.getFetchedBytes());
+    assertEquals(TEST_DATA.length(), metrics.get(MetricKey.FETCHED_BYTES, ReadMode.SYNC));
+    assertEquals(4, streamStatistics.getUsedBytes());
+    assertEquals(4, metrics.get(MetricKey.USED_BYTES, ReadMode.SYNC));
+    assertEquals(TEST_DATA.length() - 4, streamStatistics.getWastedBytes());
+
+    // Reading the rest of the object leaves nothing wasted
+    buffer = new byte[TEST_DATA.length()];
+    assertEquals(TEST_DATA.length(), physicalIOImplV2.read(buffer, 0, buffer.length, 0));
+    assertEquals(0, streamStatistics.getWastedBytes());
+    assertEquals(1, streamStatistics.getRequestCount());
+    physicalIOImplV2.close();
+  }
+
+  @Test
+  void testBlockCursorFallsBackAfterEviction() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOImpl physicalIOImplV2 =
+        createPhysicalIO(fakeObjectClient, PhysicalIOConfiguration.DEFAULT, new Metrics());
+
+    assertEquals('a', physicalIOImplV2.read(0));
+    assertEquals('b', physicalIOImplV2.read(1));
+    assertEquals('c', physicalIOImplV2.read(2));
+
+    // Evicting the object closes the pinned block, the next reads fetch it again
+    physicalIOImplV2.close(true);
+    for (int pos = 3; pos < 16; pos++) {
+      assertEquals(TEST_DATA.charAt(pos), physicalIOImplV2.read(pos));
+    }
+    assertEquals(2, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testReadWithBufferBypassesCacheForLargeReads() throws IOException {
+    final String TEST_DATA = "abcdef0123456789abcdef0123456789abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder()
+            .smallObjectsPrefetchingEnabled(false)
+            .cacheBypassThreshold(16)
+            .build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIOImplV2 = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    // A read above the threshold is fetched straight into the buffer
+    byte[] buffer = new byte[20];
+    assertEquals(20, physicalIOImplV2.read(buffer, 0, 20, 4));
+    assertEquals(TEST_DATA.substring(4, 24), new String(buffer, StandardCharsets.UTF_8));
+    assertEquals(20, metrics.get(MetricKey.CACHE_BYPASS_BYTES));
+    assertEquals(0, metrics.get(MetricKey.MEMORY_USAGE));
+
+    // A read below the threshold goes through the cache
+    assertEquals(8, physicalIOImplV2.read(buffer, 0, 8, 0));
+    assertEquals(20, metrics.get(MetricKey.CACHE_BYPASS_BYTES));
+    assertTrue(metrics.get(MetricKey.MEMORY_USAGE) > 0);
+
+    // And a large read of a range that is partly cached goes through the cache too
+    assertEquals(20, physicalIOImplV2.read(buffer, 0, 20, 0));
+    assertEquals(20, metrics.get(MetricKey.CACHE_BYPASS_BYTES));
+  }
+
+  @Test
+  void testReadWithBufferBypassingCacheCanPopulateCache() throws IOException {
+    final String TEST_DATA = "abcdef0123456789abcdef0123456789abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder()
+            .smallObjectsPrefetchingEnabled(false)
+            .cacheBypassThreshold(16)
+            .cacheBypassPopulateCache(true)
+            .build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIOImplV2 = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    byte[] buffer = new byte[20];
+    assertEquals(20, physicalIOImplV2.read(buffer, 0, 20, 4));
+    assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+
+    // The bytes that were read are now served from the cache
+    byte[] reread = new byte[10];
+    assertEquals(10, physicalIOImplV2.read(reread, 0, 10, 8));
+    assertEquals(TEST_DATA.substring(8, 18), new String(reread, StandardCharsets.UTF_8));
+    assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+  }
+
   @Test
   void testReadTail() throws IOException {
     final String TEST_DATA = "abcdef0123456789";
@@ -559,6 +793,79 @@ public class PhysicalIOImplTest {
     verifyBufferContentsEqual(objectRanges.get(2).getByteBuffer().join(), thirdBufferExpected);
   }
 
+  @Test
+  void testReadVectoredCoalescesUncachedRanges() throws IOException {
+    // Run for both direct and non-direct buffers.
+    readVectoredCoalesced(ByteBuffer::allocate);
+    readVectoredCoalesced(ByteBuffer::allocateDirect);
+  }
+
+  private void readVectoredCoalesced(IntFunction<ByteBuffer> allocate) throws IOException {
+    final String TEST_DATA = "test data for read vectored";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().smallObjectsPrefetchingEnabled(false).build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIO = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    List<ObjectRange> objectRanges = new ArrayList<>();
+    objectRanges.add(new ObjectRange(new CompletableFuture<>(), 12, 6));
+    objectRanges.add(new ObjectRange(new CompletableFuture<>(), 2, 3));
+    objectRanges.add(new ObjectRange(new CompletableFuture<>(), 8, 1));
+
+    physicalIO.readVectored(objectRanges, allocate, (buffer) -> {});
+
+    verifyBufferContentsEqual(
+        objectRanges.get(0).getByteBuffer().join(), "r read".getBytes(StandardCharsets.UTF_8));
+    verifyBufferContentsEqual(
+        objectRanges.get(1).getByteBuffer().join(), "st ".getBytes(StandardCharsets.UTF_8));
+    verifyBufferContentsEqual(
+        objectRanges.get(2).getByteBuffer().join(), "a".getBytes(StandardCharsets.UTF_8));
+
+    // All ranges were served from a single request, without going through the cache
+    assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+    assertEquals(10, metrics.get(MetricKey.CACHE_BYPASS_BYTES));
+    assertEquals(0, metrics.get(MetricKey.MEMORY_USAGE));
+  }
+
+  @Test
+  void testReadVectoredOnlyFetchesMissingPartsOfCachedRanges() throws IOException {
+    // Run for both direct and non-direct buffers.
+    readVectoredPartiallyCached(ByteBuffer::allocate);
+    readVectoredPartiallyCached(ByteBuffer::allocateDirect);
+  }
+
+  private void readVectoredPartiallyCached(IntFunction<ByteBuffer> allocate) throws IOException {
+    final String TEST_DATA = "test data for read vectored";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().smallObjectsPrefetchingEnabled(false).build();
+    Metrics metrics = new Metrics();
+    PhysicalIOImpl physicalIO = createPhysicalIO(fakeObjectClient, configuration, metrics);
+
+    // Given: "data " is cached and loaded
+    physicalIO.execute(
+        new IOPlan(Collections.singletonList(new Range(5, 9))), ReadMode.COLUMN_PREFETCH);
+    physicalIO.read(new byte[5], 0, 5, 5);
+
+    List<ObjectRange> objectRanges = new ArrayList<>();
+    objectRanges.add(new ObjectRange(new CompletableFuture<>(), 5, 3));
+    objectRanges.add(new ObjectRange(new CompletableFuture<>(), 2, 12));
+
+    physicalIO.readVectored(objectRanges, allocate, (buffer) -> {});
+
+    // Then: the cached range is served right away, without waiting for the thread pool
+    assertTrue(objectRanges.get(0).getByteBuffer().isDone());
+    verifyBufferContentsEqual(
+        objectRanges.get(0).getByteBuffer().join(), "dat".getBytes(StandardCharsets.UTF_8));
+    verifyBufferContentsEqual(
+        objectRanges.get(1).getByteBuffer().join(),
+        "st data for ".getBytes(StandardCharsets.UTF_8));
+
+    // And: only the bytes of the partially cached range that were missing are fetched
+    assertEquals(7, metrics.get(MetricKey.CACHE_BYPASS_BYTES));
+  }
+
   /**
    * Verify the contents of two buffers are equal
    *
@@ -570,4 +877,31 @@ public class PhysicalIOImplTest {
       assertEquals(buffer.get(i), expected[i]);
     }
   }
+
+  private PhysicalIOImpl createPhysicalIO(
+      FakeObjectClient objectClient, PhysicalIOConfiguration configuration, Metrics metrics)
+      throws IOException {
+    BlobStore blobStore =
+        new BlobStore(objectClient, TestTelemetry.DEFAULT, configuration, metrics, executorService);
+    return createPhysicalIO(objectClient, blobStore, configuration, metrics);
+  }
+
+  private PhysicalIOImpl createPhysicalIO(
+      FakeObjectClient objectClient,
+      BlobStore blobStore,
+      PhysicalIOConfiguration configuration,
+      Metrics metrics)
+      throws IOException {
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, configuration, metrics);
+    return new PhysicalIOImpl(
+        s3URI,
+        metadataStore,
+        blobStore,
+        TestTelemetry.DEFAULT,
+        OpenStreamInformation.DEFAULT,
+        executorService,
+        configuration,
+        metrics);
+  }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.prefetcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.Metrics;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.MetricKey;
+
+public class AccessPatternDetectorTest {
+  private static final long CONTENT_LENGTH = 100_000;
+
+  @Test
+  void testConstructorThrowsOnNullArguments() {
+    assertThrows(
+        NullPointerException.class, () -> new AccessPatternDetector(null, new Metrics()));
+    assertThrows(
+        NullPointerException.class,
+        () -> new AccessPatternDetector(PhysicalIOConfiguration.DEFAULT, null));
+  }
+
+  @Test
+  void testRecordReadThrowsOnNegativeArguments() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    assertThrows(IllegalArgumentException.class, () -> detector.recordRead(-1, 10, 100));
+    assertThrows(IllegalArgumentException.class, () -> detector.recordRead(0, -1, 100));
+  }
+
+  @Test
+  void testStridedReadsArePrefetchedOnceConfident() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+
+    // Two strides are not enough to be confident
+    assertEmpty(detector.recordRead(0, 10, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(100, 10, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(200, 10, CONTENT_LENGTH));
+    assertEquals(AccessPatternDetector.AccessPattern.STRIDED, detector.getAccessPattern());
+
+    // The third stride confirms the pattern, and the next record is prefetched
+    IOPlan ioPlan = detector.recordRead(300, 10, CONTENT_LENGTH);
+    assertEquals(Collections.singletonList(new Range(400, 409)), ioPlan.getPrefetchRanges());
+    assertEquals(2, detector.getConfidence());
+  }
+
+  @Test
+  void testPrefetchDepthGrowsWithConfidence() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    for (long pos = 0; pos <= 300; pos += 100) {
+      detector.recordRead(pos, 10, CONTENT_LENGTH);
+    }
+
+    // Reads already predicted are not requested again
+    IOPlan ioPlan = detector.recordRead(400, 10, CONTENT_LENGTH);
+    assertEquals(
+        Arrays.asList(new Range(500, 509), new Range(600, 609)), ioPlan.getPrefetchRanges());
+
+    ioPlan = detector.recordRead(500, 10, CONTENT_LENGTH);
+    assertEquals(
+        Arrays.asList(new Range(700, 709), new Range(800, 809)), ioPlan.getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchDepthIsLimited() {
+    AccessPatternDetector detector =
+        new AccessPatternDetector(
+            PhysicalIOConfiguration.builder().patternPrefetchMaxDepth(2).build(), new Metrics());
+    for (long pos = 0; pos < 2000; pos += 100) {
+      detector.recordRead(pos, 10, CONTENT_LENGTH);
+    }
+
+    // Only the reads up to two strides ahead are outstanding
+    IOPlan ioPlan = detector.recordRead(2000, 10, CONTENT_LENGTH);
+    assertEquals(Collections.singletonList(new Range(2200, 2209)), ioPlan.getPrefetchRanges());
+  }
+
+  @Test
+  void testReverseReadsArePrefetched() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    assertEmpty(detector.recordRead(900, 100, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(800, 100, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(700, 100, CONTENT_LENGTH));
+
+    IOPlan ioPlan = detector.recordRead(600, 100, CONTENT_LENGTH);
+    assertEquals(AccessPatternDetector.AccessPattern.REVERSE, detector.getAccessPattern());
+    assertEquals(Collections.singletonList(new Range(500, 599)), ioPlan.getPrefetchRanges());
+  }
+
+  @Test
+  void testReverseReadsStopAtStartOfObject() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    for (long pos = 400; pos >= 100; pos -= 100) {
+      detector.recordRead(pos, 100, CONTENT_LENGTH);
+    }
+
+    // Nothing precedes the first record
+    assertEmpty(detector.recordRead(0, 100, CONTENT_LENGTH));
+  }
+
+  @Test
+  void testSequentialReadsAreNotPrefetched() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    for (long pos = 0; pos < 1000; pos += 100) {
+      assertEmpty(detector.recordRead(pos, 100, CONTENT_LENGTH));
+    }
+    assertEquals(AccessPatternDetector.AccessPattern.SEQUENTIAL, detector.getAccessPattern());
+  }
+
+  @Test
+  void testRandomReadsAreNotPrefetched() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    long[] positions = {5000, 120, 9000, 300, 42, 7777, 1234};
+    for (long pos : positions) {
+      assertEmpty(detector.recordRead(pos, 10, CONTENT_LENGTH));
+    }
+    assertEquals(AccessPatternDetector.AccessPattern.NONE, detector.getAccessPattern());
+  }
+
+  @Test
+  void testInterleavedReadsArePrefetched() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+
+    // Two columns read in turns, with different strides and lengths
+    assertEmpty(detector.recordRead(0, 10, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(5000, 20, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(10, 10, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(5020, 20, CONTENT_LENGTH));
+    assertEmpty(detector.recordRead(20, 10, CONTENT_LENGTH));
+
+    IOPlan ioPlan = detector.recordRead(5040, 20, CONTENT_LENGTH);
+    assertEquals(AccessPatternDetector.AccessPattern.INTERLEAVED, detector.getAccessPattern());
+    assertEquals(2, detector.getInterleave());
+    assertEquals(
+        Arrays.asList(new Range(30, 39), new Range(5060, 5079)), ioPlan.getPrefetchRanges());
+  }
+
+  @Test
+  void testPredictionsAreTruncatedToContentLength() {
+    AccessPatternDetector detector = newDetector(new Metrics());
+    for (long pos = 0; pos <= 200; pos += 100) {
+      detector.recordRead(pos, 80, 450);
+    }
+
+    // The next record is cut at the end of the object
+    IOPlan ioPlan = detector.recordRead(300, 80, 450);
+    assertEquals(Collections.singletonList(new Range(400, 449)), ioPlan.getPrefetchRanges());
+
+    // And records past the end are not requested
+    assertEmpty(detector.recordRead(400, 50, 450));
+  }
+
+  @Test
+  void testAccuracyIsRecorded() {
+    Metrics metrics = new Metrics();
+    AccessPatternDetector detector = newDetector(metrics);
+    for (long pos = 0; pos <= 300; pos += 100) {
+      detector.recordRead(pos, 10, CONTENT_LENGTH);
+    }
+    assertEquals(1, metrics.get(MetricKey.PATTERN_PREFETCH_COUNT));
+    assertEquals(0, metrics.get(MetricKey.PATTERN_PREFETCH_HIT_COUNT));
+
+    // Reading the predicted record is a hit
+    detector.recordRead(400, 10, CONTENT_LENGTH);
+    assertEquals(1, metrics.get(MetricKey.PATTERN_PREFETCH_HIT_COUNT));
+
+    // Breaking the pattern leaves the outstanding predictions unused
+    detector.recordRead(50_000, 10, CONTENT_LENGTH);
+    assertEquals(3, metrics.get(MetricKey.PATTERN_PREFETCH_COUNT));
+    assertEquals(1, metrics.get(MetricKey.PATTERN_PREFETCH_HIT_COUNT));
+    assertEquals(3, detector.getPredictionCount());
+    assertEquals(1, detector.getHitCount());
+  }
+
+  private static AccessPatternDetector newDetector(Metrics metrics) {
+    return new AccessPatternDetector(PhysicalIOConfiguration.DEFAULT, metrics);
+  }
+
+  private static void assertEmpty(IOPlan ioPlan) {
+    assertTrue(ioPlan.getPrefetchRanges().isEmpty());
+  }
+}
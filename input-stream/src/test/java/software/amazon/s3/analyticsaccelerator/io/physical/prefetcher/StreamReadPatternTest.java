@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.prefetcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamReadPatternTest {
+
+  @Test
+  public void test__isSequentialRead__falseWithoutPreviousRead() {
+    // Given: a stream that has not read anything yet
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+
+    // Then: no read is sequential
+    assertFalse(streamReadPattern.isSequentialRead(0));
+    assertFalse(streamReadPattern.isSequentialRead(100));
+    assertEquals(0, streamReadPattern.getGeneration(100));
+  }
+
+  @Test
+  public void test__isSequentialRead__trueAfterPreviousRead() {
+    // Given: a stream that read bytes 100-199
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(100, 100, 2);
+
+    // Then: reads continuing or overlapping the previous read are sequential
+    assertTrue(streamReadPattern.isSequentialRead(200));
+    assertTrue(streamReadPattern.isSequentialRead(150));
+    assertEquals(3, streamReadPattern.getGeneration(200));
+
+    // And: reads elsewhere are not
+    assertFalse(streamReadPattern.isSequentialRead(100));
+    assertFalse(streamReadPattern.isSequentialRead(201));
+    assertEquals(0, streamReadPattern.getGeneration(201));
+  }
+
+  @Test
+  public void test__recordCachedRead__keepsGenerationWhenSequential() {
+    // Given: a stream at generation 2
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(100, 100, 2);
+
+    // When: it reads the next bytes from data that is already available
+    streamReadPattern.recordCachedRead(200, 50);
+
+    // Then: the generation is kept and the stream position moves on
+    assertEquals(2, streamReadPattern.getGeneration());
+    assertTrue(streamReadPattern.isSequentialRead(250));
+  }
+
+  @Test
+  public void test__recordCachedRead__resetsGenerationAfterSeek() {
+    // Given: a stream at generation 2
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(100, 100, 2);
+
+    // When: it seeks and reads data that is already available
+    streamReadPattern.recordCachedRead(1000, 50);
+
+    // Then: the generation starts over
+    assertEquals(0, streamReadPattern.getGeneration());
+  }
+
+  @Test
+  public void test__recordCachedReads__recordsRunAsIndividualReads() {
+    // Given: a stream at generation 2
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(100, 100, 2);
+
+    // When: it reads bytes 200 to 209 one by one from data that is already available
+    streamReadPattern.recordCachedReads(200, 209, 1);
+
+    // Then: the generation is kept and only the last read is remembered
+    assertEquals(2, streamReadPattern.getGeneration());
+    assertTrue(streamReadPattern.isSequentialRead(210));
+    assertFalse(streamReadPattern.isSequentialRead(205));
+  }
+
+  @Test
+  public void test__recordCachedReads__resetsGenerationAfterSeek() {
+    // Given: a stream at generation 2
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    streamReadPattern.recordRead(100, 100, 2);
+
+    // When: it seeks and reads a run of bytes that are already available
+    streamReadPattern.recordCachedReads(1000, 1009, 1);
+
+    // Then: the generation starts over
+    assertEquals(0, streamReadPattern.getGeneration());
+    assertTrue(streamReadPattern.isSequentialRead(1010));
+  }
+
+  @Test
+  public void test__recordRead__throwsOnNegativeArguments() {
+    StreamReadPattern streamReadPattern = new StreamReadPattern();
+    assertThrows(IllegalArgumentException.class, () -> streamReadPattern.recordRead(-1, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> streamReadPattern.recordRead(0, -1, 0));
+    assertThrows(IllegalArgumentException.class, () -> streamReadPattern.recordRead(0, 1, -1));
+    assertThrows(IllegalArgumentException.class, () -> streamReadPattern.isSequentialRead(-1));
+  }
+}
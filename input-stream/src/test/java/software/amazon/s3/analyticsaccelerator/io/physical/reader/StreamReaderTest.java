@@ -23,15 +23,30 @@ import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.s3.analyticsaccelerator.S3SyncSdkObjectClient;
+import software.amazon.s3.analyticsaccelerator.common.ObjectRange;
 import software.amazon.s3.analyticsaccelerator.common.Metrics;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryConfiguration;
@@ -241,12 +256,39 @@ public class StreamReaderTest {
     verify(mockRemoveBlocksFunc, never()).accept(any());
     verify(mockObjectClient).getObject(any(GetRequest.class), eq(openStreamInfo));
     verifyNoMoreInteractions(mockObjectClient);
-    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, 1);
+    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, ReadMode.SYNC, 1);
+    verify(mockMetrics).add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 5);
+    verify(mockMetrics).add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
     verifyNoMoreInteractions(mockMetrics);
     verify(block).setData(testData);
     verify(mockRequestCallback, times(1)).onGetRequest();
   }
 
+  @Test
+  void processReadTask_countsRequestInFlightUntilBodyIsConsumed() throws IOException {
+    Block block = createMockBlock(0, 4);
+    List<Block> blocks = Collections.singletonList(block);
+
+    byte[] testData = new byte[] {1, 2, 3, 4, 5};
+    InputStream testStream = spy(new ByteArrayInputStream(testData));
+
+    ObjectContent mockContent = mock(ObjectContent.class);
+    when(mockContent.getStream()).thenReturn(testStream);
+    when(mockObjectClient.getObject(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(mockContent);
+
+    Runnable readTask = invokeProcessReadTask(blocks, ReadMode.SYNC);
+    readTask.run();
+
+    InOrder inOrder = inOrder(mockMetrics, mockObjectClient, block, testStream);
+    inOrder.verify(mockMetrics).add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    inOrder.verify(mockObjectClient).getObject(any(GetRequest.class), eq(openStreamInfo));
+    inOrder.verify(block).setData(testData);
+    inOrder.verify(testStream).close();
+    inOrder.verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+  }
+
   @Test
   void processReadTask_fetchObjectContentFails_callsRemoveBlocks() throws IOException {
     Block block = createMockBlock(0, 4);
@@ -462,7 +504,8 @@ public class StreamReaderTest {
     Runnable readTask = invokeProcessReadTask(blocks, ReadMode.SYNC);
     readTask.run();
 
-    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, 1);
+    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, ReadMode.SYNC, 1);
+    verify(mockMetrics).add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 5);
   }
 
   @Test
@@ -568,13 +611,279 @@ public class StreamReaderTest {
     verify(mockRemoveBlocksFunc).accept(Arrays.asList(nonReadyBlock1, nonReadyBlock2));
   }
 
+  @Test
+  void readVectored_throwsException_ifRangesEmpty() {
+    List<ObjectRange> ranges = Collections.emptyList();
+    IllegalArgumentException thrown =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                streamReader.readVectored(
+                    ranges,
+                    range -> ByteBuffer.allocate(range.getLength()),
+                    b -> {},
+                    ReadMode.READ_VECTORED));
+    assertTrue(thrown.getMessage().contains("must not be empty"));
+  }
+
+  @Test
+  void readDirect_readsRangeIntoBufferAndRecordsRequest() throws IOException {
+    when(mockObjectKey.getS3URI()).thenReturn(S3URI.of("dummy-bucket", "/dummy-key"));
+    when(mockObjectKey.getEtag()).thenReturn("dummy-etag");
+    InputStream testStream = spy(new ByteArrayInputStream(new byte[] {2, 3, 4, 5}));
+    ObjectContent mockContent = mock(ObjectContent.class);
+    when(mockContent.getStream()).thenReturn(testStream);
+    when(mockObjectClient.getObject(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(mockContent);
+
+    byte[] buf = new byte[6];
+    streamReader.readDirect(buf, 1, new Range(2, 5), ReadMode.SYNC);
+
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(mockObjectClient).getObject(requestCaptor.capture(), eq(openStreamInfo));
+    assertEquals(new Range(2, 5), requestCaptor.getValue().getRange());
+    assertEquals("dummy-etag", requestCaptor.getValue().getEtag());
+    assertArrayEquals(new byte[] {0, 2, 3, 4, 5, 0}, buf);
+    verify(testStream).close();
+    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, ReadMode.SYNC, 1);
+    verify(mockMetrics).add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 4);
+    verify(mockMetrics).add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockRequestCallback, times(1)).onGetRequest();
+  }
+
+  @Test
+  void readVectored_scattersRangesFromSingleRequest() throws IOException {
+    when(mockObjectKey.getS3URI()).thenReturn(S3URI.of("dummy-bucket", "/dummy-key"));
+    when(mockObjectKey.getEtag()).thenReturn("dummy-etag");
+    byte[] testData = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    ObjectContent mockContent = mock(ObjectContent.class);
+    when(mockContent.getStream()).thenReturn(new ByteArrayInputStream(testData, 2, 8));
+    when(mockObjectClient.getObject(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(mockContent);
+
+    ObjectRange heapRange = new ObjectRange(new CompletableFuture<>(), 2, 3);
+    ObjectRange directRange = new ObjectRange(new CompletableFuture<>(), 7, 3);
+    List<ObjectRange> ranges = Arrays.asList(heapRange, directRange);
+
+    // The first range is read into a heap buffer, the second into a direct buffer
+    AtomicInteger allocations = new AtomicInteger();
+    Function<ObjectRange, ByteBuffer> allocate =
+        range ->
+            allocations.getAndIncrement() == 0
+                ? ByteBuffer.allocate(range.getLength())
+                : ByteBuffer.allocateDirect(range.getLength());
+
+    streamReader.readVectored(ranges, allocate, b -> {}, ReadMode.READ_VECTORED);
+    runSubmittedTask();
+
+    // Then: one request covers both ranges, and each range gets its own bytes
+    ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
+    verify(mockObjectClient).getObject(requestCaptor.capture(), eq(openStreamInfo));
+    assertEquals(new Range(2, 9), requestCaptor.getValue().getRange());
+    assertBufferContents(new byte[] {2, 3, 4}, heapRange.getByteBuffer().join());
+    assertBufferContents(new byte[] {7, 8, 9}, directRange.getByteBuffer().join());
+    verify(mockMetrics, times(2)).add(MetricKey.CACHE_BYPASS_BYTES, 3);
+    verify(mockRequestCallback, times(1)).onGetRequest();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void readVectored_failedRequest_completesRangesExceptionallyAndReleasesBuffers()
+      throws IOException {
+    when(mockObjectKey.getS3URI()).thenReturn(S3URI.of("dummy-bucket", "/dummy-key"));
+    when(mockObjectKey.getEtag()).thenReturn("dummy-etag");
+    InputStream throwingStream = mock(InputStream.class);
+    when(throwingStream.read(any(), anyInt(), anyInt())).thenThrow(new IOException("fail"));
+    ObjectContent mockContent = mock(ObjectContent.class);
+    when(mockContent.getStream()).thenReturn(throwingStream);
+    when(mockObjectClient.getObject(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(mockContent);
+
+    ObjectRange objectRange = new ObjectRange(new CompletableFuture<>(), 0, 5);
+    Consumer<ByteBuffer> release = mock(Consumer.class);
+
+    streamReader.readVectored(
+        Collections.singletonList(objectRange),
+        range -> ByteBuffer.allocate(range.getLength()),
+        release,
+        ReadMode.READ_VECTORED);
+    runSubmittedTask();
+
+    assertTrue(objectRange.getByteBuffer().isCompletedExceptionally());
+    verify(release).accept(any(ByteBuffer.class));
+  }
+
+  @Test
+  void read_asyncObjectClient_readsBodyOnceResponseArrives() throws IOException {
+    AsyncObjectClient asyncObjectClient = mock(AsyncObjectClient.class);
+    CompletableFuture<ObjectContent> pendingContent = new CompletableFuture<>();
+    when(asyncObjectClient.getObjectAsync(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(pendingContent);
+    StreamReader asyncStreamReader = createStreamReader(asyncObjectClient);
+
+    Block block = createMockBlock(0, 4);
+    byte[] testData = new byte[] {1, 2, 3, 4, 5};
+    asyncStreamReader.read(Collections.singletonList(block), ReadMode.SYNC);
+
+    // The request is issued without occupying a thread of the pool
+    verify(asyncObjectClient).getObjectAsync(any(GetRequest.class), eq(openStreamInfo));
+    verify(mockExecutorService, never()).submit(any(Runnable.class));
+    verify(mockExecutorService, never()).execute(any(Runnable.class));
+
+    ObjectContent content =
+        ObjectContent.builder().stream(new ByteArrayInputStream(testData)).build();
+    pendingContent.complete(content);
+    runSubmittedTask();
+
+    verify(block).setData(testData);
+    verify(asyncObjectClient, never()).getObject(any(), any());
+    verify(mockMetrics).add(MetricKey.GET_REQUEST_COUNT, ReadMode.SYNC, 1);
+    verify(mockMetrics).add(MetricKey.FETCHED_BYTES, ReadMode.SYNC, 5);
+    verify(mockMetrics).add(MetricKey.READ_QUEUE_DEPTH, 1);
+    verify(mockMetrics).reduce(MetricKey.READ_QUEUE_DEPTH, 1);
+    verify(mockMetrics).add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockRequestCallback, times(1)).onGetRequest();
+    verify(mockRemoveBlocksFunc, never()).accept(any());
+  }
+
+  @Test
+  void read_syncObjectClient_returnsBeforeRequestCompletes() throws Exception {
+    S3Client s3Client = mock(S3Client.class);
+    CountDownLatch responseArrives = new CountDownLatch(1);
+    byte[] testData = new byte[] {1, 2, 3, 4, 5};
+    when(s3Client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              responseArrives.await();
+              return new ResponseInputStream<>(
+                  GetObjectResponse.builder().build(),
+                  AbortableInputStream.create(new ByteArrayInputStream(testData)));
+            });
+    ExecutorService threadPool = Executors.newSingleThreadExecutor();
+    try {
+      StreamReader syncStreamReader =
+          new StreamReader(
+              new S3SyncSdkObjectClient(s3Client),
+              mockObjectKey,
+              threadPool,
+              mockRemoveBlocksFunc,
+              mockMetrics,
+              openStreamInfo,
+              telemetry,
+              configuration);
+
+      Block block = createMockBlock(0, 4);
+      syncStreamReader.read(Collections.singletonList(block), ReadMode.SYNC);
+
+      // The request is in progress on the thread pool while the caller has moved on
+      verify(s3Client, timeout(1000)).getObject(any(GetObjectRequest.class));
+      verify(block, never()).setData(any());
+
+      responseArrives.countDown();
+      verify(block, timeout(1000)).setData(testData);
+    } finally {
+      responseArrives.countDown();
+      threadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  void read_asyncObjectClient_failedRequest_setsErrorOnBlocks() {
+    AsyncObjectClient asyncObjectClient = mock(AsyncObjectClient.class);
+    IOException testException = new IOException("S3 fetch failed");
+    CompletableFuture<ObjectContent> failedContent = new CompletableFuture<>();
+    failedContent.completeExceptionally(testException);
+    when(asyncObjectClient.getObjectAsync(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(failedContent);
+    StreamReader asyncStreamReader = createStreamReader(asyncObjectClient);
+
+    Block block = createMockBlock(0, 4);
+    asyncStreamReader.read(Collections.singletonList(block), ReadMode.SYNC);
+
+    verify(block).setError(testException);
+    verify(mockRemoveBlocksFunc).accept(Collections.singletonList(block));
+    verify(mockExecutorService, never()).submit(any(Runnable.class));
+  }
+
+  @Test
+  void read_asyncObjectClient_rejectedReadTask_setsErrorOnBlocksAndReleasesResponse()
+      throws IOException {
+    AsyncObjectClient asyncObjectClient = mock(AsyncObjectClient.class);
+    InputStream testStream = spy(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+    when(asyncObjectClient.getObjectAsync(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(
+            CompletableFuture.completedFuture(ObjectContent.builder().stream(testStream).build()));
+    when(mockExecutorService.submit(any(Runnable.class)))
+        .thenThrow(new RejectedExecutionException("shut down"));
+    StreamReader asyncStreamReader = createStreamReader(asyncObjectClient);
+
+    Block block = createMockBlock(0, 4);
+    asyncStreamReader.read(Collections.singletonList(block), ReadMode.SYNC);
+
+    verify(block).setError(any(IOException.class));
+    verify(mockRemoveBlocksFunc).accept(Collections.singletonList(block));
+    verify(testStream).close();
+    verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockMetrics).reduce(MetricKey.READ_QUEUE_DEPTH, 1);
+  }
+
+  @Test
+  void read_asyncObjectClient_blocksFilledMeanwhile_releasesResponse() throws IOException {
+    AsyncObjectClient asyncObjectClient = mock(AsyncObjectClient.class);
+    CompletableFuture<ObjectContent> pendingContent = new CompletableFuture<>();
+    when(asyncObjectClient.getObjectAsync(any(GetRequest.class), eq(openStreamInfo)))
+        .thenReturn(pendingContent);
+    StreamReader asyncStreamReader = createStreamReader(asyncObjectClient);
+
+    Block block = createMockBlock(0, 4);
+    asyncStreamReader.read(Collections.singletonList(block), ReadMode.SYNC);
+
+    InputStream testStream = spy(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+    when(block.isDataReady()).thenReturn(true);
+    pendingContent.complete(ObjectContent.builder().stream(testStream).build());
+    runSubmittedTask();
+
+    verify(block, never()).setData(any());
+    verify(testStream).close();
+    verify(mockMetrics).add(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockMetrics).reduce(MetricKey.IN_FLIGHT_GET_REQUESTS, 1);
+    verify(mockRemoveBlocksFunc, never()).accept(any());
+  }
+
+  private StreamReader createStreamReader(ObjectClient objectClient) {
+    return new StreamReader(
+        objectClient,
+        mockObjectKey,
+        mockExecutorService,
+        mockRemoveBlocksFunc,
+        mockMetrics,
+        openStreamInfo,
+        telemetry,
+        configuration);
+  }
+
+  private void runSubmittedTask() {
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockExecutorService).submit(taskCaptor.capture());
+    taskCaptor.getValue().run();
+  }
+
+  private static void assertBufferContents(byte[] expected, ByteBuffer buffer) {
+    byte[] actual = new byte[buffer.remaining()];
+    buffer.duplicate().get(actual);
+    assertArrayEquals(expected, actual);
+  }
+
   // Helper to call private processReadTask using reflection for testing
   private Runnable invokeProcessReadTask(List<Block> blocks, ReadMode readMode) {
     try {
       java.lang.reflect.Method method =
-          StreamReader.class.getDeclaredMethod("processReadTask", List.class, ReadMode.class);
+          StreamReader.class.getDeclaredMethod(
+              "processReadTask", List.class, ReadMode.class, ObjectContent.class);
       method.setAccessible(true);
-      return (Runnable) method.invoke(streamReader, blocks, readMode);
+      return (Runnable) method.invoke(streamReader, blocks, readMode, null);
     } catch (RuntimeException e) {
       throw e; // rethrow unchecked exceptions
     } catch (Exception e) {
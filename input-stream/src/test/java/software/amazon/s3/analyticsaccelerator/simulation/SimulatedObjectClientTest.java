@@ -0,0 +1,275 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStream;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamConfiguration;
+import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamFactory;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+public class SimulatedObjectClientTest {
+  private static final S3URI TEST_URI = S3URI.of("bucket", "key");
+
+  @Test
+  void testHeadAndGetServeStoredObject() throws IOException {
+    try (SimulatedObjectClient client = new SimulatedObjectClient()) {
+      byte[] data = new byte[] {1, 2, 3, 4, 5, 6, 7, 8};
+      String etag = client.putObject(TEST_URI, data);
+
+      ObjectMetadata metadata = head(client, TEST_URI);
+      assertEquals(data.length, metadata.getContentLength());
+      assertEquals(etag, metadata.getEtag());
+
+      try (InputStream stream = get(client, TEST_URI, new Range(2, 100), etag).getStream()) {
+        byte[] buffer = new byte[10];
+        assertEquals(6, stream.read(buffer, 0, 10));
+        assertArrayEquals(new byte[] {3, 4, 5, 6, 7, 8}, Arrays.copyOf(buffer, 6));
+        assertEquals(-1, stream.read());
+      }
+
+      assertEquals(1, client.getRequestCount(SimulatedRequest.Kind.HEAD));
+      assertEquals(1, client.getRequestCount(SimulatedRequest.Kind.GET));
+      assertEquals(6, client.getBytesServed());
+      assertEquals(new Range(2, 100), client.getRequests().get(1).getRange());
+    }
+  }
+
+  @Test
+  void testPutObjectReplacesVersion() throws IOException {
+    try (SimulatedObjectClient client = new SimulatedObjectClient()) {
+      String first = client.putObject(TEST_URI, 16);
+      String second = client.putObject(TEST_URI, 16);
+
+      assertNotEquals(first, second);
+      IOException exception =
+          assertThrows(IOException.class, () -> get(client, TEST_URI, new Range(0, 15), first));
+      assertEquals(412, ((S3Exception) exception.getCause()).statusCode());
+    }
+  }
+
+  @Test
+  void testMissingObjectIsNotFound() {
+    try (SimulatedObjectClient client = new SimulatedObjectClient()) {
+      assertThrows(FileNotFoundException.class, () -> head(client, TEST_URI));
+    }
+  }
+
+  @Test
+  void testThrottledRequestsFailWithSlowDown() {
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder().throttlingProbability(1).build();
+    try (SimulatedObjectClient client = new SimulatedObjectClient(configuration)) {
+      client.putObject(TEST_URI, 16);
+
+      IOException exception = assertThrows(IOException.class, () -> head(client, TEST_URI));
+      assertEquals(503, ((S3Exception) exception.getCause()).statusCode());
+      assertEquals(1, client.getThrottledRequestCount());
+    }
+  }
+
+  @Test
+  void testRandomDrawsAreReproducible() throws IOException {
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .timeToFirstByte(
+                LatencyDistribution.uniform(Duration.ofNanos(1), Duration.ofNanos(1000)))
+            .throttlingProbability(0.5)
+            .seed(42)
+            .build();
+
+    assertEquals(drawRequests(configuration), drawRequests(configuration));
+  }
+
+  @Test
+  void testTimeToFirstByteDelaysResponses() throws Exception {
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .timeToFirstByte(LatencyDistribution.constant(Duration.ofMillis(50)))
+            .build();
+    try (SimulatedObjectClient client = new SimulatedObjectClient(configuration)) {
+      client.putObject(TEST_URI, 16);
+
+      long start = System.nanoTime();
+      head(client, TEST_URI);
+      assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+
+      // The asynchronous request returns straight away and completes once the latency elapsed
+      start = System.nanoTime();
+      CompletableFuture<ObjectMetadata> metadata =
+          client.headObjectAsync(
+              HeadRequest.builder().s3Uri(TEST_URI).build(), OpenStreamInformation.DEFAULT);
+      assertFalse(metadata.isDone());
+      assertEquals(16, metadata.get().getContentLength());
+      assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+    }
+  }
+
+  @Test
+  void testAsyncFailureCompletesExceptionally() {
+    try (SimulatedObjectClient client = new SimulatedObjectClient()) {
+      CompletableFuture<ObjectMetadata> metadata =
+          client.headObjectAsync(
+              HeadRequest.builder().s3Uri(TEST_URI).build(), OpenStreamInformation.DEFAULT);
+
+      ExecutionException exception = assertThrows(ExecutionException.class, metadata::get);
+      assertInstanceOf(FileNotFoundException.class, exception.getCause());
+    }
+  }
+
+  @Test
+  void testConnectionBandwidthPacesResponseBody() throws IOException {
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .connectionBandwidthBytesPerSecond(1024 * 1024)
+            .build();
+    try (SimulatedObjectClient client = new SimulatedObjectClient(configuration)) {
+      String etag = client.putObject(TEST_URI, 100 * 1024);
+
+      long start = System.nanoTime();
+      Range range = new Range(0, 100 * 1024 - 1);
+      try (InputStream stream = get(client, TEST_URI, range, etag).getStream()) {
+        byte[] buffer = new byte[8 * 1024];
+        while (stream.read(buffer, 0, buffer.length) != -1) {
+          // drain
+        }
+      }
+
+      // 100KB at 1MB/s take about 100ms
+      assertTrue(System.nanoTime() - start >= Duration.ofMillis(90).toNanos());
+      assertEquals(100 * 1024, client.getBytesServed());
+    }
+  }
+
+  @Test
+  void testLatencyDistributions() {
+    Random random = new Random(0);
+    assertEquals(0, LatencyDistribution.NONE.sampleNanos(random));
+    assertEquals(
+        Duration.ofMillis(5).toNanos(),
+        LatencyDistribution.constant(Duration.ofMillis(5)).sampleNanos(random));
+
+    LatencyDistribution uniform =
+        LatencyDistribution.uniform(Duration.ofMillis(10), Duration.ofMillis(20));
+    LatencyDistribution logNormal = LatencyDistribution.logNormal(Duration.ofMillis(10), 0.5);
+    for (int i = 0; i < 1000; i++) {
+      long sample = uniform.sampleNanos(random);
+      assertTrue(Duration.ofMillis(10).toNanos() <= sample);
+      assertTrue(sample <= Duration.ofMillis(20).toNanos());
+      assertTrue(logNormal.sampleNanos(random) > 0);
+    }
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LatencyDistribution.uniform(Duration.ofMillis(20), Duration.ofMillis(10)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LatencyDistribution.logNormal(Duration.ofMillis(10), -1));
+  }
+
+  @Test
+  void testInvalidConfigurationThrows() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SimulatedObjectClientConfiguration.builder().throttlingProbability(2).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SimulatedObjectClientConfiguration.builder()
+                .connectionBandwidthBytesPerSecond(-1)
+                .build());
+  }
+
+  @Test
+  void testSeekableInputStreamReadsFromSimulatedStore() throws IOException {
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .timeToFirstByte(LatencyDistribution.constant(Duration.ofMillis(1)))
+            .build();
+    try (SimulatedObjectClient client = new SimulatedObjectClient(configuration);
+        S3SeekableInputStreamFactory factory =
+            new S3SeekableInputStreamFactory(client, S3SeekableInputStreamConfiguration.DEFAULT)) {
+      byte[] data = new byte[1024 * 1024];
+      new Random(1).nextBytes(data);
+      client.putObject(TEST_URI, data);
+
+      byte[] buffer = new byte[1000];
+      try (S3SeekableInputStream stream = factory.createStream(TEST_URI)) {
+        stream.seek(5000);
+        assertEquals(1000, stream.read(buffer, 0, 1000));
+      }
+
+      assertArrayEquals(Arrays.copyOfRange(data, 5000, 6000), buffer);
+      assertEquals(1, client.getRequestCount(SimulatedRequest.Kind.HEAD));
+    }
+  }
+
+  private static List<String> drawRequests(SimulatedObjectClientConfiguration configuration)
+      throws IOException {
+    try (SimulatedObjectClient client = new SimulatedObjectClient(configuration)) {
+      client.putObject(TEST_URI, 16);
+      for (int i = 0; i < 20; i++) {
+        try {
+          head(client, TEST_URI);
+        } catch (IOException e) {
+          // throttled
+        }
+      }
+      return client.getRequests().stream()
+          .map(request -> request.getTimeToFirstByteNanos() + "/" + request.isThrottled())
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static ObjectMetadata head(SimulatedObjectClient client, S3URI s3URI)
+      throws IOException {
+    return client.headObject(
+        HeadRequest.builder().s3Uri(s3URI).build(), OpenStreamInformation.DEFAULT);
+  }
+
+  private static ObjectContent get(
+      SimulatedObjectClient client, S3URI s3URI, Range range, String etag) throws IOException {
+    return client.getObject(
+        GetRequest.builder()
+            .s3Uri(s3URI)
+            .range(range)
+            .etag(etag)
+            .referrer(new Referrer(range.toHttpString(), ReadMode.SYNC))
+            .build(),
+        OpenStreamInformation.DEFAULT);
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
+
+public class ColumnAccessScopeTest {
+
+  @Test
+  public void testColumnAccessScopeFromString() {
+    assertEquals(ColumnAccessScope.SCHEMA, ColumnAccessScope.fromString("SCHEMA"));
+    assertEquals(ColumnAccessScope.SPAN_ID, ColumnAccessScope.fromString("span_id"));
+    assertEquals(ColumnAccessScope.OPERATION_NAME, ColumnAccessScope.fromString("Operation_Name"));
+
+    // defaults to SCHEMA scope
+    assertEquals(ColumnAccessScope.SCHEMA, ColumnAccessScope.fromString("xyz"));
+  }
+
+  @Test
+  public void testGetQueryId() {
+    StreamAuditContext streamAuditContext =
+        StreamAuditContext.builder().spanId("span-1").operationName("op_open").build();
+
+    assertNull(ColumnAccessScope.SCHEMA.getQueryId(streamAuditContext));
+    assertEquals("span-1", ColumnAccessScope.SPAN_ID.getQueryId(streamAuditContext));
+    assertEquals("op_open", ColumnAccessScope.OPERATION_NAME.getQueryId(streamAuditContext));
+    assertNull(ColumnAccessScope.SPAN_ID.getQueryId(null));
+  }
+}
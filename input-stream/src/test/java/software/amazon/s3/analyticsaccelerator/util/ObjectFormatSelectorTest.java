@@ -49,6 +49,30 @@ public class ObjectFormatSelectorTest {
         ObjectFormat.PARQUET);
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"key.orc", "key.ORC", "table/part-00000.orc"})
+  public void testDefaultConfigOrcLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(
+        ObjectFormat.ORC,
+        objectFormatSelector.getObjectFormat(
+            S3URI.of("bucket", key), OpenStreamInformation.DEFAULT));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.arrow", "key.ARROW", "key.feather", "key.FEATHER"})
+  public void testDefaultConfigArrowLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(
+        ObjectFormat.ARROW,
+        objectFormatSelector.getObjectFormat(
+            S3URI.of("bucket", key), OpenStreamInformation.DEFAULT));
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {"key.jar", "key.parque", "key.pa"})
   public void testNonParquetLogicalIOSelection(String key) {
@@ -0,0 +1,58 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+public class RangeUtilsTest {
+  @Test
+  void testMergeRangesMergesConsecutiveRanges() {
+    List<Range> ranges = new ArrayList<>();
+    ranges.add(new Range(500, 600));
+    ranges.add(new Range(100, 200));
+    ranges.add(new Range(601, 800));
+    ranges.add(new Range(1000, 1200));
+
+    List<Range> mergedRanges = RangeUtils.mergeRanges(ranges);
+    assertEquals(3, mergedRanges.size());
+    assertEquals(new Range(100, 200), mergedRanges.get(0));
+    assertEquals(new Range(500, 800), mergedRanges.get(1));
+    assertEquals(new Range(1000, 1200), mergedRanges.get(2));
+  }
+
+  @Test
+  void testMergeRangesWithGap() {
+    List<Range> ranges = new ArrayList<>();
+    ranges.add(new Range(300, 400));
+    ranges.add(new Range(100, 200));
+    ranges.add(new Range(150, 250));
+    ranges.add(new Range(464, 500));
+    ranges.add(new Range(600, 700));
+
+    List<Range> mergedRanges = RangeUtils.mergeRanges(ranges, 64);
+    assertEquals(2, mergedRanges.size());
+    // Overlapping ranges, and ranges at most 64 bytes apart, are merged
+    assertEquals(100, mergedRanges.get(0).getStart());
+    assertEquals(500, mergedRanges.get(0).getEnd());
+    assertEquals(600, mergedRanges.get(1).getStart());
+    assertEquals(700, mergedRanges.get(1).getEnd());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.simulation;
+
+import java.time.Duration;
+import java.util.Random;
+import lombok.NonNull;
+
+/** Distribution the simulated time to first byte of a request is drawn from. */
+@FunctionalInterface
+public interface LatencyDistribution {
+  /** A distribution that adds no latency. */
+  LatencyDistribution NONE = random -> 0;
+
+  /**
+   * Draws a latency from the distribution.
+   *
+   * @param random source of randomness for the draw
+   * @return latency in nanoseconds, never negative
+   */
+  long sampleNanos(Random random);
+
+  /**
+   * Creates a distribution that always returns the same latency.
+   *
+   * @param latency the latency
+   * @return the distribution
+   */
+  static LatencyDistribution constant(@NonNull Duration latency) {
+    long nanos = latency.toNanos();
+    return random -> nanos;
+  }
+
+  /**
+   * Creates a distribution of latencies uniformly spread between two bounds.
+   *
+   * @param min the smallest latency
+   * @param max the largest latency
+   * @return the distribution
+   */
+  static LatencyDistribution uniform(@NonNull Duration min, @NonNull Duration max) {
+    long minNanos = min.toNanos();
+    long spreadNanos = max.toNanos() - minNanos;
+    if (minNanos < 0 || spreadNanos < 0) {
+      throw new IllegalArgumentException("`min` must not be negative nor larger than `max`");
+    }
+    return random -> minNanos + (long) (random.nextDouble() * spreadNanos);
+  }
+
+  /**
+   * Creates a log-normal distribution of latencies, which models the long tail of object store
+   * latencies: most requests take about the median, and a few take several times longer.
+   *
+   * @param median the median latency
+   * @param sigma standard deviation of the logarithm of the latency; 0.5 puts the 99th percentile
+   *     at about three times the median
+   * @return the distribution
+   */
+  static LatencyDistribution logNormal(@NonNull Duration median, double sigma) {
+    long medianNanos = median.toNanos();
+    if (medianNanos < 0 || sigma < 0) {
+      throw new IllegalArgumentException("`median` and `sigma` must not be negative");
+    }
+    return random -> (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+  }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.simulation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.s3.analyticsaccelerator.exceptions.ExceptionHandler;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.NamedThreadFactory;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An in-memory object store that simulates the latency, bandwidth and throttling of a remote one,
+ * so that prefetching and scheduling can be evaluated without S3. Each request waits for a time to
+ * first byte drawn from the configured distribution, response bodies are paced to the configured
+ * per-connection and aggregate bandwidths, and requests are rejected with 503 Slow Down errors with
+ * the configured probability. Every request is recorded as a {@link SimulatedRequest}.
+ *
+ * <p>Failures are reported as the IOExceptions {@code S3SdkObjectClient} maps S3 errors to. The
+ * asynchronous requests wait for their time to first byte on a scheduler thread, without blocking
+ * the caller.
+ */
+public class SimulatedObjectClient implements AsyncObjectClient {
+  @Getter @NonNull private final SimulatedObjectClientConfiguration configuration;
+
+  private final Map<S3URI, StoredObject> objects = new ConcurrentHashMap<>();
+  private final Map<List<Object>, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<SimulatedRequest> requests = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger versions = new AtomicInteger();
+  private final BandwidthLimiter aggregateBandwidth;
+  private final ScheduledExecutorService scheduler;
+
+  private static final int MAX_PACED_READ_SIZE = 64 * 1024;
+  private static final String THREAD_FACTORY_NAME = "simulated-object-client-";
+
+  /** Creates a simulated object store with the default configuration. */
+  public SimulatedObjectClient() {
+    this(SimulatedObjectClientConfiguration.DEFAULT);
+  }
+
+  /**
+   * Creates a simulated object store.
+   *
+   * @param configuration latency, bandwidth and failure settings of the store
+   */
+  public SimulatedObjectClient(@NonNull SimulatedObjectClientConfiguration configuration) {
+    this.configuration = configuration;
+    this.aggregateBandwidth =
+        new BandwidthLimiter(configuration.getAggregateBandwidthBytesPerSecond());
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory(THREAD_FACTORY_NAME, true));
+  }
+
+  /**
+   * Stores an object, replacing any previous version of it. The data is not copied.
+   *
+   * @param s3URI the object
+   * @param data the content of the object
+   * @return the etag of the stored version
+   */
+  public String putObject(@NonNull S3URI s3URI, byte @NonNull [] data) {
+    String etag = "simulated-" + versions.incrementAndGet();
+    objects.put(s3URI, new StoredObject(data, etag));
+    return etag;
+  }
+
+  /**
+   * Stores an object of pseudo-random content, determined by the seed of the configuration and
+   * the object, replacing any previous version of it.
+   *
+   * @param s3URI the object
+   * @param size size of the object in bytes
+   * @return the etag of the stored version
+   */
+  public String putObject(@NonNull S3URI s3URI, int size) {
+    byte[] data = new byte[size];
+    Random random = new Random(configuration.getSeed() * 31 + s3URI.hashCode());
+    random.nextBytes(data);
+    return putObject(s3URI, data);
+  }
+
+  /**
+   * Returns the requests made so far, in the order they were issued.
+   *
+   * @return the requests
+   */
+  public List<SimulatedRequest> getRequests() {
+    return new ArrayList<>(requests);
+  }
+
+  /**
+   * Returns the number of requests of a kind made so far, throttled ones included.
+   *
+   * @param kind kind of requests
+   * @return the number of requests
+   */
+  public long getRequestCount(@NonNull SimulatedRequest.Kind kind) {
+    return requests.stream().filter(request -> request.getKind() == kind).count();
+  }
+
+  /**
+   * Returns the number of requests rejected with a 503 Slow Down error so far.
+   *
+   * @return the number of throttled requests
+   */
+  public long getThrottledRequestCount() {
+    return requests.stream().filter(SimulatedRequest::isThrottled).count();
+  }
+
+  /**
+   * Returns the number of bytes of response bodies read or skipped so far.
+   *
+   * @return the number of bytes served
+   */
+  public long getBytesServed() {
+    return requests.stream().mapToLong(SimulatedRequest::getBytesServed).sum();
+  }
+
+  /**
+   * Forgets the requests made so far. The random draws of requests made afterwards are not reset,
+   * so repeating a request still draws a different latency and throttling decision.
+   */
+  public void clearRequests() {
+    requests.clear();
+  }
+
+  @Override
+  public ObjectMetadata headObject(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation) throws IOException {
+    SimulatedRequest request = issue(SimulatedRequest.Kind.HEAD, headRequest.getS3Uri(), null);
+    sleepUntil(System.nanoTime() + request.getTimeToFirstByteNanos());
+    return respondToHead(request);
+  }
+
+  @Override
+  public ObjectContent getObject(GetRequest getRequest, OpenStreamInformation openStreamInformation)
+      throws IOException {
+    SimulatedRequest request =
+        issue(SimulatedRequest.Kind.GET, getRequest.getS3Uri(), getRequest.getRange());
+    sleepUntil(System.nanoTime() + request.getTimeToFirstByteNanos());
+    return respondToGet(request, getRequest.getEtag());
+  }
+
+  @Override
+  public CompletableFuture<ObjectMetadata> headObjectAsync(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation) {
+    SimulatedRequest request = issue(SimulatedRequest.Kind.HEAD, headRequest.getS3Uri(), null);
+    return respondAfterTimeToFirstByte(request, () -> respondToHead(request));
+  }
+
+  @Override
+  public CompletableFuture<ObjectContent> getObjectAsync(
+      GetRequest getRequest, OpenStreamInformation openStreamInformation) {
+    SimulatedRequest request =
+        issue(SimulatedRequest.Kind.GET, getRequest.getS3Uri(), getRequest.getRange());
+    return respondAfterTimeToFirstByte(request, () -> respondToGet(request, getRequest.getEtag()));
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Records a request along with its random draws. The draws are seeded by the request and the
+   * number of identical requests issued before it, so they do not depend on the order in which
+   * concurrent requests are issued.
+   */
+  private SimulatedRequest issue(SimulatedRequest.Kind kind, S3URI s3URI, Range range) {
+    int occurrence =
+        occurrences
+            .computeIfAbsent(Arrays.asList(kind, s3URI, range), key -> new AtomicInteger())
+            .getAndIncrement();
+    Random random =
+        new Random(
+            configuration.getSeed() * 31 + Objects.hash(kind.ordinal(), s3URI, range, occurrence));
+    long timeToFirstByteNanos = Math.max(0, configuration.getTimeToFirstByte().sampleNanos(random));
+    boolean throttled = random.nextDouble() < configuration.getThrottlingProbability();
+
+    SimulatedRequest request =
+        new SimulatedRequest(kind, s3URI, range, timeToFirstByteNanos, throttled);
+    requests.add(request);
+    return request;
+  }
+
+  private ObjectMetadata respondToHead(SimulatedRequest request) throws IOException {
+    StoredObject object = lookUp(request);
+    return ObjectMetadata.builder()
+        .contentLength(object.getData().length)
+        .etag(object.getEtag())
+        .build();
+  }
+
+  private ObjectContent respondToGet(SimulatedRequest request, String etag) throws IOException {
+    StoredObject object = lookUp(request);
+    if (!object.getEtag().equals(etag)) {
+      throw error(request, 412, "At least one of the pre-conditions you specified did not hold");
+    }
+
+    Range range = request.getRange();
+    int size = object.getData().length;
+    if (range.getStart() >= size) {
+      throw error(request, 416, "The requested range is not satisfiable");
+    }
+    // Like S3, a range that ends after the object is served up to the end of the object
+    int end = (int) Math.min(range.getEnd(), size - 1);
+    return ObjectContent.builder()
+        .stream(new PacedInputStream(object.getData(), (int) range.getStart(), end + 1, request))
+        .build();
+  }
+
+  private StoredObject lookUp(SimulatedRequest request) throws IOException {
+    if (request.isThrottled()) {
+      throw error(request, 503, "Please reduce your request rate.");
+    }
+    StoredObject object = objects.get(request.getS3URI());
+    if (object == null) {
+      throw ExceptionHandler.toIOException(
+          NoSuchKeyException.builder().statusCode(404).build(), request.getS3URI());
+    }
+    return object;
+  }
+
+  private static IOException error(SimulatedRequest request, int statusCode, String message) {
+    return ExceptionHandler.toIOException(
+        S3Exception.builder().statusCode(statusCode).message(message).build(), request.getS3URI());
+  }
+
+  private <T> CompletableFuture<T> respondAfterTimeToFirstByte(
+      SimulatedRequest request, Response<T> response) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Runnable respond =
+        () -> {
+          try {
+            future.complete(response.get());
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        };
+    if (request.getTimeToFirstByteNanos() == 0) {
+      respond.run();
+    } else {
+      scheduler.schedule(respond, request.getTimeToFirstByteNanos(), TimeUnit.NANOSECONDS);
+    }
+    return future;
+  }
+
+  /**
+   * Waits until the given {@link System#nanoTime()}.
+   *
+   * @param deadlineNanos the time to wait for
+   * @throws InterruptedIOException if the thread is interrupted while waiting
+   */
+  private static void sleepUntil(long deadlineNanos) throws InterruptedIOException {
+    long remainingNanos;
+    while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remainingNanos);
+      if (Thread.interrupted()) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for simulated response");
+      }
+    }
+  }
+
+  /** Produces the response of a request once its time to first byte has elapsed. */
+  @FunctionalInterface
+  private interface Response<T> {
+    T get() throws IOException;
+  }
+
+  /** A version of an object. */
+  @Getter
+  private static final class StoredObject {
+    private final byte[] data;
+    private final String etag;
+
+    StoredObject(byte[] data, String etag) {
+      this.data = data;
+      this.etag = etag;
+    }
+  }
+
+  /**
+   * Paces a stream of bytes to a bandwidth. Reserving bytes returns the time at which they are
+   * delivered, after all the bytes reserved before them.
+   */
+  private static final class BandwidthLimiter {
+    private final long bytesPerSecond;
+    private long nextFreeNanos = System.nanoTime();
+
+    BandwidthLimiter(long bytesPerSecond) {
+      this.bytesPerSecond = bytesPerSecond;
+    }
+
+    synchronized long reserve(long bytes) {
+      long now = System.nanoTime();
+      if (bytesPerSecond == 0) {
+        return now;
+      }
+      nextFreeNanos = Math.max(now, nextFreeNanos) + bytes * 1_000_000_000L / bytesPerSecond;
+      return nextFreeNanos;
+    }
+  }
+
+  /**
+   * Response body served from the stored data, paced to the bandwidth of its connection and to
+   * the aggregate bandwidth of the store. Skipped bytes are paced too, as a real connection still
+   * has to receive them.
+   */
+  private final class PacedInputStream extends InputStream {
+    private final byte[] data;
+    private final int end;
+    private final SimulatedRequest request;
+    private final BandwidthLimiter connectionBandwidth;
+    private int position;
+
+    PacedInputStream(byte[] data, int start, int end, SimulatedRequest request) {
+      this.data = data;
+      this.position = start;
+      this.end = end;
+      this.request = request;
+      this.connectionBandwidth =
+          new BandwidthLimiter(configuration.getConnectionBandwidthBytesPerSecond());
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (position >= end) {
+        return -1;
+      }
+      pace(1);
+      return data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NonNull [] b, int off, int len) throws IOException {
+      if (off < 0 || len < 0 || len > b.length - off) {
+        throw new IndexOutOfBoundsException("`off` and `len` must fit in `b`");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      if (position >= end) {
+        return -1;
+      }
+      int bytesRead = Math.min(Math.min(len, end - position), MAX_PACED_READ_SIZE);
+      pace(bytesRead);
+      System.arraycopy(data, position, b, off, bytesRead);
+      position += bytesRead;
+      return bytesRead;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0 || position >= end) {
+        return 0;
+      }
+      int skipped = (int) Math.min(Math.min(n, end - position), MAX_PACED_READ_SIZE);
+      pace(skipped);
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return end - position;
+    }
+
+    private void pace(int bytes) throws InterruptedIOException {
+      long deadlineNanos =
+          Math.max(connectionBandwidth.reserve(bytes), aggregateBandwidth.reserve(bytes));
+      sleepUntil(deadlineNanos);
+      request.addBytesServed(bytes);
+    }
+  }
+}
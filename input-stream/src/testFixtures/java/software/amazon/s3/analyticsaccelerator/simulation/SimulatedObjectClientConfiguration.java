@@ -0,0 +1,70 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.simulation;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Configuration of a {@link SimulatedObjectClient}. The defaults simulate an object store that
+ * responds instantly, with unlimited bandwidth and without failures.
+ */
+@Getter
+@Builder
+public class SimulatedObjectClientConfiguration {
+  /** Distribution of the time between issuing a HEAD or GET request and its response. */
+  @Builder.Default @NonNull private LatencyDistribution timeToFirstByte = LatencyDistribution.NONE;
+
+  /** Bandwidth of the body of a single GET response, in bytes per second; 0 is unlimited. */
+  @Builder.Default private long connectionBandwidthBytesPerSecond = 0;
+
+  /** Bandwidth shared by the bodies of all GET responses, in bytes per second; 0 is unlimited. */
+  @Builder.Default private long aggregateBandwidthBytesPerSecond = 0;
+
+  /** Probability that a request is rejected with a 503 Slow Down error. */
+  @Builder.Default private double throttlingProbability = 0;
+
+  /**
+   * Seed of the random draws. The draws of a request only depend on the seed, the request and the
+   * number of identical requests made before it, so a run is reproducible whatever the order
+   * concurrent requests are issued in.
+   */
+  @Builder.Default private long seed = 0;
+
+  /** Default configuration. */
+  public static final SimulatedObjectClientConfiguration DEFAULT =
+      SimulatedObjectClientConfiguration.builder().build();
+
+  private SimulatedObjectClientConfiguration(
+      @NonNull LatencyDistribution timeToFirstByte,
+      long connectionBandwidthBytesPerSecond,
+      long aggregateBandwidthBytesPerSecond,
+      double throttlingProbability,
+      long seed) {
+    if (connectionBandwidthBytesPerSecond < 0 || aggregateBandwidthBytesPerSecond < 0) {
+      throw new IllegalArgumentException("Bandwidths must not be negative");
+    }
+    if (throttlingProbability < 0 || throttlingProbability > 1) {
+      throw new IllegalArgumentException("`throttlingProbability` must be between 0 and 1");
+    }
+    this.timeToFirstByte = timeToFirstByte;
+    this.connectionBandwidthBytesPerSecond = connectionBandwidthBytesPerSecond;
+    this.aggregateBandwidthBytesPerSecond = aggregateBandwidthBytesPerSecond;
+    this.throttlingProbability = throttlingProbability;
+    this.seed = seed;
+  }
+}
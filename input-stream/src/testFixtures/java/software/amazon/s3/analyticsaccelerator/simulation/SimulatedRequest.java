@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.simulation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/** Accounting of a single request made to a {@link SimulatedObjectClient}. */
+@Getter
+public class SimulatedRequest {
+  /** Kinds of requests. */
+  public enum Kind {
+    HEAD,
+    GET
+  }
+
+  @NonNull private final Kind kind;
+  @NonNull private final S3URI s3URI;
+  /** The requested range, or null for HEAD requests. */
+  private final Range range;
+  /** The simulated time to first byte, in nanoseconds. */
+  private final long timeToFirstByteNanos;
+  /** Whether the request was rejected with a 503 Slow Down error. */
+  private final boolean throttled;
+
+  @Getter(AccessLevel.NONE)
+  private final AtomicLong bytesServed = new AtomicLong();
+
+  /**
+   * Creates the accounting of a request.
+   *
+   * @param kind kind of the request
+   * @param s3URI the requested object
+   * @param range the requested range, or null for HEAD requests
+   * @param timeToFirstByteNanos the simulated time to first byte, in nanoseconds
+   * @param throttled whether the request is rejected with a 503 Slow Down error
+   */
+  SimulatedRequest(
+      @NonNull Kind kind,
+      @NonNull S3URI s3URI,
+      Range range,
+      long timeToFirstByteNanos,
+      boolean throttled) {
+    this.kind = kind;
+    this.s3URI = s3URI;
+    this.range = range;
+    this.timeToFirstByteNanos = timeToFirstByteNanos;
+    this.throttled = throttled;
+  }
+
+  /**
+   * Number of bytes of the response body read or skipped so far.
+   *
+   * @return the number of bytes served
+   */
+  public long getBytesServed() {
+    return bytesServed.get();
+  }
+
+  void addBytesServed(long bytes) {
+    bytesServed.addAndGet(bytes);
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Object client serving objects from a local or mounted file system, for example a local copy of a
+ * dataset. An object is the file at {@code <root>/<bucket>/<key>}, and its etag is derived from the
+ * file's modification time and size, so that rewriting the file is detected like an object
+ * overwrite. Ranges are served from memory-mapped regions of the file, without copying them into
+ * intermediate buffers.
+ */
+public class FileSystemObjectClient implements ObjectClient {
+
+  @Getter @NonNull private final Path root;
+
+  private static final String ETAG_FORMAT = "%x-%x";
+
+  /**
+   * Create an instance of an object client serving objects from the file system.
+   *
+   * @param root directory that contains a directory for each bucket
+   */
+  public FileSystemObjectClient(@NonNull Path root) {
+    this.root = root.toAbsolutePath().normalize();
+  }
+
+  @Override
+  public ObjectMetadata headObject(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation) throws IOException {
+    S3URI s3URI = headRequest.getS3Uri();
+    BasicFileAttributes attributes = readAttributes(s3URI, resolve(s3URI));
+    return ObjectMetadata.builder().contentLength(attributes.size()).etag(etag(attributes)).build();
+  }
+
+  @Override
+  public ObjectContent getObject(GetRequest getRequest, OpenStreamInformation openStreamInformation)
+      throws IOException {
+    S3URI s3URI = getRequest.getS3Uri();
+    Path path = resolve(s3URI);
+    BasicFileAttributes attributes = readAttributes(s3URI, path);
+
+    String etag = etag(attributes);
+    if (!etag.equals(getRequest.getEtag())) {
+      throw new IOException(
+          String.format(
+              "Object %s has changed: expected etag %s but found %s",
+              s3URI, getRequest.getEtag(), etag));
+    }
+
+    Range range = getRequest.getRange();
+    if (range.getStart() >= attributes.size()) {
+      throw new EOFException(
+          String.format(
+              "Range %s is not satisfiable for %s of %d bytes", range, s3URI, attributes.size()));
+    }
+    // Like S3, a range that ends after the object is served up to the end of the object
+    long end = Math.min(range.getEnd(), attributes.size() - 1);
+
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return ObjectContent.builder()
+        .stream(new MappedRangeInputStream(channel, range.getStart(), end + 1))
+        .build();
+  }
+
+  /**
+   * Maps an object to its file under the root directory.
+   *
+   * @param s3URI the object
+   * @return the path of the file
+   * @throws FileNotFoundException if the bucket is not a single directory name, or the object maps
+   *     to a path outside of the directory of its bucket
+   */
+  private Path resolve(S3URI s3URI) throws FileNotFoundException {
+    String bucket = s3URI.getBucket();
+    if (bucket.isEmpty()
+        || bucket.equals(".")
+        || bucket.equals("..")
+        || bucket.indexOf('/') >= 0
+        || bucket.indexOf('\\') >= 0) {
+      throw new FileNotFoundException(String.format("Object not found %s", s3URI));
+    }
+
+    Path bucketDirectory = root.resolve(bucket);
+    Path path = bucketDirectory.resolve(s3URI.getKey()).normalize();
+    if (!path.startsWith(root) || !path.startsWith(bucketDirectory)) {
+      throw new FileNotFoundException(String.format("Object not found %s", s3URI));
+    }
+    return path;
+  }
+
+  private static BasicFileAttributes readAttributes(S3URI s3URI, Path path) throws IOException {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      FileNotFoundException notFound =
+          new FileNotFoundException(String.format("Object not found %s", s3URI));
+      notFound.initCause(e);
+      throw notFound;
+    }
+    if (!attributes.isRegularFile()) {
+      throw new FileNotFoundException(String.format("Object not found %s", s3URI));
+    }
+    return attributes;
+  }
+
+  private static String etag(BasicFileAttributes attributes) {
+    return String.format(
+        ETAG_FORMAT, attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS), attributes.size());
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release, files are only open while their content is being read
+  }
+
+  /**
+   * Reads a range of a file through memory-mapped regions of at most {@link Integer#MAX_VALUE}
+   * bytes, mapping the next region once the previous one is consumed. Closing the stream closes the
+   * file.
+   */
+  private static class MappedRangeInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+    private MappedByteBuffer region;
+
+    /**
+     * Creates a stream over a range of a file.
+     *
+     * @param channel the file, owned by the stream from now on
+     * @param start position of the first byte of the range
+     * @param end position after the last byte of the range
+     */
+    MappedRangeInputStream(FileChannel channel, long start, long end) {
+      this.channel = channel;
+      this.position = start;
+      this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!mapRegion()) {
+        return -1;
+      }
+      position++;
+      return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NonNull [] b, int off, int len) throws IOException {
+      if (off < 0 || len < 0 || len > b.length - off) {
+        throw new IndexOutOfBoundsException("`off` and `len` must fit in `b`");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      if (!mapRegion()) {
+        return -1;
+      }
+      int bytesRead = Math.min(len, region.remaining());
+      region.get(b, off, bytesRead);
+      position += bytesRead;
+      return bytesRead;
+    }
+
+    @Override
+    public long skip(long n) {
+      if (n <= 0) {
+        return 0;
+      }
+      long skipped = Math.min(n, end - position);
+      if (region != null && skipped <= region.remaining()) {
+        region.position(region.position() + (int) skipped);
+      } else {
+        region = null;
+      }
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(end - position, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      region = null;
+      channel.close();
+    }
+
+    /**
+     * Makes sure there is a mapped region with bytes remaining at the current position.
+     *
+     * @return false if the whole range has been read
+     * @throws IOException if the region cannot be mapped
+     */
+    private boolean mapRegion() throws IOException {
+      if (region != null && region.hasRemaining()) {
+        return true;
+      }
+      if (position >= end) {
+        return false;
+      }
+      long size = Math.min(end - position, Integer.MAX_VALUE);
+      region = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+      return true;
+    }
+  }
+}
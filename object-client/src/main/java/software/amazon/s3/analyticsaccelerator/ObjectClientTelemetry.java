@@ -19,6 +19,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Attribute;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /** Helper class to streamline Telemetry calls. */
@@ -26,8 +27,10 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
 @AllArgsConstructor
 enum ObjectClientTelemetry {
   URI("uri"),
+  BUCKET("bucket"),
   RANGE("range"),
-  RANGE_LENGTH("range.length");
+  RANGE_LENGTH("range.length"),
+  READ_MODE("read.mode");
   private final String name;
 
   public static final String OPERATION_GET = "s3.client.get";
@@ -66,4 +69,13 @@ enum ObjectClientTelemetry {
     return Attribute.of(
         ObjectClientTelemetry.RANGE_LENGTH.getName(), Long.toString(range.getLength()));
   }
+
+  public static Attribute bucket(S3URI s3URI) {
+    return Attribute.of(ObjectClientTelemetry.BUCKET.getName(), s3URI.getBucket());
+  }
+
+  public static Attribute readMode(Referrer referrer) {
+    return Attribute.of(
+        ObjectClientTelemetry.READ_MODE.getName(), String.valueOf(referrer.getReadMode()));
+  }
 }
@@ -16,10 +16,12 @@
 package software.amazon.s3.analyticsaccelerator;
 
 import static software.amazon.s3.analyticsaccelerator.ObjectClientTelemetry.*;
-import static software.amazon.s3.analyticsaccelerator.util.ObjectClientUtil.handleException;
+import static software.amazon.s3.analyticsaccelerator.util.ObjectClientUtil.awaitResult;
+import static software.amazon.s3.analyticsaccelerator.util.ObjectClientUtil.translateExceptions;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
 import lombok.NonNull;
 import software.amazon.awssdk.core.ResponseInputStream;
@@ -30,15 +32,17 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.ConfigurableTelemetry;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.request.*;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 
-/** Object client, based on AWS SDK v2 */
-public class S3SdkObjectClient implements ObjectClient {
+/**
+ * Object client, based on AWS SDK v2. Requests are issued asynchronously through {@link
+ * S3AsyncClient}; the blocking methods wait on the futures of their asynchronous counterparts.
+ */
+public class S3SdkObjectClient implements AsyncObjectClient {
 
   @Getter @NonNull private final S3AsyncClient s3AsyncClient;
   @NonNull private final Telemetry telemetry;
@@ -119,6 +123,18 @@ public class S3SdkObjectClient implements ObjectClient {
   @Override
   public ObjectMetadata headObject(
       HeadRequest headRequest, OpenStreamInformation openStreamInformation) throws IOException {
+    return awaitResult(headRequest.getS3Uri(), headObjectAsync(headRequest, openStreamInformation));
+  }
+
+  @Override
+  public ObjectContent getObject(GetRequest getRequest, OpenStreamInformation openStreamInformation)
+      throws IOException {
+    return awaitResult(getRequest.getS3Uri(), getObjectAsync(getRequest, openStreamInformation));
+  }
+
+  @Override
+  public CompletableFuture<ObjectMetadata> headObjectAsync(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation) {
 
     HeadObjectRequest.Builder builder =
         requestFactory.buildHeadObjectRequest(headRequest, openStreamInformation);
@@ -128,23 +144,22 @@ public class S3SdkObjectClient implements ObjectClient {
             Operation.builder()
                 .name(OPERATION_HEAD)
                 .attribute(ObjectClientTelemetry.uri(headRequest.getS3Uri()))
+                .attribute(ObjectClientTelemetry.bucket(headRequest.getS3Uri()))
                 .build(),
-        () -> {
-          try {
-            HeadObjectResponse headObjectResponse = s3AsyncClient.headObject(builder.build()).get();
-            return ObjectMetadata.builder()
-                .contentLength(headObjectResponse.contentLength())
-                .etag(headObjectResponse.eTag())
-                .build();
-          } catch (Throwable t) {
-            throw handleException(headRequest.getS3Uri(), t);
-          }
-        });
+        translateExceptions(
+            headRequest.getS3Uri(),
+            () -> s3AsyncClient.headObject(builder.build()),
+            headObjectResponse ->
+                ObjectMetadata.builder()
+                    .contentLength(headObjectResponse.contentLength())
+                    .etag(headObjectResponse.eTag())
+                    .build(),
+            headObjectResponse -> {}));
   }
 
   @Override
-  public ObjectContent getObject(GetRequest getRequest, OpenStreamInformation openStreamInformation)
-      throws IOException {
+  public CompletableFuture<ObjectContent> getObjectAsync(
+      GetRequest getRequest, OpenStreamInformation openStreamInformation) {
 
     GetObjectRequest.Builder builder =
         requestFactory.getObjectRequest(getRequest, openStreamInformation);
@@ -156,18 +171,16 @@ public class S3SdkObjectClient implements ObjectClient {
                 .attribute(ObjectClientTelemetry.uri(getRequest.getS3Uri()))
                 .attribute(ObjectClientTelemetry.rangeLength(getRequest.getRange()))
                 .attribute(ObjectClientTelemetry.range(getRequest.getRange()))
+                .attribute(ObjectClientTelemetry.bucket(getRequest.getS3Uri()))
+                .attribute(ObjectClientTelemetry.readMode(getRequest.getReferrer()))
                 .build(),
-        () -> {
-          try {
-            ResponseInputStream<GetObjectResponse> inputStream =
-                s3AsyncClient
-                    .getObject(builder.build(), AsyncResponseTransformer.toBlockingInputStream())
-                    .get();
-            return ObjectContent.builder().stream(inputStream).build();
-          } catch (Throwable t) {
-            // TODO: Exception handling needs to be moved here as this is where the join happens.
-            throw handleException(getRequest.getS3Uri(), t);
-          }
-        });
+        translateExceptions(
+            getRequest.getS3Uri(),
+            () ->
+                s3AsyncClient.getObject(
+                    builder.build(), AsyncResponseTransformer.toBlockingInputStream()),
+            (ResponseInputStream<GetObjectResponse> inputStream) ->
+                ObjectContent.builder().stream(inputStream).build(),
+            ResponseInputStream::abort));
   }
 }
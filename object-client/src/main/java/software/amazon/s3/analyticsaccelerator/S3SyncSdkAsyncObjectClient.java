@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+
+/**
+ * Implementation of the asynchronous Object client for the AWS SDK's Java sync client. The sync
+ * client blocks on every request, so the asynchronous methods run the blocking requests on the
+ * executor this client is given. The executor should not be the thread pool reading the streams,
+ * as that pool waits for these requests.
+ */
+public class S3SyncSdkAsyncObjectClient extends S3SyncSdkObjectClient implements AsyncObjectClient {
+
+  @NonNull private final Executor asyncExecutor;
+
+  /**
+   * Create an instance of a S3 Client with SDK V2's sync client and given configuration for
+   * interaction with Amazon S3 compatible object stores. This takes ownership of the passed client
+   * and will close it on its own close(), but not of the passed executor.
+   *
+   * @param s3Client Underlying sync client to be used for making requests to S3.
+   * @param objectClientConfiguration Object client configuration.
+   * @param asyncExecutor Executor the blocking requests of the asynchronous methods run on.
+   */
+  public S3SyncSdkAsyncObjectClient(
+      @NonNull S3Client s3Client,
+      @NonNull ObjectClientConfiguration objectClientConfiguration,
+      @NonNull Executor asyncExecutor) {
+    super(s3Client, objectClientConfiguration);
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  @Override
+  public CompletableFuture<ObjectMetadata> headObjectAsync(
+      HeadRequest headRequest, OpenStreamInformation openStreamInformation) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return headObject(headRequest, openStreamInformation);
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        asyncExecutor);
+  }
+
+  @Override
+  public CompletableFuture<ObjectContent> getObjectAsync(
+      GetRequest getRequest, OpenStreamInformation openStreamInformation) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return getObject(getRequest, openStreamInformation);
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        asyncExecutor);
+  }
+}
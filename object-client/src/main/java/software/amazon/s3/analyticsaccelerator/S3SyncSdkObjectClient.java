@@ -43,7 +43,10 @@ import software.amazon.s3.analyticsaccelerator.request.RequestFactory;
 import software.amazon.s3.analyticsaccelerator.request.UserAgent;
 import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
 
-/** Implementation of the Object client for the AWS SDK's Java sync client. */
+/**
+ * Implementation of the Object client for the AWS SDK's Java sync client. See {@link
+ * S3SyncSdkAsyncObjectClient} to issue its requests asynchronously on a given executor.
+ */
 public class S3SyncSdkObjectClient implements ObjectClient {
 
   @Getter @NonNull private final S3Client s3Client;
@@ -97,6 +100,7 @@ public class S3SyncSdkObjectClient implements ObjectClient {
             Operation.builder()
                 .name(OPERATION_SYNC_HEAD)
                 .attribute(ObjectClientTelemetry.uri(headRequest.getS3Uri()))
+                .attribute(ObjectClientTelemetry.bucket(headRequest.getS3Uri()))
                 .build(),
         () -> {
           try {
@@ -124,6 +128,8 @@ public class S3SyncSdkObjectClient implements ObjectClient {
                 .attribute(ObjectClientTelemetry.uri(getRequest.getS3Uri()))
                 .attribute(ObjectClientTelemetry.rangeLength(getRequest.getRange()))
                 .attribute(ObjectClientTelemetry.range(getRequest.getRange()))
+                .attribute(ObjectClientTelemetry.bucket(getRequest.getS3Uri()))
+                .attribute(ObjectClientTelemetry.readMode(getRequest.getReferrer()))
                 .build(),
         () -> {
           try {
@@ -18,9 +18,15 @@ package software.amazon.s3.analyticsaccelerator.util;
 import static software.amazon.s3.analyticsaccelerator.request.Constants.OPERATION_NAME;
 import static software.amazon.s3.analyticsaccelerator.request.Constants.SPAN_ID;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.s3.analyticsaccelerator.exceptions.ExceptionHandler;
 import software.amazon.s3.analyticsaccelerator.request.StreamAuditContext;
@@ -46,6 +52,90 @@ public class ObjectClientUtil {
     return ExceptionHandler.toIOException(cause, s3Uri);
   }
 
+  /**
+   * Issues an asynchronous SDK request, maps its response and translates its failures into
+   * IoExceptions. Requests that throw instead of returning a future produce a future that failed
+   * the same way. Cancelling the returned future cancels the SDK request, and a response that
+   * arrives after the returned future was cancelled is handed to {@code discard} so that it can
+   * release its resources.
+   *
+   * @param s3Uri S3 URI
+   * @param request issues the SDK request
+   * @param mapper maps the SDK response to the result
+   * @param discard releases a response that nobody will consume
+   * @param <R> type of the SDK response
+   * @param <T> type of the result
+   * @return a future completed with the result of the request
+   */
+  public static <R, T> CompletableFuture<T> translateExceptions(
+      S3URI s3Uri,
+      Supplier<CompletableFuture<R>> request,
+      Function<R, T> mapper,
+      Consumer<R> discard) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    CompletableFuture<R> sdkFuture;
+    try {
+      sdkFuture = request.get();
+    } catch (Throwable t) {
+      result.completeExceptionally(handleException(s3Uri, t));
+      return result;
+    }
+
+    sdkFuture.whenComplete(
+        (response, error) -> {
+          if (error != null) {
+            result.completeExceptionally(handleException(s3Uri, error));
+            return;
+          }
+          T value;
+          try {
+            value = mapper.apply(response);
+          } catch (Throwable t) {
+            discard.accept(response);
+            result.completeExceptionally(handleException(s3Uri, t));
+            return;
+          }
+          if (!result.complete(value)) {
+            discard.accept(response);
+          }
+        });
+    result.whenComplete(
+        (value, error) -> {
+          if (result.isCancelled()) {
+            sdkFuture.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Waits for the result of a request issued through {@link #translateExceptions}, rethrowing its
+   * failure as an IoException.
+   *
+   * @param s3Uri S3 URI
+   * @param future the future of the request
+   * @param <T> result type of the request
+   * @return the result of the request
+   * @throws IOException if the request failed or the wait was interrupted
+   */
+  public static <T> T awaitResult(S3URI s3Uri, CompletableFuture<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw ExceptionHandler.toIOException(cause, s3Uri);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException interruptedIOException =
+          new InterruptedIOException("Interrupted while accessing " + s3Uri);
+      interruptedIOException.initCause(e);
+      throw interruptedIOException;
+    }
+  }
+
   /**
    * Attach additional information to the request. These parameters are used by execution
    * interceptors defined in S3A for request auditing.
@@ -0,0 +1,193 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class FileSystemObjectClientTest {
+
+  private static final S3URI TEST_URI = S3URI.of("test-bucket", "dir/test-key");
+  private static final byte[] TEST_DATA =
+      "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+
+  @TempDir Path root;
+  private FileSystemObjectClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Path file = root.resolve("test-bucket").resolve("dir").resolve("test-key");
+    Files.createDirectories(file.getParent());
+    Files.write(file, TEST_DATA);
+    client = new FileSystemObjectClient(root);
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(NullPointerException.class, () -> new FileSystemObjectClient(null));
+  }
+
+  @Test
+  void testHeadObject() throws IOException {
+    ObjectMetadata metadata = head(TEST_URI);
+
+    assertEquals(TEST_DATA.length, metadata.getContentLength());
+    assertEquals(metadata, head(TEST_URI));
+  }
+
+  @Test
+  void testHeadObjectEtagChangesWhenFileIsModified() throws IOException {
+    Path file = root.resolve("test-bucket").resolve("dir").resolve("test-key");
+    String etag = head(TEST_URI).getEtag();
+
+    Files.setLastModifiedTime(
+        file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+    assertNotEquals(etag, head(TEST_URI).getEtag());
+  }
+
+  @Test
+  void testHeadObjectNotFound() {
+    assertThrows(FileNotFoundException.class, () -> head(S3URI.of("test-bucket", "missing")));
+    assertThrows(FileNotFoundException.class, () -> head(S3URI.of("test-bucket", "dir")));
+    assertThrows(
+        FileNotFoundException.class, () -> head(S3URI.of("test-bucket", "../test-bucket/x")));
+    assertThrows(FileNotFoundException.class, () -> head(S3URI.of("other", "../test-bucket/dir")));
+  }
+
+  @Test
+  void testHeadObjectRejectsBucketOutsideRoot() throws IOException {
+    // A file next to the root must not be reachable through a dot segment bucket
+    Path nestedRoot = root.resolve("nested-root");
+    Files.createDirectories(nestedRoot.resolve("test-bucket"));
+    Files.write(root.resolve("secret"), TEST_DATA);
+    FileSystemObjectClient nestedClient = new FileSystemObjectClient(nestedRoot);
+
+    assertThrows(
+        FileNotFoundException.class,
+        () ->
+            nestedClient.headObject(
+                HeadRequest.builder().s3Uri(S3URI.of("..", "secret")).build(),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        FileNotFoundException.class,
+        () ->
+            nestedClient.headObject(
+                HeadRequest.builder().s3Uri(S3URI.of(".", "../secret")).build(),
+                OpenStreamInformation.DEFAULT));
+    assertThrows(
+        FileNotFoundException.class, () -> head(S3URI.of(".", "test-bucket/dir/test-key")));
+    assertThrows(FileNotFoundException.class, () -> head(S3URI.of("test-bucket/dir", "test-key")));
+  }
+
+  @Test
+  void testGetObjectWithRange() throws IOException {
+    String etag = head(TEST_URI).getEtag();
+
+    try (InputStream stream = get(TEST_URI, new Range(10, 19), etag).getStream()) {
+      byte[] buffer = new byte[10];
+      assertEquals(10, stream.read(buffer, 0, 10));
+      assertEquals("abcdefghij", new String(buffer, StandardCharsets.UTF_8));
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  @Test
+  void testGetObjectRangePastEndIsTruncated() throws IOException {
+    String etag = head(TEST_URI).getEtag();
+
+    try (InputStream stream = get(TEST_URI, new Range(30, 100), etag).getStream()) {
+      byte[] buffer = new byte[100];
+      assertEquals(6, stream.read(buffer, 0, 100));
+      assertEquals("uvwxyz", new String(buffer, 0, 6, StandardCharsets.UTF_8));
+      assertEquals(-1, stream.read(buffer, 0, 100));
+    }
+  }
+
+  @Test
+  void testGetObjectSkipAndSingleByteReads() throws IOException {
+    String etag = head(TEST_URI).getEtag();
+
+    try (InputStream stream = get(TEST_URI, new Range(0, TEST_DATA.length - 1), etag).getStream()) {
+      assertEquals('0', stream.read());
+      assertEquals(9, stream.skip(9));
+      assertEquals('a', stream.read());
+      assertEquals(TEST_DATA.length - 11, stream.available());
+      assertEquals(TEST_DATA.length - 11, stream.skip(1000));
+      assertEquals(-1, stream.read());
+      assertEquals(0, stream.skip(1));
+    }
+  }
+
+  @Test
+  void testGetObjectWithDifferentEtagThrowsError() {
+    assertThrows(IOException.class, () -> get(TEST_URI, new Range(0, 9), "ANOTHER ONE"));
+  }
+
+  @Test
+  void testGetObjectWithUnsatisfiableRangeThrowsError() throws IOException {
+    String etag = head(TEST_URI).getEtag();
+
+    assertThrows(EOFException.class, () -> get(TEST_URI, new Range(100, 200), etag));
+  }
+
+  @Test
+  void testGetObjectNotFound() {
+    assertThrows(
+        FileNotFoundException.class,
+        () -> get(S3URI.of("test-bucket", "missing"), new Range(0, 9), "etag"));
+  }
+
+  private ObjectMetadata head(S3URI s3URI) throws IOException {
+    return client.headObject(
+        HeadRequest.builder().s3Uri(s3URI).build(), OpenStreamInformation.DEFAULT);
+  }
+
+  private ObjectContent get(S3URI s3URI, Range range, String etag) throws IOException {
+    return client.getObject(
+        GetRequest.builder()
+            .s3Uri(s3URI)
+            .range(range)
+            .etag(etag)
+            .referrer(new Referrer(range.toHttpString(), ReadMode.SYNC))
+            .build(),
+        OpenStreamInformation.DEFAULT);
+  }
+}
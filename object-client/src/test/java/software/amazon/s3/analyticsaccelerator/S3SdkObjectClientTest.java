@@ -31,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -465,6 +466,100 @@ public class S3SdkObjectClientTest {
     assertObjectClientExceptions(exception, actualException);
   }
 
+  @Test
+  void testHeadObjectAsync() throws Exception {
+    try (S3AsyncClient s3AsyncClient = createMockClient()) {
+      S3SdkObjectClient client = new S3SdkObjectClient(s3AsyncClient);
+      CompletableFuture<ObjectMetadata> metadata =
+          client.headObjectAsync(
+              HeadRequest.builder().s3Uri(S3URI.of("bucket", "key")).build(),
+              OpenStreamInformation.DEFAULT);
+      assertEquals(ObjectMetadata.builder().contentLength(42).etag(ETAG).build(), metadata.get());
+    }
+  }
+
+  @Test
+  void testGetObjectAsync() throws Exception {
+    try (S3AsyncClient s3AsyncClient = createMockClient()) {
+      S3SdkObjectClient client = new S3SdkObjectClient(s3AsyncClient);
+      CompletableFuture<ObjectContent> content =
+          client.getObjectAsync(
+              GetRequest.builder()
+                  .s3Uri(S3URI.of("bucket", "key"))
+                  .range(new Range(0, 20))
+                  .etag(ETAG)
+                  .referrer(new Referrer("bytes=0-20", ReadMode.SYNC))
+                  .build(),
+              OpenStreamInformation.DEFAULT);
+      assertInstanceOf(ObjectContent.class, content.get());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testGetObjectAsyncDoesNotWaitForResponse() {
+    S3AsyncClient mockS3AsyncClient = mock(S3AsyncClient.class);
+    CompletableFuture<ResponseInputStream<GetObjectResponse>> pendingFuture =
+        new CompletableFuture<>();
+    when(mockS3AsyncClient.getObject(
+            any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+        .thenReturn(pendingFuture);
+    S3SdkObjectClient client = new S3SdkObjectClient(mockS3AsyncClient);
+
+    CompletableFuture<ObjectContent> content =
+        client.getObjectAsync(
+            GetRequest.builder()
+                .s3Uri(TEST_URI)
+                .range(new Range(0, 20))
+                .referrer(new Referrer("bytes=0-20", ReadMode.SYNC))
+                .build(),
+            OpenStreamInformation.DEFAULT);
+
+    // The future is returned before the response arrives, and cancelling it cancels the request
+    assertFalse(content.isDone());
+    content.cancel(true);
+    assertTrue(pendingFuture.isCancelled());
+  }
+
+  @SuppressWarnings("unchecked")
+  @ParameterizedTest
+  @MethodSource("exceptions")
+  void testHeadObjectAsyncExceptions(Exception exception) {
+    S3AsyncClient mockS3AsyncClient = mock(S3AsyncClient.class);
+    CompletableFuture<HeadObjectResponse> failedFuture = new CompletableFuture<>();
+    failedFuture.completeExceptionally(exception);
+    when(mockS3AsyncClient.headObject(any(HeadObjectRequest.class))).thenReturn(failedFuture);
+    S3SdkObjectClient client = new S3SdkObjectClient(mockS3AsyncClient);
+
+    CompletableFuture<ObjectMetadata> metadata =
+        client.headObjectAsync(
+            HeadRequest.builder().s3Uri(TEST_URI).build(), OpenStreamInformation.DEFAULT);
+
+    ExecutionException actualException = assertThrows(ExecutionException.class, metadata::get);
+    assertObjectClientExceptions(exception, actualException.getCause());
+  }
+
+  @Test
+  void testGetObjectAsyncFailsInsteadOfThrowing() {
+    try (S3AsyncClient s3AsyncClient = createMockClient()) {
+      S3SdkObjectClient client = new S3SdkObjectClient(s3AsyncClient);
+      // The mock throws synchronously for a mismatching ETag
+      CompletableFuture<ObjectContent> content =
+          client.getObjectAsync(
+              GetRequest.builder()
+                  .s3Uri(S3URI.of("bucket", "key"))
+                  .range(new Range(0, 20))
+                  .etag("ANOTHER ONE")
+                  .referrer(new Referrer("bytes=0-20", ReadMode.SYNC))
+                  .build(),
+              OpenStreamInformation.DEFAULT);
+
+      ExecutionException actualException = assertThrows(ExecutionException.class, content::get);
+      assertInstanceOf(IOException.class, actualException.getCause());
+      assertInstanceOf(S3Exception.class, actualException.getCause().getCause());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static S3AsyncClient createMockClient() {
     S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static software.amazon.s3.analyticsaccelerator.S3SyncSdkObjectClientTest.ETAG;
+import static software.amazon.s3.analyticsaccelerator.S3SyncSdkObjectClientTest.createMockClient;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.OpenStreamInformation;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class S3SyncSdkAsyncObjectClientTest {
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    try (S3Client s3Client = createMockClient()) {
+      assertThrows(
+          NullPointerException.class,
+          () -> new S3SyncSdkAsyncObjectClient(s3Client, ObjectClientConfiguration.DEFAULT, null));
+      assertThrows(
+          NullPointerException.class,
+          () -> new S3SyncSdkAsyncObjectClient(null, ObjectClientConfiguration.DEFAULT, r -> {}));
+    }
+  }
+
+  @Test
+  void testHeadObjectAsyncRunsOnExecutor() throws Exception {
+    try (S3Client s3Client = createMockClient()) {
+      List<Runnable> submitted = new ArrayList<>();
+      S3SyncSdkAsyncObjectClient client =
+          new S3SyncSdkAsyncObjectClient(
+              s3Client, ObjectClientConfiguration.DEFAULT, submitted::add);
+      CompletableFuture<ObjectMetadata> metadata =
+          client.headObjectAsync(
+              HeadRequest.builder().s3Uri(S3URI.of("bucket", "key")).build(),
+              OpenStreamInformation.DEFAULT);
+
+      // Nothing is requested until the executor runs the request
+      assertFalse(metadata.isDone());
+      verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+
+      assertEquals(1, submitted.size());
+      submitted.get(0).run();
+      assertEquals(ObjectMetadata.builder().contentLength(42).etag(ETAG).build(), metadata.get());
+    }
+  }
+
+  @Test
+  void testGetObjectAsyncRunsOnExecutor() throws Exception {
+    try (S3Client s3Client = createMockClient()) {
+      List<Runnable> submitted = new ArrayList<>();
+      S3SyncSdkAsyncObjectClient client =
+          new S3SyncSdkAsyncObjectClient(
+              s3Client, ObjectClientConfiguration.DEFAULT, submitted::add);
+      CompletableFuture<ObjectContent> content =
+          client.getObjectAsync(getRequest(ETAG), OpenStreamInformation.DEFAULT);
+
+      // Nothing is requested until the executor runs the request
+      assertFalse(content.isDone());
+      verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+
+      assertEquals(1, submitted.size());
+      submitted.get(0).run();
+      assertInstanceOf(ObjectContent.class, content.get());
+    }
+  }
+
+  @Test
+  void testGetObjectAsyncFailsWithIOException() {
+    try (S3Client s3Client = createMockClient()) {
+      S3SyncSdkAsyncObjectClient client =
+          new S3SyncSdkAsyncObjectClient(
+              s3Client, ObjectClientConfiguration.DEFAULT, Runnable::run);
+      CompletableFuture<ObjectContent> content =
+          client.getObjectAsync(getRequest("ANOTHER ONE"), OpenStreamInformation.DEFAULT);
+
+      ExecutionException exception = assertThrows(ExecutionException.class, content::get);
+      assertInstanceOf(IOException.class, exception.getCause());
+      assertInstanceOf(S3Exception.class, exception.getCause().getCause());
+    }
+  }
+
+  private static GetRequest getRequest(String etag) {
+    return GetRequest.builder()
+        .s3Uri(S3URI.of("bucket", "key"))
+        .range(new Range(0, 20))
+        .etag(etag)
+        .referrer(new Referrer("bytes=0-20", ReadMode.SYNC))
+        .build();
+  }
+}
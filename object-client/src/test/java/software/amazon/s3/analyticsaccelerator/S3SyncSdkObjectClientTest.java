@@ -44,6 +44,7 @@ import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
 import software.amazon.s3.analyticsaccelerator.exceptions.ExceptionHandler;
+import software.amazon.s3.analyticsaccelerator.request.AsyncObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.EncryptionSecrets;
 import software.amazon.s3.analyticsaccelerator.request.GetRequest;
 import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
@@ -64,7 +65,7 @@ public class S3SyncSdkObjectClientTest {
   private static final String HEADER_REFERER = "Referer";
   private static final S3URI TEST_URI = S3URI.of("test-bucket", "test-key");
 
-  private static final String ETAG = "RandomString";
+  static final String ETAG = "RandomString";
   private static final String USER_AGENT_HEADER = "User-Agent";
   private static final String AAL_USER_AGENT = "s3analyticsaccelerator";
 
@@ -140,6 +141,14 @@ public class S3SyncSdkObjectClientTest {
     }
   }
 
+  @Test
+  void testSyncClientIsNotAsync() {
+    try (S3Client s3Client = createMockClient()) {
+      // Block reads of a sync client must go through the thread pool of the stream reader
+      assertFalse(AsyncObjectClient.class.isInstance(new S3SyncSdkObjectClient(s3Client)));
+    }
+  }
+
   @Test
   void testGetObjectAttachesExecutionAttributes() throws IOException {
     S3Client mockS3Client = createMockClient();
@@ -568,7 +577,7 @@ public class S3SyncSdkObjectClientTest {
     return s3AsyncClient;
   }
 
-  private static S3Client createMockClient() {
+  static S3Client createMockClient() {
     S3Client s3Client = mock(S3Client.class);
 
     when(s3Client.headObject(any(HeadObjectRequest.class)))